@@ -0,0 +1,81 @@
+package com.erebos.flu.collections;
+
+import com.erebos.flu.utils.BenchmarkData;
+import com.erebos.flu.utils.EditDistanceUtils.Match;
+import com.erebos.flu.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks for {@link FuzzyStringIndex} against a linear scan with {@link StringUtils#isOneAway(String, String)}.
+ * The dictionary holds {@code size} random names of 6 to 15 characters, queried with a name that had one edit.
+ */
+@State(Scope.Benchmark)
+public class FuzzyStringIndexBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private List<String> names;
+    private String query;
+    private FuzzyStringIndex bkTree;
+    private FuzzyStringIndex trigrams;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(42);
+        names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add(BenchmarkData.randomAscii(random, 6 + random.nextInt(10)));
+        }
+        final String name = names.get(size / 2);
+        query = name.substring(0, 3) + name.substring(4);
+        bkTree = FuzzyStringIndex.of(names, FuzzyStringIndex.Strategy.BK_TREE);
+        trigrams = FuzzyStringIndex.of(names, FuzzyStringIndex.Strategy.TRIGRAM);
+        serialized = trigrams.toByteArray();
+    }
+
+    @Benchmark
+    public List<String> linearScanOneAway() {
+        final List<String> matches = new ArrayList<>();
+        for (final String name : names) {
+            if (StringUtils.isOneAway(query, name)) {
+                matches.add(name);
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public List<Match<String>> searchBkTree() {
+        return bkTree.search(query, 1);
+    }
+
+    @Benchmark
+    public List<Match<String>> searchTrigrams() {
+        return trigrams.search(query, 1);
+    }
+
+    @Benchmark
+    public List<Match<String>> searchTrigramsTwoEdits() {
+        return trigrams.search(query, 2);
+    }
+
+    @Benchmark
+    public FuzzyStringIndex buildTrigrams() {
+        return FuzzyStringIndex.of(names, FuzzyStringIndex.Strategy.TRIGRAM);
+    }
+
+    @Benchmark
+    public FuzzyStringIndex deserializeTrigrams() {
+        return FuzzyStringIndex.fromByteArray(serialized);
+    }
+}
@@ -0,0 +1,97 @@
+package com.erebos.flu.collections;
+
+import com.erebos.flu.utils.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Benchmarks for {@link RoaringIntSet} against {@code HashSet<Integer>}, the form the ids arrive in today.
+ * Both sides hold {@code size} ids drawn from twice as many values, the right side shifted by half the range.
+ */
+@State(Scope.Benchmark)
+public class RoaringIntSetBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private List<Integer> leftIds;
+    private List<Integer> rightIds;
+    private Set<Integer> leftHashSet;
+    private Set<Integer> rightHashSet;
+    private RoaringIntSet leftSet;
+    private RoaringIntSet rightSet;
+
+    @Setup
+    public void setUp() {
+        leftIds = BenchmarkData.ints(size, 2 * size, 0);
+        rightIds = BenchmarkData.ints(size, 2 * size, size);
+        leftHashSet = new HashSet<>(leftIds);
+        rightHashSet = new HashSet<>(rightIds);
+        leftSet = RoaringIntSet.fromList(leftIds);
+        rightSet = RoaringIntSet.fromList(rightIds);
+    }
+
+    @Benchmark
+    public Set<Integer> buildHashSet() {
+        return new HashSet<>(leftIds);
+    }
+
+    @Benchmark
+    public RoaringIntSet buildRoaringIntSet() {
+        return RoaringIntSet.fromList(leftIds);
+    }
+
+    @Benchmark
+    public int containsHashSet() {
+        int hits = 0;
+        for (final Integer id : rightIds) {
+            hits += leftHashSet.contains(id) ? 1 : 0;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int containsRoaringIntSet() {
+        int hits = 0;
+        for (final Integer id : rightIds) {
+            hits += leftSet.contains(id) ? 1 : 0;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public Set<Integer> andHashSet() {
+        final Set<Integer> result = new HashSet<>(leftHashSet);
+        result.retainAll(rightHashSet);
+        return result;
+    }
+
+    @Benchmark
+    public RoaringIntSet andRoaringIntSet() {
+        return RoaringIntSet.and(leftSet, rightSet);
+    }
+
+    @Benchmark
+    public Set<Integer> orHashSet() {
+        final Set<Integer> result = new HashSet<>(leftHashSet);
+        result.addAll(rightHashSet);
+        return result;
+    }
+
+    @Benchmark
+    public RoaringIntSet orRoaringIntSet() {
+        return RoaringIntSet.or(leftSet, rightSet);
+    }
+
+    @Benchmark
+    public long rankRoaringIntSet() {
+        return leftSet.rank(size);
+    }
+}
@@ -0,0 +1,50 @@
+package com.erebos.flu.partitioning;
+
+import com.erebos.flu.utils.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks for the {@link Partitioner} implementations.
+ * Every benchmark assigns {@code size} distinct keys to {@code nodes} nodes.
+ */
+@State(Scope.Benchmark)
+public class PartitionerBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"4", "64"})
+    public int nodes;
+
+    private List<String> keys;
+    private ConsistentHashRing<String> ring;
+    private RendezvousPartitioner<String> rendezvous;
+
+    @Setup
+    public void setUp() {
+        keys = BenchmarkData.distinctKeys(size);
+        final List<String> nodeNames = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            nodeNames.add("node-" + i);
+        }
+        ring = ConsistentHashRing.forStrings(nodeNames);
+        rendezvous = RendezvousPartitioner.forStrings(nodeNames);
+    }
+
+    @Benchmark
+    public int[] consistentHashRing() {
+        return ring.assignKeys(keys);
+    }
+
+    @Benchmark
+    public int[] rendezvous() {
+        return rendezvous.assignKeys(keys);
+    }
+}
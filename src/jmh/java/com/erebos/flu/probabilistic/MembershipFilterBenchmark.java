@@ -0,0 +1,80 @@
+package com.erebos.flu.probabilistic;
+
+import com.erebos.flu.utils.BenchmarkData;
+import com.erebos.flu.utils.SetTheoryUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks for the {@link MembershipFilter} implementations and the filtered intersection.
+ * The right side holds {@code size} distinct keys, the left side 1% of them plus as many keys which are absent.
+ */
+@State(Scope.Benchmark)
+public class MembershipFilterBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private List<String> right;
+    private List<String> left;
+    private BloomFilter<String> bloomFilter;
+    private CuckooFilter<String> cuckooFilter;
+
+    @Setup
+    public void setUp() {
+        right = BenchmarkData.distinctKeys(size);
+        final int overlap = Math.max(1, size / 100);
+        left = new ArrayList<>(right.subList(0, overlap));
+        for (int i = 0; i < overlap; i++) {
+            left.add("absent-" + i);
+        }
+        bloomFilter = BloomFilter.forStrings(size, 0.01);
+        cuckooFilter = CuckooFilter.forStrings(size);
+        right.forEach(bloomFilter::put);
+        right.forEach(cuckooFilter::put);
+    }
+
+    @Benchmark
+    public BloomFilter<String> buildBloomFilter() {
+        return BloomFilter.of(right, key -> key, 0.01, Hashes.STRING_HASHER);
+    }
+
+    @Benchmark
+    public CuckooFilter<String> buildCuckooFilter() {
+        return CuckooFilter.of(right, key -> key, Hashes.STRING_HASHER);
+    }
+
+    @Benchmark
+    public int probeBloomFilter() {
+        int hits = 0;
+        for (final String key : left) {
+            hits += bloomFilter.mightContain(key) ? 1 : 0;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int probeCuckooFilter() {
+        int hits = 0;
+        for (final String key : left) {
+            hits += cuckooFilter.mightContain(key) ? 1 : 0;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public List<String> intersection() {
+        return SetTheoryUtils.intersection(left, right);
+    }
+
+    @Benchmark
+    public List<String> intersectionPrunedByBloomFilter() {
+        return SetTheoryUtils.intersection(left, right, bloomFilter);
+    }
+}
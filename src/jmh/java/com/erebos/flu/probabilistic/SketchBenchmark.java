@@ -0,0 +1,57 @@
+package com.erebos.flu.probabilistic;
+
+import com.erebos.flu.utils.BenchmarkData;
+import com.erebos.flu.utils.ListUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks for the cardinality and frequency sketches against the exact set based helpers.
+ * Every benchmark processes {@code size} keys drawn from {@code size / 10} distinct values.
+ */
+@State(Scope.Benchmark)
+public class SketchBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private List<String> keys;
+
+    @Setup
+    public void setUp() {
+        keys = BenchmarkData.keys(size, Math.max(1, size / 10), 0.0);
+    }
+
+    @Benchmark
+    public int distinctCountExact() {
+        return ListUtils.createDistinctSetFromListProperty(keys, key -> key).size();
+    }
+
+    @Benchmark
+    public long distinctCountHyperLogLog() {
+        return HyperLogLog.of(keys, key -> key, HyperLogLog.DEFAULT_PRECISION, Hashes.STRING_HASHER).cardinality();
+    }
+
+    @Benchmark
+    public long distinctCountHyperLogLogParallel() {
+        return keys.parallelStream()
+                .collect(HyperLogLog.collector(key -> key, HyperLogLog.DEFAULT_PRECISION, Hashes.STRING_HASHER))
+                .cardinality();
+    }
+
+    @Benchmark
+    public int duplicatesExact() {
+        return ListUtils.findDuplicates(keys).size();
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Long>> heavyHitters() {
+        return HeavyHitters.of(keys, key -> key, 10, 0.0001, 0.01, Hashes.STRING_HASHER).topK();
+    }
+}
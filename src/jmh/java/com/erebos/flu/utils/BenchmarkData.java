@@ -0,0 +1,189 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.pojo.BenchmarkRecord;
+import com.erebos.flu.utils.pojo.Category;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic input generators shared by all benchmarks.
+ * Every generator uses a fixed seed, so results of two releases are measured against identical data.
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 0x5EEDL;
+    private static final Category[] CATEGORIES = Category.values();
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     *
+     * @throws IllegalStateException when called
+     */
+    private BenchmarkData() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates the key for a given index, e.g. "KEY42".
+     *
+     * @param index the index of the key
+     * @return the key
+     */
+    public static String key(final int index) {
+        return "KEY" + index;
+    }
+
+    /**
+     * Creates a list of keys drawn from {@code cardinality} distinct values.
+     * A share of {@code nullRatio} entries is null or blank.
+     *
+     * @param size        the number of keys
+     * @param cardinality the number of distinct keys
+     * @param nullRatio   the share of null or blank keys (0.0 - 1.0)
+     * @return the list of keys
+     */
+    public static List<String> keys(final int size, final int cardinality, final double nullRatio) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(nullableKey(random, cardinality, nullRatio));
+        }
+        return keys;
+    }
+
+    /**
+     * Creates a list of {@code size} distinct, non-null keys.
+     *
+     * @param size the number of keys
+     * @return the list of keys
+     */
+    public static List<String> distinctKeys(final int size) {
+        final List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(key(i));
+        }
+        return keys;
+    }
+
+    /**
+     * Creates a list of integers drawn from {@code cardinality} distinct values.
+     *
+     * @param size        the number of integers
+     * @param cardinality the number of distinct values
+     * @param offset      the value added to every integer, used to control the overlap of two lists
+     * @return the list of integers
+     */
+    public static List<Integer> ints(final int size, final int cardinality, final int offset) {
+        final SplittableRandom random = new SplittableRandom(SEED + offset);
+        final List<Integer> ints = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ints.add(offset + random.nextInt(cardinality));
+        }
+        return ints;
+    }
+
+    /**
+     * Creates a list of records whose keys are drawn from {@code cardinality} distinct values.
+     * A share of {@code nullRatio} records has a null or blank key.
+     *
+     * @param size        the number of records
+     * @param cardinality the number of distinct keys
+     * @param nullRatio   the share of records with a null or blank key (0.0 - 1.0)
+     * @return the list of records
+     */
+    public static List<BenchmarkRecord> records(final int size, final int cardinality, final double nullRatio) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final List<BenchmarkRecord> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int bucket = random.nextInt(cardinality);
+            records.add(new BenchmarkRecord(
+                    nullableKey(random, cardinality, nullRatio),
+                    "Name " + bucket,
+                    CATEGORIES[bucket % CATEGORIES.length],
+                    random.nextDouble(-1000.0, 1000.0),
+                    i));
+        }
+        return records;
+    }
+
+    /**
+     * Creates a map from {@code cardinality} keys to lists which hold {@code size} records in total.
+     *
+     * @param size        the total number of records
+     * @param cardinality the number of keys
+     * @return the map of record lists
+     */
+    public static Map<String, List<BenchmarkRecord>> groupedRecords(final int size, final int cardinality) {
+        final Map<String, List<BenchmarkRecord>> grouped = new HashMap<>();
+        records(size, cardinality, 0.0).forEach(r -> grouped.computeIfAbsent(r.key(), k -> new ArrayList<>()).add(r));
+        return grouped;
+    }
+
+    /**
+     * Creates a map from {@code cardinality} keys to random amounts.
+     *
+     * @param cardinality the number of keys
+     * @return the map of amounts
+     */
+    public static Map<String, Double> amounts(final int cardinality) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final Map<String, Double> amounts = new HashMap<>();
+        for (int i = 0; i < cardinality; i++) {
+            amounts.put(key(i), random.nextDouble(-1000.0, 1000.0));
+        }
+        return amounts;
+    }
+
+    /**
+     * Creates a list of date strings in English (yyyy-MM-dd) and German (dd.MM.yyyy) format.
+     * A share of {@code invalidRatio} entries is malformed.
+     *
+     * @param size         the number of date strings
+     * @param invalidRatio the share of malformed date strings (0.0 - 1.0)
+     * @return the list of date strings
+     */
+    public static List<String> dateStrings(final int size, final double invalidRatio) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final List<String> dates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int year = 1950 + random.nextInt(70);
+            final int month = 1 + random.nextInt(12);
+            final int day = 1 + random.nextInt(28);
+            if (random.nextDouble() < invalidRatio) {
+                dates.add(day + "/" + month + "/" + year);
+            } else if (random.nextBoolean()) {
+                dates.add(String.format("%04d-%02d-%02d", year, month, day));
+            } else {
+                dates.add(String.format("%02d.%02d.%04d", day, month, year));
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Creates a random ASCII string of the given length.
+     *
+     * @param random the random source
+     * @param length the length of the string
+     * @return the random string
+     */
+    public static String randomAscii(final SplittableRandom random, final int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('!' + random.nextInt(94));
+        }
+        return new String(chars);
+    }
+
+    private static String nullableKey(final SplittableRandom random, final int cardinality, final double nullRatio) {
+        final int bucket = random.nextInt(cardinality);
+        if (random.nextDouble() >= nullRatio) {
+            return key(bucket);
+        }
+        return random.nextBoolean() ? null : "   ";
+    }
+}
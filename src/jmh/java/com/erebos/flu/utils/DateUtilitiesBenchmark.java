@@ -0,0 +1,111 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.exceptions.DateParsingException;
+import com.erebos.flu.utils.pojo.DateColumn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Benchmarks for {@link DateUtilities}.
+ * {@code invalidRatio} is the share of malformed date strings, which are parsed and rejected like in a dirty import.
+ */
+@State(Scope.Benchmark)
+public class DateUtilitiesBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"0.0", "0.25"})
+    public double invalidRatio;
+
+    private List<String> dateStrings;
+    private List<String> englishDateStrings;
+    private List<LocalDate> localDates;
+    private List<Date> dates;
+
+    @Setup
+    public void setUp() {
+        dateStrings = BenchmarkData.dateStrings(size, invalidRatio);
+        englishDateStrings = new ArrayList<>(size);
+        localDates = new ArrayList<>(size);
+        dates = new ArrayList<>(size);
+        for (final String s : BenchmarkData.dateStrings(size, 0.0)) {
+            final LocalDate date = DateUtilities.stringToLocalDate(s);
+            englishDateStrings.add(DateUtilities.formatToString(date));
+            localDates.add(date);
+            dates.add(DateUtilities.convertToDate(date));
+        }
+    }
+
+    @Benchmark
+    public void stringToLocalDate(final Blackhole bh) {
+        for (final String s : dateStrings) {
+            try {
+                bh.consume(DateUtilities.stringToLocalDate(s));
+            } catch (final DateParsingException ex) {
+                bh.consume(ex);
+            }
+        }
+    }
+
+    @Benchmark
+    public DateColumn parseDateColumn() {
+        return DateUtilities.parseDateColumn(dateStrings, null, false);
+    }
+
+    @Benchmark
+    public DateColumn parseDateColumnParallel() {
+        return DateUtilities.parseDateColumn(dateStrings, null, true);
+    }
+
+    @Benchmark
+    public void stringToLocalDateWithPattern(final Blackhole bh) {
+        for (final String s : englishDateStrings) {
+            bh.consume(DateUtilities.stringToLocalDate(s, DateUtilities.ENGLISH_DATE_PATTERN));
+        }
+    }
+
+    @Benchmark
+    public void formatToString(final Blackhole bh) {
+        for (final LocalDate date : localDates) {
+            bh.consume(DateUtilities.formatToString(date));
+        }
+    }
+
+    @Benchmark
+    public void convertToLocalDate(final Blackhole bh) {
+        for (final Date date : dates) {
+            bh.consume(DateUtilities.convertToLocalDate(date));
+        }
+    }
+
+    @Benchmark
+    public void convertToDate(final Blackhole bh) {
+        for (final LocalDate date : localDates) {
+            bh.consume(DateUtilities.convertToDate(date));
+        }
+    }
+
+    @Benchmark
+    public void getYear(final Blackhole bh) {
+        for (final LocalDate date : localDates) {
+            bh.consume(DateUtilities.getYear(date));
+        }
+    }
+
+    @Benchmark
+    public void getMonthIndex(final Blackhole bh) {
+        for (final LocalDate date : localDates) {
+            bh.consume(DateUtilities.getMonthIndex(date));
+        }
+    }
+}
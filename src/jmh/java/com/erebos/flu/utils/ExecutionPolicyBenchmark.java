@@ -0,0 +1,51 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.pojo.BenchmarkRecord;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calibrates {@link ExecutionPolicy#DEFAULT_PARALLEL_THRESHOLD}: runs typical helpers sequentially and in parallel
+ * on sizes around the threshold. The threshold is the smallest size at which {@code PARALLEL} wins.
+ */
+@State(Scope.Benchmark)
+public class ExecutionPolicyBenchmark {
+
+    @Param({"1000", "3000", "10000", "30000", "100000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    public String mode;
+
+    private List<BenchmarkRecord> records;
+    private ExecutionPolicy policy;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.records(size, 256, 0.0);
+        policy = "PARALLEL".equals(mode) ? ExecutionPolicy.parallel() : ExecutionPolicy.sequential();
+    }
+
+    @Benchmark
+    public ImmutableList<BenchmarkRecord> filterListByPredicate() {
+        return ListUtils.filterListByPredicate(records, r -> r.amount() > 500.0, policy);
+    }
+
+    @Benchmark
+    public Set<String> createDistinctSetFromListProperty() {
+        return ListUtils.createDistinctSetFromListProperty(records, BenchmarkRecord::key, policy);
+    }
+
+    @Benchmark
+    public Map<String, List<BenchmarkRecord>> groupByStringMember() {
+        return GrouperUtils.groupByStringMember(records, BenchmarkRecord::key, policy);
+    }
+}
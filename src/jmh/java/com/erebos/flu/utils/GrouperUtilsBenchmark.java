@@ -0,0 +1,92 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.collections.StringInterner;
+import com.erebos.flu.utils.pojo.BenchmarkRecord;
+import com.erebos.flu.utils.pojo.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks for {@link GrouperUtils}.
+ * {@code cardinality} is the number of distinct string keys, null or blank keys end up in the "NA" group.
+ */
+@State(Scope.Benchmark)
+public class GrouperUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"16", "65536"})
+    public int cardinality;
+
+    @Param({"0.0", "0.25"})
+    public double nullRatio;
+
+    private List<BenchmarkRecord> records;
+    private StringInterner interner;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.records(size, cardinality, nullRatio);
+        interner = new StringInterner(4096);
+    }
+
+    @Benchmark
+    public Map<String, List<BenchmarkRecord>> groupByStringMember() {
+        return GrouperUtils.groupByStringMember(records, BenchmarkRecord::key);
+    }
+
+    @Benchmark
+    public Map<String, List<BenchmarkRecord>> groupByStringMemberInterned() {
+        return GrouperUtils.groupByStringMember(records, BenchmarkRecord::key, interner);
+    }
+
+    @Benchmark
+    public Map<?, List<BenchmarkRecord>> groupByEnumMember() {
+        return GrouperUtils.groupByEnumMember(records, BenchmarkRecord::category);
+    }
+
+    @Benchmark
+    public EnumMap<Category, List<BenchmarkRecord>> groupByEnumMemberTyped() {
+        return GrouperUtils.groupByEnumMember(records, Category.class, BenchmarkRecord::category);
+    }
+
+    @Benchmark
+    public int[] countByEnumOrdinal() {
+        return GrouperUtils.countByEnumOrdinal(records, Category.class, BenchmarkRecord::category);
+    }
+
+    @Benchmark
+    public Map<Category, Map<String, Double>> regroupNestedCollectors() {
+        // the two-level grouping callers build today, for comparison with groupByMembers
+        return records.stream().collect(Collectors.groupingBy(BenchmarkRecord::category,
+                Collectors.groupingBy(r -> r.key() == null ? "NA" : r.key(),
+                        Collectors.summingDouble(BenchmarkRecord::amount))));
+    }
+
+    @Benchmark
+    public Map<Category, Map<String, Double>> groupByMembersSum() {
+        return GrouperUtils.groupByMembers(records, BenchmarkRecord::category, BenchmarkRecord::key,
+                Collectors.summingDouble(BenchmarkRecord::amount));
+    }
+
+    @Benchmark
+    public Map<Category, Map<String, Double>> groupByMembersParallelSum() {
+        return GrouperUtils.groupByMembersParallel(records, BenchmarkRecord::category, BenchmarkRecord::key,
+                Collectors.summingDouble(BenchmarkRecord::amount));
+    }
+
+    @Benchmark
+    public Map<Category, Map<String, Long>> groupByMembersCount() {
+        return GrouperUtils.groupByMembers(records, BenchmarkRecord::category, BenchmarkRecord::key,
+                Collectors.counting());
+    }
+}
@@ -0,0 +1,81 @@
+package com.erebos.flu.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks for {@link HashUtils}.
+ * Every benchmark hashes {@code size} strings of {@code length} characters,
+ * comparing SHA-256, the 32-bit {@code myHashCode} and the {@link NonCryptoHash} family.
+ */
+@State(Scope.Benchmark)
+public class HashUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"8", "64", "1024"})
+    public int length;
+
+    private List<String> values;
+
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(length);
+        values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(BenchmarkData.randomAscii(random, length));
+        }
+    }
+
+    @Benchmark
+    public void perfectHash(final Blackhole bh) {
+        for (final String value : values) {
+            bh.consume(HashUtils.perfectHash(value));
+        }
+    }
+
+    @Benchmark
+    public void perfectHashOfFields(final Blackhole bh) {
+        for (final String value : values) {
+            final int half = value.length() / 2;
+            bh.consume(HashUtils.perfectHashOfFields(value.subSequence(0, half), value.subSequence(half, value.length())));
+        }
+    }
+
+    @Benchmark
+    public void myHashCode(final Blackhole bh) {
+        for (final String value : values) {
+            bh.consume(HashUtils.myHashCode(value));
+        }
+    }
+
+    @Benchmark
+    public void xxHash64(final Blackhole bh) {
+        for (final String value : values) {
+            bh.consume(NonCryptoHash.XX_HASH_64.hash(value));
+        }
+    }
+
+    @Benchmark
+    public void murmur3Hash128(final Blackhole bh) {
+        for (final String value : values) {
+            bh.consume(NonCryptoHash.MURMUR3_128.hash(value));
+        }
+    }
+
+    @Benchmark
+    public void wyHash(final Blackhole bh) {
+        for (final String value : values) {
+            bh.consume(NonCryptoHash.WY_HASH.hash(value));
+        }
+    }
+}
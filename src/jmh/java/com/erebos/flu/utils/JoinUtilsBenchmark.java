@@ -0,0 +1,77 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.JoinUtils.JoinType;
+import com.erebos.flu.utils.pojo.BenchmarkRecord;
+import com.erebos.flu.utils.pojo.JoinedPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks for {@link JoinUtils}.
+ * {@code size} records are joined to one row per distinct key, a share of {@code nullRatio} records has no key.
+ */
+@State(Scope.Benchmark)
+public class JoinUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"16", "65536"})
+    public int cardinality;
+
+    @Param({"0.0", "0.25"})
+    public double nullRatio;
+
+    private List<BenchmarkRecord> records;
+    private List<BenchmarkRecord> sortedRecords;
+    private List<Map.Entry<String, Double>> accounts;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.records(size, cardinality, nullRatio);
+        sortedRecords = BenchmarkData.records(size, cardinality, 0.0).stream()
+                .sorted(Comparator.comparing(BenchmarkRecord::key))
+                .toList();
+        accounts = BenchmarkData.amounts(cardinality).entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+    }
+
+    @Benchmark
+    public List<JoinedPair<BenchmarkRecord, Map.Entry<String, Double>>> innerJoin() {
+        return JoinUtils.innerJoin(records, accounts, BenchmarkRecord::key, Map.Entry::getKey);
+    }
+
+    @Benchmark
+    public List<JoinedPair<BenchmarkRecord, Map.Entry<String, Double>>> fullJoin() {
+        return JoinUtils.fullJoin(records, accounts, BenchmarkRecord::key, Map.Entry::getKey);
+    }
+
+    @Benchmark
+    public List<JoinedPair<BenchmarkRecord, Map.Entry<String, Double>>> joinParallel() {
+        return JoinUtils.joinParallel(records, accounts, BenchmarkRecord::key, Map.Entry::getKey, JoinType.INNER);
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> semiJoin() {
+        return JoinUtils.semiJoin(records, accounts, BenchmarkRecord::key, Map.Entry::getKey);
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> antiJoin() {
+        return JoinUtils.antiJoin(records, accounts, BenchmarkRecord::key, Map.Entry::getKey);
+    }
+
+    @Benchmark
+    public List<JoinedPair<BenchmarkRecord, Map.Entry<String, Double>>> sortMergeJoin() {
+        return JoinUtils.sortMergeJoin(sortedRecords, accounts, BenchmarkRecord::key, Map.Entry::getKey,
+                Comparator.naturalOrder(), JoinType.INNER);
+    }
+}
@@ -0,0 +1,158 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.pojo.BenchmarkRecord;
+import com.erebos.flu.utils.pojo.JoinedPair;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Benchmarks for {@link ListUtils}.
+ * {@code size} is the length of the input lists, {@code cardinality} the number of distinct keys.
+ */
+@State(Scope.Benchmark)
+public class ListUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"16", "65536"})
+    public int cardinality;
+
+    @Param({"0.0", "0.25"})
+    public double nullRatio;
+
+    private List<BenchmarkRecord> records;
+    private ImmutableList<BenchmarkRecord> immutableRecords;
+    private List<String> keys;
+    private List<String> otherKeys;
+    private List<Integer> ints;
+    private List<Integer> otherInts;
+    private List<Long> ids;
+    private String probeKey;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.records(size, cardinality, nullRatio);
+        immutableRecords = ImmutableList.copyOf(records);
+        keys = BenchmarkData.keys(size, cardinality, nullRatio);
+        otherKeys = BenchmarkData.keys(size, cardinality * 2, nullRatio);
+        ints = BenchmarkData.ints(size, cardinality, 0);
+        otherInts = BenchmarkData.ints(size, cardinality, cardinality / 2);
+        ids = records.stream().map(BenchmarkRecord::id).filter(id -> id % 2 == 0).toList();
+        probeKey = BenchmarkData.key(cardinality - 1);
+    }
+
+    @Benchmark
+    public boolean checkIfElementIsPresentInList() {
+        return ListUtils.checkIfElementIsPresentInList(keys, probeKey);
+    }
+
+    @Benchmark
+    public boolean isListNullOrEmpty() {
+        return ListUtils.isListNullOrEmpty(records);
+    }
+
+    @Benchmark
+    public boolean isListNotNullAndNotEmpty() {
+        return ListUtils.isListNotNullAndNotEmpty(records);
+    }
+
+    @Benchmark
+    public List<Integer> intersectLists() {
+        return ListUtils.intersectLists(ints, otherInts);
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> intersectListsByMatchingFunction() {
+        return ListUtils.intersectListsByMatchingFunction(records, ids, BenchmarkRecord::id);
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> subtractListsByMatchingFunction() {
+        return ListUtils.subtractListsByMatchingFunction(records, ids, BenchmarkRecord::id);
+    }
+
+    @Benchmark
+    public List<JoinedPair<BenchmarkRecord, Long>> pairListsByMatchingFunction() {
+        return ListUtils.pairListsByMatchingFunction(records, ids, BenchmarkRecord::id);
+    }
+
+    @Benchmark
+    public double sumOfDoubleMemberOverAllItems() {
+        return ListUtils.sumOfDoubleMemberOverAllItems(records, BenchmarkRecord::amount);
+    }
+
+    @Benchmark
+    public ImmutableList<BenchmarkRecord> filterListByPredicate() {
+        return ListUtils.filterListByPredicate(records, r -> r.amount() > 0.0);
+    }
+
+    @Benchmark
+    public Optional<BenchmarkRecord> findFirstByPredicate() {
+        return ListUtils.findFirstByPredicate(records, r -> probeKey.equals(r.key()));
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> getNullableList() {
+        return ListUtils.getNullableList(records);
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> sortList() {
+        return ListUtils.sortList(records, Comparator.comparingDouble(BenchmarkRecord::amount));
+    }
+
+    @Benchmark
+    public ImmutableList<BenchmarkRecord> filterItemsWhereStringMemberIsNotNullOrEmpty() {
+        return ListUtils.filterItemsWhereStringMemberIsNotNullOrEmpty(immutableRecords, BenchmarkRecord::key);
+    }
+
+    @Benchmark
+    public ImmutableList<BenchmarkRecord> filterItemsWhereStringMemberIsNullOrEmpty() {
+        return ListUtils.filterItemsWhereStringMemberIsNullOrEmpty(immutableRecords, BenchmarkRecord::key);
+    }
+
+    @Benchmark
+    public ImmutableList<BenchmarkRecord> filterItemsWhereMemberIsNull() {
+        return ListUtils.filterItemsWhereMemberIsNull(immutableRecords, BenchmarkRecord::key);
+    }
+
+    @Benchmark
+    public ImmutableList<BenchmarkRecord> filterItemsWhereMemberIsNotNull() {
+        return ListUtils.filterItemsWhereMemberIsNotNull(immutableRecords, BenchmarkRecord::key);
+    }
+
+    @Benchmark
+    public List<String> getAttributesByListFilter() {
+        return ListUtils.getAttributesByListFilter(immutableRecords, r -> r.amount() > 0.0, BenchmarkRecord::name);
+    }
+
+    @Benchmark
+    public List<String> extractMembersAsList() {
+        return ListUtils.extractMembersAsList(immutableRecords, BenchmarkRecord::key);
+    }
+
+    @Benchmark
+    public List<String> concatenateLists() {
+        return ListUtils.concatenateLists(keys, otherKeys);
+    }
+
+    @Benchmark
+    public Set<String> findDuplicates() {
+        return ListUtils.findDuplicates(keys);
+    }
+
+    @Benchmark
+    public Set<String> createDistinctSetFromListProperty() {
+        return ListUtils.createDistinctSetFromListProperty(records, BenchmarkRecord::key);
+    }
+}
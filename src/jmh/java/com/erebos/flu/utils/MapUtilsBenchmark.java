@@ -0,0 +1,293 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.collections.ConcurrentDoubleAccumulatorMap;
+import com.erebos.flu.collections.ObjectDoubleMap;
+import com.erebos.flu.utils.pojo.BenchmarkRecord;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Benchmarks for {@link MapUtils}.
+ * {@code size} is the total number of elements, {@code cardinality} the number of distinct map keys.
+ */
+@State(Scope.Benchmark)
+public class MapUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"16", "65536"})
+    public int cardinality;
+
+    @Param({"0.0", "0.25"})
+    public double nullRatio;
+
+    private List<BenchmarkRecord> records;
+    private List<String> keys;
+    private List<String> distinctKeys;
+    private Map<String, List<BenchmarkRecord>> grouped;
+    private Map<String, Map<String, List<BenchmarkRecord>>> nested;
+    private Map<String, Double> amounts;
+    private Map<String, Double> otherAmounts;
+    private Map<String, Map<String, Double>> nestedAmounts;
+    private Map<String, Double> nullableKeyAmounts;
+    private ImmutableMap<String, List<BenchmarkRecord>> immutableGrouped;
+    private ImmutableMap<String, Double> immutableAmounts;
+    private ImmutableMap<String, Double> immutableOtherAmounts;
+    private ImmutableList<String> immutableKeySubset;
+    private List<Map<String, Double>> listOfMaps;
+    private Map<String, Set<String>> setsByKey;
+    private String probeKey;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.records(size, cardinality, nullRatio);
+        keys = BenchmarkData.keys(size, cardinality, nullRatio);
+        distinctKeys = BenchmarkData.distinctKeys(size);
+        grouped = BenchmarkData.groupedRecords(size, cardinality);
+        nested = new HashMap<>();
+        grouped.forEach((k, v) -> nested.computeIfAbsent(k.substring(0, Math.min(4, k.length())), x -> new HashMap<>()).put(k, v));
+        amounts = BenchmarkData.amounts(Math.min(size, cardinality));
+        otherAmounts = new HashMap<>();
+        amounts.forEach((k, v) -> otherAmounts.put(k.hashCode() % 2 == 0 ? k : k + "X", v));
+        nestedAmounts = new HashMap<>();
+        amounts.forEach((k, v) -> nestedAmounts.computeIfAbsent(k.substring(0, Math.min(4, k.length())), x -> new HashMap<>()).put(k, v));
+        nullableKeyAmounts = new HashMap<>();
+        keys.forEach(k -> nullableKeyAmounts.put(k, 1.0));
+        immutableGrouped = ImmutableMap.copyOf(grouped);
+        immutableAmounts = ImmutableMap.copyOf(amounts);
+        immutableOtherAmounts = ImmutableMap.copyOf(otherAmounts);
+        immutableKeySubset = ImmutableList.copyOf(new ArrayList<>(grouped.keySet()).subList(0, grouped.size() / 2));
+        listOfMaps = new ArrayList<>();
+        for (int i = 0; i < Math.min(size, 1000); i++) {
+            listOfMaps.add(new HashMap<>(Map.of(BenchmarkData.key(i), 1.0, BenchmarkData.key(i + 1), 2.0)));
+        }
+        setsByKey = new HashMap<>();
+        keys.forEach(k -> setsByKey.computeIfAbsent(k, x -> new HashSet<>()).add(k));
+        probeKey = BenchmarkData.key(cardinality / 2);
+    }
+
+    @Benchmark
+    public List<String> fetchKeysFromMap() {
+        return MapUtils.fetchKeysFromMap(grouped);
+    }
+
+    @Benchmark
+    public List<List<BenchmarkRecord>> mapValuesToList() {
+        return MapUtils.mapValuesToList(grouped);
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> flatMapToList() {
+        return MapUtils.flatMapToList(grouped);
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> flatMapInMapToList() {
+        return MapUtils.flatMapInMapToList(nested);
+    }
+
+    @Benchmark
+    public long flatMapToListViewIteration() {
+        long sum = 0;
+        for (final BenchmarkRecord record : MapUtils.flatMapToListView(grouped)) {
+            sum += record.id();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long flatMapInMapToListViewIteration() {
+        long sum = 0;
+        for (final BenchmarkRecord record : MapUtils.flatMapInMapToListView(nested)) {
+            sum += record.id();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public boolean isMapNullOrEmpty() {
+        return MapUtils.isMapNullOrEmpty(grouped);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public List<String> intersectMaps() {
+        return MapUtils.intersectMaps(amounts, otherAmounts);
+    }
+
+    @Benchmark
+    public ImmutableList<String> intersectMapsByKey() {
+        return MapUtils.intersectMapsByKey(immutableAmounts, immutableOtherAmounts);
+    }
+
+    @Benchmark
+    public Map<String, Double> intersectMapsReturnMap() {
+        return MapUtils.intersectMapsReturnMap(amounts, otherAmounts);
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> intersectMapAndList() {
+        return MapUtils.intersectMapAndList(immutableGrouped, immutableKeySubset);
+    }
+
+    @Benchmark
+    public Map<String, List<BenchmarkRecord>> intersectMapAndListToMap() {
+        // the helper retains in place, so every invocation works on a fresh copy
+        return MapUtils.intersectMapAndListToMap(new HashMap<>(grouped), immutableKeySubset);
+    }
+
+    @Benchmark
+    public Map<String, Double> convertListToEmptyMap() {
+        return MapUtils.convertListToEmptyMap(distinctKeys);
+    }
+
+    @Benchmark
+    public Map<String, Double> convertSetToZeroValueMap() {
+        return MapUtils.convertSetToZeroValueMap(grouped.keySet());
+    }
+
+    @Benchmark
+    public Map<String, List<BenchmarkRecord>> ifNotMapNullOrEmpty() {
+        return MapUtils.ifNotMapNullOrEmpty(grouped);
+    }
+
+    @Benchmark
+    public Map<String, Double> roundMapValues() {
+        final Map<String, Double> copy = new HashMap<>(amounts);
+        MapUtils.roundMapValues(copy, 2);
+        return copy;
+    }
+
+    @Benchmark
+    public double calculateSumOfAllMapValues() {
+        return MapUtils.calculateSumOfAllMapValues(amounts);
+    }
+
+    @Benchmark
+    public double calculateSumOfAllNestedMapValues() {
+        return MapUtils.calculateSumOfAllNestedMapValues(nestedAmounts);
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> getListByMapKey() {
+        return MapUtils.getListByMapKey(grouped, probeKey);
+    }
+
+    @Benchmark
+    public Map<String, List<BenchmarkRecord>> getNullableMap() {
+        return MapUtils.getNullableMap(grouped);
+    }
+
+    @Benchmark
+    public Map<String, Double> upsertMapDoubleValues() {
+        final Map<String, Double> sums = new HashMap<>();
+        for (final BenchmarkRecord r : records) {
+            MapUtils.upsertMapDoubleValues(sums, r.key(), r.amount());
+        }
+        return sums;
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> upsertObjectDoubleMapValues() {
+        final ObjectDoubleMap<String> sums = new ObjectDoubleMap<>();
+        for (final BenchmarkRecord r : records) {
+            MapUtils.upsertMapDoubleValues(sums, r.key(), r.amount());
+        }
+        return sums;
+    }
+
+    @Benchmark
+    public Map<String, Double> upsertConcurrentHashMapValuesParallel() {
+        // the accumulator rejects null keys, so both concurrent variants skip them
+        final Map<String, Double> sums = new ConcurrentHashMap<>();
+        records.parallelStream()
+                .filter(r -> r.key() != null)
+                .forEach(r -> MapUtils.upsertMapDoubleValues(sums, r.key(), r.amount()));
+        return sums;
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> upsertConcurrentAccumulatorParallel() {
+        final ConcurrentDoubleAccumulatorMap<String> sums = new ConcurrentDoubleAccumulatorMap<>();
+        records.parallelStream()
+                .filter(r -> r.key() != null)
+                .forEach(r -> sums.add(r.key(), r.amount()));
+        return sums.snapshot();
+    }
+
+    @Benchmark
+    public Map<String, Double> sortMap() {
+        return MapUtils.sortMap(amounts, Comparator.naturalOrder());
+    }
+
+    @Benchmark
+    public Map<String, Double> filterByPredicate() {
+        return MapUtils.filterByPredicate(amounts, v -> v > 0.0);
+    }
+
+    @Benchmark
+    public Map<Long, BenchmarkRecord> convertListToMap() {
+        return MapUtils.convertListToMap(records, BenchmarkRecord::id);
+    }
+
+    @Benchmark
+    public void removeKeyFromMap(final Blackhole bh) {
+        final Double value = amounts.get(probeKey);
+        MapUtils.removeKeyFromMap(amounts, probeKey);
+        bh.consume(amounts.size());
+        if (value != null) {
+            amounts.put(probeKey, value);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Double>> removeKeyFromListOfMaps() {
+        final List<Map<String, Double>> copy = new ArrayList<>(listOfMaps.size());
+        listOfMaps.forEach(m -> copy.add(new HashMap<>(m)));
+        MapUtils.removeKeyFromListOfMaps(copy, BenchmarkData.key(1));
+        return copy;
+    }
+
+    @Benchmark
+    public Map<String, Double> removeIfKeyIsNullOrEmpty() {
+        final Map<String, Double> copy = new HashMap<>(nullableKeyAmounts);
+        MapUtils.removeIfKeyIsNullOrEmpty(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public double calculateDoubleSumByMember() {
+        return MapUtils.calculateDoubleSumByMember(immutableAmounts, Double::valueOf);
+    }
+
+    @Benchmark
+    public Map<Long, String> createMapFromListByMembers() {
+        return MapUtils.createMapFromListByMembers(records, BenchmarkRecord::id, BenchmarkRecord::name);
+    }
+
+    @Benchmark
+    public Map<String, Double> getMapValueByMapKey() {
+        return MapUtils.getMapValueByMapKey(nestedAmounts, "KEY1");
+    }
+
+    @Benchmark
+    public Set<String> getSetValueByMapKey() {
+        return MapUtils.getSetValueByMapKey(setsByKey, probeKey);
+    }
+}
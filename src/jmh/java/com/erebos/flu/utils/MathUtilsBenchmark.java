@@ -0,0 +1,147 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.pojo.BenchmarkRecord;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks for {@link MathUtils} and {@link BooleanUtils}.
+ * Scalar helpers are applied to all {@code size} values, a share of {@code nullRatio} boxed values is null.
+ */
+@State(Scope.Benchmark)
+public class MathUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"0.0", "0.25"})
+    public double nullRatio;
+
+    private double[] values;
+    private List<Double> boxedValues;
+    private List<Boolean> booleans;
+    private ImmutableList<BenchmarkRecord> records;
+
+    @Setup
+    public void setUp() {
+        final List<BenchmarkRecord> source = BenchmarkData.records(size, size, nullRatio);
+        records = ImmutableList.copyOf(source);
+        values = source.stream().mapToDouble(BenchmarkRecord::amount).toArray();
+        boxedValues = new ArrayList<>(size);
+        booleans = new ArrayList<>(size);
+        for (final BenchmarkRecord r : source) {
+            final boolean isNull = StringUtils.isStringNullOrEmpty(r.key());
+            boxedValues.add(isNull ? null : r.amount());
+            booleans.add(isNull ? null : r.amount() > 0.0);
+        }
+    }
+
+    @Benchmark
+    public void roundValue(final Blackhole bh) {
+        for (final double value : values) {
+            bh.consume(MathUtils.roundValue(value));
+        }
+    }
+
+    @Benchmark
+    public void roundValueWithScale(final Blackhole bh) {
+        for (final double value : values) {
+            bh.consume(MathUtils.roundValue(value, 4));
+        }
+    }
+
+    @Benchmark
+    public void calculatePercentageValue(final Blackhole bh) {
+        for (final double value : values) {
+            bh.consume(MathUtils.calculatePercentageValue(1000.0, value));
+        }
+    }
+
+    @Benchmark
+    public Double calculateAverageOfList() {
+        return MathUtils.calculateAverage(records, BenchmarkRecord::amount);
+    }
+
+    @Benchmark
+    public void calculateAverage(final Blackhole bh) {
+        for (final double value : values) {
+            bh.consume(MathUtils.calculateAverage(value, 1.0));
+        }
+    }
+
+    @Benchmark
+    public void calculateValueFromPercentage(final Blackhole bh) {
+        for (final double value : values) {
+            bh.consume(MathUtils.calculateValueFromPercentage(1000.0, value));
+        }
+    }
+
+    @Benchmark
+    public void negate(final Blackhole bh) {
+        for (final double value : values) {
+            bh.consume(MathUtils.negate(value));
+        }
+    }
+
+    @Benchmark
+    public Double calculateSum() {
+        return MathUtils.calculateSum(records.stream().map(BenchmarkRecord::amount));
+    }
+
+    @Benchmark
+    public void isNotZero(final Blackhole bh) {
+        for (final double value : values) {
+            bh.consume(MathUtils.isNotZero(value));
+        }
+    }
+
+    @Benchmark
+    public void addValueByPercentage(final Blackhole bh) {
+        for (final double value : values) {
+            bh.consume(MathUtils.addValueByPercentage(1.0, value, 10.0));
+        }
+    }
+
+    @Benchmark
+    public void getNullableDouble(final Blackhole bh) {
+        for (final Double value : boxedValues) {
+            bh.consume(MathUtils.getNullableDouble(value));
+        }
+    }
+
+    @Benchmark
+    public void getNullableDoubleElseZero(final Blackhole bh) {
+        for (final Double value : boxedValues) {
+            bh.consume(MathUtils.getNullableDoubleElseZero(value));
+        }
+    }
+
+    @Benchmark
+    public void calculateCompoundedPercentage(final Blackhole bh) {
+        for (final double value : values) {
+            bh.consume(MathUtils.calculateCompoundedPercentage(value / 100.0, 3));
+        }
+    }
+
+    @Benchmark
+    public void isEven(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(MathUtils.isEven(i));
+        }
+    }
+
+    @Benchmark
+    public void getNullableBoolean(final Blackhole bh) {
+        for (final Boolean value : booleans) {
+            bh.consume(BooleanUtils.getNullableBoolean(value));
+        }
+    }
+}
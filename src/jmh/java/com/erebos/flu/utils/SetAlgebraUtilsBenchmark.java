@@ -0,0 +1,77 @@
+package com.erebos.flu.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmarks for {@link SetAlgebraUtils} against the HashSet based {@link SetTheoryUtils}.
+ * {@code size} is the length of the large id list; the small list holds {@code size / 100} ids.
+ */
+@State(Scope.Benchmark)
+public class SetAlgebraUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private int[] sortedIds;
+    private int[] otherSortedIds;
+    private int[] fewSortedIds;
+    private int[] shuffledIds;
+    private int[] otherShuffledIds;
+    private List<Integer> boxedIds;
+    private List<Integer> otherBoxedIds;
+
+    @Setup
+    public void setUp() {
+        boxedIds = BenchmarkData.ints(size, size * 2, 0);
+        otherBoxedIds = BenchmarkData.ints(size, size * 2, size / 2);
+        shuffledIds = boxedIds.stream().mapToInt(Integer::intValue).toArray();
+        otherShuffledIds = otherBoxedIds.stream().mapToInt(Integer::intValue).toArray();
+        sortedIds = shuffledIds.clone();
+        Arrays.sort(sortedIds);
+        otherSortedIds = otherShuffledIds.clone();
+        Arrays.sort(otherSortedIds);
+        fewSortedIds = Arrays.copyOf(otherSortedIds, Math.max(1, size / 100));
+    }
+
+    @Benchmark
+    public List<Integer> hashIntersection() {
+        return SetTheoryUtils.intersection(boxedIds, otherBoxedIds, SetTheoryUtils.Strategy.HASH_PROBE);
+    }
+
+    @Benchmark
+    public int[] mergeIntersection() {
+        return SetAlgebraUtils.intersection(sortedIds, otherSortedIds);
+    }
+
+    @Benchmark
+    public int[] gallopingIntersection() {
+        return SetAlgebraUtils.intersection(fewSortedIds, sortedIds);
+    }
+
+    @Benchmark
+    public int[] bitsetIntersection() {
+        return SetAlgebraUtils.intersection(shuffledIds, otherShuffledIds, SetAlgebraUtils.Strategy.BITSET);
+    }
+
+    @Benchmark
+    public int[] sortMergeIntersection() {
+        return SetAlgebraUtils.intersection(shuffledIds, otherShuffledIds, SetAlgebraUtils.Strategy.SORT_MERGE);
+    }
+
+    @Benchmark
+    public int[] mergeUnion() {
+        return SetAlgebraUtils.union(sortedIds, otherSortedIds);
+    }
+
+    @Benchmark
+    public int[] mergeSymmetricDifference() {
+        return SetAlgebraUtils.symmetricDifference(sortedIds, otherSortedIds);
+    }
+}
@@ -0,0 +1,70 @@
+package com.erebos.flu.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Benchmarks for {@link SetTheoryUtils}.
+ * Both lists hold {@code size} values drawn from {@code cardinality} distinct values and overlap by half.
+ * With {@code sorted} both lists are presorted, which lets the adaptive strategy pick the sort-merge.
+ */
+@State(Scope.Benchmark)
+public class SetTheoryUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"16", "65536"})
+    public int cardinality;
+
+    @Param({"false", "true"})
+    public boolean sorted;
+
+    private List<Integer> left;
+    private List<Integer> right;
+
+    @Setup
+    public void setUp() {
+        left = BenchmarkData.ints(size, cardinality, 0);
+        right = BenchmarkData.ints(size, cardinality, cardinality / 2);
+        if (sorted) {
+            left = left.stream().sorted().toList();
+            right = right.stream().sorted().toList();
+        }
+    }
+
+    @Benchmark
+    public List<Integer> intersection() {
+        return SetTheoryUtils.intersection(left, right);
+    }
+
+    @Benchmark
+    public List<Integer> intersectionHashProbe() {
+        return SetTheoryUtils.intersection(left, right, SetTheoryUtils.Strategy.HASH_PROBE);
+    }
+
+    @Benchmark
+    public List<Integer> intersectionSortMerge() {
+        return SetTheoryUtils.intersection(left, right, SetTheoryUtils.Strategy.SORT_MERGE);
+    }
+
+    @Benchmark
+    public List<Integer> leftOuterJoinExclusive() {
+        return SetTheoryUtils.leftOuterJoinExclusive(left, right);
+    }
+
+    @Benchmark
+    public List<Integer> leftOuterJoin() {
+        return SetTheoryUtils.leftOuterJoin(left, right);
+    }
+
+    @Benchmark
+    public List<Integer> union() {
+        return SetTheoryUtils.union(left, right);
+    }
+}
@@ -0,0 +1,66 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.pojo.BenchmarkRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Benchmarks for {@link SetUtils} and {@link LambdaUtils}.
+ * {@code cardinality} is the number of distinct keys, a share of {@code nullRatio} keys is null or blank.
+ */
+@State(Scope.Benchmark)
+public class SetUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"16", "65536"})
+    public int cardinality;
+
+    @Param({"0.0", "0.25"})
+    public double nullRatio;
+
+    private Set<BenchmarkRecord> records;
+    private List<String> keys;
+
+    @Setup
+    public void setUp() {
+        records = new HashSet<>(BenchmarkData.records(size, cardinality, nullRatio));
+        keys = BenchmarkData.keys(size, cardinality, nullRatio);
+    }
+
+    @Benchmark
+    public Set<String> extractMembersAsSet() {
+        return SetUtils.extractMembersAsSet(records, BenchmarkRecord::key);
+    }
+
+    @Benchmark
+    public Set<BenchmarkRecord> getNullableSet() {
+        return SetUtils.getNullableSet(records);
+    }
+
+    @Benchmark
+    public void ifAvailableOrElse(final Blackhole bh) {
+        for (final String key : keys) {
+            LambdaUtils.ifAvailableOrElse(key, bh::consume, () -> bh.consume(0));
+        }
+    }
+
+    @Benchmark
+    public void ifAvailableOrElseMutable(final Blackhole bh) {
+        for (final String key : keys) {
+            bh.consume(LambdaUtils.ifAvailableOrElseMutable(key,
+                    h -> h.set(h.get().trim()),
+                    (AtomicReference<String> h) -> h.set("NA")));
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.pojo.BenchmarkRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks for {@link StringUtils}.
+ * Every benchmark applies the helper to all {@code size} input strings, so scores scale with the input size.
+ */
+@State(Scope.Benchmark)
+public class StringUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"16", "65536"})
+    public int cardinality;
+
+    @Param({"0.0", "0.25"})
+    public double nullRatio;
+
+    private List<String> keys;
+    private List<String> otherKeys;
+    private List<String> words;
+    private List<String> shuffledWords;
+    private List<BenchmarkRecord> records;
+    private List<String> paddedKeys;
+    private List<StringBuilder> paddedBuilders;
+    private List<byte[]> paddedBytes;
+    private List<byte[]> wordBytes;
+    private List<byte[]> shuffledWordBytes;
+
+    @Setup
+    public void setUp() {
+        keys = BenchmarkData.keys(size, cardinality, nullRatio);
+        otherKeys = BenchmarkData.keys(size, cardinality * 2, nullRatio);
+        records = BenchmarkData.records(size, cardinality, nullRatio);
+        final SplittableRandom random = new SplittableRandom(cardinality);
+        words = new ArrayList<>(size);
+        shuffledWords = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final String word = BenchmarkData.randomAscii(random, 4 + random.nextInt(28));
+            words.add(word);
+            shuffledWords.add(i % 2 == 0 ? StringUtils.reverseString(word) : word + "x");
+        }
+        // padded like fixed-width file columns, the case in which trim() used to allocate
+        paddedKeys = new ArrayList<>(size);
+        paddedBuilders = new ArrayList<>(size);
+        paddedBytes = new ArrayList<>(size);
+        for (final String key : keys) {
+            final String padded = "        " + (key == null ? "" : key) + "        ";
+            paddedKeys.add(padded);
+            paddedBuilders.add(new StringBuilder(padded));
+            paddedBytes.add(padded.getBytes(StandardCharsets.ISO_8859_1));
+        }
+        wordBytes = words.stream().map(word -> word.getBytes(StandardCharsets.UTF_8)).toList();
+        shuffledWordBytes = shuffledWords.stream().map(word -> word.getBytes(StandardCharsets.UTF_8)).toList();
+    }
+
+    @Benchmark
+    public void isStringNullOrEmpty(final Blackhole bh) {
+        for (final String key : keys) {
+            bh.consume(StringUtils.isStringNullOrEmpty(key));
+        }
+    }
+
+    // run with -prof gc: the blank checks must not allocate per call
+    @Benchmark
+    public void isStringNullOrEmptyPadded(final Blackhole bh) {
+        for (final String key : paddedKeys) {
+            bh.consume(StringUtils.isStringNullOrEmpty(key));
+        }
+    }
+
+    @Benchmark
+    public void isCharSequenceNullOrEmptyPadded(final Blackhole bh) {
+        for (final StringBuilder key : paddedBuilders) {
+            bh.consume(StringUtils.isCharSequenceNullOrEmpty(key));
+        }
+    }
+
+    @Benchmark
+    public void isLatin1NullOrEmptyPadded(final Blackhole bh) {
+        for (final byte[] key : paddedBytes) {
+            bh.consume(StringUtils.isLatin1NullOrEmpty(key, 0, key.length));
+        }
+    }
+
+    @Benchmark
+    public void getStringMemberFromObj(final Blackhole bh) {
+        for (final BenchmarkRecord r : records) {
+            bh.consume(StringUtils.getStringMemberFromObj(r, BenchmarkRecord::key));
+        }
+    }
+
+    @Benchmark
+    public void stringsNotNullAndEqual(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(StringUtils.stringsNotNullAndEqual(keys.get(i), otherKeys.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void getNullableString(final Blackhole bh) {
+        for (final String key : keys) {
+            bh.consume(StringUtils.getNullableString(key));
+        }
+    }
+
+    @Benchmark
+    public void getNullableStringWithNA(final Blackhole bh) {
+        for (final String key : keys) {
+            bh.consume(StringUtils.getNullableStringWithNA(key));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public void concatStringsWithDelimiterPair(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(StringUtils.concatStringsWithDelimiter(keys.get(i), otherKeys.get(i), StringUtils.SLASH_DELIMITER));
+        }
+    }
+
+    @Benchmark
+    public String concatStringsWithDelimiterList() {
+        return StringUtils.concatStringsWithDelimiter(keys, StringUtils.SLASH_DELIMITER);
+    }
+
+    @Benchmark
+    public void validateStringParameter(final Blackhole bh) {
+        for (final String word : words) {
+            StringUtils.validateStringParameter(word, "word", StringUtilsBenchmark.class);
+        }
+        bh.consume(words.size());
+    }
+
+    @Benchmark
+    public void reverseString(final Blackhole bh) {
+        for (final String word : words) {
+            bh.consume(StringUtils.reverseString(word));
+        }
+    }
+
+    @Benchmark
+    public void hasUniqueChars(final Blackhole bh) {
+        for (final String word : words) {
+            bh.consume(StringUtils.hasUniqueChars(word));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public void hasUniqueChars2(final Blackhole bh) {
+        for (final String word : words) {
+            bh.consume(StringUtils.hasUniqueChars2(word));
+        }
+    }
+
+    @Benchmark
+    public void isPermutation(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(StringUtils.isPermutation(words.get(i), shuffledWords.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void isOneAway(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(StringUtils.isOneAway(words.get(i), shuffledWords.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void isPermutationUtf8(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            final byte[] a = wordBytes.get(i);
+            final byte[] b = shuffledWordBytes.get(i);
+            bh.consume(Utf8Utils.isPermutation(a, 0, a.length, b, 0, b.length));
+        }
+    }
+
+    @Benchmark
+    public void isOneAwayUtf8(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            final byte[] a = wordBytes.get(i);
+            final byte[] b = shuffledWordBytes.get(i);
+            bh.consume(Utf8Utils.isOneAway(a, 0, a.length, b, 0, b.length));
+        }
+    }
+
+    @Benchmark
+    public void contentEqualsUtf8(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            final byte[] a = wordBytes.get(i);
+            bh.consume(Utf8Utils.contentEquals(a, 0, a.length, shuffledWords.get(i)));
+        }
+    }
+
+    @Benchmark
+    public List<String> findPermutations() {
+        return CodePointUtils.findPermutations(words.get(0), shuffledWords);
+    }
+
+    @Benchmark
+    public void levenshteinBounded(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(EditDistanceUtils.levenshtein(words.get(i), shuffledWords.get(i), 3));
+        }
+    }
+
+    @Benchmark
+    public void damerauBounded(final Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(EditDistanceUtils.damerau(words.get(i), shuffledWords.get(i), 3));
+        }
+    }
+
+    @Benchmark
+    public List<EditDistanceUtils.Match<String>> bestMatches() {
+        return EditDistanceUtils.bestMatches(words.get(0), shuffledWords, 2, 10);
+    }
+}
@@ -0,0 +1,4 @@
+package com.erebos.flu.utils.pojo;
+
+public record BenchmarkRecord(String key, String name, Category category, double amount, long id) {
+}
@@ -0,0 +1,5 @@
+package com.erebos.flu.utils.pojo;
+
+public enum Category {
+    CAT1, CAT2, CAT3, CAT4, CAT5, CAT6, CAT7, CAT8
+}
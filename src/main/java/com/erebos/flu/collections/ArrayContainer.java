@@ -0,0 +1,127 @@
+package com.erebos.flu.collections;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Container of at most {@link RoaringContainer#ARRAY_MAX} values in a sorted char array, two bytes per value.
+ */
+final class ArrayContainer extends RoaringContainer {
+
+    private char[] values;
+    private int size;
+
+    ArrayContainer(final char[] values, final int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    @Override
+    int cardinality() {
+        return size;
+    }
+
+    @Override
+    boolean contains(final char value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    @Override
+    RoaringContainer add(final char value) {
+        if (size == ARRAY_MAX) {
+            final long[] words = toWords();
+            words[value >>> 6] |= 1L << value;
+            return new BitmapContainer(words, size + 1);
+        }
+        final int index = -Arrays.binarySearch(values, 0, size, value) - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, size + (size >>> 1))));
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        return this;
+    }
+
+    @Override
+    RoaringContainer remove(final char value) {
+        if (size == 1) {
+            return null;
+        }
+        final int index = Arrays.binarySearch(values, 0, size, value);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return this;
+    }
+
+    @Override
+    int rank(final char value) {
+        final int found = Arrays.binarySearch(values, 0, size, value);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    @Override
+    char select(final int index) {
+        return values[index];
+    }
+
+    @Override
+    char[] toCharArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    long[] toWords() {
+        final long[] words = new long[BitmapContainer.WORDS];
+        for (int i = 0; i < size; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return words;
+    }
+
+    @Override
+    RoaringContainer copy() {
+        return new ArrayContainer(toCharArray(), size);
+    }
+
+    @Override
+    void forEach(final int high, final IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(high | values[i]);
+        }
+    }
+
+    @Override
+    byte type() {
+        return ARRAY;
+    }
+
+    @Override
+    int serializedSize() {
+        return Integer.BYTES + size * Character.BYTES;
+    }
+
+    @Override
+    void writeTo(final ByteBuffer buffer) {
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putChar(values[i]);
+        }
+    }
+
+    static ArrayContainer readFrom(final ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        if (size <= 0 || size > ARRAY_MAX) {
+            throw new IllegalArgumentException("Invalid array container size: " + size);
+        }
+        final char[] values = new char[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = buffer.getChar();
+            if (i > 0 && values[i] <= values[i - 1]) {
+                throw new IllegalArgumentException("Array container values are not ascending");
+            }
+        }
+        return new ArrayContainer(values, size);
+    }
+}
@@ -0,0 +1,140 @@
+package com.erebos.flu.collections;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Container of more than {@link RoaringContainer#ARRAY_MAX} values as a bitmap of 65536 bits, a fixed 8 KiB.
+ */
+final class BitmapContainer extends RoaringContainer {
+
+    static final int WORDS = 1024;
+
+    private final long[] words;
+    private int cardinality;
+
+    BitmapContainer(final long[] words, final int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(final char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    RoaringContainer add(final char value) {
+        words[value >>> 6] |= 1L << value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    RoaringContainer remove(final char value) {
+        words[value >>> 6] &= ~(1L << value);
+        cardinality--;
+        return cardinality <= ARRAY_MAX ? new ArrayContainer(toCharArray(words, cardinality), cardinality) : this;
+    }
+
+    @Override
+    int rank(final char value) {
+        final int word = value >>> 6;
+        int rank = 0;
+        for (int w = 0; w < word; w++) {
+            rank += Long.bitCount(words[w]);
+        }
+        // -1L >>> 63 - bit keeps the bits up to and including the value's
+        return rank + Long.bitCount(words[word] & (-1L >>> (63 - (value & 63))));
+    }
+
+    @Override
+    char select(final int index) {
+        int remaining = index;
+        for (int w = 0; ; w++) {
+            final int count = Long.bitCount(words[w]);
+            if (remaining < count) {
+                long word = words[w];
+                for (int i = 0; i < remaining; i++) {
+                    word &= word - 1;
+                }
+                return (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+            }
+            remaining -= count;
+        }
+    }
+
+    @Override
+    char[] toCharArray() {
+        return toCharArray(words, cardinality);
+    }
+
+    @Override
+    long[] toWords() {
+        return words.clone();
+    }
+
+    @Override
+    RoaringContainer copy() {
+        return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    void forEach(final int high, final IntConsumer action) {
+        for (int w = 0; w < WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                action.accept(high | (w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    byte type() {
+        return BITMAP;
+    }
+
+    @Override
+    int serializedSize() {
+        return WORDS * Long.BYTES;
+    }
+
+    @Override
+    void writeTo(final ByteBuffer buffer) {
+        for (final long word : words) {
+            buffer.putLong(word);
+        }
+    }
+
+    static BitmapContainer readFrom(final ByteBuffer buffer) {
+        final long[] words = new long[WORDS];
+        int cardinality = 0;
+        for (int w = 0; w < WORDS; w++) {
+            words[w] = buffer.getLong();
+            cardinality += Long.bitCount(words[w]);
+        }
+        if (cardinality <= ARRAY_MAX) {
+            throw new IllegalArgumentException("Bitmap container with " + cardinality + " values");
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    static char[] toCharArray(final long[] words, final int cardinality) {
+        final char[] values = new char[cardinality];
+        int size = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                values[size++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,150 @@
+package com.erebos.flu.collections;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Concurrent map accumulating double amounts per key, e.g. amounts per cost center written by many worker threads.
+ * <p>
+ * Every key owns a {@link DoubleAdder}, whose striped cells let threads add to a hot key without contending on a
+ * single value. Writers hold one of several lock stripes in shared mode, picked by their thread, so they never
+ * block each other. {@link #snapshot()} and {@link #snapshotThenReset()} take all stripes exclusively for the
+ * short time needed to read the sums, so a snapshot contains every completed {@link #add} exactly once.
+ * <p>
+ * Null keys are not supported.
+ *
+ * @param <K> the type of keys in the map
+ */
+public final class ConcurrentDoubleAccumulatorMap<K> {
+
+    private final ConcurrentHashMap<K, DoubleAdder> adders = new ConcurrentHashMap<>();
+    private final StampedLock[] stripes;
+
+    /**
+     * Creates an accumulator with two lock stripes per available processor.
+     */
+    public ConcurrentDoubleAccumulatorMap() {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an accumulator with the given number of lock stripes, rounded up to a power of two.
+     *
+     * @param stripeCount the number of lock stripes
+     * @throws IllegalArgumentException if stripeCount is not positive
+     */
+    public ConcurrentDoubleAccumulatorMap(final int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("stripeCount must be positive");
+        }
+        final int highestBit = Integer.highestOneBit(stripeCount);
+        stripes = new StampedLock[highestBit == stripeCount ? stripeCount : highestBit << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new StampedLock();
+        }
+    }
+
+    /**
+     * Adds a value to the sum of a key. Safe to call from many threads at once.
+     *
+     * @param key   the key
+     * @param value the value to add
+     * @throws NullPointerException if key is null
+     */
+    public void add(final K key, final double value) {
+        requireNonNull(key, "key can't be null");
+        final StampedLock stripe = stripeOfCurrentThread();
+        final long stamp = stripe.readLock();
+        try {
+            adderOf(key).add(value);
+        } finally {
+            stripe.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the current sum of a key. Concurrent adds may or may not be included.
+     *
+     * @param key the key
+     * @return the current sum, 0.0 if the key is absent
+     * @throws NullPointerException if key is null
+     */
+    public double sum(final K key) {
+        requireNonNull(key, "key can't be null");
+        final DoubleAdder adder = adders.get(key);
+        return adder == null ? 0.0 : adder.sum();
+    }
+
+    /**
+     * Returns the current sum over all keys. Concurrent adds may or may not be included.
+     *
+     * @return the current sum over all keys
+     */
+    public double total() {
+        return adders.values().stream().mapToDouble(DoubleAdder::sum).sum();
+    }
+
+    /**
+     * Returns the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return adders.size();
+    }
+
+    /**
+     * Returns a consistent copy of all sums. Writers are blocked while the sums are read.
+     *
+     * @return the sums per key
+     */
+    public ObjectDoubleMap<K> snapshot() {
+        return exclusively(false);
+    }
+
+    /**
+     * Returns a consistent copy of all sums and removes all keys, e.g. to flush the sums periodically.
+     * Every add is contained in exactly one of the returned snapshots.
+     *
+     * @return the sums per key
+     */
+    public ObjectDoubleMap<K> snapshotThenReset() {
+        return exclusively(true);
+    }
+
+    private DoubleAdder adderOf(final K key) {
+        final DoubleAdder adder = adders.get(key);
+        return adder != null ? adder : adders.computeIfAbsent(key, k -> new DoubleAdder());
+    }
+
+    private StampedLock stripeOfCurrentThread() {
+        final long id = Thread.currentThread().threadId();
+        final int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private ObjectDoubleMap<K> exclusively(final boolean reset) {
+        final long[] stamps = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            stamps[i] = stripes[i].writeLock();
+        }
+        try {
+            final ObjectDoubleMap<K> snapshot = new ObjectDoubleMap<>(adders.size());
+            for (final Map.Entry<K, DoubleAdder> entry : adders.entrySet()) {
+                snapshot.putDouble(entry.getKey(), entry.getValue().sum());
+            }
+            if (reset) {
+                adders.clear();
+            }
+            return snapshot;
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].unlockWrite(stamps[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.erebos.flu.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Read-only list view concatenating several lists ("buckets") in place, e.g. the values of a grouped
+ * {@code Map<K, List<V>>}, without copying their elements.
+ * <p>
+ * The buckets and their sizes are captured on creation, so {@link #size()} is O(1) and {@link #get(int)} finds
+ * the bucket by a binary search over the bucket offsets. Iteration walks the buckets' own iterators, and the
+ * {@link #spliterator()} splits along bucket boundaries first, so parallel streams hand whole buckets to workers.
+ * <p>
+ * The view reads through to the buckets: changing an element of a bucket is visible, changing the size of a
+ * bucket after creation leaves the view inconsistent. All mutators throw {@link UnsupportedOperationException}.
+ *
+ * @param <T> the type of elements
+ */
+public final class FlatListView<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<? extends T>[] buckets;
+    // offsets[i] is the index of the first element of buckets[i], offsets[buckets.length] is the size
+    private final int[] offsets;
+
+    private FlatListView(final Collection<? extends List<? extends T>> lists) {
+        // a generic array can't be created directly, it only ever holds lists of T
+        @SuppressWarnings("unchecked")
+        final List<? extends T>[] nonEmpty = (List<? extends T>[]) new List<?>[lists.size()];
+        final int[] starts = new int[lists.size() + 1];
+        int count = 0;
+        long size = 0;
+        for (final List<? extends T> list : lists) {
+            requireNonNull(list, "lists can't contain null");
+            if (!list.isEmpty()) {
+                starts[count] = (int) size;
+                nonEmpty[count++] = list;
+                size += list.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Total size exceeds Integer.MAX_VALUE");
+                }
+            }
+        }
+        starts[count] = (int) size;
+        this.buckets = Arrays.copyOf(nonEmpty, count);
+        this.offsets = Arrays.copyOf(starts, count + 1);
+    }
+
+    /**
+     * Creates a view concatenating the given lists in iteration order. Only the references to the lists are copied.
+     *
+     * @param lists the lists to concatenate
+     * @param <T>   the type of elements
+     * @return the view
+     * @throws NullPointerException     if lists is or contains null
+     * @throws IllegalArgumentException if the total size exceeds {@code Integer.MAX_VALUE}
+     */
+    public static <T> FlatListView<T> of(final Collection<? extends List<? extends T>> lists) {
+        return new FlatListView<>(requireNonNull(lists, "lists can't be null"));
+    }
+
+    @Override
+    public T get(final int index) {
+        Objects.checkIndex(index, size());
+        final int found = Arrays.binarySearch(offsets, 0, buckets.length, index);
+        // empty buckets are skipped, so the offsets are strictly ascending and an exact hit is the bucket start
+        final int bucket = found >= 0 ? found : -found - 2;
+        return buckets[bucket].get(index - offsets[bucket]);
+    }
+
+    @Override
+    public int size() {
+        return offsets[buckets.length];
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new BucketIterator();
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        requireNonNull(action, "action can't be null");
+        for (final List<? extends T> bucket : buckets) {
+            bucket.forEach(action);
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new BucketSpliterator(0, buckets.length);
+    }
+
+    private final class BucketIterator implements Iterator<T> {
+        private int next;
+        private Iterator<? extends T> current = buckets.length == 0 ? null : buckets[next++].iterator();
+
+        @Override
+        public boolean hasNext() {
+            while (current != null && !current.hasNext()) {
+                current = next < buckets.length ? buckets[next++].iterator() : null;
+            }
+            return current != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+
+    // Covers the buckets [bucket, end) plus the partially consumed spliterator of the bucket before them, if any
+    private final class BucketSpliterator implements Spliterator<T> {
+        private int bucket;
+        private final int end;
+        private Spliterator<? extends T> current;
+
+        private BucketSpliterator(final int bucket, final int end) {
+            this.bucket = bucket;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            requireNonNull(action, "action can't be null");
+            while (true) {
+                if (current == null) {
+                    if (bucket >= end) {
+                        return false;
+                    }
+                    current = buckets[bucket++].spliterator();
+                }
+                if (current.tryAdvance(action)) {
+                    return true;
+                }
+                current = null;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            requireNonNull(action, "action can't be null");
+            if (current != null) {
+                current.forEachRemaining(action);
+                current = null;
+            }
+            while (bucket < end) {
+                buckets[bucket++].forEach(action);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Spliterator<T> trySplit() {
+            if (current != null) {
+                if (bucket < end) {
+                    // hand off the partially consumed bucket, keep the untouched ones
+                    final Spliterator<? extends T> prefix = current;
+                    current = null;
+                    return (Spliterator<T>) prefix;
+                }
+                return (Spliterator<T>) current.trySplit();
+            }
+            if (end - bucket >= 2) {
+                final int mid = (bucket + end) >>> 1;
+                final BucketSpliterator prefix = new BucketSpliterator(bucket, mid);
+                bucket = mid;
+                return prefix;
+            }
+            if (bucket < end) {
+                // a single bucket left, split inside it
+                current = buckets[bucket++].spliterator();
+                return (Spliterator<T>) current.trySplit();
+            }
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return offsets[end] - offsets[bucket] + (current == null ? 0 : current.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return current == null
+                    ? ORDERED | SIZED | SUBSIZED
+                    : ORDERED | (current.characteristics() & (SIZED | SUBSIZED));
+        }
+    }
+}
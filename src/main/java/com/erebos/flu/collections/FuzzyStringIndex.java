@@ -0,0 +1,507 @@
+package com.erebos.flu.collections;
+
+import com.erebos.flu.utils.EditDistanceUtils;
+import com.erebos.flu.utils.EditDistanceUtils.Match;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Index over a dictionary of strings answering "all entries within Levenshtein distance k of a query" without
+ * comparing the query to every entry, e.g. for interactive fuzzy search over millions of account names, where a
+ * linear scan with {@code StringUtils.isOneAway} is too slow.
+ * <p>
+ * Entries are counted in code points like in {@link EditDistanceUtils}; null entries are never indexed. Entries can
+ * be added at any time, they can't be removed. The index is not thread-safe, but any number of threads can search it
+ * concurrently as long as no entry is added. Only the Levenshtein distance is supported, because the BK-tree relies
+ * on the triangle inequality, which the optimal string alignment distance violates.
+ */
+public final class FuzzyStringIndex {
+
+    private static final int MAGIC = 0x46534931; // "FSI1"
+    private static final int NONE = -1;
+    // the padding code point around entries, above any valid code point so it can't collide with one
+    private static final int PADDING = 0x1FFFFF;
+    private static final int GRAM_BITS = 21;
+
+    /**
+     * The ways of indexing the entries.
+     */
+    public enum Strategy {
+        /**
+         * A BK-tree: every entry hangs below its parent by their distance, and by the triangle inequality a search
+         * only descends into the children whose distance to the parent is within k of the query's. Best for small
+         * k; costs one distance computation per insert step and four ints per entry.
+         */
+        BK_TREE,
+        /**
+         * An inverted index from the trigrams of every entry, padded with two characters on both sides, to the
+         * entries containing them. An edit changes at most three trigrams, so a match within k contains all but
+         * 3k of the query's distinct trigrams, and therefore one of its 3k + 1 rarest ones; only the entries posted
+         * under those are compared. Best for queries which are long compared to k; a query with no more than 3k
+         * distinct trigrams is compared to every entry of a suitable length.
+         */
+        TRIGRAM
+    }
+
+    private final Strategy strategy;
+    private String[] entries;
+    private int[] lengths;
+    private int size;
+
+    // BK_TREE: the children of every entry as a linked list, by the distance to their parent
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] distanceToParent;
+    private int[] maxChildDistance;
+
+    // TRIGRAM: entry ids by packed trigram, ascending
+    private final Map<Long, Postings> postings;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param strategy the strategy to index with
+     */
+    public FuzzyStringIndex(final Strategy strategy) {
+        this.strategy = requireNonNull(strategy, "strategy can't be null");
+        this.entries = new String[16];
+        this.lengths = new int[16];
+        if (strategy == Strategy.BK_TREE) {
+            this.firstChild = new int[16];
+            this.nextSibling = new int[16];
+            this.distanceToParent = new int[16];
+            this.maxChildDistance = new int[16];
+            this.postings = null;
+        } else {
+            this.postings = new HashMap<>();
+        }
+    }
+
+    /**
+     * Indexes the entries with the given strategy, duplicates and nulls are ignored.
+     *
+     * @param entries  the entries to index
+     * @param strategy the strategy to index with
+     * @return the index
+     * @throws IllegalArgumentException if an entry contains an unpaired surrogate
+     */
+    public static FuzzyStringIndex of(final Collection<String> entries, final Strategy strategy) {
+        requireNonNull(entries, "entries can't be null");
+        final FuzzyStringIndex index = new FuzzyStringIndex(strategy);
+        for (final String entry : entries) {
+            index.add(entry);
+        }
+        return index;
+    }
+
+    /**
+     * Deserializes an index written by {@link #toByteArray()}.
+     *
+     * @param bytes the serialized index
+     * @return the index
+     * @throws IllegalArgumentException if bytes is not a serialized index
+     */
+    public static FuzzyStringIndex fromByteArray(final byte[] bytes) {
+        requireNonNull(bytes, "bytes can't be null");
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a serialized FuzzyStringIndex");
+            }
+            final int ordinal = buffer.get();
+            if (ordinal < 0 || ordinal >= Strategy.values().length) {
+                throw new IllegalArgumentException("Invalid strategy: " + ordinal);
+            }
+            final FuzzyStringIndex index = new FuzzyStringIndex(Strategy.values()[ordinal]);
+            final int count = readVarInt(buffer);
+            for (int id = 0; id < count; id++) {
+                final byte[] utf8 = new byte[readVarInt(buffer)];
+                buffer.get(utf8);
+                final String entry = new String(utf8, StandardCharsets.UTF_8);
+                if (index.strategy == Strategy.TRIGRAM) {
+                    index.append(entry);
+                    index.post(id);
+                    continue;
+                }
+                // the tree is restored edge by edge instead of recomputing the distances of a fresh insert
+                final int parent = id == 0 ? NONE : readVarInt(buffer);
+                final int distance = id == 0 ? 0 : readVarInt(buffer);
+                if (id > 0 && (parent >= id || distance <= 0)) {
+                    throw new IllegalArgumentException("Invalid tree edge of entry " + id);
+                }
+                index.append(entry);
+                if (parent != NONE) {
+                    index.link(parent, id, distance);
+                }
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes after the last entry");
+            }
+            return index;
+        } catch (final BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated FuzzyStringIndex", ex);
+        }
+    }
+
+    /**
+     * Adds an entry if it is not indexed yet. Entries must be well-formed UTF-16, so that they survive
+     * {@link #toByteArray()} unchanged.
+     *
+     * @param entry the entry to add, may be null
+     * @return true if the entry was added, false if it was already indexed or is null
+     * @throws IllegalArgumentException if entry contains an unpaired surrogate
+     */
+    public boolean add(final String entry) {
+        if (entry == null) {
+            return false;
+        }
+        if (hasUnpairedSurrogate(entry)) {
+            throw new IllegalArgumentException("entry can't contain unpaired surrogates");
+        }
+        if (strategy == Strategy.TRIGRAM) {
+            if (contains(entry)) {
+                return false;
+            }
+            append(entry);
+            post(size - 1);
+            return true;
+        }
+        if (size == 0) {
+            append(entry);
+            return true;
+        }
+        int node = 0;
+        while (true) {
+            final int distance = EditDistanceUtils.levenshtein(entry, entries[node]);
+            if (distance == 0) {
+                return false;
+            }
+            final int child = childAt(node, distance);
+            if (child == NONE) {
+                append(entry);
+                link(node, size - 1, distance);
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Checks if an entry was indexed.
+     *
+     * @param entry the entry to look up, may be null
+     * @return true if the entry was indexed, false otherwise or if entry is null
+     */
+    public boolean contains(final String entry) {
+        return entry != null && !search(entry, 0).isEmpty();
+    }
+
+    /**
+     * Finds all entries within the given Levenshtein distance of the query.
+     *
+     * @param query       the string to match, may be null
+     * @param maxDistance the largest distance of a match
+     * @return the matches by ascending distance, ties in the order the entries were added; empty if query is null
+     * @throws IllegalArgumentException if maxDistance is negative
+     */
+    public List<Match<String>> search(final CharSequence query, final int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance can't be negative");
+        }
+        if (query == null || size == 0) {
+            return List.of();
+        }
+        final int queryLength = Character.codePointCount(query, 0, query.length());
+        final Hits found = new Hits();
+        if (strategy == Strategy.BK_TREE) {
+            searchTree(query, queryLength, maxDistance, found);
+        } else {
+            searchTrigrams(query, queryLength, maxDistance, found);
+        }
+        // distance in the high half and id in the low one, so this orders by distance, then id
+        Arrays.sort(found.packed, 0, found.size);
+        final List<Match<String>> matches = new ArrayList<>(found.size);
+        for (int i = 0; i < found.size; i++) {
+            matches.add(new Match<>(entries[(int) found.packed[i]], (int) (found.packed[i] >>> Integer.SIZE)));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the strategy the entries are indexed with.
+     *
+     * @return the strategy
+     */
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * Serializes the index, to be read back with {@link #fromByteArray(byte[])}. Entries are written as
+     * length-prefixed UTF-8, a BK-tree adds the parent and distance of every entry as variable-length ints, trigram
+     * postings are not written but rebuilt on reading in a single pass.
+     *
+     * @return the serialized index
+     */
+    public byte[] toByteArray() {
+        final byte[][] utf8 = new byte[size][];
+        int bytes = Integer.BYTES + 1 + varIntSize(size);
+        for (int id = 0; id < size; id++) {
+            utf8[id] = entries[id].getBytes(StandardCharsets.UTF_8);
+            bytes += varIntSize(utf8[id].length) + utf8[id].length;
+        }
+        final int[] parents = strategy == Strategy.BK_TREE ? parents() : null;
+        if (parents != null) {
+            for (int id = 1; id < size; id++) {
+                bytes += varIntSize(parents[id]) + varIntSize(distanceToParent[id]);
+            }
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        buffer.putInt(MAGIC).put((byte) strategy.ordinal());
+        writeVarInt(buffer, size);
+        for (int id = 0; id < size; id++) {
+            writeVarInt(buffer, utf8[id].length);
+            buffer.put(utf8[id]);
+            if (parents != null && id > 0) {
+                writeVarInt(buffer, parents[id]);
+                writeVarInt(buffer, distanceToParent[id]);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static boolean hasUnpairedSurrogate(final String entry) {
+        for (int i = 0; i < entry.length(); i++) {
+            final char c = entry.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < entry.length() && Character.isLowSurrogate(entry.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void searchTree(final CharSequence query, final int queryLength, final int maxDistance,
+                            final Hits found) {
+        int[] pending = new int[16];
+        int top = 0;
+        pending[top++] = 0;
+        while (top > 0) {
+            final int node = pending[--top];
+            // children are only of interest within maxDistance of the query's distance to the node, a distance
+            // beyond maxDistance + the farthest child excludes the node and all of them
+            final int bound = maxDistance + maxChildDistance[node];
+            if (Math.abs(lengths[node] - queryLength) > bound) {
+                continue;
+            }
+            final int distance = EditDistanceUtils.levenshtein(query, entries[node], bound);
+            if (distance < 0) {
+                continue;
+            }
+            if (distance <= maxDistance) {
+                found.add(distance, node);
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (Math.abs(distanceToParent[child] - distance) <= maxDistance) {
+                    if (top == pending.length) {
+                        pending = Arrays.copyOf(pending, top * 2);
+                    }
+                    pending[top++] = child;
+                }
+            }
+        }
+    }
+
+    private void searchTrigrams(final CharSequence query, final int queryLength, final int maxDistance,
+                                final Hits found) {
+        final long[] grams = distinctGrams(query);
+        final long required = grams.length - 3L * maxDistance;
+        if (required <= 0) {
+            for (int id = 0; id < size; id++) {
+                verify(query, queryLength, maxDistance, id, found);
+            }
+            return;
+        }
+        final int[][] lists = new int[grams.length][];
+        final int[] sizes = new int[grams.length];
+        final Integer[] order = new Integer[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            final Postings posted = postings.get(grams[i]);
+            lists[i] = posted == null ? new int[0] : posted.ids;
+            sizes[i] = posted == null ? 0 : posted.size;
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> sizes[i]));
+        // ids in ascending order, so matches of equal distance keep the order the entries were added
+        final RoaringIntSet candidates = new RoaringIntSet();
+        for (int g = 0; g <= grams.length - required; g++) {
+            final int i = order[g];
+            for (int j = 0; j < sizes[i]; j++) {
+                candidates.add(lists[i][j]);
+            }
+        }
+        candidates.forEachInt(id -> verify(query, queryLength, maxDistance, id, found));
+    }
+
+    private void verify(final CharSequence query, final int queryLength, final int maxDistance, final int id,
+                        final Hits found) {
+        if (Math.abs(lengths[id] - queryLength) <= maxDistance) {
+            final int distance = EditDistanceUtils.levenshtein(query, entries[id], maxDistance);
+            if (distance >= 0) {
+                found.add(distance, id);
+            }
+        }
+    }
+
+    private void append(final String entry) {
+        if (size == entries.length) {
+            final int capacity = size * 2;
+            entries = Arrays.copyOf(entries, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            if (strategy == Strategy.BK_TREE) {
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                distanceToParent = Arrays.copyOf(distanceToParent, capacity);
+                maxChildDistance = Arrays.copyOf(maxChildDistance, capacity);
+            }
+        }
+        entries[size] = entry;
+        lengths[size] = entry.codePointCount(0, entry.length());
+        if (strategy == Strategy.BK_TREE) {
+            firstChild[size] = NONE;
+            nextSibling[size] = NONE;
+        }
+        size++;
+    }
+
+    private void link(final int parent, final int child, final int distance) {
+        distanceToParent[child] = distance;
+        nextSibling[child] = firstChild[parent];
+        firstChild[parent] = child;
+        maxChildDistance[parent] = Math.max(maxChildDistance[parent], distance);
+    }
+
+    private int childAt(final int node, final int distance) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (distanceToParent[child] == distance) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    private int[] parents() {
+        final int[] parents = new int[size];
+        for (int node = 0; node < size; node++) {
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                parents[child] = node;
+            }
+        }
+        return parents;
+    }
+
+    private void post(final int id) {
+        for (final long gram : distinctGrams(entries[id])) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+        }
+    }
+
+    // The distinct trigrams of the code points of s, padded with two PADDING on both sides, packed 21 bits each
+    private static long[] distinctGrams(final CharSequence s) {
+        final int[] codePoints = s.codePoints().toArray();
+        final long[] grams = new long[codePoints.length + 2];
+        long gram = (long) PADDING << GRAM_BITS | PADDING;
+        for (int i = 0; i < grams.length; i++) {
+            final int next = i < codePoints.length ? codePoints[i] : PADDING;
+            gram = (gram << GRAM_BITS | next) & (1L << 3 * GRAM_BITS) - 1;
+            grams[i] = gram;
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static int varIntSize(final int value) {
+        return (Integer.SIZE - Integer.numberOfLeadingZeros(value | 1) + 6) / 7;
+    }
+
+    private static void writeVarInt(final ByteBuffer buffer, final int value) {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            buffer.put((byte) (remaining & 0x7F | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.put((byte) remaining);
+    }
+
+    private static int readVarInt(final ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Invalid length or id: " + Integer.toUnsignedString(value));
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length int");
+    }
+
+    /**
+     * Growable array of entry ids.
+     */
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        private void add(final int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    /**
+     * Growable array of matches, packed as distance and entry id.
+     */
+    private static final class Hits {
+        private long[] packed = new long[8];
+        private int size;
+
+        private void add(final int distance, final int id) {
+            if (size == packed.length) {
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            packed[size++] = (long) distance << Integer.SIZE | id;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.erebos.flu.collections;
+
+import com.erebos.flu.utils.ComparableUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.erebos.flu.utils.ComparableUtils.compare;
+import static com.erebos.flu.utils.ComparableUtils.isSorted;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Read-only index over a collection of keys, built once and probed many times, e.g. to match every element of
+ * one list against the keys of another in O(n + m) instead of scanning the keys for every element.
+ * <p>
+ * Null keys are never indexed and never match, like in {@code ListUtils.checkIfElementIsPresentInList}.
+ * The index is immutable after creation, so any number of threads can probe it concurrently.
+ *
+ * @param <U> the type of keys
+ */
+public final class MatchingIndex<U> {
+
+    /**
+     * The ways of indexing the keys.
+     */
+    public enum Strategy {
+        /**
+         * Maps every distinct key to its first occurrence in a HashMap. O(1) probes.
+         */
+        HASH,
+        /**
+         * Keeps the keys in a sorted array and probes by binary search. O(log m) probes, but no per-key
+         * allocations; chosen for keys which are already sorted, so building the index costs a single copy.
+         * Requires mutually Comparable keys.
+         */
+        SORTED
+    }
+
+    private final Strategy strategy;
+    private final Map<U, U> firstOccurrences;
+    private final Object[] sorted;
+
+    private MatchingIndex(final Strategy strategy, final Map<U, U> firstOccurrences, final Object[] sorted) {
+        this.strategy = strategy;
+        this.firstOccurrences = firstOccurrences;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Indexes the keys with the strategy that fits them: {@link Strategy#SORTED} if they are already sorted,
+     * {@link Strategy#HASH} otherwise.
+     *
+     * @param keys the keys to index, may contain null
+     * @param <U>  the type of keys
+     * @return the index
+     */
+    public static <U> MatchingIndex<U> of(final Collection<? extends U> keys) {
+        requireNonNull(keys, "keys can't be null");
+        return of(keys, !keys.isEmpty() && isSorted(keys, true) ? Strategy.SORTED : Strategy.HASH);
+    }
+
+    /**
+     * Indexes the keys with the given strategy.
+     *
+     * @param keys     the keys to index, may contain null
+     * @param strategy the strategy to index with
+     * @param <U>      the type of keys
+     * @return the index
+     * @throws ClassCastException if strategy is {@link Strategy#SORTED} and the keys are not mutually Comparable
+     */
+    public static <U> MatchingIndex<U> of(final Collection<? extends U> keys, final Strategy strategy) {
+        requireNonNull(keys, "keys can't be null");
+        requireNonNull(strategy, "strategy can't be null");
+        if (strategy == Strategy.HASH) {
+            final Map<U, U> firstOccurrences = new HashMap<>((int) (keys.size() / 0.75f) + 1);
+            for (final U key : keys) {
+                if (key != null) {
+                    firstOccurrences.putIfAbsent(key, key);
+                }
+            }
+            return new MatchingIndex<>(strategy, firstOccurrences, null);
+        }
+        final Object[] sorted = keys.stream().filter(Objects::nonNull).toArray();
+        if (!isSorted(Arrays.asList(sorted), true)) {
+            // stable, so the first element of a run of equal keys is their first occurrence
+            Arrays.sort(sorted, ComparableUtils::compare);
+        }
+        return new MatchingIndex<>(strategy, null, sorted);
+    }
+
+    /**
+     * Checks if an equal key was indexed.
+     *
+     * @param key the key to look up, may be null
+     * @return true if an equal key was indexed, false otherwise or if key is null
+     */
+    public boolean contains(final Object key) {
+        return partnerOf(key) != null;
+    }
+
+    /**
+     * Returns the first indexed key equal to the given key, in the order of the indexed collection.
+     *
+     * @param key the key to look up, may be null
+     * @return the first equal indexed key, or null if there is none or key is null
+     */
+    @SuppressWarnings("unchecked")
+    public U partnerOf(final Object key) {
+        if (key == null) {
+            return null;
+        }
+        if (strategy == Strategy.HASH) {
+            return firstOccurrences.get(key);
+        }
+        int low = 0;
+        int high = sorted.length;
+        try {
+            // leftmost element not less than key
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (compare(sorted[mid], key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            // equals() decides like in the hash strategy, compareTo() may be inconsistent with it
+            for (int i = low; i < sorted.length && compare(sorted[i], key) == 0; i++) {
+                if (key.equals(sorted[i])) {
+                    return (U) sorted[i];
+                }
+            }
+        } catch (final ClassCastException ex) {
+            // a key of another type can't be equal to the indexed keys
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the strategy the keys were indexed with.
+     *
+     * @return the strategy
+     */
+    public Strategy strategy() {
+        return strategy;
+    }
+}
@@ -0,0 +1,449 @@
+package com.erebos.flu.collections;
+
+import com.erebos.flu.utils.MathUtils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ObjDoubleConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Hash map from objects to primitive double values.
+ * <p>
+ * Keys and values are kept in two parallel arrays with open addressing (linear probing), so adding to a value
+ * does not allocate a {@code Double}. The primitive methods ({@link #addTo}, {@link #getDouble}, {@link #putDouble},
+ * {@link #sum}, {@link #round}, {@link #scale}) never box. The class also implements {@code Map<K, Double>},
+ * so it can be passed to every helper which expects a map; values are boxed only when read through that view.
+ * <p>
+ * Null keys are supported, null values are not. The map is not thread-safe.
+ *
+ * @param <K> the type of keys in the map
+ */
+public final class ObjectDoubleMap<K> extends AbstractMap<K, Double> {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final Object NULL_KEY = new Object();
+    private static final Object TOMBSTONE = new Object();
+
+    private Object[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+    private int used;
+    private int modCount;
+    private Set<Entry<K, Double>> entrySet;
+
+    /**
+     * Creates an empty map.
+     */
+    public ObjectDoubleMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Creates an empty map which holds {@code expectedSize} keys without resizing.
+     *
+     * @param expectedSize the expected number of keys
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public ObjectDoubleMap(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize can't be negative");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Creates a map holding the entries of the given map.
+     *
+     * @param map the map to copy
+     * @throws NullPointerException if map is null or contains a null value
+     */
+    public ObjectDoubleMap(final Map<? extends K, ? extends Double> map) {
+        this(requireNonNull(map, "map can't be null").size());
+        map.forEach(this::put);
+    }
+
+    /**
+     * Returns the value of a key, or 0.0 if the key is not in the map.
+     *
+     * @param key the key
+     * @return the value, or 0.0 if absent
+     */
+    public double getDouble(final Object key) {
+        return getDouble(key, 0.0);
+    }
+
+    /**
+     * Returns the value of a key, or the default value if the key is not in the map.
+     *
+     * @param key          the key
+     * @param defaultValue the value to return if the key is absent
+     * @return the value, or defaultValue if absent
+     */
+    public double getDouble(final Object key, final double defaultValue) {
+        final int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value, or 0.0 if the key was absent
+     */
+    public double putDouble(final K key, final double value) {
+        final int index = insertionIndex(key);
+        if (index >= 0) {
+            final double previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        insertAt(~index, key, value);
+        return 0.0;
+    }
+
+    /**
+     * Adds a delta to the value of a key in place. An absent key is inserted with the delta as its value.
+     *
+     * @param key   the key
+     * @param delta the value to add
+     * @return the new value of the key
+     */
+    public double addTo(final K key, final double delta) {
+        final int index = insertionIndex(key);
+        if (index >= 0) {
+            values[index] += delta;
+            return values[index];
+        }
+        insertAt(~index, key, delta);
+        return delta;
+    }
+
+    /**
+     * Calculates the sum of all values.
+     *
+     * @return the sum of all values, 0.0 if the map is empty
+     */
+    public double sum() {
+        double sum = 0.0;
+        for (int i = 0; i < keys.length; i++) {
+            if (isLive(keys[i])) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Rounds all values in place to the given number of decimal places.
+     *
+     * @param scale the number of decimal places
+     */
+    public void round(final int scale) {
+        for (int i = 0; i < keys.length; i++) {
+            if (isLive(keys[i])) {
+                values[i] = MathUtils.roundValue(values[i], scale);
+            }
+        }
+    }
+
+    /**
+     * Multiplies all values in place by a factor.
+     *
+     * @param factor the factor
+     */
+    public void scale(final double factor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (isLive(keys[i])) {
+                values[i] *= factor;
+            }
+        }
+    }
+
+    /**
+     * Performs an action for every entry without boxing the values.
+     *
+     * @param action the action to perform
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachDouble(final ObjDoubleConsumer<? super K> action) {
+        requireNonNull(action, "action can't be null");
+        final int expectedModCount = modCount;
+        for (int i = 0; i < keys.length; i++) {
+            if (isLive(keys[i])) {
+                action.accept((K) unmask(keys[i]), values[i]);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Double get(final Object key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public Double put(final K key, final Double value) {
+        requireNonNull(value, "value can't be null");
+        final int index = insertionIndex(key);
+        if (index >= 0) {
+            final double previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        insertAt(~index, key, value);
+        return null;
+    }
+
+    @Override
+    public Double remove(final Object key) {
+        final int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final double previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        allocate(capacityFor(DEFAULT_EXPECTED_SIZE));
+        size = 0;
+        used = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<K, Double>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        final int minCapacity = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR) + 1;
+        return Integer.highestOneBit(minCapacity - 1) << 1;
+    }
+
+    private static int slot(final Object maskedKey, final int mask) {
+        final int h = maskedKey.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static Object maskNull(final Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static Object unmask(final Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    private static boolean isLive(final Object key) {
+        return key != null && key != TOMBSTONE;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new Object[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+    }
+
+    private int indexOf(final Object key) {
+        final Object k = maskNull(key);
+        for (int i = slot(k, mask); ; i = (i + 1) & mask) {
+            final Object current = keys[i];
+            if (current == null) {
+                return -1;
+            }
+            if (current == k || (current != TOMBSTONE && current.equals(k))) {
+                return i;
+            }
+        }
+    }
+
+    // Returns the slot of the key, or the complement (~) of the slot to insert it at
+    private int insertionIndex(final Object key) {
+        final Object k = maskNull(key);
+        int firstTombstone = -1;
+        for (int i = slot(k, mask); ; i = (i + 1) & mask) {
+            final Object current = keys[i];
+            if (current == null) {
+                return ~(firstTombstone < 0 ? i : firstTombstone);
+            }
+            if (current == TOMBSTONE) {
+                firstTombstone = firstTombstone < 0 ? i : firstTombstone;
+            } else if (current == k || current.equals(k)) {
+                return i;
+            }
+        }
+    }
+
+    private void insertAt(final int index, final K key, final double value) {
+        if (keys[index] == null) {
+            used++;
+        }
+        keys[index] = maskNull(key);
+        values[index] = value;
+        size++;
+        modCount++;
+        if (used > keys.length * LOAD_FACTOR) {
+            rehash(size * 2 > keys.length * LOAD_FACTOR ? keys.length * 2 : keys.length);
+        }
+    }
+
+    private void removeAt(final int index) {
+        keys[index] = TOMBSTONE;
+        values[index] = 0.0;
+        size--;
+        modCount++;
+    }
+
+    private void rehash(final int capacity) {
+        final Object[] oldKeys = keys;
+        final double[] oldValues = values;
+        allocate(capacity);
+        used = size;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (isLive(oldKeys[i])) {
+                int j = slot(oldKeys[i], mask);
+                while (keys[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, Double>> {
+        @Override
+        public Iterator<Entry<K, Double>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ObjectDoubleMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, Double>> {
+        private final Object[] iteratedKeys = keys;
+        private int expectedModCount = modCount;
+        private int next = advance(0);
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < iteratedKeys.length;
+        }
+
+        @Override
+        public Entry<K, Double> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new SlotEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            expectedModCount = modCount;
+            last = -1;
+        }
+
+        private int advance(final int from) {
+            int i = from;
+            while (i < iteratedKeys.length && !isLive(iteratedKeys[i])) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private final class SlotEntry implements Entry<K, Double> {
+        private final int index;
+
+        private SlotEntry(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K getKey() {
+            return (K) unmask(keys[index]);
+        }
+
+        @Override
+        public Double getValue() {
+            return values[index];
+        }
+
+        @Override
+        public Double setValue(final Double value) {
+            requireNonNull(value, "value can't be null");
+            final double previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Entry<?, ?> e
+                    && Objects.equals(getKey(), e.getKey())
+                    && getValue().equals(e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Double.hashCode(values[index]);
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + values[index];
+        }
+    }
+}
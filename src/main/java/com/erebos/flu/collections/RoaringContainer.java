@@ -0,0 +1,189 @@
+package com.erebos.flu.collections;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of the 16-bit low halves of the values of a {@link RoaringIntSet} sharing one high half.
+ * Values are chars, so they compare unsigned. Implementations switch to the most compact representation
+ * when they grow or shrink across {@link #ARRAY_MAX}.
+ */
+abstract class RoaringContainer {
+
+    /** Largest cardinality kept as a sorted array; larger containers are bitmaps. */
+    static final int ARRAY_MAX = 4096;
+
+    static final byte ARRAY = 1;
+    static final byte BITMAP = 2;
+    static final byte RUN = 3;
+
+    private static final int ONLY_LEFT = 1;
+    private static final int BOTH = 2;
+    private static final int ONLY_RIGHT = 4;
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    // Adds a value which is not contained, returns the container to use from now on
+    abstract RoaringContainer add(char value);
+
+    // Removes a value which is contained, returns the container to use from now on, null if it became empty
+    abstract RoaringContainer remove(char value);
+
+    // Number of values less than or equal to the given value
+    abstract int rank(char value);
+
+    // The value at the given index in ascending order
+    abstract char select(int index);
+
+    abstract char[] toCharArray();
+
+    // The values as a bitmap of 1024 words, a copy the caller may modify
+    abstract long[] toWords();
+
+    abstract RoaringContainer copy();
+
+    abstract void forEach(int high, IntConsumer action);
+
+    abstract byte type();
+
+    abstract int serializedSize();
+
+    abstract void writeTo(ByteBuffer buffer);
+
+    // Converts to a run container if that is smaller
+    RoaringContainer runOptimize() {
+        final char[] values = toCharArray();
+        int runs = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1] + 1) {
+                runs++;
+            }
+        }
+        return RunContainer.serializedSize(runs) < serializedSize() ? RunContainer.of(values, runs) : this;
+    }
+
+    static RoaringContainer and(final RoaringContainer left, final RoaringContainer right) {
+        if (left instanceof ArrayContainer || right instanceof ArrayContainer) {
+            // probing the smaller array against the other container beats converting either
+            final RoaringContainer array = left instanceof ArrayContainer ? left : right;
+            final RoaringContainer other = array == left ? right : left;
+            return filter(array.toCharArray(), other, true);
+        }
+        return combineWords(left, right, BOTH);
+    }
+
+    static RoaringContainer or(final RoaringContainer left, final RoaringContainer right) {
+        if (left instanceof ArrayContainer && right instanceof ArrayContainer
+                && left.cardinality() + right.cardinality() <= ARRAY_MAX) {
+            return merge(left.toCharArray(), right.toCharArray(), ONLY_LEFT | BOTH | ONLY_RIGHT);
+        }
+        return combineWords(left, right, ONLY_LEFT | BOTH | ONLY_RIGHT);
+    }
+
+    static RoaringContainer andNot(final RoaringContainer left, final RoaringContainer right) {
+        if (left instanceof ArrayContainer) {
+            return filter(left.toCharArray(), right, false);
+        }
+        return combineWords(left, right, ONLY_LEFT);
+    }
+
+    static RoaringContainer xor(final RoaringContainer left, final RoaringContainer right) {
+        if (left instanceof ArrayContainer && right instanceof ArrayContainer
+                && left.cardinality() + right.cardinality() <= ARRAY_MAX) {
+            return merge(left.toCharArray(), right.toCharArray(), ONLY_LEFT | ONLY_RIGHT);
+        }
+        return combineWords(left, right, ONLY_LEFT | ONLY_RIGHT);
+    }
+
+    // Creates the most compact array or bitmap container for the values, null if there are none
+    static RoaringContainer of(final char[] values, final int size) {
+        if (size == 0) {
+            return null;
+        }
+        if (size <= ARRAY_MAX) {
+            return new ArrayContainer(values, size);
+        }
+        final long[] words = new long[BitmapContainer.WORDS];
+        for (int i = 0; i < size; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return new BitmapContainer(words, size);
+    }
+
+    // Creates the most compact array or bitmap container for the bitmap, null if it is empty
+    static RoaringContainer ofWords(final long[] words) {
+        int cardinality = 0;
+        for (final long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        if (cardinality == 0) {
+            return null;
+        }
+        return cardinality <= ARRAY_MAX ? new ArrayContainer(BitmapContainer.toCharArray(words, cardinality), cardinality)
+                : new BitmapContainer(words, cardinality);
+    }
+
+    private static RoaringContainer filter(final char[] values, final RoaringContainer other, final boolean keepContained) {
+        final char[] kept = new char[values.length];
+        int size = 0;
+        for (final char value : values) {
+            if (other.contains(value) == keepContained) {
+                kept[size++] = value;
+            }
+        }
+        return of(kept, size);
+    }
+
+    private static RoaringContainer merge(final char[] left, final char[] right, final int keep) {
+        final char[] out = new char[left.length + right.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                if ((keep & ONLY_LEFT) != 0) {
+                    out[size++] = left[i];
+                }
+                i++;
+            } else if (left[i] > right[j]) {
+                if ((keep & ONLY_RIGHT) != 0) {
+                    out[size++] = right[j];
+                }
+                j++;
+            } else {
+                if ((keep & BOTH) != 0) {
+                    out[size++] = left[i];
+                }
+                i++;
+                j++;
+            }
+        }
+        if ((keep & ONLY_LEFT) != 0) {
+            while (i < left.length) {
+                out[size++] = left[i++];
+            }
+        }
+        if ((keep & ONLY_RIGHT) != 0) {
+            while (j < right.length) {
+                out[size++] = right[j++];
+            }
+        }
+        return of(out, size);
+    }
+
+    private static RoaringContainer combineWords(final RoaringContainer left, final RoaringContainer right, final int keep) {
+        final long[] words = left.toWords();
+        final long[] other = right.toWords();
+        for (int w = 0; w < words.length; w++) {
+            words[w] = switch (keep) {
+                case BOTH -> words[w] & other[w];
+                case ONLY_LEFT -> words[w] & ~other[w];
+                case ONLY_LEFT | ONLY_RIGHT -> words[w] ^ other[w];
+                default -> words[w] | other[w];
+            };
+        }
+        return ofWords(words);
+    }
+}
@@ -0,0 +1,507 @@
+package com.erebos.flu.collections;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compressed set of ints in the style of Roaring bitmaps, for large id collections which would otherwise be kept
+ * as {@code Set<Integer>} or {@code Set<Long>} at 40 or more bytes per boxed id.
+ * <p>
+ * Values are split into a 16-bit high half, which selects a container, and a 16-bit low half stored in it. Each
+ * container takes the most compact of three forms: a sorted array of up to 4096 values (2 bytes per value), a
+ * 65536-bit bitmap (8 KiB) or, after {@link #runOptimize()}, a list of runs of consecutive values (4 bytes per run).
+ * Dense id ranges therefore cost about one bit per id, sparse ones about two bytes. Set operations combine
+ * containers with the same high half pairwise and copy or skip the others without looking at their values.
+ * <p>
+ * Values iterate in ascending signed order, negative values first. The set is mutable and not thread-safe.
+ */
+public final class RoaringIntSet implements Iterable<Integer> {
+
+    private static final int MAGIC = 0x52495331; // "RIS1"
+
+    // keys[i] is the high half of the values in containers[i], ascending, with the sign bit flipped so that the
+    // unsigned order of the halves is the signed order of the values
+    private char[] keys;
+    private RoaringContainer[] containers;
+    private int size;
+
+    /**
+     * Creates an empty set.
+     */
+    public RoaringIntSet() {
+        this(new char[4], new RoaringContainer[4], 0);
+    }
+
+    private RoaringIntSet(final char[] keys, final RoaringContainer[] containers, final int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Creates a set of the given values, duplicates are ignored. Sorts a copy of the values and builds every
+     * container in one go, which is much faster than adding the values one by one.
+     *
+     * @param values the values
+     * @return the set
+     */
+    public static RoaringIntSet of(final int... values) {
+        requireNonNull(values, "values can't be null");
+        final int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return ofSorted(sorted, sorted.length);
+    }
+
+    /**
+     * Creates a set of the given Integer ids, e.g. a list which would be passed to {@code SetUtils} or
+     * {@code ListUtils.findDuplicates}. Duplicates are ignored.
+     *
+     * @param values the values
+     * @return the set
+     * @throws NullPointerException if values is or contains null
+     */
+    public static RoaringIntSet fromList(final Collection<Integer> values) {
+        requireNonNull(values, "values can't be null");
+        final int[] unboxed = new int[values.size()];
+        int size = 0;
+        for (final Integer value : values) {
+            unboxed[size++] = requireNonNull(value, "values can't contain null");
+        }
+        Arrays.sort(unboxed, 0, size);
+        return ofSorted(unboxed, size);
+    }
+
+    /**
+     * Creates a set of the given Long ids. Duplicates are ignored.
+     *
+     * @param values the values
+     * @return the set
+     * @throws NullPointerException     if values is or contains null
+     * @throws IllegalArgumentException if a value is outside the int range
+     */
+    public static RoaringIntSet fromLongs(final Collection<Long> values) {
+        requireNonNull(values, "values can't be null");
+        final int[] narrowed = new int[values.size()];
+        int size = 0;
+        for (final Long value : values) {
+            final long id = requireNonNull(value, "values can't contain null");
+            if (id != (int) id) {
+                throw new IllegalArgumentException("Value out of int range: " + id);
+            }
+            narrowed[size++] = (int) id;
+        }
+        Arrays.sort(narrowed, 0, size);
+        return ofSorted(narrowed, size);
+    }
+
+    /**
+     * Deserializes a set written by {@link #toByteArray()}.
+     *
+     * @param bytes the serialized set
+     * @return the set
+     * @throws IllegalArgumentException if bytes is not a serialized set
+     */
+    public static RoaringIntSet fromByteArray(final byte[] bytes) {
+        requireNonNull(bytes, "bytes can't be null");
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a serialized RoaringIntSet");
+            }
+            final int count = buffer.getInt();
+            if (count < 0 || count > 1 << 16) {
+                throw new IllegalArgumentException("Invalid container count: " + count);
+            }
+            final char[] keys = new char[count];
+            final RoaringContainer[] containers = new RoaringContainer[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = buffer.getChar();
+                if (i > 0 && keys[i] <= keys[i - 1]) {
+                    throw new IllegalArgumentException("Container keys are not ascending");
+                }
+                final byte type = buffer.get();
+                containers[i] = switch (type) {
+                    case RoaringContainer.ARRAY -> ArrayContainer.readFrom(buffer);
+                    case RoaringContainer.BITMAP -> BitmapContainer.readFrom(buffer);
+                    case RoaringContainer.RUN -> RunContainer.readFrom(buffer);
+                    default -> throw new IllegalArgumentException("Invalid container type: " + type);
+                };
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes after the last container");
+            }
+            return new RoaringIntSet(keys, containers, count);
+        } catch (final BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated RoaringIntSet", ex);
+        }
+    }
+
+    /**
+     * Returns the intersection of two sets as a new set.
+     *
+     * @param left  the first set
+     * @param right the second set
+     * @return the values contained in both sets
+     */
+    public static RoaringIntSet and(final RoaringIntSet left, final RoaringIntSet right) {
+        return combine(left, right, RoaringContainer::and, false, false);
+    }
+
+    /**
+     * Returns the union of two sets as a new set.
+     *
+     * @param left  the first set
+     * @param right the second set
+     * @return the values contained in either set
+     */
+    public static RoaringIntSet or(final RoaringIntSet left, final RoaringIntSet right) {
+        return combine(left, right, RoaringContainer::or, true, true);
+    }
+
+    /**
+     * Returns the difference of two sets as a new set.
+     *
+     * @param left  the set to subtract from
+     * @param right the set to subtract
+     * @return the values of left which are not contained in right
+     */
+    public static RoaringIntSet andNot(final RoaringIntSet left, final RoaringIntSet right) {
+        return combine(left, right, RoaringContainer::andNot, true, false);
+    }
+
+    /**
+     * Returns the symmetric difference of two sets as a new set.
+     *
+     * @param left  the first set
+     * @param right the second set
+     * @return the values contained in exactly one of the sets
+     */
+    public static RoaringIntSet xor(final RoaringIntSet left, final RoaringIntSet right) {
+        return combine(left, right, RoaringContainer::xor, true, true);
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value
+     * @return true if the value was not contained before
+     */
+    public boolean add(final int value) {
+        final char key = high(value);
+        final int index = indexOf(key);
+        if (index < 0) {
+            insertContainer(-index - 1, key, new ArrayContainer(new char[]{low(value)}, 1));
+            return true;
+        }
+        if (containers[index].contains(low(value))) {
+            return false;
+        }
+        containers[index] = containers[index].add(low(value));
+        return true;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value the value
+     * @return true if the value was contained
+     */
+    public boolean remove(final int value) {
+        final int index = indexOf(high(value));
+        if (index < 0 || !containers[index].contains(low(value))) {
+            return false;
+        }
+        containers[index] = containers[index].remove(low(value));
+        if (containers[index] == null) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a value is contained.
+     *
+     * @param value the value
+     * @return true if the value is contained
+     */
+    public boolean contains(final int value) {
+        final int index = indexOf(high(value));
+        return index >= 0 && containers[index].contains(low(value));
+    }
+
+    /**
+     * Returns the number of values. Can exceed {@code Integer.MAX_VALUE}.
+     *
+     * @return the number of values
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Checks if the set is empty.
+     *
+     * @return true if there are no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of values less than or equal to the given value.
+     *
+     * @param value the value, not necessarily contained
+     * @return the rank of the value
+     */
+    public long rank(final int value) {
+        final char key = high(value);
+        long rank = 0;
+        for (int i = 0; i < size && keys[i] <= key; i++) {
+            rank += keys[i] < key ? containers[i].cardinality() : containers[i].rank(low(value));
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the value at the given position in ascending order, the inverse of {@link #rank(int)}:
+     * {@code rank(select(i)) == i + 1}.
+     *
+     * @param index the position of the value
+     * @return the value
+     * @throws IndexOutOfBoundsException if index is negative or not less than the cardinality
+     */
+    public int select(final long index) {
+        Objects.checkIndex(index, cardinality());
+        long remaining = index;
+        for (int i = 0; ; i++) {
+            final int cardinality = containers[i].cardinality();
+            if (remaining < cardinality) {
+                return value(keys[i], containers[i].select((int) remaining));
+            }
+            remaining -= cardinality;
+        }
+    }
+
+    /**
+     * Performs the action for every value in ascending order, without boxing.
+     *
+     * @param action the action
+     */
+    public void forEachInt(final IntConsumer action) {
+        requireNonNull(action, "action can't be null");
+        for (int i = 0; i < size; i++) {
+            // the flipped sign bit lies in the high half, so it can be flipped back before adding the low half
+            containers[i].forEach(value(keys[i], (char) 0), action);
+        }
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int container;
+            private char[] values = new char[0];
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == values.length && container < size) {
+                    values = containers[container++].toCharArray();
+                    next = 0;
+                }
+                return next < values.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return value(keys[container - 1], values[next++]);
+            }
+        };
+    }
+
+    /**
+     * Returns the values in ascending order.
+     *
+     * @return the values
+     * @throws IllegalStateException if there are more than {@code Integer.MAX_VALUE} values
+     */
+    public int[] toArray() {
+        final long cardinality = cardinality();
+        if (cardinality > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many values for an array: " + cardinality);
+        }
+        final int[] values = new int[(int) cardinality];
+        final int[] next = new int[1];
+        forEachInt(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Converts every container holding long runs of consecutive values to the run form where that is smaller.
+     * Worth calling once a set of mostly consecutive ids is complete; the set stays fully usable afterwards.
+     */
+    public void runOptimize() {
+        for (int i = 0; i < size; i++) {
+            containers[i] = containers[i].runOptimize();
+        }
+    }
+
+    /**
+     * Returns the number of bytes {@link #toByteArray()} produces, which approximates the memory the values take.
+     *
+     * @return the serialized size in bytes
+     */
+    public int serializedSize() {
+        int bytes = 2 * Integer.BYTES;
+        for (int i = 0; i < size; i++) {
+            bytes += Character.BYTES + 1 + containers[i].serializedSize();
+        }
+        return bytes;
+    }
+
+    /**
+     * Serializes the set, to be read back with {@link #fromByteArray(byte[])}.
+     *
+     * @return the serialized set
+     */
+    public byte[] toByteArray() {
+        final ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+        buffer.putInt(MAGIC).putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putChar(keys[i]).put(containers[i].type());
+            containers[i].writeTo(buffer);
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoaringIntSet other) || size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            // the same values may be held in containers of different forms
+            if (keys[i] != other.keys[i] || !Arrays.equals(containers[i].toCharArray(), other.containers[i].toCharArray())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * (31 * hash + keys[i]) + Arrays.hashCode(containers[i].toCharArray());
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        forEachInt(value -> builder.append(builder.length() == 1 ? "" : ", ").append(value));
+        return builder.append(']').toString();
+    }
+
+    private static RoaringIntSet ofSorted(final int[] sorted, final int length) {
+        final RoaringIntSet set = new RoaringIntSet();
+        final char[] lows = new char[Math.min(length, 1 << 16)];
+        int start = 0;
+        while (start < length) {
+            final char key = high(sorted[start]);
+            int count = 0;
+            int end = start;
+            for (; end < length && high(sorted[end]) == key; end++) {
+                if (end == start || sorted[end] != sorted[end - 1]) {
+                    lows[count++] = low(sorted[end]);
+                }
+            }
+            set.insertContainer(set.size, key, RoaringContainer.of(Arrays.copyOf(lows, count), count));
+            start = end;
+        }
+        return set;
+    }
+
+    private static RoaringIntSet combine(final RoaringIntSet left, final RoaringIntSet right,
+                                         final BinaryOperator<RoaringContainer> operation,
+                                         final boolean keepLeftOnly, final boolean keepRightOnly) {
+        requireNonNull(left, "left can't be null");
+        requireNonNull(right, "right can't be null");
+        final RoaringIntSet result = new RoaringIntSet();
+        int i = 0;
+        int j = 0;
+        while (i < left.size || j < right.size) {
+            final int leftKey = i < left.size ? left.keys[i] : Integer.MAX_VALUE;
+            final int rightKey = j < right.size ? right.keys[j] : Integer.MAX_VALUE;
+            if (leftKey < rightKey) {
+                if (keepLeftOnly) {
+                    result.insertContainer(result.size, left.keys[i], left.containers[i].copy());
+                }
+                i++;
+            } else if (leftKey > rightKey) {
+                if (keepRightOnly) {
+                    result.insertContainer(result.size, right.keys[j], right.containers[j].copy());
+                }
+                j++;
+            } else {
+                final RoaringContainer combined = operation.apply(left.containers[i], right.containers[j]);
+                if (combined != null) {
+                    result.insertContainer(result.size, left.keys[i], combined);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private int indexOf(final char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertContainer(final int index, final char key, final RoaringContainer container) {
+        if (size == keys.length) {
+            final int capacity = Math.min(1 << 16, Math.max(4, keys.length * 2));
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private static char high(final int value) {
+        return (char) ((value ^ Integer.MIN_VALUE) >>> 16);
+    }
+
+    private static char low(final int value) {
+        return (char) value;
+    }
+
+    private static int value(final char key, final char low) {
+        return ((key << 16) | low) ^ Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,249 @@
+package com.erebos.flu.collections;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Container of values as sorted runs of consecutive values, four bytes per run. Only created by
+ * {@link RoaringContainer#runOptimize()} and deserialization, for containers where that beats the other two forms;
+ * {@link #add(char)} and {@link #remove(char)} fall back to one of those once the runs no longer do.
+ */
+final class RunContainer extends RoaringContainer {
+
+    // runs[2 * i] is the start of run i, runs[2 * i + 1] its length minus one; runs neither overlap nor touch
+    private char[] runs;
+    private int runCount;
+    private int cardinality;
+
+    private RunContainer(final char[] runs, final int runCount) {
+        this.runs = runs;
+        this.runCount = runCount;
+        for (int i = 0; i < runCount; i++) {
+            cardinality += length(i) + 1;
+        }
+    }
+
+    // Creates the container for ascending distinct values forming the given number of runs
+    static RunContainer of(final char[] values, final int runCount) {
+        final char[] runs = new char[2 * runCount];
+        int run = -1;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1] + 1) {
+                runs[2 * ++run] = values[i];
+            } else {
+                runs[2 * run + 1]++;
+            }
+        }
+        return new RunContainer(runs, runCount);
+    }
+
+    static int serializedSize(final int runCount) {
+        return Integer.BYTES + runCount * 2 * Character.BYTES;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(final char value) {
+        final int run = runAtOrBefore(value);
+        return run >= 0 && value <= end(run);
+    }
+
+    @Override
+    RoaringContainer add(final char value) {
+        final int run = runAtOrBefore(value);
+        final boolean extendsPrevious = run >= 0 && end(run) + 1 == value;
+        final boolean extendsNext = run + 1 < runCount && start(run + 1) == value + 1;
+        if (extendsPrevious && extendsNext) {
+            runs[2 * run + 1] = (char) (end(run + 1) - start(run));
+            removeRun(run + 1);
+        } else if (extendsPrevious) {
+            runs[2 * run + 1]++;
+        } else if (extendsNext) {
+            runs[2 * run + 2]--;
+            runs[2 * run + 3]++;
+        } else {
+            insertRun(run + 1, value, (char) 0);
+        }
+        cardinality++;
+        return compacted();
+    }
+
+    @Override
+    RoaringContainer remove(final char value) {
+        if (cardinality == 1) {
+            return null;
+        }
+        final int run = runAtOrBefore(value);
+        final char start = start(run);
+        final int end = end(run);
+        if (start == end) {
+            removeRun(run);
+        } else if (value == start) {
+            runs[2 * run]++;
+            runs[2 * run + 1]--;
+        } else if (value == end) {
+            runs[2 * run + 1]--;
+        } else {
+            runs[2 * run + 1] = (char) (value - 1 - start);
+            insertRun(run + 1, (char) (value + 1), (char) (end - value - 1));
+        }
+        cardinality--;
+        return compacted();
+    }
+
+    @Override
+    int rank(final char value) {
+        final int run = runAtOrBefore(value);
+        int rank = 0;
+        for (int i = 0; i < run; i++) {
+            rank += length(i) + 1;
+        }
+        return run < 0 ? 0 : rank + Math.min(value, end(run)) - start(run) + 1;
+    }
+
+    @Override
+    char select(final int index) {
+        int remaining = index;
+        for (int i = 0; ; i++) {
+            if (remaining <= length(i)) {
+                return (char) (start(i) + remaining);
+            }
+            remaining -= length(i) + 1;
+        }
+    }
+
+    @Override
+    char[] toCharArray() {
+        final char[] values = new char[cardinality];
+        int size = 0;
+        for (int i = 0; i < runCount; i++) {
+            for (int value = start(i); value <= end(i); value++) {
+                values[size++] = (char) value;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    long[] toWords() {
+        final long[] words = new long[BitmapContainer.WORDS];
+        for (int i = 0; i < runCount; i++) {
+            for (int value = start(i); value <= end(i); value++) {
+                words[value >>> 6] |= 1L << value;
+            }
+        }
+        return words;
+    }
+
+    @Override
+    RoaringContainer copy() {
+        return new RunContainer(Arrays.copyOf(runs, 2 * runCount), runCount);
+    }
+
+    @Override
+    void forEach(final int high, final IntConsumer action) {
+        for (int i = 0; i < runCount; i++) {
+            for (int value = start(i); value <= end(i); value++) {
+                action.accept(high | value);
+            }
+        }
+    }
+
+    @Override
+    RoaringContainer runOptimize() {
+        return this;
+    }
+
+    @Override
+    byte type() {
+        return RUN;
+    }
+
+    @Override
+    int serializedSize() {
+        return serializedSize(runCount);
+    }
+
+    @Override
+    void writeTo(final ByteBuffer buffer) {
+        buffer.putInt(runCount);
+        for (int i = 0; i < 2 * runCount; i++) {
+            buffer.putChar(runs[i]);
+        }
+    }
+
+    static RunContainer readFrom(final ByteBuffer buffer) {
+        final int runCount = buffer.getInt();
+        if (runCount <= 0 || runCount > (1 << 15)) {
+            throw new IllegalArgumentException("Invalid run container size: " + runCount);
+        }
+        final char[] runs = new char[2 * runCount];
+        int previousEnd = -2;
+        for (int i = 0; i < runCount; i++) {
+            runs[2 * i] = buffer.getChar();
+            runs[2 * i + 1] = buffer.getChar();
+            if (runs[2 * i] <= previousEnd + 1 || runs[2 * i] + runs[2 * i + 1] > Character.MAX_VALUE) {
+                throw new IllegalArgumentException("Run container runs overlap or are not ascending");
+            }
+            previousEnd = runs[2 * i] + runs[2 * i + 1];
+        }
+        return new RunContainer(runs, runCount);
+    }
+
+    // This container, or an array or bitmap one with the same values if that is smaller
+    private RoaringContainer compacted() {
+        if (cardinality <= ARRAY_MAX) {
+            return serializedSize(runCount) > Integer.BYTES + cardinality * Character.BYTES
+                    ? new ArrayContainer(toCharArray(), cardinality) : this;
+        }
+        return serializedSize(runCount) > BitmapContainer.WORDS * Long.BYTES
+                ? new BitmapContainer(toWords(), cardinality) : this;
+    }
+
+    private char start(final int run) {
+        return runs[2 * run];
+    }
+
+    private int length(final int run) {
+        return runs[2 * run + 1];
+    }
+
+    private int end(final int run) {
+        return start(run) + length(run);
+    }
+
+    // Index of the last run starting at or before the value, -1 if there is none
+    private int runAtOrBefore(final char value) {
+        int low = 0;
+        int high = runCount - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (start(mid) <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private void insertRun(final int run, final char start, final char length) {
+        if (2 * runCount == runs.length) {
+            runs = Arrays.copyOf(runs, Math.max(4, runs.length + (runs.length >>> 1)) & ~1);
+        }
+        System.arraycopy(runs, 2 * run, runs, 2 * run + 2, 2 * (runCount - run));
+        runs[2 * run] = start;
+        runs[2 * run + 1] = length;
+        runCount++;
+    }
+
+    private void removeRun(final int run) {
+        System.arraycopy(runs, 2 * run + 2, runs, 2 * run, 2 * (runCount - run - 1));
+        runCount--;
+    }
+}
@@ -0,0 +1,61 @@
+package com.erebos.flu.collections;
+
+/**
+ * Bounded cache returning one canonical instance for equal strings, e.g. account names read millions of times.
+ * <p>
+ * The cache is direct-mapped: every string has exactly one slot, chosen by its hash code, and a string whose slot
+ * holds a different string replaces it. Memory therefore stays at {@link #capacity()} references no matter how many
+ * distinct strings pass through, at the price of returning a non-canonical instance after a collision.
+ * <p>
+ * The interner is thread-safe without locking. Strings are immutable and safe to publish through a data race,
+ * so concurrent threads at worst overwrite each other's slot and miss a deduplication.
+ */
+public final class StringInterner {
+
+    private final String[] slots;
+    private final int mask;
+
+    /**
+     * Creates an interner with the given number of slots, rounded up to a power of two.
+     *
+     * @param capacity the number of slots
+     * @throws IllegalArgumentException if capacity is not positive or larger than 2^30
+     */
+    public StringInterner(final int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        final int highestBit = Integer.highestOneBit(capacity);
+        slots = new String[highestBit == capacity ? capacity : highestBit << 1];
+        mask = slots.length - 1;
+    }
+
+    /**
+     * Returns the cached instance equal to the given string, or caches and returns the string itself.
+     *
+     * @param value the string to intern, may be null
+     * @return the canonical instance, null if value is null
+     */
+    public String intern(final String value) {
+        if (value == null) {
+            return null;
+        }
+        final int h = value.hashCode() * 0x9E3779B9;
+        final int index = (h ^ (h >>> 16)) & mask;
+        final String cached = slots[index];
+        if (value.equals(cached)) {
+            return cached;
+        }
+        slots[index] = value;
+        return value;
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the number of slots
+     */
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,120 @@
+package com.erebos.flu.partitioning;
+
+import com.erebos.flu.utils.NonCryptoHash;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Consistent-hash ring with virtual nodes.
+ * <p>
+ * Every node is placed on a 64-bit ring at {@code virtualNodes} points, hashed with {@link NonCryptoHash#XX_HASH_64}
+ * seeded by the point number. A key belongs to the node of the first point at or after the hash of the key.
+ * Adding or removing a node only moves the keys between that node's points and their predecessors, about
+ * {@code 1/n} of all keys. Lookups are a binary search over all points.
+ *
+ * @param <K> the type of keys
+ */
+public final class ConsistentHashRing<K> implements Partitioner<K> {
+
+    /**
+     * Default number of points per node, which keeps the load of every node within a few percent of the mean.
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final List<String> nodes;
+    private final int virtualNodes;
+    private final ToLongFunction<? super K> keyHash;
+    private final long[] points;
+    private final int[] owners;
+
+    /**
+     * Creates a ring.
+     *
+     * @param nodes        the nodes
+     * @param virtualNodes the number of points per node
+     * @param keyHash      the 64-bit hash function of the keys, e.g. {@code NonCryptoHash.XX_HASH_64::hash}
+     * @throws IllegalArgumentException if nodes is empty or contains duplicates, or virtualNodes is not positive
+     */
+    public ConsistentHashRing(final List<String> nodes, final int virtualNodes, final ToLongFunction<? super K> keyHash) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = Nodes.copyOf(nodes);
+        this.virtualNodes = virtualNodes;
+        this.keyHash = requireNonNull(keyHash, "keyHash can't be null");
+        final int size = this.nodes.size() * virtualNodes;
+        final long[] hashes = new long[size];
+        final Integer[] order = new Integer[size];
+        for (int n = 0; n < this.nodes.size(); n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[n * virtualNodes + v] = NonCryptoHash.XX_HASH_64.hash(this.nodes.get(n), v);
+                order[n * virtualNodes + v] = n * virtualNodes + v;
+            }
+        }
+        // ties between points of different nodes are broken by the node name, so they don't depend on node order
+        Arrays.sort(order, (a, b) -> hashes[a] != hashes[b]
+                ? Long.compare(hashes[a], hashes[b])
+                : this.nodes.get(a / virtualNodes).compareTo(this.nodes.get(b / virtualNodes)));
+        points = new long[size];
+        owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    /**
+     * Creates a ring for string keys with {@link #DEFAULT_VIRTUAL_NODES} points per node,
+     * hashing the keys with {@link NonCryptoHash#XX_HASH_64}.
+     *
+     * @param nodes the nodes
+     * @return the ring
+     * @throws IllegalArgumentException if nodes is empty or contains duplicates
+     */
+    public static ConsistentHashRing<String> forStrings(final List<String> nodes) {
+        return new ConsistentHashRing<>(nodes, DEFAULT_VIRTUAL_NODES, NonCryptoHash.XX_HASH_64::hash);
+    }
+
+    @Override
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    @Override
+    public int partition(final K key) {
+        return partitionOfHash(keyHash.applyAsLong(key));
+    }
+
+    /**
+     * Returns the partition of a precomputed key hash.
+     *
+     * @param hash the 64-bit hash of a key
+     * @return the index of the node owning the hash in {@link #nodes()}
+     */
+    public int partitionOfHash(final long hash) {
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            // several points can share a hash, the first one wins
+            while (index > 0 && points[index - 1] == hash) {
+                index--;
+            }
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    @Override
+    public ConsistentHashRing<K> withNode(final String node) {
+        return new ConsistentHashRing<>(Nodes.with(nodes, node), virtualNodes, keyHash);
+    }
+
+    @Override
+    public ConsistentHashRing<K> withoutNode(final String node) {
+        return new ConsistentHashRing<>(Nodes.without(nodes, node), virtualNodes, keyHash);
+    }
+}
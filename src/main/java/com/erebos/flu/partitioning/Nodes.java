@@ -0,0 +1,48 @@
+package com.erebos.flu.partitioning;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Validation and copy-on-write changes of the node lists of the partitioners.
+ */
+final class Nodes {
+
+    private Nodes() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static List<String> copyOf(final List<String> nodes) {
+        requireNonNull(nodes, "nodes can't be null");
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one node is required");
+        }
+        if (new HashSet<>(nodes).size() != nodes.size()) {
+            throw new IllegalArgumentException("Nodes must be unique");
+        }
+        nodes.forEach(node -> requireNonNull(node, "node can't be null"));
+        return List.copyOf(nodes);
+    }
+
+    static List<String> with(final List<String> nodes, final String node) {
+        requireNonNull(node, "node can't be null");
+        if (nodes.contains(node)) {
+            throw new IllegalArgumentException("Node " + node + " is already present");
+        }
+        final List<String> result = new ArrayList<>(nodes);
+        result.add(node);
+        return result;
+    }
+
+    static List<String> without(final List<String> nodes, final String node) {
+        if (!nodes.contains(node)) {
+            throw new IllegalArgumentException("Node " + node + " is not present");
+        }
+        final List<String> result = new ArrayList<>(nodes);
+        result.remove(node);
+        return result;
+    }
+}
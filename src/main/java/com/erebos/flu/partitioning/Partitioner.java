@@ -0,0 +1,79 @@
+package com.erebos.flu.partitioning;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Assigns keys to a set of named nodes, e.g. to shard records across worker nodes.
+ * <p>
+ * Partitioners are immutable: adding or removing a node returns a new partitioner, so a partitioner can be shared
+ * between threads. A partition is the index of a node in {@link #nodes()}.
+ *
+ * @param <K> the type of keys
+ */
+public interface Partitioner<K> {
+
+    /**
+     * Returns the nodes in the order of their partition indices.
+     *
+     * @return the nodes
+     */
+    List<String> nodes();
+
+    /**
+     * Returns the partition of a key.
+     *
+     * @param key the key
+     * @return the index of the node owning the key in {@link #nodes()}
+     */
+    int partition(K key);
+
+    /**
+     * Returns a partitioner with an additional node. Only keys moving to the new node change their node.
+     *
+     * @param node the node to add
+     * @return the new partitioner
+     * @throws IllegalArgumentException if the node is already present
+     */
+    Partitioner<K> withNode(String node);
+
+    /**
+     * Returns a partitioner without a node. Only keys of the removed node change their node.
+     *
+     * @param node the node to remove
+     * @return the new partitioner
+     * @throws IllegalArgumentException if the node is not present or is the last node
+     */
+    Partitioner<K> withoutNode(String node);
+
+    /**
+     * Returns the node owning a key.
+     *
+     * @param key the key
+     * @return the node
+     */
+    default String nodeOf(final K key) {
+        return nodes().get(partition(key));
+    }
+
+    /**
+     * Assigns a batch of keys to partitions.
+     * <p>
+     * The partitions index {@link #nodes()} of this partitioner. Removing a node shifts the indices of the nodes
+     * after it, so the arrays of two partitioners from before and after a rebalance are not comparable; compare
+     * {@link #nodeOf(Object)} instead.
+     *
+     * @param keys the keys
+     * @return the partition of every key, in the order of the keys
+     */
+    default int[] assignKeys(final List<? extends K> keys) {
+        requireNonNull(keys, "keys can't be null");
+        final int[] partitions = new int[keys.size()];
+        int i = 0;
+        for (final K key : keys) {
+            partitions[i++] = partition(key);
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,100 @@
+package com.erebos.flu.partitioning;
+
+import com.erebos.flu.utils.NonCryptoHash;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Rendezvous (highest random weight) partitioner.
+ * <p>
+ * Every key scores every node by mixing the key hash with the hash of the node, and belongs to the node with the
+ * highest score. Adding a node only moves the keys it now wins, removing a node only moves its own keys, and the
+ * load is spread evenly without virtual nodes. A lookup costs one mix per node, so this suits small clusters;
+ * prefer the {@link ConsistentHashRing} for many nodes.
+ *
+ * @param <K> the type of keys
+ */
+public final class RendezvousPartitioner<K> implements Partitioner<K> {
+
+    private final List<String> nodes;
+    private final ToLongFunction<? super K> keyHash;
+    private final long[] nodeHashes;
+
+    /**
+     * Creates a partitioner.
+     *
+     * @param nodes   the nodes
+     * @param keyHash the 64-bit hash function of the keys, e.g. {@code NonCryptoHash.XX_HASH_64::hash}
+     * @throws IllegalArgumentException if nodes is empty or contains duplicates
+     */
+    public RendezvousPartitioner(final List<String> nodes, final ToLongFunction<? super K> keyHash) {
+        this.nodes = Nodes.copyOf(nodes);
+        this.keyHash = requireNonNull(keyHash, "keyHash can't be null");
+        nodeHashes = new long[this.nodes.size()];
+        for (int n = 0; n < nodeHashes.length; n++) {
+            nodeHashes[n] = NonCryptoHash.XX_HASH_64.hash(this.nodes.get(n));
+        }
+    }
+
+    /**
+     * Creates a partitioner for string keys, hashing the keys with {@link NonCryptoHash#XX_HASH_64}.
+     *
+     * @param nodes the nodes
+     * @return the partitioner
+     * @throws IllegalArgumentException if nodes is empty or contains duplicates
+     */
+    public static RendezvousPartitioner<String> forStrings(final List<String> nodes) {
+        return new RendezvousPartitioner<>(nodes, NonCryptoHash.XX_HASH_64::hash);
+    }
+
+    @Override
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    @Override
+    public int partition(final K key) {
+        return partitionOfHash(keyHash.applyAsLong(key));
+    }
+
+    /**
+     * Returns the partition of a precomputed key hash.
+     *
+     * @param hash the 64-bit hash of a key
+     * @return the index of the node with the highest score in {@link #nodes()}
+     */
+    public int partitionOfHash(final long hash) {
+        int best = 0;
+        long bestScore = score(hash, nodeHashes[0]);
+        for (int n = 1; n < nodeHashes.length; n++) {
+            final long score = score(hash, nodeHashes[n]);
+            // equal scores are broken by the node name, so they don't depend on node order
+            if (score > bestScore || (score == bestScore && nodes.get(n).compareTo(nodes.get(best)) < 0)) {
+                best = n;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public RendezvousPartitioner<K> withNode(final String node) {
+        return new RendezvousPartitioner<>(Nodes.with(nodes, node), keyHash);
+    }
+
+    @Override
+    public RendezvousPartitioner<K> withoutNode(final String node) {
+        return new RendezvousPartitioner<>(Nodes.without(nodes, node), keyHash);
+    }
+
+    // SplitMix64 finalizer of the combined hashes, a strong 64-bit mix
+    private static long score(final long keyHash, final long nodeHash) {
+        long z = keyHash ^ nodeHash;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
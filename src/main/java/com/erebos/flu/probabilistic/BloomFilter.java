@@ -0,0 +1,179 @@
+package com.erebos.flu.probabilistic;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bloom filter: a bit array in which every element sets {@code k} bits chosen by double hashing.
+ * Sized from the expected number of elements and the wanted false positive probability,
+ * e.g. about 9.6 bits per element for 1%.
+ *
+ * @param <T> the type of elements
+ */
+public final class BloomFilter<T> implements MembershipFilter<T> {
+
+    private static final int MAGIC = 0x424C4F31; // "BLO1"
+    // magic, hash count and word count
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final ToLongFunction<? super T> hasher;
+
+    private BloomFilter(final long[] bits, final int hashCount, final ToLongFunction<? super T> hasher) {
+        this.bits = bits;
+        this.bitCount = (long) bits.length * Long.SIZE;
+        this.hashCount = hashCount;
+        this.hasher = requireNonNull(hasher, "hasher can't be null");
+    }
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param expectedInsertions the expected number of elements
+     * @param fpp                the wanted false positive probability, between 0 and 1 exclusive
+     * @param hasher             the 64-bit hash function of the elements
+     * @param <T>                the type of elements
+     * @return the filter
+     * @throws IllegalArgumentException if expectedInsertions is negative, fpp is not between 0 and 1 or the filter
+     *                                  would be too large to serialize
+     */
+    public static <T> BloomFilter<T> create(final long expectedInsertions,
+                                            final double fpp,
+                                            final ToLongFunction<? super T> hasher) {
+        if (expectedInsertions < 0) {
+            throw new IllegalArgumentException("expectedInsertions can't be negative");
+        }
+        if (!(fpp > 0.0 && fpp < 1.0)) {
+            throw new IllegalArgumentException("fpp must be between 0 and 1");
+        }
+        final long n = Math.max(1, expectedInsertions);
+        final long bitCount = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        final int hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        final long words = (bitCount + Long.SIZE - 1) / Long.SIZE;
+        // every filter created must fit into the byte array of toByteArray
+        if (words > Hashes.maxSerializedElements(HEADER_BYTES, Long.BYTES)) {
+            throw new IllegalArgumentException("Filter too large");
+        }
+        return new BloomFilter<>(new long[(int) words], hashCount, hasher);
+    }
+
+    /**
+     * Creates an empty filter for strings, hashed stably across JVMs.
+     *
+     * @param expectedInsertions the expected number of strings
+     * @param fpp                the wanted false positive probability, between 0 and 1 exclusive
+     * @return the filter
+     */
+    public static BloomFilter<String> forStrings(final long expectedInsertions, final double fpp) {
+        return create(expectedInsertions, fpp, Hashes.STRING_HASHER);
+    }
+
+    /**
+     * Creates a filter holding the members of the items extracted with a getter.
+     *
+     * @param items  the items
+     * @param getter the function to extract the member to add
+     * @param fpp    the wanted false positive probability, between 0 and 1 exclusive
+     * @param hasher the 64-bit hash function of the members
+     * @param <T>    the type of items
+     * @param <K>    the type of members
+     * @return the filter
+     */
+    public static <T, K> BloomFilter<K> of(final Collection<T> items,
+                                           final Function<? super T, ? extends K> getter,
+                                           final double fpp,
+                                           final ToLongFunction<? super K> hasher) {
+        requireNonNull(items, "items can't be null");
+        requireNonNull(getter, "getter can't be null");
+        final BloomFilter<K> filter = create(items.size(), fpp, hasher);
+        items.forEach(item -> filter.put(getter.apply(item)));
+        return filter;
+    }
+
+    /**
+     * Deserializes a filter written by {@link #toByteArray()}.
+     *
+     * @param bytes  the serialized filter
+     * @param hasher the hash function the filter was created with
+     * @param <T>    the type of elements
+     * @return the filter
+     * @throws IllegalArgumentException if the bytes are not a serialized Bloom filter
+     */
+    public static <T> BloomFilter<T> fromByteArray(final byte[] bytes, final ToLongFunction<? super T> hasher) {
+        final ByteBuffer buffer = Hashes.readHeader(requireNonNull(bytes, "bytes can't be null"), MAGIC, HEADER_BYTES);
+        final int hashCount = buffer.getInt();
+        final int words = buffer.getInt();
+        if (hashCount <= 0 || words <= 0 || buffer.remaining() != (long) words * Long.BYTES) {
+            throw Hashes.invalid();
+        }
+        final long[] bits = new long[words];
+        buffer.asLongBuffer().get(bits);
+        return new BloomFilter<>(bits, hashCount, hasher);
+    }
+
+    @Override
+    public boolean put(final T element) {
+        final long h1 = hasher.applyAsLong(element);
+        final long h2 = Hashes.mix64(h1);
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean mightContain(final T element) {
+        final long h1 = hasher.applyAsLong(element);
+        final long h2 = Hashes.mix64(h1);
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds all elements of another filter, e.g. to combine filters built by several threads.
+     *
+     * @param other a filter created with the same parameters and hasher
+     * @throws IllegalArgumentException if the filters have different sizes or hash counts
+     */
+    public void merge(final BloomFilter<T> other) {
+        if (other.bits.length != bits.length || other.hashCount != hashCount) {
+            throw new IllegalArgumentException("Filters must have the same size and hash count");
+        }
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= other.bits[i];
+        }
+    }
+
+    /**
+     * Estimates the current false positive probability from the share of set bits.
+     *
+     * @return the estimated false positive probability
+     */
+    public double expectedFpp() {
+        long setBits = 0;
+        for (final long word : bits) {
+            setBits += Long.bitCount(word);
+        }
+        return Math.pow((double) setBits / bitCount, hashCount);
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        final ByteBuffer buffer = ByteBuffer.allocate(Hashes.serializedSize(HEADER_BYTES, bits.length, Long.BYTES));
+        buffer.putInt(MAGIC).putInt(hashCount).putInt(bits.length);
+        buffer.asLongBuffer().put(bits);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,241 @@
+package com.erebos.flu.probabilistic;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Count-Min sketch estimating the frequencies of elements in a stream: {@code depth} rows of {@code width} counters,
+ * every element incrementing one counter per row. Estimates never undercount and overcount by at most
+ * {@code epsilon * totalCount} with probability {@code 1 - delta}, independent of the number of distinct elements.
+ * <p>
+ * Sketches of the same dimensions are mergeable, so partitions or threads can count separately and
+ * {@link #merge} the results; {@link #collector} does so for parallel streams. Not thread-safe.
+ *
+ * @param <T> the type of elements
+ */
+public final class CountMinSketch<T> {
+
+    private static final int MAGIC = 0x434D5331; // "CMS1"
+    // magic, depth, width and total count
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + Long.BYTES;
+
+    private final long[] counters;
+    private final int depth;
+    private final int width;
+    private final ToLongFunction<? super T> hasher;
+    private long totalCount;
+
+    private CountMinSketch(final long[] counters, final int depth, final int width,
+                           final ToLongFunction<? super T> hasher) {
+        this.counters = counters;
+        this.depth = depth;
+        this.width = width;
+        this.hasher = requireNonNull(hasher, "hasher can't be null");
+    }
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param epsilon the overcount as a share of the total count, between 0 and 1 exclusive
+     * @param delta   the probability of exceeding the overcount, between 0 and 1 exclusive
+     * @param hasher  the 64-bit hash function of the elements
+     * @param <T>     the type of elements
+     * @return the sketch
+     * @throws IllegalArgumentException if epsilon or delta is not between 0 and 1, or the sketch would be too large to
+     *                                  serialize
+     */
+    public static <T> CountMinSketch<T> create(final double epsilon,
+                                               final double delta,
+                                               final ToLongFunction<? super T> hasher) {
+        if (!(epsilon > 0.0 && epsilon < 1.0) || !(delta > 0.0 && delta < 1.0)) {
+            throw new IllegalArgumentException("epsilon and delta must be between 0 and 1");
+        }
+        final int width = (int) Math.ceil(Math.E / epsilon);
+        final int depth = (int) Math.ceil(Math.log(1 / delta));
+        // every sketch created must fit into the byte array of toByteArray
+        if ((long) width * depth > Hashes.maxSerializedElements(HEADER_BYTES, Long.BYTES)) {
+            throw new IllegalArgumentException("Sketch too large");
+        }
+        return new CountMinSketch<>(new long[width * depth], depth, width, hasher);
+    }
+
+    /**
+     * Creates an empty sketch for strings, hashed stably across JVMs.
+     *
+     * @param epsilon the overcount as a share of the total count, between 0 and 1 exclusive
+     * @param delta   the probability of exceeding the overcount, between 0 and 1 exclusive
+     * @return the sketch
+     */
+    public static CountMinSketch<String> forStrings(final double epsilon, final double delta) {
+        return create(epsilon, delta, Hashes.STRING_HASHER);
+    }
+
+    /**
+     * Creates a sketch of the members of the items extracted with a getter.
+     *
+     * @param items   the items
+     * @param getter  the function to extract the member to count
+     * @param epsilon the overcount as a share of the total count, between 0 and 1 exclusive
+     * @param delta   the probability of exceeding the overcount, between 0 and 1 exclusive
+     * @param hasher  the 64-bit hash function of the members
+     * @param <T>     the type of items
+     * @param <K>     the type of members
+     * @return the sketch
+     */
+    public static <T, K> CountMinSketch<K> of(final Collection<T> items,
+                                              final Function<? super T, ? extends K> getter,
+                                              final double epsilon,
+                                              final double delta,
+                                              final ToLongFunction<? super K> hasher) {
+        requireNonNull(items, "items can't be null");
+        requireNonNull(getter, "getter can't be null");
+        final CountMinSketch<K> sketch = create(epsilon, delta, hasher);
+        items.forEach(item -> sketch.add(getter.apply(item)));
+        return sketch;
+    }
+
+    /**
+     * Returns a collector sketching the members of the streamed items. Parallel streams sketch every
+     * chunk separately and merge the sketches.
+     *
+     * @param getter  the function to extract the member to count
+     * @param epsilon the overcount as a share of the total count, between 0 and 1 exclusive
+     * @param delta   the probability of exceeding the overcount, between 0 and 1 exclusive
+     * @param hasher  the 64-bit hash function of the members
+     * @param <T>     the type of items
+     * @param <K>     the type of members
+     * @return the collector
+     */
+    public static <T, K> Collector<T, ?, CountMinSketch<K>> collector(final Function<? super T, ? extends K> getter,
+                                                                      final double epsilon,
+                                                                      final double delta,
+                                                                      final ToLongFunction<? super K> hasher) {
+        requireNonNull(getter, "getter can't be null");
+        create(epsilon, delta, hasher); // fail fast on invalid arguments
+        return Collector.of(() -> create(epsilon, delta, hasher),
+                (sketch, item) -> sketch.add(getter.apply(item)),
+                CountMinSketch::mergedWith,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Deserializes a sketch written by {@link #toByteArray()}.
+     *
+     * @param bytes  the serialized sketch
+     * @param hasher the hash function the sketch was created with
+     * @param <T>    the type of elements
+     * @return the sketch
+     * @throws IllegalArgumentException if the bytes are not a serialized Count-Min sketch
+     */
+    public static <T> CountMinSketch<T> fromByteArray(final byte[] bytes, final ToLongFunction<? super T> hasher) {
+        final ByteBuffer buffer = Hashes.readHeader(requireNonNull(bytes, "bytes can't be null"),
+                MAGIC, HEADER_BYTES);
+        final int depth = buffer.getInt();
+        final int width = buffer.getInt();
+        final long totalCount = buffer.getLong();
+        if (depth <= 0 || width <= 0 || totalCount < 0
+                || buffer.remaining() != (long) depth * width * Long.BYTES) {
+            throw Hashes.invalid();
+        }
+        final long[] counters = new long[depth * width];
+        buffer.asLongBuffer().get(counters);
+        final CountMinSketch<T> sketch = new CountMinSketch<>(counters, depth, width, hasher);
+        sketch.totalCount = totalCount;
+        return sketch;
+    }
+
+    /**
+     * Adds one occurrence of an element.
+     *
+     * @param element the element to add
+     */
+    public void add(final T element) {
+        add(element, 1);
+    }
+
+    /**
+     * Adds occurrences of an element.
+     *
+     * @param element the element to add
+     * @param count   the number of occurrences
+     * @throws IllegalArgumentException if count is negative
+     */
+    public void add(final T element, final long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count can't be negative");
+        }
+        final long h1 = hasher.applyAsLong(element);
+        final long h2 = Hashes.mix64(h1);
+        for (int row = 0; row < depth; row++) {
+            counters[index(h1, h2, row)] += count;
+        }
+        totalCount += count;
+    }
+
+    /**
+     * Estimates the number of occurrences of an element.
+     *
+     * @param element the element
+     * @return the estimated count, never less than the real count
+     */
+    public long estimateCount(final T element) {
+        final long h1 = hasher.applyAsLong(element);
+        final long h2 = Hashes.mix64(h1);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(h1, h2, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the sum of all added counts.
+     *
+     * @return the total count
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Adds all counts of another sketch.
+     *
+     * @param other a sketch of the same dimensions, created with the same hasher
+     * @throws IllegalArgumentException if the sketches have different dimensions
+     */
+    public void merge(final CountMinSketch<T> other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Sketches must have the same depth and width");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * Serializes the sketch to a compact byte array.
+     *
+     * @return the serialized sketch
+     */
+    public byte[] toByteArray() {
+        final ByteBuffer buffer = ByteBuffer.allocate(Hashes.serializedSize(HEADER_BYTES, counters.length, Long.BYTES));
+        buffer.putInt(MAGIC).putInt(depth).putInt(width).putLong(totalCount);
+        buffer.asLongBuffer().put(counters);
+        return buffer.array();
+    }
+
+    private CountMinSketch<T> mergedWith(final CountMinSketch<T> other) {
+        merge(other);
+        return this;
+    }
+
+    private int index(final long h1, final long h2, final int row) {
+        return row * width + (int) (((h1 + row * h2) & Long.MAX_VALUE) % width);
+    }
+}
@@ -0,0 +1,190 @@
+package com.erebos.flu.probabilistic;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Counting Bloom filter: a Bloom filter with a 4-bit counter instead of a bit per position, so elements can be
+ * removed again. It needs four times the memory of a {@link BloomFilter} with the same false positive probability.
+ * A counter saturates at 15 and then is never decremented, which keeps removals from causing false negatives.
+ *
+ * @param <T> the type of elements
+ */
+public final class CountingBloomFilter<T> implements MembershipFilter<T> {
+
+    private static final int MAGIC = 0x43424631; // "CBF1"
+    // magic, hash count and word count
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] counters;
+    private final long counterCount;
+    private final int hashCount;
+    private final ToLongFunction<? super T> hasher;
+
+    private CountingBloomFilter(final long[] counters, final int hashCount, final ToLongFunction<? super T> hasher) {
+        this.counters = counters;
+        this.counterCount = (long) counters.length * COUNTERS_PER_WORD;
+        this.hashCount = hashCount;
+        this.hasher = requireNonNull(hasher, "hasher can't be null");
+    }
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param expectedInsertions the expected number of elements
+     * @param fpp                the wanted false positive probability, between 0 and 1 exclusive
+     * @param hasher             the 64-bit hash function of the elements
+     * @param <T>                the type of elements
+     * @return the filter
+     * @throws IllegalArgumentException if expectedInsertions is negative, fpp is not between 0 and 1 or the filter
+     *                                  would be too large to serialize
+     */
+    public static <T> CountingBloomFilter<T> create(final long expectedInsertions,
+                                                    final double fpp,
+                                                    final ToLongFunction<? super T> hasher) {
+        if (expectedInsertions < 0) {
+            throw new IllegalArgumentException("expectedInsertions can't be negative");
+        }
+        if (!(fpp > 0.0 && fpp < 1.0)) {
+            throw new IllegalArgumentException("fpp must be between 0 and 1");
+        }
+        final long n = Math.max(1, expectedInsertions);
+        final long counterCount = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        final int hashCount = Math.max(1, (int) Math.round((double) counterCount / n * Math.log(2)));
+        final long words = (counterCount + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD;
+        // every filter created must fit into the byte array of toByteArray
+        if (words > Hashes.maxSerializedElements(HEADER_BYTES, Long.BYTES)) {
+            throw new IllegalArgumentException("Filter too large");
+        }
+        return new CountingBloomFilter<>(new long[(int) words], hashCount, hasher);
+    }
+
+    /**
+     * Creates an empty filter for strings, hashed stably across JVMs.
+     *
+     * @param expectedInsertions the expected number of strings
+     * @param fpp                the wanted false positive probability, between 0 and 1 exclusive
+     * @return the filter
+     */
+    public static CountingBloomFilter<String> forStrings(final long expectedInsertions, final double fpp) {
+        return create(expectedInsertions, fpp, Hashes.STRING_HASHER);
+    }
+
+    /**
+     * Creates a filter holding the members of the items extracted with a getter.
+     *
+     * @param items  the items
+     * @param getter the function to extract the member to add
+     * @param fpp    the wanted false positive probability, between 0 and 1 exclusive
+     * @param hasher the 64-bit hash function of the members
+     * @param <T>    the type of items
+     * @param <K>    the type of members
+     * @return the filter
+     */
+    public static <T, K> CountingBloomFilter<K> of(final Collection<T> items,
+                                                   final Function<? super T, ? extends K> getter,
+                                                   final double fpp,
+                                                   final ToLongFunction<? super K> hasher) {
+        requireNonNull(items, "items can't be null");
+        requireNonNull(getter, "getter can't be null");
+        final CountingBloomFilter<K> filter = create(items.size(), fpp, hasher);
+        items.forEach(item -> filter.put(getter.apply(item)));
+        return filter;
+    }
+
+    /**
+     * Deserializes a filter written by {@link #toByteArray()}.
+     *
+     * @param bytes  the serialized filter
+     * @param hasher the hash function the filter was created with
+     * @param <T>    the type of elements
+     * @return the filter
+     * @throws IllegalArgumentException if the bytes are not a serialized counting Bloom filter
+     */
+    public static <T> CountingBloomFilter<T> fromByteArray(final byte[] bytes, final ToLongFunction<? super T> hasher) {
+        final ByteBuffer buffer = Hashes.readHeader(requireNonNull(bytes, "bytes can't be null"), MAGIC, HEADER_BYTES);
+        final int hashCount = buffer.getInt();
+        final int words = buffer.getInt();
+        if (hashCount <= 0 || words <= 0 || buffer.remaining() != (long) words * Long.BYTES) {
+            throw Hashes.invalid();
+        }
+        final long[] counters = new long[words];
+        buffer.asLongBuffer().get(counters);
+        return new CountingBloomFilter<>(counters, hashCount, hasher);
+    }
+
+    @Override
+    public boolean put(final T element) {
+        final long h1 = hasher.applyAsLong(element);
+        final long h2 = Hashes.mix64(h1);
+        for (int i = 0; i < hashCount; i++) {
+            final long index = position(h1, h2, i);
+            if (count(index) < MAX_COUNT) {
+                add(index, 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes an element. Removing an element which was not added can cause false negatives for other elements,
+     * unless the filter proves its absence, in which case nothing is changed.
+     *
+     * @param element the element to remove
+     * @return true if the element might have been contained and was removed, false if it definitely was not contained
+     */
+    public boolean remove(final T element) {
+        if (!mightContain(element)) {
+            return false;
+        }
+        final long h1 = hasher.applyAsLong(element);
+        final long h2 = Hashes.mix64(h1);
+        for (int i = 0; i < hashCount; i++) {
+            final long index = position(h1, h2, i);
+            final int count = count(index);
+            // a saturated counter has lost its exact count and stays
+            if (count > 0 && count < MAX_COUNT) {
+                add(index, -1);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean mightContain(final T element) {
+        final long h1 = hasher.applyAsLong(element);
+        final long h2 = Hashes.mix64(h1);
+        for (int i = 0; i < hashCount; i++) {
+            if (count(position(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        final ByteBuffer buffer = ByteBuffer.allocate(Hashes.serializedSize(HEADER_BYTES, counters.length, Long.BYTES));
+        buffer.putInt(MAGIC).putInt(hashCount).putInt(counters.length);
+        buffer.asLongBuffer().put(counters);
+        return buffer.array();
+    }
+
+    private long position(final long h1, final long h2, final int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % counterCount;
+    }
+
+    private int count(final long index) {
+        return (int) (counters[(int) (index >>> 4)] >>> ((index & 15) << 2)) & 0xF;
+    }
+
+    private void add(final long index, final long delta) {
+        counters[(int) (index >>> 4)] += delta << ((index & 15) << 2);
+    }
+}
@@ -0,0 +1,273 @@
+package com.erebos.flu.probabilistic;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Cuckoo filter: 16-bit fingerprints in buckets of four, every element having two candidate buckets.
+ * Supports removal like a {@link CountingBloomFilter} at a quarter of its memory, about 17 bits per element,
+ * with a false positive probability of about 0.01%. Unlike the Bloom filters it can run full:
+ * {@link #put} then returns false and the element is not added.
+ *
+ * @param <T> the type of elements
+ */
+public final class CuckooFilter<T> implements MembershipFilter<T> {
+
+    private static final int MAGIC = 0x434B4631; // "CKF1"
+    // magic, slot count, size and the victim's bucket and fingerprint
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int BUCKET_SIZE = 4;
+    private static final double MAX_LOAD = 0.95;
+    private static final int MAX_KICKS = 500;
+    private static final int NO_VICTIM = -1;
+
+    private final short[] slots;
+    private final int bucketMask;
+    private final ToLongFunction<? super T> hasher;
+    private int size;
+    // a fingerprint evicted by the last failed insertion, kept so the filter never has false negatives
+    private int victimBucket = NO_VICTIM;
+    private short victimFingerprint;
+    private long kickState = 0x9E3779B97F4A7C15L;
+
+    private CuckooFilter(final short[] slots, final ToLongFunction<? super T> hasher) {
+        this.slots = slots;
+        this.bucketMask = slots.length / BUCKET_SIZE - 1;
+        this.hasher = requireNonNull(hasher, "hasher can't be null");
+    }
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param capacity the number of elements the filter must hold
+     * @param hasher   the 64-bit hash function of the elements
+     * @param <T>      the type of elements
+     * @return the filter
+     * @throws IllegalArgumentException if capacity is negative or the filter would be too large to serialize
+     */
+    public static <T> CuckooFilter<T> create(final long capacity, final ToLongFunction<? super T> hasher) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity can't be negative");
+        }
+        final long minBuckets = Math.max(1, (long) Math.ceil(capacity / (BUCKET_SIZE * MAX_LOAD)));
+        final long buckets = Long.highestOneBit(minBuckets) == minBuckets ? minBuckets : Long.highestOneBit(minBuckets) << 1;
+        // every filter created must fit into the byte array of toByteArray
+        if (buckets * BUCKET_SIZE > Hashes.maxSerializedElements(HEADER_BYTES, Short.BYTES)) {
+            throw new IllegalArgumentException("Filter too large");
+        }
+        return new CuckooFilter<>(new short[(int) buckets * BUCKET_SIZE], hasher);
+    }
+
+    /**
+     * Creates an empty filter for strings, hashed stably across JVMs.
+     *
+     * @param capacity the number of strings the filter must hold
+     * @return the filter
+     */
+    public static CuckooFilter<String> forStrings(final long capacity) {
+        return create(capacity, Hashes.STRING_HASHER);
+    }
+
+    /**
+     * Creates a filter holding the members of the items extracted with a getter.
+     *
+     * @param items  the items
+     * @param getter the function to extract the member to add
+     * @param hasher the 64-bit hash function of the members
+     * @param <T>    the type of items
+     * @param <K>    the type of members
+     * @return the filter
+     */
+    public static <T, K> CuckooFilter<K> of(final Collection<T> items,
+                                            final Function<? super T, ? extends K> getter,
+                                            final ToLongFunction<? super K> hasher) {
+        requireNonNull(items, "items can't be null");
+        requireNonNull(getter, "getter can't be null");
+        final CuckooFilter<K> filter = create(items.size(), hasher);
+        items.forEach(item -> filter.put(getter.apply(item)));
+        return filter;
+    }
+
+    /**
+     * Deserializes a filter written by {@link #toByteArray()}.
+     *
+     * @param bytes  the serialized filter
+     * @param hasher the hash function the filter was created with
+     * @param <T>    the type of elements
+     * @return the filter
+     * @throws IllegalArgumentException if the bytes are not a serialized cuckoo filter
+     */
+    public static <T> CuckooFilter<T> fromByteArray(final byte[] bytes, final ToLongFunction<? super T> hasher) {
+        final ByteBuffer buffer = Hashes.readHeader(requireNonNull(bytes, "bytes can't be null"), MAGIC, HEADER_BYTES);
+        final int slotCount = buffer.getInt();
+        final int size = buffer.getInt();
+        final int victimBucket = buffer.getInt();
+        final short victimFingerprint = (short) buffer.getInt();
+        if (slotCount < BUCKET_SIZE || Integer.bitCount(slotCount) != 1 || size < 0
+                || victimBucket < NO_VICTIM || victimBucket >= slotCount / BUCKET_SIZE
+                || buffer.remaining() != (long) slotCount * Short.BYTES) {
+            throw Hashes.invalid();
+        }
+        final short[] slots = new short[slotCount];
+        buffer.asShortBuffer().get(slots);
+        final CuckooFilter<T> filter = new CuckooFilter<>(slots, hasher);
+        filter.size = size;
+        filter.victimBucket = victimBucket;
+        filter.victimFingerprint = victimFingerprint;
+        return filter;
+    }
+
+    @Override
+    public boolean put(final T element) {
+        if (victimBucket != NO_VICTIM) {
+            return false;
+        }
+        final long hash = hasher.applyAsLong(element);
+        final short fingerprint = fingerprint(hash);
+        final int first = (int) hash & bucketMask;
+        if (insertIntoBucket(first, fingerprint) || insertIntoBucket(alternate(first, fingerprint), fingerprint)) {
+            size++;
+            return true;
+        }
+        int bucket = (nextRandom() & 1) == 0 ? first : alternate(first, fingerprint);
+        short homeless = fingerprint;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            final int slot = bucket * BUCKET_SIZE + (nextRandom() & (BUCKET_SIZE - 1));
+            final short evicted = slots[slot];
+            slots[slot] = homeless;
+            homeless = evicted;
+            bucket = alternate(bucket, homeless);
+            if (insertIntoBucket(bucket, homeless)) {
+                size++;
+                return true;
+            }
+        }
+        // the element is stored, but another fingerprint lost its place; keep it aside and report the filter full
+        victimBucket = bucket;
+        victimFingerprint = homeless;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean mightContain(final T element) {
+        final long hash = hasher.applyAsLong(element);
+        final short fingerprint = fingerprint(hash);
+        final int first = (int) hash & bucketMask;
+        final int second = alternate(first, fingerprint);
+        return bucketContains(first, fingerprint) || bucketContains(second, fingerprint)
+                || (victimBucket != NO_VICTIM && victimFingerprint == fingerprint
+                && (victimBucket == first || victimBucket == second));
+    }
+
+    /**
+     * Removes an element. Removing an element which was not added can remove another element with the same
+     * fingerprint and candidate buckets.
+     *
+     * @param element the element to remove
+     * @return true if a matching fingerprint was removed, false if the element definitely was not contained
+     */
+    public boolean remove(final T element) {
+        final long hash = hasher.applyAsLong(element);
+        final short fingerprint = fingerprint(hash);
+        final int first = (int) hash & bucketMask;
+        final int second = alternate(first, fingerprint);
+        if (victimBucket != NO_VICTIM && victimFingerprint == fingerprint
+                && (victimBucket == first || victimBucket == second)) {
+            victimBucket = NO_VICTIM;
+            size--;
+            return true;
+        }
+        if (removeFromBucket(first, fingerprint) || removeFromBucket(second, fingerprint)) {
+            size--;
+            reinsertVictim();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of added elements.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the last insertion ran out of space. A full filter accepts no further elements until one is removed.
+     *
+     * @return true if the filter is full
+     */
+    public boolean isFull() {
+        return victimBucket != NO_VICTIM;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        final ByteBuffer buffer = ByteBuffer.allocate(Hashes.serializedSize(HEADER_BYTES, slots.length, Short.BYTES));
+        buffer.putInt(MAGIC).putInt(slots.length).putInt(size).putInt(victimBucket).putInt(victimFingerprint);
+        buffer.asShortBuffer().put(slots);
+        return buffer.array();
+    }
+
+    // 0 marks an empty slot, so fingerprints are never 0
+    private static short fingerprint(final long hash) {
+        final int fingerprint = (int) (hash >>> 48);
+        return (short) (fingerprint == 0 ? 1 : fingerprint);
+    }
+
+    // Partial-key cuckoo hashing: the alternate bucket depends only on the bucket and the fingerprint
+    private int alternate(final int bucket, final short fingerprint) {
+        return (bucket ^ (int) Hashes.mix64(fingerprint)) & bucketMask;
+    }
+
+    private boolean insertIntoBucket(final int bucket, final short fingerprint) {
+        for (int i = bucket * BUCKET_SIZE; i < (bucket + 1) * BUCKET_SIZE; i++) {
+            if (slots[i] == 0) {
+                slots[i] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean bucketContains(final int bucket, final short fingerprint) {
+        for (int i = bucket * BUCKET_SIZE; i < (bucket + 1) * BUCKET_SIZE; i++) {
+            if (slots[i] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeFromBucket(final int bucket, final short fingerprint) {
+        for (int i = bucket * BUCKET_SIZE; i < (bucket + 1) * BUCKET_SIZE; i++) {
+            if (slots[i] == fingerprint) {
+                slots[i] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the victim is already counted in size, only its place changes
+    private void reinsertVictim() {
+        if (victimBucket != NO_VICTIM && (insertIntoBucket(victimBucket, victimFingerprint)
+                || insertIntoBucket(alternate(victimBucket, victimFingerprint), victimFingerprint))) {
+            victimBucket = NO_VICTIM;
+        }
+    }
+
+    private int nextRandom() {
+        kickState ^= kickState << 13;
+        kickState ^= kickState >>> 7;
+        kickState ^= kickState << 17;
+        return (int) kickState;
+    }
+}
@@ -0,0 +1,57 @@
+package com.erebos.flu.probabilistic;
+
+import com.erebos.flu.utils.NonCryptoHash;
+
+import java.nio.ByteBuffer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hash helpers shared by the filters and sketches.
+ */
+final class Hashes {
+
+    /** Hashes strings stably across JVMs */
+    static final ToLongFunction<String> STRING_HASHER = NonCryptoHash.XX_HASH_64::hash;
+
+    /** The largest byte array a serialized form may take */
+    static final int MAX_SERIALIZED_SIZE = Integer.MAX_VALUE - 8;
+
+    private Hashes() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    // SplitMix64 finalizer, derives an independent second hash from a first one
+    static long mix64(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Checks the magic number and the header length, returns the buffer positioned after the magic number
+    static ByteBuffer readHeader(final byte[] bytes, final int magic, final int headerBytes) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < headerBytes || buffer.getInt() != magic) {
+            throw invalid();
+        }
+        return buffer;
+    }
+
+    // Largest number of array elements a serialized form with the header can hold
+    static long maxSerializedElements(final int headerBytes, final int elementBytes) {
+        return (MAX_SERIALIZED_SIZE - headerBytes) / elementBytes;
+    }
+
+    // Size of a serialized form of a header and an array, computed without int overflow
+    static int serializedSize(final int headerBytes, final int elements, final int elementBytes) {
+        final long size = headerBytes + (long) elements * elementBytes;
+        if (size > MAX_SERIALIZED_SIZE) {
+            throw new IllegalStateException("Too large to serialize: " + size + " bytes");
+        }
+        return (int) size;
+    }
+
+    static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("Not a serialized instance of this type");
+    }
+}
@@ -0,0 +1,231 @@
+package com.erebos.flu.probabilistic;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Tracks the {@code k} most frequent elements of a stream: a {@link CountMinSketch} estimates the counts of all
+ * elements, and the {@code k} elements with the highest estimates are kept as candidates. Memory stays at the
+ * sketch plus {@code k} entries no matter how many distinct elements pass through.
+ * <p>
+ * An element can only enter the candidates when it is added, so an element which becomes frequent late in the
+ * stream still enters as soon as its estimate exceeds the smallest candidate. Instances of the same dimensions are
+ * mergeable across threads and partitions. Not thread-safe.
+ *
+ * @param <T> the type of elements
+ */
+public final class HeavyHitters<T> {
+
+    private final int k;
+    private final CountMinSketch<T> sketch;
+    private final Map<T, Long> candidates;
+    private T minCandidate;
+    private long minCount;
+
+    private HeavyHitters(final int k, final CountMinSketch<T> sketch) {
+        this.k = k;
+        this.sketch = sketch;
+        this.candidates = new HashMap<>(k * 2);
+    }
+
+    /**
+     * Creates an empty tracker.
+     *
+     * @param k       the number of elements to track
+     * @param epsilon the overcount of the estimates as a share of the total count, between 0 and 1 exclusive
+     * @param delta   the probability of exceeding the overcount, between 0 and 1 exclusive
+     * @param hasher  the 64-bit hash function of the elements
+     * @param <T>     the type of elements
+     * @return the tracker
+     * @throws IllegalArgumentException if k is not positive or epsilon or delta is not between 0 and 1
+     */
+    public static <T> HeavyHitters<T> create(final int k,
+                                             final double epsilon,
+                                             final double delta,
+                                             final ToLongFunction<? super T> hasher) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        return new HeavyHitters<>(k, CountMinSketch.create(epsilon, delta, hasher));
+    }
+
+    /**
+     * Creates an empty tracker for strings, hashed stably across JVMs.
+     *
+     * @param k       the number of elements to track
+     * @param epsilon the overcount of the estimates as a share of the total count, between 0 and 1 exclusive
+     * @param delta   the probability of exceeding the overcount, between 0 and 1 exclusive
+     * @return the tracker
+     */
+    public static HeavyHitters<String> forStrings(final int k, final double epsilon, final double delta) {
+        return create(k, epsilon, delta, Hashes.STRING_HASHER);
+    }
+
+    /**
+     * Tracks the most frequent members of the items extracted with a getter.
+     *
+     * @param items   the items
+     * @param getter  the function to extract the member to count
+     * @param k       the number of members to track
+     * @param epsilon the overcount of the estimates as a share of the total count, between 0 and 1 exclusive
+     * @param delta   the probability of exceeding the overcount, between 0 and 1 exclusive
+     * @param hasher  the 64-bit hash function of the members
+     * @param <T>     the type of items
+     * @param <K>     the type of members
+     * @return the tracker
+     */
+    public static <T, K> HeavyHitters<K> of(final Collection<T> items,
+                                            final Function<? super T, ? extends K> getter,
+                                            final int k,
+                                            final double epsilon,
+                                            final double delta,
+                                            final ToLongFunction<? super K> hasher) {
+        requireNonNull(items, "items can't be null");
+        requireNonNull(getter, "getter can't be null");
+        final HeavyHitters<K> heavyHitters = create(k, epsilon, delta, hasher);
+        items.forEach(item -> heavyHitters.add(getter.apply(item)));
+        return heavyHitters;
+    }
+
+    /**
+     * Returns a collector tracking the most frequent members of the streamed items. Parallel streams track every
+     * chunk separately and merge the trackers.
+     *
+     * @param getter  the function to extract the member to count
+     * @param k       the number of members to track
+     * @param epsilon the overcount of the estimates as a share of the total count, between 0 and 1 exclusive
+     * @param delta   the probability of exceeding the overcount, between 0 and 1 exclusive
+     * @param hasher  the 64-bit hash function of the members
+     * @param <T>     the type of items
+     * @param <K>     the type of members
+     * @return the collector
+     */
+    public static <T, K> Collector<T, ?, HeavyHitters<K>> collector(final Function<? super T, ? extends K> getter,
+                                                                    final int k,
+                                                                    final double epsilon,
+                                                                    final double delta,
+                                                                    final ToLongFunction<? super K> hasher) {
+        requireNonNull(getter, "getter can't be null");
+        create(k, epsilon, delta, hasher); // fail fast on invalid arguments
+        return Collector.of(() -> create(k, epsilon, delta, hasher),
+                (heavyHitters, item) -> heavyHitters.add(getter.apply(item)),
+                HeavyHitters::mergedWith,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Adds one occurrence of an element.
+     *
+     * @param element the element to add
+     */
+    public void add(final T element) {
+        add(element, 1);
+    }
+
+    /**
+     * Adds occurrences of an element.
+     *
+     * @param element the element to add
+     * @param count   the number of occurrences
+     * @throws IllegalArgumentException if count is negative
+     */
+    public void add(final T element, final long count) {
+        sketch.add(element, count);
+        offer(element, sketch.estimateCount(element));
+    }
+
+    /**
+     * Estimates the number of occurrences of an element, tracked or not.
+     *
+     * @param element the element
+     * @return the estimated count, never less than the real count
+     */
+    public long estimateCount(final T element) {
+        return sketch.estimateCount(element);
+    }
+
+    /**
+     * Returns the tracked elements with their estimated counts, the most frequent first.
+     *
+     * @return up to {@code k} entries of element and estimated count
+     */
+    public List<Map.Entry<T, Long>> topK() {
+        final List<Map.Entry<T, Long>> top = new ArrayList<>(candidates.size());
+        candidates.forEach((element, count) -> top.add(new AbstractMap.SimpleImmutableEntry<>(element, count)));
+        top.sort(Map.Entry.<T, Long>comparingByValue(Comparator.reverseOrder()));
+        return top;
+    }
+
+    /**
+     * Returns the sum of all added counts.
+     *
+     * @return the total count
+     */
+    public long totalCount() {
+        return sketch.totalCount();
+    }
+
+    /**
+     * Adds all counts of another tracker and re-ranks the candidates of both by the merged estimates.
+     *
+     * @param other a tracker of the same dimensions, created with the same hasher
+     * @throws IllegalArgumentException if the sketches have different dimensions
+     */
+    public void merge(final HeavyHitters<T> other) {
+        sketch.merge(other.sketch);
+        final List<T> elements = new ArrayList<>(candidates.keySet());
+        elements.addAll(other.candidates.keySet());
+        candidates.clear();
+        minCandidate = null;
+        minCount = 0;
+        for (final T element : elements) {
+            offer(element, sketch.estimateCount(element));
+        }
+    }
+
+    private HeavyHitters<T> mergedWith(final HeavyHitters<T> other) {
+        merge(other);
+        return this;
+    }
+
+    private void offer(final T element, final long estimate) {
+        if (candidates.containsKey(element)) {
+            candidates.put(element, estimate);
+            if (Objects.equals(element, minCandidate)) {
+                updateMinimum();
+            }
+        } else if (candidates.size() < k) {
+            candidates.put(element, estimate);
+            if (candidates.size() == 1 || estimate < minCount) {
+                minCandidate = element;
+                minCount = estimate;
+            }
+        } else if (estimate > minCount) {
+            candidates.remove(minCandidate);
+            candidates.put(element, estimate);
+            updateMinimum();
+        }
+    }
+
+    // O(k), only needed when the smallest candidate changes
+    private void updateMinimum() {
+        minCount = Long.MAX_VALUE;
+        for (final Map.Entry<T, Long> entry : candidates.entrySet()) {
+            if (entry.getValue() < minCount) {
+                minCandidate = entry.getKey();
+                minCount = entry.getValue();
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.erebos.flu.probabilistic;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct elements in a stream of any length with {@code 2^precision}
+ * one-byte registers, e.g. 16 KB for a standard error of 0.81% at the default precision of 14.
+ * <p>
+ * Sketches of the same precision are mergeable, so partitions or threads can count separately and
+ * {@link #merge} the results; {@link #collector} does so for parallel streams. Not thread-safe.
+ *
+ * @param <T> the type of elements
+ */
+public final class HyperLogLog<T> {
+
+    /** Precision giving 16384 registers and a standard error of 0.81% */
+    public static final int DEFAULT_PRECISION = 14;
+    /** Smallest supported precision */
+    public static final int MIN_PRECISION = 4;
+    /** Largest supported precision */
+    public static final int MAX_PRECISION = 18;
+
+    private static final int MAGIC = 0x484C4C31; // "HLL1"
+
+    private final byte[] registers;
+    private final int precision;
+    private final ToLongFunction<? super T> hasher;
+
+    private HyperLogLog(final byte[] registers, final int precision, final ToLongFunction<? super T> hasher) {
+        this.registers = registers;
+        this.precision = precision;
+        this.hasher = requireNonNull(hasher, "hasher can't be null");
+    }
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param precision the number of index bits, between {@link #MIN_PRECISION} and {@link #MAX_PRECISION}
+     * @param hasher    the 64-bit hash function of the elements
+     * @param <T>       the type of elements
+     * @return the sketch
+     * @throws IllegalArgumentException if precision is out of range
+     */
+    public static <T> HyperLogLog<T> create(final int precision, final ToLongFunction<? super T> hasher) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION);
+        }
+        return new HyperLogLog<>(new byte[1 << precision], precision, hasher);
+    }
+
+    /**
+     * Creates an empty sketch for strings with the default precision, hashed stably across JVMs.
+     *
+     * @return the sketch
+     */
+    public static HyperLogLog<String> forStrings() {
+        return create(DEFAULT_PRECISION, Hashes.STRING_HASHER);
+    }
+
+    /**
+     * Creates a sketch of the members of the items extracted with a getter.
+     *
+     * @param items     the items
+     * @param getter    the function to extract the member to count
+     * @param precision the number of index bits
+     * @param hasher    the 64-bit hash function of the members
+     * @param <T>       the type of items
+     * @param <K>       the type of members
+     * @return the sketch
+     */
+    public static <T, K> HyperLogLog<K> of(final Collection<T> items,
+                                           final Function<? super T, ? extends K> getter,
+                                           final int precision,
+                                           final ToLongFunction<? super K> hasher) {
+        requireNonNull(items, "items can't be null");
+        requireNonNull(getter, "getter can't be null");
+        final HyperLogLog<K> sketch = create(precision, hasher);
+        items.forEach(item -> sketch.add(getter.apply(item)));
+        return sketch;
+    }
+
+    /**
+     * Returns a collector sketching the members of the streamed items. Parallel streams sketch every
+     * chunk separately and merge the sketches.
+     *
+     * @param getter    the function to extract the member to count
+     * @param precision the number of index bits
+     * @param hasher    the 64-bit hash function of the members
+     * @param <T>       the type of items
+     * @param <K>       the type of members
+     * @return the collector
+     */
+    public static <T, K> Collector<T, ?, HyperLogLog<K>> collector(final Function<? super T, ? extends K> getter,
+                                                                   final int precision,
+                                                                   final ToLongFunction<? super K> hasher) {
+        requireNonNull(getter, "getter can't be null");
+        create(precision, hasher); // fail fast on invalid arguments
+        return Collector.of(() -> create(precision, hasher),
+                (sketch, item) -> sketch.add(getter.apply(item)),
+                HyperLogLog::mergedWith,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Deserializes a sketch written by {@link #toByteArray()}.
+     *
+     * @param bytes  the serialized sketch
+     * @param hasher the hash function the sketch was created with
+     * @param <T>    the type of elements
+     * @return the sketch
+     * @throws IllegalArgumentException if the bytes are not a serialized HyperLogLog sketch
+     */
+    public static <T> HyperLogLog<T> fromByteArray(final byte[] bytes, final ToLongFunction<? super T> hasher) {
+        final ByteBuffer buffer = Hashes.readHeader(requireNonNull(bytes, "bytes can't be null"), MAGIC, 2 * Integer.BYTES);
+        final int precision = buffer.getInt();
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION || buffer.remaining() != 1 << precision) {
+            throw Hashes.invalid();
+        }
+        final byte[] registers = new byte[1 << precision];
+        buffer.get(registers);
+        for (final byte register : registers) {
+            if (register < 0 || register > Long.SIZE - precision + 1) {
+                throw Hashes.invalid();
+            }
+        }
+        return new HyperLogLog<>(registers, precision, hasher);
+    }
+
+    /**
+     * Adds an element.
+     *
+     * @param element the element to add
+     */
+    public void add(final T element) {
+        final long hash = hasher.applyAsLong(element);
+        final int index = (int) (hash >>> (Long.SIZE - precision));
+        // the sentinel bit bounds the rank when all remaining bits are zero
+        final byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Estimates the number of distinct added elements.
+     *
+     * @return the estimated number of distinct elements
+     */
+    public long cardinality() {
+        final int m = registers.length;
+        double sum = 0.0;
+        int zeros = 0;
+        for (final byte register : registers) {
+            sum += Double.longBitsToDouble((1023L - register) << 52); // 2^-register
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        final double estimate = alpha(m) * m * m / sum;
+        // small cardinalities are estimated more precisely by linear counting of the empty registers
+        if (estimate <= 2.5 * m && zeros > 0) {
+            return Math.round(m * Math.log((double) m / zeros));
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Returns the relative standard error of the estimates, {@code 1.04 / sqrt(2^precision)}.
+     *
+     * @return the relative standard error
+     */
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /**
+     * Adds all elements of another sketch.
+     *
+     * @param other a sketch of the same precision, created with the same hasher
+     * @throws IllegalArgumentException if the sketches have different precisions
+     */
+    public void merge(final HyperLogLog<T> other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Sketches must have the same precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Serializes the sketch to a compact byte array.
+     *
+     * @return the serialized sketch
+     */
+    public byte[] toByteArray() {
+        return ByteBuffer.allocate(2 * Integer.BYTES + registers.length)
+                .putInt(MAGIC)
+                .putInt(precision)
+                .put(registers)
+                .array();
+    }
+
+    private HyperLogLog<T> mergedWith(final HyperLogLog<T> other) {
+        merge(other);
+        return this;
+    }
+
+    private static double alpha(final int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+}
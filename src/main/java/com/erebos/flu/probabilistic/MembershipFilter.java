@@ -0,0 +1,37 @@
+package com.erebos.flu.probabilistic;
+
+/**
+ * Probabilistic set membership: {@link #mightContain} never misses an added element,
+ * but may claim membership of an element which was never added.
+ * <p>
+ * Filters are compact and serializable with {@code toByteArray()}, e.g. to prune the candidates of an intersection
+ * with a huge or remote collection before checking them exactly. Elements are mapped to 64-bit hashes by a hasher
+ * given on creation; a deserialized filter needs the same hasher. Filters are not thread-safe.
+ *
+ * @param <T> the type of elements
+ */
+public interface MembershipFilter<T> {
+
+    /**
+     * Adds an element.
+     *
+     * @param element the element to add
+     * @return true if the element was added, false if the filter is full
+     */
+    boolean put(T element);
+
+    /**
+     * Checks if an element might have been added.
+     *
+     * @param element the element to check
+     * @return false if the element was definitely not added, true if it probably was
+     */
+    boolean mightContain(T element);
+
+    /**
+     * Serializes the filter to a compact byte array.
+     *
+     * @return the serialized filter
+     */
+    byte[] toByteArray();
+}
@@ -0,0 +1,359 @@
+package com.erebos.flu.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Utility class providing character uniqueness and permutation checks over Unicode code points, so multilingual
+ * text such as product names is handled correctly: a character outside the BMP counts once, not as two chars.
+ * <p>
+ * Every check picks a {@link Strategy} by its input, see {@link #chooseStrategy(CharSequence...)}. The BMP strategy
+ * keeps its 64K tables per thread and undoes its own changes after every check instead of clearing them, so a check
+ * costs O(n) regardless of the table size.
+ */
+public final class CodePointUtils {
+
+    /**
+     * Inputs from this many chars on use the per-thread BMP tables, shorter ones a small hash table.
+     */
+    static final int BMP_MIN_LENGTH = 256;
+
+    private static final int BMP_SIZE = 1 << 16;
+    private static final ThreadLocal<long[]> BMP_BITS = ThreadLocal.withInitial(() -> new long[BMP_SIZE / Long.SIZE]);
+    private static final ThreadLocal<int[]> BMP_COUNTS = ThreadLocal.withInitial(() -> new int[BMP_SIZE]);
+
+    /**
+     * The ways of tracking the code points seen so far.
+     */
+    public enum Strategy {
+        /**
+         * A 128-entry table indexed by char. Requires ASCII input.
+         */
+        ASCII_TABLE,
+        /**
+         * A per-thread 64K-bit bitset (uniqueness) or 64K-entry count table (permutations) indexed by char.
+         * Requires input without surrogates, i.e. from the Basic Multilingual Plane.
+         */
+        BMP_BITSET,
+        /**
+         * An open-addressing hash table of code points sized to the input. Accepts any input.
+         */
+        HASH
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     *
+     * @throws IllegalStateException when called
+     */
+    private CodePointUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Chooses the cheapest strategy able to handle all inputs: {@link Strategy#ASCII_TABLE} for ASCII,
+     * {@link Strategy#BMP_BITSET} for BMP text of at least {@link #BMP_MIN_LENGTH} chars in total and
+     * {@link Strategy#HASH} otherwise.
+     *
+     * @param inputs the inputs to check
+     * @return the strategy
+     */
+    public static Strategy chooseStrategy(final CharSequence... inputs) {
+        requireNonNull(inputs, "inputs can't be null");
+        boolean ascii = true;
+        long length = 0;
+        for (final CharSequence input : inputs) {
+            requireNonNull(input, "inputs can't contain null");
+            length += input.length();
+            for (int i = 0; i < input.length(); i++) {
+                final char c = input.charAt(i);
+                if (Character.isSurrogate(c)) {
+                    return Strategy.HASH;
+                }
+                ascii &= c < 128;
+            }
+        }
+        if (ascii) {
+            return Strategy.ASCII_TABLE;
+        }
+        return length >= BMP_MIN_LENGTH ? Strategy.BMP_BITSET : Strategy.HASH;
+    }
+
+    /**
+     * Checks if no code point occurs twice in the input, with the strategy chosen by {@link #chooseStrategy}.
+     *
+     * @param input the input to check
+     * @return true if all code points are unique, false otherwise or if input is null
+     */
+    public static boolean hasUniqueCodePoints(final CharSequence input) {
+        return input != null && hasUniqueCodePoints(input, chooseStrategy(input));
+    }
+
+    /**
+     * Checks if no code point occurs twice in the input.
+     *
+     * @param input    the input to check
+     * @param strategy the strategy to use
+     * @return true if all code points are unique, false otherwise
+     * @throws IllegalArgumentException if the input contains characters the strategy can't handle
+     */
+    public static boolean hasUniqueCodePoints(final CharSequence input, final Strategy strategy) {
+        requireNonNull(input, "input can't be null");
+        requireNonNull(strategy, "strategy can't be null");
+        checkSupported(strategy, input);
+        return switch (strategy) {
+            case ASCII_TABLE -> hasUniqueAscii(input);
+            case BMP_BITSET -> hasUniqueBmp(input);
+            case HASH -> hasUniqueHashed(input);
+        };
+    }
+
+    /**
+     * Checks if two inputs hold the same code points with the same frequencies, with the strategy chosen by
+     * {@link #chooseStrategy}.
+     *
+     * @param s1 the first input
+     * @param s2 the second input
+     * @return true if the inputs are permutations of each other, false otherwise
+     * @throws IllegalArgumentException if s1 or s2 is null
+     */
+    public static boolean isPermutation(final CharSequence s1, final CharSequence s2) {
+        if (s1 == null || s2 == null) {
+            throw new IllegalArgumentException("Input strings must not be null");
+        }
+        return isPermutation(s1, s2, chooseStrategy(s1, s2));
+    }
+
+    /**
+     * Checks if two inputs hold the same code points with the same frequencies.
+     *
+     * @param s1       the first input
+     * @param s2       the second input
+     * @param strategy the strategy to use
+     * @return true if the inputs are permutations of each other, false otherwise
+     * @throws IllegalArgumentException if s1 or s2 is null or contains characters the strategy can't handle
+     */
+    public static boolean isPermutation(final CharSequence s1, final CharSequence s2, final Strategy strategy) {
+        if (s1 == null || s2 == null) {
+            throw new IllegalArgumentException("Input strings must not be null");
+        }
+        requireNonNull(strategy, "strategy can't be null");
+        checkSupported(strategy, s1);
+        checkSupported(strategy, s2);
+        // equal code points have equal char counts, so permutations have equal lengths
+        if (s1.length() != s2.length()) {
+            return false;
+        }
+        final Counts counts = new Counts(strategy, s1);
+        final boolean permutation = counts.matches(s2);
+        counts.release(s1);
+        return permutation;
+    }
+
+    /**
+     * Finds all candidates which are permutations of the query, e.g. all anagrams of a word in a dictionary.
+     * The code points of the query are counted once, every candidate is then matched against the counts in
+     * O(length) without allocating.
+     *
+     * @param query      the input to find permutations of
+     * @param candidates the inputs to check, null elements never match
+     * @param <T>        the type of candidates
+     * @return the candidates which are permutations of the query, in their original order
+     */
+    public static <T extends CharSequence> List<T> findPermutations(final CharSequence query, final List<T> candidates) {
+        requireNonNull(query, "query can't be null");
+        requireNonNull(candidates, "candidates can't be null");
+        final Counts counts = new Counts(chooseStrategy(query), query);
+        final List<T> permutations = new ArrayList<>();
+        try {
+            for (final T candidate : candidates) {
+                if (candidate != null && candidate.length() == query.length() && counts.matches(candidate)) {
+                    permutations.add(candidate);
+                }
+            }
+        } finally {
+            counts.release(query);
+        }
+        return permutations;
+    }
+
+    private static void checkSupported(final Strategy strategy, final CharSequence input) {
+        if (strategy == Strategy.HASH) {
+            return;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            final char c = input.charAt(i);
+            if (strategy == Strategy.ASCII_TABLE ? c >= 128 : Character.isSurrogate(c)) {
+                throw new IllegalArgumentException("Strategy " + strategy + " can't handle the char at index " + i);
+            }
+        }
+    }
+
+    private static boolean hasUniqueAscii(final CharSequence input) {
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < input.length(); i++) {
+            final char c = input.charAt(i);
+            final long bit = 1L << c;
+            if (c < 64) {
+                if ((low & bit) != 0) {
+                    return false;
+                }
+                low |= bit;
+            } else {
+                if ((high & bit) != 0) {
+                    return false;
+                }
+                high |= bit;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasUniqueBmp(final CharSequence input) {
+        final long[] bits = BMP_BITS.get();
+        int i = 0;
+        for (; i < input.length(); i++) {
+            final char c = input.charAt(i);
+            if ((bits[c >>> 6] & (1L << c)) != 0) {
+                break;
+            }
+            bits[c >>> 6] |= 1L << c;
+        }
+        // leave the bitset clear for the next check, only the words of the chars seen were touched
+        for (int j = 0; j < i; j++) {
+            bits[input.charAt(j) >>> 6] = 0;
+        }
+        return i == input.length();
+    }
+
+    private static boolean hasUniqueHashed(final CharSequence input) {
+        final Counts counts = new Counts(Strategy.HASH, input.length());
+        for (int i = 0; i < input.length(); ) {
+            final int codePoint = Character.codePointAt(input, i);
+            if (counts.increment(codePoint) > 1) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+
+    /**
+     * Multiset of code points. Dense tables are indexed by char, the hash table by code point; inputs passed to a
+     * dense instance must have been checked with {@link #checkSupported}.
+     */
+    private static final class Counts {
+        private static final int EMPTY = -1;
+
+        private final int[] dense;
+        private final boolean perThread;
+        private int[] keys;
+        private int[] values;
+        private int mask;
+
+        private Counts(final Strategy strategy, final int expectedSize) {
+            this.perThread = strategy == Strategy.BMP_BITSET;
+            this.dense = switch (strategy) {
+                case ASCII_TABLE -> new int[128];
+                case BMP_BITSET -> BMP_COUNTS.get();
+                case HASH -> null;
+            };
+            if (dense == null) {
+                final int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+                keys = new int[capacity];
+                values = new int[capacity];
+                mask = capacity - 1;
+                Arrays.fill(keys, EMPTY);
+            }
+        }
+
+        // Counts the code points of the input
+        private Counts(final Strategy strategy, final CharSequence input) {
+            this(strategy, input.length());
+            for (int i = 0; i < input.length(); ) {
+                final int unit = unitAt(input, i);
+                increment(unit);
+                i += Character.charCount(unit);
+            }
+        }
+
+        private int unitAt(final CharSequence input, final int i) {
+            return dense != null ? input.charAt(i) : Character.codePointAt(input, i);
+        }
+
+        private int increment(final int unit) {
+            if (dense != null) {
+                return ++dense[unit];
+            }
+            int slot = slot(unit);
+            while (keys[slot] != EMPTY && keys[slot] != unit) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = unit;
+            return ++values[slot];
+        }
+
+        // Removes one occurrence, false and unchanged if there is none left
+        private boolean decrement(final int unit) {
+            if (dense != null) {
+                if (unit >= dense.length || dense[unit] == 0) {
+                    return false;
+                }
+                dense[unit]--;
+                return true;
+            }
+            int slot = slot(unit);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == unit) {
+                    if (values[slot] == 0) {
+                        return false;
+                    }
+                    values[slot]--;
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        // Checks if the input holds exactly the counted code points, given that it has as many chars as the counted
+        // input; the counts are unchanged afterwards
+        private boolean matches(final CharSequence input) {
+            int i = 0;
+            boolean matches = true;
+            while (i < input.length()) {
+                final int unit = unitAt(input, i);
+                if (!decrement(unit)) {
+                    matches = false;
+                    break;
+                }
+                i += Character.charCount(unit);
+            }
+            // all taken occurrences are given back; a complete walk over as many chars can only have taken all
+            for (int j = 0; j < i; ) {
+                final int unit = unitAt(input, j);
+                increment(unit);
+                j += Character.charCount(unit);
+            }
+            return matches;
+        }
+
+        // Clears the per-thread table of the counted input
+        private void release(final CharSequence counted) {
+            if (perThread) {
+                for (int i = 0; i < counted.length(); i++) {
+                    dense[counted.charAt(i)] = 0;
+                }
+            }
+        }
+
+        private int slot(final int codePoint) {
+            final int hash = codePoint * 0x9E3779B9;
+            return (hash ^ hash >>> 16) & mask;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.erebos.flu.utils;
+
+/**
+ * Utility class providing helper methods for elements of unknown type which may be mutually Comparable,
+ * e.g. to pick a sort-merge or binary-search strategy for input that is already sorted.
+ */
+public final class ComparableUtils {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     *
+     * @throws IllegalStateException when called
+     */
+    private ComparableUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Checks if the elements are mutually Comparable and in ascending order.
+     *
+     * @param elements  the elements to check
+     * @param skipNulls true to ignore null elements, false to count them as unsorted
+     * @return true if the elements are sorted, false otherwise or if two elements can't be compared
+     */
+    public static boolean isSorted(final Iterable<?> elements, final boolean skipNulls) {
+        Object previous = null;
+        try {
+            for (final Object element : elements) {
+                if (element == null && skipNulls) {
+                    continue;
+                }
+                if (!(element instanceof Comparable) || (previous != null && compare(previous, element) > 0)) {
+                    return false;
+                }
+                previous = element;
+            }
+        } catch (final ClassCastException ex) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compares two elements by their natural ordering.
+     *
+     * @param a the first element, must be Comparable
+     * @param b the second element
+     * @return a negative number, zero or a positive number if a is less than, equal to or greater than b
+     * @throws ClassCastException if a and b are not mutually Comparable
+     */
+    @SuppressWarnings("unchecked")
+    public static int compare(final Object a, final Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+}
@@ -1,11 +1,24 @@
 package com.erebos.flu.utils;
 
 import com.erebos.flu.exceptions.DateParsingException;
+import com.erebos.flu.utils.pojo.DateColumn;
 
+import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
@@ -24,6 +37,11 @@ public final class DateUtilities {
     /** Pattern for English date format */
     public static final String ENGLISH_DATE_PATTERN = "yyyy-MM-dd";
 
+    private static final Pattern DATE_EN = Pattern.compile(REG_EX_DATE_EN);
+    private static final Pattern DATE_DE = Pattern.compile(REG_EX_DATE_DE);
+    /** Formatters by pattern, DateTimeFormatter is immutable and thread-safe */
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
     /**
      * Private constructor to prevent instantiation of utility class.
      *
@@ -43,9 +61,9 @@ public final class DateUtilities {
      */
     static String getDatePattern(final String dateString) throws DateParsingException {
         requireNonNull(dateString, "dateString can't be null");
-        if (dateString.matches(REG_EX_DATE_EN)) {
+        if (DATE_EN.matcher(dateString).matches()) {
             return ENGLISH_DATE_PATTERN;
-        } else if (dateString.matches(REG_EX_DATE_DE)) {
+        } else if (DATE_DE.matcher(dateString).matches()) {
             return GERMAN_DATE_PATTERN;
         }
         throw new DateParsingException("Date format does not match requirements");
@@ -61,6 +79,10 @@ public final class DateUtilities {
      */
     public static LocalDate stringToLocalDate(final String value) throws DateParsingException {
         requireNonNull(value, "value can't be null");
+        final LocalDate date = parseFixedWidth(value, null, true);
+        if (date != null) {
+            return date;
+        }
         final String pattern = getDatePattern(value);
         return stringToLocalDate(value, pattern);
     }
@@ -77,13 +99,145 @@ public final class DateUtilities {
     public static LocalDate stringToLocalDate(final String value, final String pattern) throws DateParsingException {
         requireNonNull(value, "value can't be null");
         requireNonNull(pattern, "pattern can't be null");
+        if (ENGLISH_DATE_PATTERN.equals(pattern) || GERMAN_DATE_PATTERN.equals(pattern)) {
+            final LocalDate date = parseFixedWidth(value, pattern, false);
+            if (date != null) {
+                return date;
+            }
+        }
         try {
-            return LocalDate.parse(value, DateTimeFormatter.ofPattern(pattern));
+            return LocalDate.parse(value, formatter(pattern));
         } catch (final Exception ex) {
             throw new DateParsingException(ex.getMessage());
         }
     }
 
+    /**
+     * Parses a column of date strings using automatic pattern detection.
+     * Rows which cannot be parsed don't fail the column, their messages are collected by row index.
+     *
+     * @param values the date strings to parse
+     * @return the parsed column
+     * @throws NullPointerException if values is null
+     */
+    public static DateColumn parseDateColumn(final String[] values) {
+        return parseDateColumn(values, null, false);
+    }
+
+    /**
+     * Parses a column of date strings.
+     * Rows which cannot be parsed don't fail the column, their messages are collected by row index.
+     *
+     * @param values   the date strings to parse
+     * @param pattern  the date pattern to use, or null for automatic pattern detection
+     * @param parallel whether to parse the rows in parallel
+     * @return the parsed column
+     * @throws DateParsingException if the pattern is invalid
+     * @throws NullPointerException if values is null
+     */
+    public static DateColumn parseDateColumn(final String[] values, final String pattern, final boolean parallel) {
+        requireNonNull(values, "values can't be null");
+        return parseDateColumn(values.length, i -> values[i], pattern, parallel);
+    }
+
+    /**
+     * Parses a column of date strings, see {@link #parseDateColumn(String[], String, boolean)}.
+     *
+     * @param values   the date strings to parse
+     * @param pattern  the date pattern to use, or null for automatic pattern detection
+     * @param parallel whether to parse the rows in parallel
+     * @return the parsed column
+     * @throws DateParsingException if the pattern is invalid
+     * @throws NullPointerException if values is null
+     */
+    public static DateColumn parseDateColumn(final List<String> values, final String pattern, final boolean parallel) {
+        requireNonNull(values, "values can't be null");
+        if (values instanceof RandomAccess) {
+            return parseDateColumn(values.size(), values::get, pattern, parallel);
+        }
+        return parseDateColumn(values.toArray(new String[0]), pattern, parallel);
+    }
+
+    private static DateColumn parseDateColumn(final int size,
+                                              final IntFunction<String> values,
+                                              final String pattern,
+                                              final boolean parallel) {
+        final DateTimeFormatter fixedFormatter;
+        try {
+            fixedFormatter = pattern == null ? null : formatter(pattern);
+        } catch (final IllegalArgumentException ex) {
+            throw new DateParsingException(ex.getMessage());
+        }
+        final int[] epochDays = new int[size];
+        final String[] errors = new String[size];
+        final IntStream rows = parallel ? IntStream.range(0, size).parallel() : IntStream.range(0, size);
+        rows.forEach(i -> {
+            final String error = parseEpochDay(values.apply(i), pattern, fixedFormatter, epochDays, i);
+            if (error != null) {
+                errors[i] = error;
+                epochDays[i] = DateColumn.INVALID;
+            }
+        });
+        final Map<Integer, String> errorsByIndex = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            if (errors[i] != null) {
+                errorsByIndex.put(i, errors[i]);
+            }
+        }
+        return new DateColumn(epochDays, Collections.unmodifiableMap(errorsByIndex));
+    }
+
+    // Stores the epoch day of the value at the index, returns the error message instead of throwing
+    private static String parseEpochDay(final String value,
+                                        final String pattern,
+                                        final DateTimeFormatter fixedFormatter,
+                                        final int[] epochDays,
+                                        final int index) {
+        if (value == null) {
+            return "value can't be null";
+        }
+        LocalDate date = pattern == null || ENGLISH_DATE_PATTERN.equals(pattern) || GERMAN_DATE_PATTERN.equals(pattern)
+                ? parseFixedWidth(value, pattern, pattern == null)
+                : null;
+        if (date == null) {
+            final DateTimeFormatter formatter = fixedFormatter != null ? fixedFormatter : detectedFormatter(value);
+            if (formatter == null) {
+                return "Date format does not match requirements";
+            }
+            // parseUnresolved reports syntax errors without an exception, only resolving can still throw
+            final ParsePosition position = new ParsePosition(0);
+            if (formatter.parseUnresolved(value, position) == null || position.getIndex() != value.length()) {
+                // only on this rare path, so the message is the formatter's own, exactly as stringToLocalDate has it
+                try {
+                    formatter.parse(value);
+                } catch (final DateTimeParseException ex) {
+                    return ex.getMessage();
+                }
+            }
+            try {
+                date = LocalDate.parse(value, formatter);
+            } catch (final DateTimeException ex) {
+                return ex.getMessage();
+            }
+        }
+        final long epochDay = date.toEpochDay();
+        // the column stores int epoch days, INVALID itself marks rows with an error
+        if (epochDay <= DateColumn.INVALID || epochDay > Integer.MAX_VALUE) {
+            return "Date " + date + " is out of the range of a date column";
+        }
+        epochDays[index] = (int) epochDay;
+        return null;
+    }
+
+    private static DateTimeFormatter detectedFormatter(final String value) {
+        if (DATE_EN.matcher(value).matches()) {
+            return formatter(ENGLISH_DATE_PATTERN);
+        } else if (DATE_DE.matcher(value).matches()) {
+            return formatter(GERMAN_DATE_PATTERN);
+        }
+        return null;
+    }
+
     /**
      * Formats a LocalDate to string using the English date pattern.
      *
@@ -95,7 +249,7 @@ public final class DateUtilities {
     public static String formatToString(final LocalDate date) throws DateParsingException {
         requireNonNull(date, "date can't be null");
         try {
-            return date.format(DateTimeFormatter.ofPattern(ENGLISH_DATE_PATTERN));
+            return date.format(formatter(ENGLISH_DATE_PATTERN));
         } catch (final Exception ex) {
             throw new DateParsingException(ex.getMessage());
         }
@@ -149,4 +303,63 @@ public final class DateUtilities {
         requireNonNull(localDate, "localDate can't be null");
         return localDate.getMonthValue();
     }
+
+    /**
+     * Returns the cached formatter of a pattern, creating it on first use.
+     *
+     * @param pattern the date pattern
+     * @return the formatter
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    static DateTimeFormatter formatter(final String pattern) {
+        return FORMATTERS.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+
+    /**
+     * Parses the two-digit forms yyyy-MM-dd and dd.MM.yyyy without regex, formatter or exception.
+     * A day beyond the end of the month is clamped to its last day, like the smart resolving of the formatter.
+     *
+     * @param value      the date string to parse
+     * @param pattern    the only form to accept, or null to accept both
+     * @param regexYears whether to accept only the years 1900-2099 allowed by the regexes
+     * @return the parsed date, or null if the value is not in an accepted form
+     */
+    private static LocalDate parseFixedWidth(final String value, final String pattern, final boolean regexYears) {
+        if (value.length() != 10) {
+            return null;
+        }
+        final int year;
+        final int month;
+        final int day;
+        if (value.charAt(4) == '-' && value.charAt(7) == '-' && !GERMAN_DATE_PATTERN.equals(pattern)) {
+            year = digits(value, 0, 4);
+            month = digits(value, 5, 2);
+            day = digits(value, 8, 2);
+        } else if (value.charAt(2) == '.' && value.charAt(5) == '.' && !ENGLISH_DATE_PATTERN.equals(pattern)) {
+            day = digits(value, 0, 2);
+            month = digits(value, 3, 2);
+            year = digits(value, 6, 4);
+        } else {
+            return null;
+        }
+        final boolean validYear = regexYears ? year >= 1900 && year <= 2099 : year >= 1;
+        if (!validYear || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        final LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+        return firstOfMonth.withDayOfMonth(Math.min(day, firstOfMonth.lengthOfMonth()));
+    }
+
+    // Decimal value of count ASCII digits starting at from, -1 if any character is not a digit
+    private static int digits(final String value, final int from, final int count) {
+        int result = 0;
+        for (int i = from; i < from + count; i++) {
+            final int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
 }
@@ -0,0 +1,409 @@
+package com.erebos.flu.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Utility class providing bounded edit distances for fuzzy matching, e.g. of customer names.
+ * <p>
+ * Every distance takes an upper bound k and gives up as soon as the distance is known to exceed it, returning -1.
+ * Strings of up to {@link #BIT_PARALLEL_MAX_LENGTH} code points are compared with the bit-parallel algorithm of
+ * Myers (with Hyyrö's extension for transpositions) in O(n) word operations; longer ones with a dynamic program
+ * restricted to the band of 2k + 1 diagonals around the main diagonal (Ukkonen), in O(k·n). For k &lt;= 1 a single
+ * linear scan without any allocation decides, which is what {@link StringUtils#isOneAway(String, String)} uses.
+ * <p>
+ * Distances count Unicode code points, so a character outside the BMP is one edit, not two.
+ */
+public final class EditDistanceUtils {
+
+    /**
+     * Longest pattern, in code points, compared bit-parallel in one 64-bit word.
+     */
+    static final int BIT_PARALLEL_MAX_LENGTH = Long.SIZE;
+
+    /**
+     * The edit operations a distance counts.
+     */
+    public enum Metric {
+        /**
+         * Insertions, deletions and replacements of single characters.
+         */
+        LEVENSHTEIN,
+        /**
+         * Insertions, deletions, replacements and transpositions of two adjacent characters, where no substring is
+         * edited twice (the optimal string alignment distance), e.g. "ab" to "ba" is one edit.
+         */
+        DAMERAU
+    }
+
+    /**
+     * A candidate within the distance bound of a query.
+     *
+     * @param candidate the candidate
+     * @param distance  the edit distance between the query and the candidate
+     * @param <T>       the type of candidates
+     */
+    public record Match<T>(T candidate, int distance) {
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     *
+     * @throws IllegalStateException when called
+     */
+    private EditDistanceUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Computes the Levenshtein distance of two strings.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @return the distance
+     */
+    public static int levenshtein(final CharSequence a, final CharSequence b) {
+        return distance(a, b, Integer.MAX_VALUE, Metric.LEVENSHTEIN);
+    }
+
+    /**
+     * Computes the Levenshtein distance of two strings if it does not exceed the bound.
+     *
+     * @param a           the first string
+     * @param b           the second string
+     * @param maxDistance the largest distance of interest
+     * @return the distance, or -1 if it exceeds maxDistance
+     * @throws IllegalArgumentException if maxDistance is negative
+     */
+    public static int levenshtein(final CharSequence a, final CharSequence b, final int maxDistance) {
+        return distance(a, b, maxDistance, Metric.LEVENSHTEIN);
+    }
+
+    /**
+     * Computes the Damerau distance (optimal string alignment) of two strings.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @return the distance
+     */
+    public static int damerau(final CharSequence a, final CharSequence b) {
+        return distance(a, b, Integer.MAX_VALUE, Metric.DAMERAU);
+    }
+
+    /**
+     * Computes the Damerau distance (optimal string alignment) of two strings if it does not exceed the bound.
+     *
+     * @param a           the first string
+     * @param b           the second string
+     * @param maxDistance the largest distance of interest
+     * @return the distance, or -1 if it exceeds maxDistance
+     * @throws IllegalArgumentException if maxDistance is negative
+     */
+    public static int damerau(final CharSequence a, final CharSequence b, final int maxDistance) {
+        return distance(a, b, maxDistance, Metric.DAMERAU);
+    }
+
+    /**
+     * Computes the distance of two strings if it does not exceed the bound.
+     *
+     * @param a           the first string
+     * @param b           the second string
+     * @param maxDistance the largest distance of interest
+     * @param metric      the edit operations to count
+     * @return the distance, or -1 if it exceeds maxDistance
+     * @throws IllegalArgumentException if maxDistance is negative
+     */
+    public static int distance(final CharSequence a, final CharSequence b, final int maxDistance, final Metric metric) {
+        requireNonNull(a, "a can't be null");
+        requireNonNull(b, "b can't be null");
+        requireNonNull(metric, "metric can't be null");
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance can't be negative");
+        }
+        if (maxDistance <= 1) {
+            return atMostOne(a, b, maxDistance, metric == Metric.DAMERAU);
+        }
+        final int[] x = codePoints(a);
+        final int[] y = codePoints(b);
+        // the shorter string as the pattern makes the bit-parallel path more likely
+        return x.length <= y.length ? new Pattern(x, metric).distance(y, maxDistance)
+                : new Pattern(y, metric).distance(x, maxDistance);
+    }
+
+    /**
+     * Finds the candidates closest to the query by Levenshtein distance, with the default execution policy.
+     *
+     * @param query       the string to match
+     * @param candidates  the strings to match against, null elements never match
+     * @param maxDistance the largest distance of a match
+     * @param limit       the largest number of matches to return
+     * @param <T>         the type of candidates
+     * @return at most limit matches, by ascending distance, ties in candidate order
+     * @throws IllegalArgumentException if maxDistance is negative or limit is not positive
+     */
+    public static <T extends CharSequence> List<Match<T>> bestMatches(final CharSequence query, final List<T> candidates,
+                                                                      final int maxDistance, final int limit) {
+        return bestMatches(query, candidates, maxDistance, limit, Metric.LEVENSHTEIN, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Finds the candidates closest to the query. The query is preprocessed once and shared by all comparisons,
+     * which run in parallel according to the policy; every comparison exits early once it exceeds maxDistance.
+     *
+     * @param query       the string to match
+     * @param candidates  the strings to match against, null elements never match
+     * @param maxDistance the largest distance of a match
+     * @param limit       the largest number of matches to return
+     * @param metric      the edit operations to count
+     * @param policy      how to run the comparisons
+     * @param <T>         the type of candidates
+     * @return at most limit matches, by ascending distance, ties in candidate order
+     * @throws IllegalArgumentException if maxDistance is negative or limit is not positive
+     */
+    public static <T extends CharSequence> List<Match<T>> bestMatches(final CharSequence query, final List<T> candidates,
+                                                                      final int maxDistance, final int limit,
+                                                                      final Metric metric, final ExecutionPolicy policy) {
+        requireNonNull(query, "query can't be null");
+        requireNonNull(candidates, "candidates can't be null");
+        requireNonNull(metric, "metric can't be null");
+        requireNonNull(policy, "policy can't be null");
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance can't be negative");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        final Pattern pattern = new Pattern(codePoints(query), metric);
+        final int minLength = pattern.length() - maxDistance;
+        final long maxLength = 2L * (pattern.length() + (long) maxDistance);
+        final List<Match<T>> matches = policy.apply(candidates, stream -> stream
+                .<Match<T>>mapMulti((final T candidate, final Consumer<Match<T>> sink) -> {
+                    // a code point takes one or two chars, so these lengths can't be within maxDistance
+                    if (candidate == null || candidate.length() < minLength || candidate.length() > maxLength) {
+                        return;
+                    }
+                    final int distance = pattern.distance(codePoints(candidate), maxDistance);
+                    if (distance >= 0) {
+                        sink.accept(new Match<>(candidate, distance));
+                    }
+                })
+                .toList());
+        // stable, so ties stay in candidate order
+        return matches.stream().sorted(Comparator.comparingInt(Match::distance)).limit(limit).toList();
+    }
+
+    // Decides distances of at most one edit in a single scan, the generalized StringUtils.isOneAway
+    private static int atMostOne(final CharSequence a, final CharSequence b, final int maxDistance, final boolean transpositions) {
+        if (maxDistance == 0) {
+            return a.length() == b.length() && CharSequence.compare(a, b) == 0 ? 0 : -1;
+        }
+        final int aCount = Character.codePointCount(a, 0, a.length());
+        final int bCount = Character.codePointCount(b, 0, b.length());
+        if (Math.abs(aCount - bCount) > 1) {
+            return -1;
+        }
+        int i = 0;
+        int j = 0;
+        int edits = 0;
+        while (i < a.length() && j < b.length()) {
+            final int x = Character.codePointAt(a, i);
+            final int y = Character.codePointAt(b, j);
+            if (x == y) {
+                i += Character.charCount(x);
+                j += Character.charCount(y);
+                continue;
+            }
+            if (++edits > 1) {
+                return -1;
+            }
+            if (aCount == bCount) {
+                final int nextI = i + Character.charCount(x);
+                final int nextJ = j + Character.charCount(y);
+                if (transpositions && nextI < a.length() && nextJ < b.length()
+                        && Character.codePointAt(a, nextI) == y && Character.codePointAt(b, nextJ) == x) {
+                    // "xy" against "yx", one transposition covers both positions
+                    i = nextI + Character.charCount(y);
+                    j = nextJ + Character.charCount(x);
+                } else {
+                    i = nextI;
+                    j = nextJ;
+                }
+            } else if (aCount < bCount) {
+                j += Character.charCount(y);
+            } else {
+                i += Character.charCount(x);
+            }
+        }
+        // at most one code point is left over in the longer string
+        edits += (i < a.length() || j < b.length()) ? 1 : 0;
+        return edits <= 1 ? edits : -1;
+    }
+
+    private static int[] codePoints(final CharSequence s) {
+        final int[] codePoints = new int[Character.codePointCount(s, 0, s.length())];
+        for (int i = 0, k = 0; i < s.length(); k++) {
+            codePoints[k] = Character.codePointAt(s, i);
+            i += Character.charCount(codePoints[k]);
+        }
+        return codePoints;
+    }
+
+    /**
+     * One side of a comparison, preprocessed for comparisons with many texts. Immutable, so one pattern can be
+     * shared by parallel comparisons.
+     */
+    private static final class Pattern {
+        private final int[] codePoints;
+        private final boolean transpositions;
+        // bit i of the mask of a code point is set if the pattern has it at index i; null if the pattern is too long
+        private final long[] asciiMasks;
+        private final int[] keys;
+        private final long[] masks;
+
+        private Pattern(final int[] codePoints, final Metric metric) {
+            this.codePoints = codePoints;
+            this.transpositions = metric == Metric.DAMERAU;
+            if (codePoints.length == 0 || codePoints.length > BIT_PARALLEL_MAX_LENGTH) {
+                asciiMasks = null;
+                keys = null;
+                masks = null;
+                return;
+            }
+            asciiMasks = new long[128];
+            keys = new int[Integer.highestOneBit(codePoints.length) << 2];
+            masks = new long[keys.length];
+            Arrays.fill(keys, -1);
+            for (int i = 0; i < codePoints.length; i++) {
+                final int codePoint = codePoints[i];
+                if (codePoint < 128) {
+                    asciiMasks[codePoint] |= 1L << i;
+                } else {
+                    int slot = slot(codePoint);
+                    while (keys[slot] != -1 && keys[slot] != codePoint) {
+                        slot = (slot + 1) & (keys.length - 1);
+                    }
+                    keys[slot] = codePoint;
+                    masks[slot] |= 1L << i;
+                }
+            }
+        }
+
+        private int length() {
+            return codePoints.length;
+        }
+
+        private int distance(final int[] text, final int maxDistance) {
+            final int m = codePoints.length;
+            final int n = text.length;
+            if (Math.abs(m - n) > maxDistance) {
+                return -1;
+            }
+            if (m == 0 || n == 0) {
+                return Math.max(m, n);
+            }
+            // no distance exceeds the longer length, which also keeps the band arithmetic from overflowing
+            final int k = Math.min(maxDistance, Math.max(m, n));
+            return asciiMasks != null ? bitParallel(text, k) : banded(text, k);
+        }
+
+        // Myers' algorithm in Hyyrö's formulation: the vertical deltas of a column of the DP matrix as bit vectors
+        private int bitParallel(final int[] text, final int k) {
+            final int m = codePoints.length;
+            final long last = 1L << (m - 1);
+            long positive = -1L;
+            long negative = 0L;
+            long previousMatches = 0L;
+            long previousDiagonal = 0L;
+            int score = m;
+            for (int j = 0; j < text.length; j++) {
+                final long matches = mask(text[j]);
+                long diagonal = (((matches & positive) + positive) ^ positive) | matches | negative;
+                if (transpositions) {
+                    diagonal |= ((~previousDiagonal & matches) << 1) & previousMatches;
+                }
+                long horizontalPositive = negative | ~(diagonal | positive);
+                long horizontalNegative = positive & diagonal;
+                if ((horizontalPositive & last) != 0) {
+                    score++;
+                } else if ((horizontalNegative & last) != 0) {
+                    score--;
+                }
+                // the remaining columns can lower the score by at most one each
+                if (score - (text.length - 1 - j) > k) {
+                    return -1;
+                }
+                horizontalPositive = (horizontalPositive << 1) | 1L;
+                horizontalNegative <<= 1;
+                positive = horizontalNegative | ~(diagonal | horizontalPositive);
+                negative = horizontalPositive & diagonal;
+                previousMatches = matches;
+                previousDiagonal = diagonal;
+            }
+            return score <= k ? score : -1;
+        }
+
+        // Ukkonen's cut-off: only cells within k diagonals of the main diagonal can be at most k
+        private int banded(final int[] text, final int k) {
+            final int m = codePoints.length;
+            final int n = text.length;
+            final int outside = k + 1;
+            int[] beforePrevious = transpositions ? new int[n + 1] : null;
+            int[] previous = new int[n + 1];
+            int[] current = new int[n + 1];
+            for (int j = 0; j <= n; j++) {
+                previous[j] = Math.min(j, outside);
+            }
+            for (int i = 1; i <= m; i++) {
+                final int from = Math.max(1, i - k);
+                final int to = Math.min(n, i + k);
+                current[from - 1] = from == 1 ? Math.min(i, outside) : outside;
+                int rowMin = current[from - 1];
+                for (int j = from; j <= to; j++) {
+                    final int cost = codePoints[i - 1] == text[j - 1] ? 0 : 1;
+                    int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                    if (transpositions && i > 1 && j > 1
+                            && codePoints[i - 1] == text[j - 2] && codePoints[i - 2] == text[j - 1]) {
+                        value = Math.min(value, beforePrevious[j - 2] + 1);
+                    }
+                    current[j] = Math.min(value, outside);
+                    rowMin = Math.min(rowMin, current[j]);
+                }
+                if (to < n) {
+                    // the next row reads one cell past this band
+                    current[to + 1] = outside;
+                }
+                if (rowMin > k) {
+                    return -1;
+                }
+                final int[] recycled = transpositions ? beforePrevious : previous;
+                if (transpositions) {
+                    beforePrevious = previous;
+                }
+                previous = current;
+                current = recycled;
+            }
+            return previous[n] <= k ? previous[n] : -1;
+        }
+
+        private long mask(final int codePoint) {
+            if (codePoint < 128) {
+                return asciiMasks[codePoint];
+            }
+            for (int slot = slot(codePoint); keys[slot] != -1; slot = (slot + 1) & (keys.length - 1)) {
+                if (keys[slot] == codePoint) {
+                    return masks[slot];
+                }
+            }
+            return 0L;
+        }
+
+        private int slot(final int codePoint) {
+            final int hash = codePoint * 0x9E3779B9;
+            return (hash ^ hash >>> 16) & (keys.length - 1);
+        }
+    }
+}
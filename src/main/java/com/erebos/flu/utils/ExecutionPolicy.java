@@ -0,0 +1,183 @@
+package com.erebos.flu.utils;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decides whether a helper runs its stream pipeline sequentially or in parallel, and on which pool.
+ * <p>
+ * Parallel streams pay a fixed cost for splitting and merging and run on the shared common {@link ForkJoinPool},
+ * where they compete with every other parallel stream of the JVM. The {@link #adaptive(int) adaptive} policies
+ * therefore stay sequential below a size threshold, and the {@link #parallel(ForkJoinPool) dedicated pool}
+ * policies keep bulk work away from the common pool.
+ * <p>
+ * Helpers with a policy overload use the policy given per call; the others use {@link #getDefault()}, which is
+ * {@code adaptive(DEFAULT_PARALLEL_THRESHOLD)} unless replaced with {@link #setDefault(ExecutionPolicy)}.
+ * Policies are immutable and thread-safe.
+ */
+public final class ExecutionPolicy {
+
+    /**
+     * Input size from which the default policy runs in parallel; can be re-calibrated with
+     * ExecutionPolicyBenchmark. Below it, splitting and merging are expected to cost more than the parallel filtering
+     * and grouping saves.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    /**
+     * The ways of executing a pipeline.
+     */
+    public enum Mode {
+        /** Always sequential on the calling thread. */
+        SEQUENTIAL,
+        /** Always parallel on the common pool. */
+        PARALLEL,
+        /** Always parallel on a dedicated pool. */
+        DEDICATED_POOL,
+        /** Parallel from a size threshold on, on the common or a dedicated pool. */
+        ADAPTIVE
+    }
+
+    private static final ExecutionPolicy SEQUENTIAL = new ExecutionPolicy(Mode.SEQUENTIAL, 0, null);
+    private static final ExecutionPolicy PARALLEL = new ExecutionPolicy(Mode.PARALLEL, 0, null);
+
+    private static volatile ExecutionPolicy defaultPolicy = adaptive(DEFAULT_PARALLEL_THRESHOLD);
+
+    private final Mode mode;
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    private ExecutionPolicy(final Mode mode, final int threshold, final ForkJoinPool pool) {
+        this.mode = mode;
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the policy running every pipeline sequentially on the calling thread.
+     *
+     * @return the sequential policy
+     */
+    public static ExecutionPolicy sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * Returns the policy running every pipeline in parallel on the common pool, like a plain parallel stream.
+     *
+     * @return the parallel policy
+     */
+    public static ExecutionPolicy parallel() {
+        return PARALLEL;
+    }
+
+    /**
+     * Returns a policy running every pipeline in parallel on a dedicated pool.
+     *
+     * @param pool the pool to run on
+     * @return the policy
+     */
+    public static ExecutionPolicy parallel(final ForkJoinPool pool) {
+        return new ExecutionPolicy(Mode.DEDICATED_POOL, 0, requireNonNull(pool, "pool can't be null"));
+    }
+
+    /**
+     * Returns a policy running pipelines over at least {@code threshold} elements in parallel on the common pool,
+     * smaller ones sequentially.
+     *
+     * @param threshold the smallest input size to run in parallel
+     * @return the policy
+     * @throws IllegalArgumentException if threshold is negative
+     */
+    public static ExecutionPolicy adaptive(final int threshold) {
+        return adaptive(threshold, null);
+    }
+
+    /**
+     * Returns a policy running pipelines over at least {@code threshold} elements in parallel on a dedicated pool,
+     * smaller ones sequentially.
+     *
+     * @param threshold the smallest input size to run in parallel
+     * @param pool      the pool to run on, null for the common pool
+     * @return the policy
+     * @throws IllegalArgumentException if threshold is negative
+     */
+    public static ExecutionPolicy adaptive(final int threshold, final ForkJoinPool pool) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold can't be negative");
+        }
+        return new ExecutionPolicy(Mode.ADAPTIVE, threshold, pool);
+    }
+
+    /**
+     * Returns the policy used by helpers called without one.
+     *
+     * @return the default policy
+     */
+    public static ExecutionPolicy getDefault() {
+        return defaultPolicy;
+    }
+
+    /**
+     * Replaces the policy used by helpers called without one, e.g. on startup of a latency sensitive service.
+     *
+     * @param policy the new default policy
+     */
+    public static void setDefault(final ExecutionPolicy policy) {
+        defaultPolicy = requireNonNull(policy, "policy can't be null");
+    }
+
+    /**
+     * Returns the mode of the policy.
+     *
+     * @return the mode
+     */
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Checks if the policy runs a pipeline over the given number of elements in parallel.
+     *
+     * @param size the number of elements
+     * @return true if the pipeline runs in parallel
+     */
+    public boolean isParallel(final int size) {
+        return mode != Mode.SEQUENTIAL && size >= threshold && size > 1;
+    }
+
+    /**
+     * Runs a stream pipeline over a collection according to the policy. The pipeline receives a sequential or
+     * parallel stream of the collection; on a dedicated pool it is evaluated inside that pool, so the parallel
+     * stream forks its tasks there.
+     *
+     * @param source   the collection to stream
+     * @param pipeline the operations on the stream, ending in a terminal operation
+     * @param <T>      the type of elements
+     * @param <R>      the type of the result
+     * @return the result of the pipeline
+     */
+    public <T, R> R apply(final Collection<T> source, final Function<? super Stream<T>, ? extends R> pipeline) {
+        requireNonNull(pipeline, "pipeline can't be null");
+        if (!isParallel(source.size())) {
+            return pipeline.apply(source.stream());
+        }
+        if (pool == null || ForkJoinPool.commonPool() == pool) {
+            return pipeline.apply(source.parallelStream());
+        }
+        return pool.submit(() -> pipeline.apply(source.parallelStream())).join();
+    }
+
+    @Override
+    public String toString() {
+        return switch (mode) {
+            case SEQUENTIAL, PARALLEL -> mode.name();
+            case DEDICATED_POOL -> mode + "[" + pool + "]";
+            case ADAPTIVE -> mode + "[threshold=" + threshold + (pool == null ? "" : ", " + pool) + "]";
+        };
+    }
+}
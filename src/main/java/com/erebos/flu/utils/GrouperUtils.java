@@ -1,9 +1,22 @@
 package com.erebos.flu.utils;
 
+import com.erebos.flu.collections.StringInterner;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Utility class providing helper methods for grouping collections.
@@ -11,6 +24,11 @@ import java.util.stream.Collectors;
  */
 public final class GrouperUtils {
 
+    /**
+     * Minimum number of elements a parallel grouping hands to one task.
+     */
+    static final int MIN_PARALLEL_CHUNK = 1024;
+
     /**
      * Private constructor to prevent instantiation of utility class.
      *
@@ -30,8 +48,61 @@ public final class GrouperUtils {
      * @return a map where keys are strings and values are lists of objects
      */
     public static <T> Map<String, List<T>> groupByStringMember(final List<T> list, final Function<T, String> func) {
-        return list.parallelStream()
-                .collect(Collectors.groupingBy(trx -> StringUtils.isStringNullOrEmpty(func.apply(trx)) ? "NA" : func.apply(trx)));
+        return groupByStringMember(list, func, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Groups a list of objects by a string member like {@link #groupByStringMember(List, Function)},
+     * executed according to a policy.
+     *
+     * @param list   the list to group
+     * @param func   the function to extract the string member
+     * @param policy the sequential or parallel execution policy
+     * @param <T>    the type of elements in the list
+     * @return a map where keys are strings and values are lists of objects
+     */
+    public static <T> Map<String, List<T>> groupByStringMember(final List<T> list,
+                                                               final Function<T, String> func,
+                                                               final ExecutionPolicy policy) {
+        return policy.apply(list, stream -> stream
+                .collect(Collectors.groupingBy(trx -> StringUtils.getNullableStringWithNA(func.apply(trx)))));
+    }
+
+    /**
+     * Groups a list of objects by a string member like {@link #groupByStringMember(List, Function)}, but passes
+     * every key through a bounded interner. Equal keys from repeated or separate groupings then share one
+     * instance, so memory stays flat when the same names repeat millions of times.
+     *
+     * @param list     the list to group
+     * @param func     the function to extract the string member
+     * @param interner the interner to canonicalize the keys with
+     * @param <T>      the type of elements in the list
+     * @return a map where keys are strings and values are lists of objects
+     */
+    public static <T> Map<String, List<T>> groupByStringMember(final List<T> list,
+                                                               final Function<T, String> func,
+                                                               final StringInterner interner) {
+        return groupByStringMember(list, func, interner, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Groups a list of objects by interned string members like
+     * {@link #groupByStringMember(List, Function, StringInterner)}, executed according to a policy.
+     *
+     * @param list     the list to group
+     * @param func     the function to extract the string member
+     * @param interner the interner to canonicalize the keys with
+     * @param policy   the sequential or parallel execution policy
+     * @param <T>      the type of elements in the list
+     * @return a map where keys are strings and values are lists of objects
+     */
+    public static <T> Map<String, List<T>> groupByStringMember(final List<T> list,
+                                                               final Function<T, String> func,
+                                                               final StringInterner interner,
+                                                               final ExecutionPolicy policy) {
+        requireNonNull(interner, "interner can't be null");
+        return policy.apply(list, stream -> stream
+                .collect(Collectors.groupingBy(trx -> interner.intern(StringUtils.getNullableStringWithNA(func.apply(trx))))));
     }
 
     /**
@@ -45,4 +116,289 @@ public final class GrouperUtils {
     public static <T> Map<Enum, List<T>> groupByEnumMember(final List<T> list, final Function<T, Enum> func) {
         return list.stream().collect(Collectors.groupingBy(func));
     }
+
+    /**
+     * Groups a list of objects by an enum member into an {@link EnumMap}.
+     * The elements are bucketed by ordinal and every bucket list is presized to its exact size,
+     * the function is applied once per element. Only non-empty buckets are contained in the result.
+     *
+     * @param list      the list to group, may be null
+     * @param enumClass the class of the enum
+     * @param func      the function to extract the enum member
+     * @param <T>       the type of elements in the list
+     * @param <E>       the type of the enum
+     * @return a map from enum constants to the objects in list order
+     * @throws NullPointerException if func returns null for an element
+     */
+    public static <T, E extends Enum<E>> EnumMap<E, List<T>> groupByEnumMember(final List<T> list,
+                                                                              final Class<E> enumClass,
+                                                                              final Function<? super T, E> func) {
+        final E[] constants = enumClass.getEnumConstants();
+        final List<T> elements = ListUtils.getNullableList(list);
+        final int[] ordinals = new int[elements.size()];
+        final int[] counts = new int[constants.length];
+        int i = 0;
+        for (final T element : elements) {
+            ordinals[i] = ordinalOf(func, element);
+            counts[ordinals[i++]]++;
+        }
+        final List<List<T>> buckets = new ArrayList<>(constants.length);
+        for (final int count : counts) {
+            buckets.add(count == 0 ? null : new ArrayList<>(count));
+        }
+        i = 0;
+        for (final T element : elements) {
+            buckets.get(ordinals[i++]).add(element);
+        }
+        final EnumMap<E, List<T>> grouped = new EnumMap<>(enumClass);
+        for (int ordinal = 0; ordinal < constants.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                grouped.put(constants[ordinal], buckets.get(ordinal));
+            }
+        }
+        return grouped;
+    }
+
+    /**
+     * Counts the objects of a list per enum member without building the groups.
+     * Only enum constants with at least one object are contained in the result.
+     *
+     * @param list      the list to count, may be null
+     * @param enumClass the class of the enum
+     * @param func      the function to extract the enum member
+     * @param <T>       the type of elements in the list
+     * @param <E>       the type of the enum
+     * @return a map from enum constants to the number of objects
+     * @throws NullPointerException if func returns null for an element
+     */
+    public static <T, E extends Enum<E>> EnumMap<E, Integer> countByEnumMember(final List<T> list,
+                                                                              final Class<E> enumClass,
+                                                                              final Function<? super T, E> func) {
+        final E[] constants = enumClass.getEnumConstants();
+        final int[] counts = countByEnumOrdinal(list, enumClass, func);
+        final EnumMap<E, Integer> counted = new EnumMap<>(enumClass);
+        for (int ordinal = 0; ordinal < constants.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                counted.put(constants[ordinal], counts[ordinal]);
+            }
+        }
+        return counted;
+    }
+
+    /**
+     * Counts the objects of a list per enum member into an array indexed by {@link Enum#ordinal()}.
+     *
+     * @param list      the list to count, may be null
+     * @param enumClass the class of the enum
+     * @param func      the function to extract the enum member
+     * @param <T>       the type of elements in the list
+     * @param <E>       the type of the enum
+     * @return the number of objects per ordinal, one entry per enum constant
+     * @throws NullPointerException if func returns null for an element
+     */
+    public static <T, E extends Enum<E>> int[] countByEnumOrdinal(final List<T> list,
+                                                                 final Class<E> enumClass,
+                                                                 final Function<? super T, E> func) {
+        final int[] counts = new int[enumClass.getEnumConstants().length];
+        for (final T element : ListUtils.getNullableList(list)) {
+            counts[ordinalOf(func, element)]++;
+        }
+        return counts;
+    }
+
+    private static <T, E extends Enum<E>> int ordinalOf(final Function<? super T, E> func, final T element) {
+        return requireNonNull(func.apply(element), "element cannot be mapped to a null key").ordinal();
+    }
+
+    /**
+     * Groups a list by two members in one pass and aggregates every group with a downstream collector,
+     * e.g. {@code Collectors.counting()}, {@code Collectors.summingDouble(..)}, {@code Collectors.maxBy(..)}
+     * or {@code Collectors.toList()}.
+     *
+     * @param list       the list to group, may be null
+     * @param first      the function to extract the first level key
+     * @param second     the function to extract the second level key
+     * @param downstream the aggregation of the elements of a group
+     * @param <T>        the type of elements in the list
+     * @param <K1>       the type of the first level keys
+     * @param <K2>       the type of the second level keys
+     * @param <R>        the type of the aggregation result
+     * @return a map from first level keys to maps from second level keys to aggregation results
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K1, K2, R> Map<K1, Map<K2, R>> groupByMembers(final List<T> list,
+                                                                  final Function<? super T, ? extends K1> first,
+                                                                  final Function<? super T, ? extends K2> second,
+                                                                  final Collector<? super T, ?, R> downstream) {
+        return (Map<K1, Map<K2, R>>) (Map<?, ?>) groupByMembers(list, List.of(first, second), downstream);
+    }
+
+    /**
+     * Groups a list by three members in one pass and aggregates every group with a downstream collector.
+     *
+     * @param list       the list to group, may be null
+     * @param first      the function to extract the first level key
+     * @param second     the function to extract the second level key
+     * @param third      the function to extract the third level key
+     * @param downstream the aggregation of the elements of a group
+     * @param <T>        the type of elements in the list
+     * @param <K1>       the type of the first level keys
+     * @param <K2>       the type of the second level keys
+     * @param <K3>       the type of the third level keys
+     * @param <R>        the type of the aggregation result
+     * @return a map from first level keys to maps from second to maps from third level keys to aggregation results
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K1, K2, K3, R> Map<K1, Map<K2, Map<K3, R>>> groupByMembers(final List<T> list,
+                                                                               final Function<? super T, ? extends K1> first,
+                                                                               final Function<? super T, ? extends K2> second,
+                                                                               final Function<? super T, ? extends K3> third,
+                                                                               final Collector<? super T, ?, R> downstream) {
+        return (Map<K1, Map<K2, Map<K3, R>>>) (Map<?, ?>) groupByMembers(list, List.of(first, second, third), downstream);
+    }
+
+    /**
+     * Groups a list by any number of members in one pass and aggregates every group with a downstream collector.
+     * Every element is classified once per level and accumulated directly into its group, no intermediate
+     * lists are built. Null keys are kept as keys.
+     *
+     * @param list        the list to group, may be null
+     * @param classifiers the functions to extract the keys, one per level
+     * @param downstream  the aggregation of the elements of a group
+     * @param <T>         the type of elements in the list
+     * @return nested maps, one level per classifier, with the aggregation results in the innermost maps
+     * @throws IllegalArgumentException if classifiers is empty
+     */
+    public static <T> Map<Object, Object> groupByMembers(final List<T> list,
+                                                         final List<? extends Function<? super T, ?>> classifiers,
+                                                         final Collector<? super T, ?, ?> downstream) {
+        final Grouping<T, ?> grouping = new Grouping<>(classifiers, downstream);
+        return grouping.finish(grouping.accumulate(ListUtils.getNullableList(list)));
+    }
+
+    /**
+     * Groups a list by two members like {@link #groupByMembers(List, Function, Function, Collector)}, but in parallel.
+     *
+     * @param list       the list to group, may be null
+     * @param first      the function to extract the first level key
+     * @param second     the function to extract the second level key
+     * @param downstream the aggregation of the elements of a group
+     * @param <T>        the type of elements in the list
+     * @param <K1>       the type of the first level keys
+     * @param <K2>       the type of the second level keys
+     * @param <R>        the type of the aggregation result
+     * @return a map from first level keys to maps from second level keys to aggregation results
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K1, K2, R> Map<K1, Map<K2, R>> groupByMembersParallel(final List<T> list,
+                                                                          final Function<? super T, ? extends K1> first,
+                                                                          final Function<? super T, ? extends K2> second,
+                                                                          final Collector<? super T, ?, R> downstream) {
+        return (Map<K1, Map<K2, R>>) (Map<?, ?>) groupByMembersParallel(list, List.of(first, second), downstream);
+    }
+
+    /**
+     * Groups a list by any number of members like {@link #groupByMembers(List, List, Collector)}, but in parallel.
+     * The list is split into chunks, every task groups its chunk into a partial grouping of its own,
+     * and the partial groupings are merged in list order with the combiner of the downstream collector.
+     * The classifiers and the downstream collector must be safe to use from several threads.
+     *
+     * @param list        the list to group, may be null
+     * @param classifiers the functions to extract the keys, one per level
+     * @param downstream  the aggregation of the elements of a group
+     * @param <T>         the type of elements in the list
+     * @return nested maps, one level per classifier, with the aggregation results in the innermost maps
+     * @throws IllegalArgumentException if classifiers is empty
+     */
+    public static <T> Map<Object, Object> groupByMembersParallel(final List<T> list,
+                                                                 final List<? extends Function<? super T, ?>> classifiers,
+                                                                 final Collector<? super T, ?, ?> downstream) {
+        final Grouping<T, ?> grouping = new Grouping<>(classifiers, downstream);
+        final List<T> elements = ListUtils.getNullableList(list);
+        final int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                elements.size() / MIN_PARALLEL_CHUNK));
+        if (chunks == 1) {
+            return grouping.finish(grouping.accumulate(elements));
+        }
+        final Map<Object, Object> merged = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(c -> grouping.accumulate(elements.subList(
+                        (int) ((long) elements.size() * c / chunks),
+                        (int) ((long) elements.size() * (c + 1) / chunks))))
+                .reduce(grouping::merge)
+                .orElseGet(HashMap::new);
+        return grouping.finish(merged);
+    }
+
+    /**
+     * One-pass grouping into nested hash maps whose leaves are mutable downstream containers.
+     *
+     * @param <T> the type of elements to group
+     * @param <A> the type of the downstream container
+     */
+    private static final class Grouping<T, A> {
+        private final List<Function<? super T, ?>> classifiers;
+        private final Collector<? super T, A, ?> downstream;
+        private final Supplier<A> supplier;
+        private final BiConsumer<A, ? super T> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        private Grouping(final List<? extends Function<? super T, ?>> classifiers,
+                         final Collector<? super T, A, ?> downstream) {
+            requireNonNull(classifiers, "classifiers can't be null");
+            this.downstream = requireNonNull(downstream, "downstream can't be null");
+            if (classifiers.isEmpty()) {
+                throw new IllegalArgumentException("At least one classifier is required");
+            }
+            this.classifiers = List.copyOf(classifiers);
+            this.supplier = downstream.supplier();
+            this.accumulator = downstream.accumulator();
+            this.combiner = downstream.combiner();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<Object, Object> accumulate(final List<T> elements) {
+            final Map<Object, Object> root = new HashMap<>();
+            final int leaf = classifiers.size() - 1;
+            for (final T element : elements) {
+                Map<Object, Object> level = root;
+                for (int i = 0; i < leaf; i++) {
+                    level = (Map<Object, Object>) level.computeIfAbsent(classifiers.get(i).apply(element), k -> new HashMap<>());
+                }
+                final A container = (A) level.computeIfAbsent(classifiers.get(leaf).apply(element),
+                        k -> supplier.get());
+                accumulator.accept(container, element);
+            }
+            return root;
+        }
+
+        private Map<Object, Object> merge(final Map<Object, Object> left, final Map<Object, Object> right) {
+            return merge(left, right, 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<Object, Object> merge(final Map<Object, Object> left, final Map<Object, Object> right, final int depth) {
+            final boolean isLeaf = depth == classifiers.size() - 1;
+            right.forEach((key, value) -> left.merge(key, value, (l, r) -> isLeaf
+                    ? combiner.apply((A) l, (A) r)
+                    : merge((Map<Object, Object>) l, (Map<Object, Object>) r, depth + 1)));
+            return left;
+        }
+
+        private Map<Object, Object> finish(final Map<Object, Object> root) {
+            if (!downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+                finish(root, 0);
+            }
+            return root;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void finish(final Map<Object, Object> level, final int depth) {
+            if (depth == classifiers.size() - 1) {
+                level.replaceAll((key, container) -> ((Function<A, Object>) downstream.finisher()).apply((A) container));
+            } else {
+                level.values().forEach(child -> finish((Map<Object, Object>) child, depth + 1));
+            }
+        }
+    }
 }
@@ -1,11 +1,17 @@
 package com.erebos.flu.utils;
 
-import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
 import static java.security.MessageDigest.getInstance;
+import static java.util.Objects.requireNonNull;
 
 /**
  * Utility class providing helper methods for hashing operations.
@@ -13,6 +19,13 @@ import static java.security.MessageDigest.getInstance;
  */
 public class HashUtils {
 
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    /** One digest per thread, MessageDigest.getInstance is expensive and digests are not thread-safe */
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(HashUtils::newSha256);
+    /** One buffer per thread for encoding strings and reading streams */
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
     /**
      * Private constructor to prevent instantiation of utility class.
      *
@@ -31,16 +44,188 @@ public class HashUtils {
      * @throws IllegalStateException if the SHA-256 algorithm is not available
      */
     public static String perfectHash(final String s) {
+        requireNonNull(s, "s can't be null");
+        final MessageDigest md = sha256();
+        updateUtf8(md, s, BUFFER.get());
+        return toHexString(md.digest());
+    }
+
+    /**
+     * Generates a SHA-256 fingerprint of a tuple of fields, without concatenating them.
+     * Every field is hashed as its length in chars followed by its UTF-8 bytes, and a null field as a marker,
+     * so ("ab", "c"), ("a", "bc") and ("abc", null) get different hashes. The result is therefore not the hash of
+     * the concatenated fields.
+     *
+     * @param fields the fields to hash, may contain nulls
+     * @return the SHA-256 hash as a hexadecimal string
+     * @throws IllegalStateException if the SHA-256 algorithm is not available
+     */
+    public static String perfectHashOfFields(final CharSequence... fields) {
+        requireNonNull(fields, "fields can't be null");
+        final MessageDigest md = sha256();
+        final byte[] buffer = BUFFER.get();
+        for (final CharSequence field : fields) {
+            // the length of the field, -1 for null, delimits it from the next one
+            final int length = field == null ? -1 : field.length();
+            buffer[0] = (byte) (length >>> 24);
+            buffer[1] = (byte) (length >>> 16);
+            buffer[2] = (byte) (length >>> 8);
+            buffer[3] = (byte) length;
+            md.update(buffer, 0, Integer.BYTES);
+            if (field != null) {
+                updateUtf8(md, field, buffer);
+            }
+        }
+        return toHexString(md.digest());
+    }
+
+    /**
+     * Generates a SHA-256 hash of a byte array.
+     *
+     * @param bytes the bytes to hash
+     * @return the SHA-256 hash as a hexadecimal string
+     * @throws IllegalStateException if the SHA-256 algorithm is not available
+     */
+    public static String perfectHash(final byte[] bytes) {
+        requireNonNull(bytes, "bytes can't be null");
+        return toHexString(sha256().digest(bytes));
+    }
+
+    /**
+     * Generates a SHA-256 hash of the remaining bytes of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer the buffer to hash
+     * @return the SHA-256 hash as a hexadecimal string
+     * @throws IllegalStateException if the SHA-256 algorithm is not available
+     */
+    public static String perfectHash(final ByteBuffer buffer) {
+        requireNonNull(buffer, "buffer can't be null");
+        final MessageDigest md = sha256();
+        md.update(buffer.duplicate());
+        return toHexString(md.digest());
+    }
+
+    /**
+     * Generates a SHA-256 hash of all bytes of a stream. The stream is read to its end but not closed.
+     *
+     * @param in the stream to hash
+     * @return the SHA-256 hash as a hexadecimal string
+     * @throws UncheckedIOException  if the stream cannot be read
+     * @throws IllegalStateException if the SHA-256 algorithm is not available
+     */
+    public static String perfectHash(final InputStream in) {
+        requireNonNull(in, "in can't be null");
+        final MessageDigest md = sha256();
+        final byte[] buffer = BUFFER.get();
         try {
-            MessageDigest md = getInstance("SHA-256");
-            md.update(s.getBytes(StandardCharsets.UTF_8));
-            byte[] digest = md.digest();
-            return String.format("%064x", new BigInteger(1, digest));
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                md.update(buffer, 0, read);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return toHexString(md.digest());
+    }
+
+    /**
+     * Generates a SHA-256 hash of a file, read through a {@link FileChannel}.
+     *
+     * @param file the file to hash
+     * @return the SHA-256 hash as a hexadecimal string
+     * @throws UncheckedIOException  if the file cannot be read
+     * @throws IllegalStateException if the SHA-256 algorithm is not available
+     */
+    public static String perfectHash(final Path file) {
+        requireNonNull(file, "file can't be null");
+        final MessageDigest md = sha256();
+        final ByteBuffer buffer = ByteBuffer.wrap(BUFFER.get());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer.clear()) >= 0) {
+                md.update(buffer.flip());
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return toHexString(md.digest());
+    }
+
+    /**
+     * Encodes bytes as a lowercase hexadecimal string, two characters per byte.
+     *
+     * @param bytes the bytes to encode
+     * @return the hexadecimal string
+     */
+    public static String toHexString(final byte[] bytes) {
+        requireNonNull(bytes, "bytes can't be null");
+        final char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    private static MessageDigest sha256() {
+        final MessageDigest md = SHA_256.get();
+        // a stream failing mid-read leaves the digest dirty
+        md.reset();
+        return md;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("Error during hashing!");
         }
     }
 
+    // Encodes like String.getBytes(UTF_8), unpaired surrogates become '?', through the buffer instead of a new array
+    private static void updateUtf8(final MessageDigest md, final CharSequence s, final byte[] buffer) {
+        final int length = s.length();
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            if (n > buffer.length - 4) {
+                md.update(buffer, 0, n);
+                n = 0;
+            }
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer[n++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[n++] = (byte) (0xC0 | (c >> 6));
+                buffer[n++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    final int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buffer[n++] = (byte) (0xF0 | (cp >> 18));
+                    buffer[n++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buffer[n++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buffer[n++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    buffer[n++] = '?';
+                }
+            } else {
+                buffer[n++] = (byte) (0xE0 | (c >> 12));
+                buffer[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[n++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        md.update(buffer, 0, n);
+    }
+
+    /**
+     * Computes a fast non-cryptographic 64-bit hash (xxHash64) of the UTF-8 bytes of a string.
+     * Unlike {@link #myHashCode(String)} it is stable across JVMs and collides rarely,
+     * see {@link NonCryptoHash} for other algorithms and seeds.
+     *
+     * @param s the string to hash
+     * @return the 64-bit hash
+     */
+    public static long fastHash64(final String s) {
+        return NonCryptoHash.XX_HASH_64.hash(s);
+    }
+
     /**
      * Computes a hash value for a given string.
      * <p>
@@ -0,0 +1,443 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.pojo.JoinedPair;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Utility class providing relational joins over lists of records.
+ * Rows are matched by keys extracted from both sides, rows with a null key never match.
+ * <p>
+ * The hash joins build the hash table on the smaller list and stream the larger list against it.
+ * Results follow the order of the larger (probe) list, matches of one probe row follow the order of the
+ * smaller (build) list, and unmatched rows of the build list are appended at the end in their input order.
+ */
+public final class JoinUtils {
+
+    /**
+     * The rows a join keeps besides the matching pairs.
+     */
+    public enum JoinType {
+        /** Only matching pairs. */
+        INNER,
+        /** Matching pairs and unmatched left rows. */
+        LEFT,
+        /** Matching pairs and unmatched right rows. */
+        RIGHT,
+        /** Matching pairs and unmatched rows of both sides. */
+        FULL;
+
+        boolean keepsLeft() {
+            return this == LEFT || this == FULL;
+        }
+
+        boolean keepsRight() {
+            return this == RIGHT || this == FULL;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     *
+     * @throws IllegalStateException when called
+     */
+    private JoinUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Inner join of two lists by the extracted keys.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function to extract the key of a left row
+     * @param rightKey the function to extract the key of a right row
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @return the matching pairs
+     */
+    public static <L, R, K> List<JoinedPair<L, R>> innerJoin(final List<L> left, final List<R> right,
+                                                             final Function<? super L, ? extends K> leftKey,
+                                                             final Function<? super R, ? extends K> rightKey) {
+        return join(left, right, leftKey, rightKey, JoinType.INNER);
+    }
+
+    /**
+     * Left outer join of two lists by the extracted keys. Unmatched left rows are paired with null.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function to extract the key of a left row
+     * @param rightKey the function to extract the key of a right row
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @return the matching pairs and the unmatched left rows
+     */
+    public static <L, R, K> List<JoinedPair<L, R>> leftJoin(final List<L> left, final List<R> right,
+                                                            final Function<? super L, ? extends K> leftKey,
+                                                            final Function<? super R, ? extends K> rightKey) {
+        return join(left, right, leftKey, rightKey, JoinType.LEFT);
+    }
+
+    /**
+     * Right outer join of two lists by the extracted keys. Unmatched right rows are paired with null.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function to extract the key of a left row
+     * @param rightKey the function to extract the key of a right row
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @return the matching pairs and the unmatched right rows
+     */
+    public static <L, R, K> List<JoinedPair<L, R>> rightJoin(final List<L> left, final List<R> right,
+                                                             final Function<? super L, ? extends K> leftKey,
+                                                             final Function<? super R, ? extends K> rightKey) {
+        return join(left, right, leftKey, rightKey, JoinType.RIGHT);
+    }
+
+    /**
+     * Full outer join of two lists by the extracted keys. Unmatched rows of both sides are paired with null.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function to extract the key of a left row
+     * @param rightKey the function to extract the key of a right row
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @return the matching pairs and the unmatched rows of both sides
+     */
+    public static <L, R, K> List<JoinedPair<L, R>> fullJoin(final List<L> left, final List<R> right,
+                                                            final Function<? super L, ? extends K> leftKey,
+                                                            final Function<? super R, ? extends K> rightKey) {
+        return join(left, right, leftKey, rightKey, JoinType.FULL);
+    }
+
+    /**
+     * Hash join of two lists by the extracted keys.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function to extract the key of a left row
+     * @param rightKey the function to extract the key of a right row
+     * @param type     the type of the join
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @return the joined pairs
+     */
+    public static <L, R, K> List<JoinedPair<L, R>> join(final List<L> left, final List<R> right,
+                                                        final Function<? super L, ? extends K> leftKey,
+                                                        final Function<? super R, ? extends K> rightKey,
+                                                        final JoinType type) {
+        return join(left, right, leftKey, rightKey, type, JoinedPair::new);
+    }
+
+    /**
+     * Hash join of two lists by the extracted keys, merging every joined pair into a result row.
+     * The merger receives null for the missing side of unmatched rows.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function to extract the key of a left row
+     * @param rightKey the function to extract the key of a right row
+     * @param type     the type of the join
+     * @param merger   the function to merge a left and a right row
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @param <O>      the type of the result rows
+     * @return the merged rows
+     */
+    public static <L, R, K, O> List<O> join(final List<L> left, final List<R> right,
+                                            final Function<? super L, ? extends K> leftKey,
+                                            final Function<? super R, ? extends K> rightKey,
+                                            final JoinType type,
+                                            final BiFunction<? super L, ? super R, ? extends O> merger) {
+        return hashJoin(left, right, leftKey, rightKey, type, merger, false);
+    }
+
+    /**
+     * Hash join of two lists by the extracted keys, probing the larger list in parallel.
+     * The result has the same order as the one of {@link #join(List, List, Function, Function, JoinType)}.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function to extract the key of a left row, must be thread-safe
+     * @param rightKey the function to extract the key of a right row, must be thread-safe
+     * @param type     the type of the join
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @return the joined pairs
+     */
+    public static <L, R, K> List<JoinedPair<L, R>> joinParallel(final List<L> left, final List<R> right,
+                                                                final Function<? super L, ? extends K> leftKey,
+                                                                final Function<? super R, ? extends K> rightKey,
+                                                                final JoinType type) {
+        return hashJoin(left, right, leftKey, rightKey, type, JoinedPair::new, true);
+    }
+
+    /**
+     * Semi join: returns the left rows which have at least one matching right row, in left order.
+     * Every left row is returned at most once.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function to extract the key of a left row
+     * @param rightKey the function to extract the key of a right row
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @return the left rows with a match
+     */
+    public static <L, R, K> List<L> semiJoin(final List<L> left, final List<R> right,
+                                             final Function<? super L, ? extends K> leftKey,
+                                             final Function<? super R, ? extends K> rightKey) {
+        return filterLeft(left, right, leftKey, rightKey, true);
+    }
+
+    /**
+     * Anti join: returns the left rows which have no matching right row, in left order.
+     * Left rows with a null key are always returned.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function to extract the key of a left row
+     * @param rightKey the function to extract the key of a right row
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @return the left rows without a match
+     */
+    public static <L, R, K> List<L> antiJoin(final List<L> left, final List<R> right,
+                                             final Function<? super L, ? extends K> leftKey,
+                                             final Function<? super R, ? extends K> rightKey) {
+        return filterLeft(left, right, leftKey, rightKey, false);
+    }
+
+    /**
+     * Sort-merge join of two lists which are both sorted by their keys.
+     * Only the rows sharing the current key are buffered, so the memory footprint stays bounded
+     * for large batches. The result is in key order, rows sharing a key are paired left-major.
+     *
+     * @param left     the left list, sorted by key
+     * @param right    the right list, sorted by key
+     * @param leftKey  the function to extract the non-null key of a left row
+     * @param rightKey the function to extract the non-null key of a right row
+     * @param keyOrder the order both lists are sorted by
+     * @param type     the type of the join
+     * @param <L>      the type of the left rows
+     * @param <R>      the type of the right rows
+     * @param <K>      the type of the keys
+     * @return the joined pairs
+     * @throws IllegalArgumentException if one of the lists is not sorted by key
+     */
+    public static <L, R, K> List<JoinedPair<L, R>> sortMergeJoin(final List<L> left, final List<R> right,
+                                                                 final Function<? super L, ? extends K> leftKey,
+                                                                 final Function<? super R, ? extends K> rightKey,
+                                                                 final Comparator<? super K> keyOrder,
+                                                                 final JoinType type) {
+        final KeyCursor<L, K> l = new KeyCursor<>(left, leftKey, keyOrder, "left");
+        final KeyCursor<R, K> r = new KeyCursor<>(right, rightKey, keyOrder, "right");
+        final List<JoinedPair<L, R>> result = new ArrayList<>();
+        while (l.hasCurrent() && r.hasCurrent()) {
+            final int c = keyOrder.compare(l.key(), r.key());
+            if (c < 0) {
+                emitUnmatched(l.advance(), type.keepsLeft(), row -> result.add(new JoinedPair<>(row, null)));
+            } else if (c > 0) {
+                emitUnmatched(r.advance(), type.keepsRight(), row -> result.add(new JoinedPair<>(null, row)));
+            } else {
+                final List<R> rightGroup = r.advanceGroup();
+                l.advanceGroup().forEach(lr -> rightGroup.forEach(rr -> result.add(new JoinedPair<>(lr, rr))));
+            }
+        }
+        while (l.hasCurrent()) {
+            emitUnmatched(l.advance(), type.keepsLeft(), row -> result.add(new JoinedPair<>(row, null)));
+        }
+        while (r.hasCurrent()) {
+            emitUnmatched(r.advance(), type.keepsRight(), row -> result.add(new JoinedPair<>(null, row)));
+        }
+        return result;
+    }
+
+    private static <T> void emitUnmatched(final T row, final boolean keep, final Consumer<T> sink) {
+        if (keep) {
+            sink.accept(row);
+        }
+    }
+
+    private static <L, R, K, O> List<O> hashJoin(final List<L> left, final List<R> right,
+                                                 final Function<? super L, ? extends K> leftKey,
+                                                 final Function<? super R, ? extends K> rightKey,
+                                                 final JoinType type,
+                                                 final BiFunction<? super L, ? super R, ? extends O> merger,
+                                                 final boolean parallel) {
+        requireNonNull(type, "type can't be null");
+        final List<L> l = ListUtils.getNullableList(left);
+        final List<R> r = ListUtils.getNullableList(right);
+        if (r.size() <= l.size()) {
+            return new HashJoin<R, L, K, O>(r, rightKey, type.keepsRight(), type.keepsLeft(),
+                    (rr, lr) -> merger.apply(lr, rr)).run(l, leftKey, parallel);
+        }
+        return new HashJoin<L, R, K, O>(l, leftKey, type.keepsLeft(), type.keepsRight(), merger::apply)
+                .run(r, rightKey, parallel);
+    }
+
+    private static <L, R, K> List<L> filterLeft(final List<L> left, final List<R> right,
+                                                final Function<? super L, ? extends K> leftKey,
+                                                final Function<? super R, ? extends K> rightKey,
+                                                final boolean keepMatched) {
+        final List<L> l = ListUtils.getNullableList(left);
+        final List<R> r = ListUtils.getNullableList(right);
+        if (r.size() <= l.size()) {
+            final Set<K> keys = r.stream().map(rightKey).collect(Collectors.toCollection(HashSet::new));
+            return l.stream()
+                    .filter(row -> isMatch(keys, leftKey.apply(row)) == keepMatched)
+                    .toList();
+        }
+        final HashJoin<L, R, K, L> index = new HashJoin<>(l, leftKey, false, false, (lr, rr) -> lr);
+        r.forEach(row -> index.probe(rightKey.apply(row), row, x -> { }));
+        return index.buildRows(keepMatched);
+    }
+
+    private static <K> boolean isMatch(final Set<K> keys, final K key) {
+        return key != null && keys.contains(key);
+    }
+
+    /**
+     * Hash table over the build rows. The rows of one key are chained through {@code next},
+     * so the table holds one boxed index per distinct key instead of a list per key.
+     */
+    private static final class HashJoin<B, P, K, O> {
+        private final List<B> build;
+        private final Map<K, Integer> heads = new HashMap<>();
+        private final int[] next;
+        private final boolean[] matched;
+        private final boolean keepUnmatchedBuild;
+        private final boolean keepUnmatchedProbe;
+        private final BiFunction<B, P, O> emit;
+
+        private HashJoin(final List<B> build, final Function<? super B, ? extends K> buildKey,
+                         final boolean keepUnmatchedBuild, final boolean keepUnmatchedProbe,
+                         final BiFunction<B, P, O> emit) {
+            this.build = build instanceof RandomAccess ? build : new ArrayList<>(build);
+            this.next = new int[build.size()];
+            this.matched = new boolean[build.size()];
+            this.keepUnmatchedBuild = keepUnmatchedBuild;
+            this.keepUnmatchedProbe = keepUnmatchedProbe;
+            this.emit = emit;
+            for (int i = this.build.size() - 1; i >= 0; i--) {
+                final K key = buildKey.apply(this.build.get(i));
+                if (key != null) {
+                    final Integer head = heads.put(key, i);
+                    next[i] = head == null ? -1 : head;
+                }
+            }
+        }
+
+        private List<O> run(final List<P> probe, final Function<? super P, ? extends K> probeKey, final boolean parallel) {
+            final List<O> result = (parallel ? probe.parallelStream() : probe.stream())
+                    .<O>mapMulti((row, sink) -> probe(probeKey.apply(row), row, sink))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (keepUnmatchedBuild) {
+                for (int i = 0; i < matched.length; i++) {
+                    if (!matched[i]) {
+                        result.add(emit.apply(build.get(i), null));
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void probe(final K key, final P row, final Consumer<O> sink) {
+            final Integer head = key == null ? null : heads.get(key);
+            if (head == null) {
+                emitUnmatched(row, keepUnmatchedProbe, p -> sink.accept(emit.apply(null, p)));
+                return;
+            }
+            for (int i = head; i >= 0; i = next[i]) {
+                matched[i] = true;
+                sink.accept(emit.apply(build.get(i), row));
+            }
+        }
+
+        private List<B> buildRows(final boolean wasMatched) {
+            final List<B> rows = new ArrayList<>();
+            for (int i = 0; i < matched.length; i++) {
+                if (matched[i] == wasMatched) {
+                    rows.add(build.get(i));
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Cursor over a list sorted by key, verifying the order while it advances.
+     */
+    private static final class KeyCursor<T, K> {
+        private final PeekingIterator<T> iterator;
+        private final Function<? super T, ? extends K> keyFunc;
+        private final Comparator<? super K> keyOrder;
+        private final String side;
+        private K key;
+
+        private KeyCursor(final List<T> list, final Function<? super T, ? extends K> keyFunc,
+                          final Comparator<? super K> keyOrder, final String side) {
+            this.iterator = Iterators.peekingIterator(ListUtils.getNullableList(list).iterator());
+            this.keyFunc = keyFunc;
+            this.keyOrder = keyOrder;
+            this.side = side;
+            this.key = iterator.hasNext() ? requireNonNull(keyFunc.apply(iterator.peek()), "key can't be null") : null;
+        }
+
+        private boolean hasCurrent() {
+            return iterator.hasNext();
+        }
+
+        private K key() {
+            return key;
+        }
+
+        private T advance() {
+            final T row = iterator.next();
+            if (iterator.hasNext()) {
+                final K nextKey = requireNonNull(keyFunc.apply(iterator.peek()), "key can't be null");
+                if (keyOrder.compare(key, nextKey) > 0) {
+                    throw new IllegalArgumentException("The " + side + " list is not sorted by key");
+                }
+                key = nextKey;
+            }
+            return row;
+        }
+
+        private List<T> advanceGroup() {
+            final K groupKey = key;
+            final List<T> group = new ArrayList<>();
+            do {
+                group.add(advance());
+            } while (iterator.hasNext() && keyOrder.compare(groupKey, key) == 0);
+            return group;
+        }
+    }
+}
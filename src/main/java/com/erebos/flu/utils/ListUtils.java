@@ -1,5 +1,8 @@
 package com.erebos.flu.utils;
 
+import com.erebos.flu.collections.MatchingIndex;
+import com.erebos.flu.probabilistic.MembershipFilter;
+import com.erebos.flu.utils.pojo.JoinedPair;
 import com.google.common.collect.ImmutableList;
 
 import java.util.*;
@@ -66,6 +69,7 @@ public final class ListUtils {
      * @param list2 the second list
      * @param <T>   the type of elements in the lists
      * @return a list containing the intersection of the two lists
+     * @see SetAlgebraUtils#intersection(List, List) for sorted lists, merged without hashing
      */
     public static <T> List<T> intersectLists(final List<T> list1, final List<T> list2) {
         final Set<T> intersection = new HashSet<>(list1);
@@ -74,8 +78,35 @@ public final class ListUtils {
         return new ArrayList<>(intersection);
     }
 
+    /**
+     * Filters a list down to the elements contained in another collection which is only available as a membership
+     * filter, e.g. a huge or remote batch. The cheap filter prunes the candidates, the exact check runs only on the
+     * survivors.
+     * <p>
+     * Unlike {@link #intersectLists(List, List)}, which returns a mutable list of distinct elements in hash order,
+     * this keeps the list order and duplicates and returns an unmodifiable list.
+     *
+     * @param list       the list
+     * @param filter     a filter holding every element of the other collection
+     * @param exactCheck the exact membership check against the other collection
+     * @param <T>        the type of elements in the list
+     * @return the elements of the list passing the filter and the exact check, in list order
+     */
+    public static <T> List<T> filterByMembership(final List<T> list,
+                                             final MembershipFilter<? super T> filter,
+                                             final Predicate<? super T> exactCheck) {
+        Objects.requireNonNull(filter, "filter can't be null");
+        Objects.requireNonNull(exactCheck, "exactCheck can't be null");
+        return getNullableList(list)
+                .stream()
+                .filter(element -> filter.mightContain(element) && exactCheck.test(element))
+                .toList();
+    }
+
     /**
      * Finds the intersection of two lists based on a matching function.
+     * The second list is indexed once, see {@link MatchingIndex}, so the cost is O(n + m). Elements mapped to null
+     * never match.
      *
      * @param list1 the first list
      * @param list2 the second list
@@ -87,10 +118,109 @@ public final class ListUtils {
     public static <T, U> List<T> intersectListsByMatchingFunction(final List<T> list1,
                                                                   final List<U> list2,
                                                                   final Function<T, U> func) {
-        return getNullableList(list1)
-                .parallelStream()
-                .filter(i -> checkIfElementIsPresentInList(list2, func.apply(i)))
-                .toList();
+        return intersectListsByMatchingFunction(list1, list2, func, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Finds the intersection of two lists based on a matching function, executed according to a policy.
+     *
+     * @param list1  the first list
+     * @param list2  the second list
+     * @param func   the function to apply for matching elements
+     * @param policy the sequential or parallel execution policy
+     * @param <T>    the type of elements in the first list
+     * @param <U>    the type of elements in the second list
+     * @return a list containing elements in the first list that have matches in the second list based on the function
+     */
+    public static <T, U> List<T> intersectListsByMatchingFunction(final List<T> list1,
+                                                                  final List<U> list2,
+                                                                  final Function<T, U> func,
+                                                                  final ExecutionPolicy policy) {
+        final MatchingIndex<U> index = MatchingIndex.of(getNullableList(list2));
+        return policy.apply(getNullableList(list1), stream -> stream
+                .filter(i -> index.contains(func.apply(i)))
+                .toList());
+    }
+
+    /**
+     * Finds the elements of the first list without a match in the second list based on a matching function.
+     * The second list is indexed once, see {@link MatchingIndex}. Elements mapped to null never match.
+     *
+     * @param list1  the first list
+     * @param list2  the second list
+     * @param func   the function to apply for matching elements
+     * @param <T>    the type of elements in the first list
+     * @param <U>    the type of elements in the second list
+     * @return a list containing elements in the first list that have no match in the second list, in list order
+     */
+    public static <T, U> List<T> subtractListsByMatchingFunction(final List<T> list1,
+                                                                 final List<U> list2,
+                                                                 final Function<T, U> func) {
+        return subtractListsByMatchingFunction(list1, list2, func, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Finds the elements of the first list without a match in the second list, executed according to a policy.
+     *
+     * @param list1  the first list
+     * @param list2  the second list
+     * @param func   the function to apply for matching elements
+     * @param policy the sequential or parallel execution policy
+     * @param <T>    the type of elements in the first list
+     * @param <U>    the type of elements in the second list
+     * @return a list containing elements in the first list that have no match in the second list, in list order
+     */
+    public static <T, U> List<T> subtractListsByMatchingFunction(final List<T> list1,
+                                                                 final List<U> list2,
+                                                                 final Function<T, U> func,
+                                                                 final ExecutionPolicy policy) {
+        final MatchingIndex<U> index = MatchingIndex.of(getNullableList(list2));
+        return policy.apply(getNullableList(list1), stream -> stream
+                .filter(i -> !index.contains(func.apply(i)))
+                .toList());
+    }
+
+    /**
+     * Pairs every element of the first list with its match in the second list based on a matching function.
+     * The partner is the first equal element of the second list; elements without a match are left out.
+     *
+     * @param list1  the first list
+     * @param list2  the second list
+     * @param func   the function to apply for matching elements
+     * @param <T>    the type of elements in the first list
+     * @param <U>    the type of elements in the second list
+     * @return the matching elements of the first list (left) with their partners (right), in list order
+     */
+    public static <T, U> List<JoinedPair<T, U>> pairListsByMatchingFunction(final List<T> list1,
+                                                                            final List<U> list2,
+                                                                            final Function<T, U> func) {
+        return pairListsByMatchingFunction(list1, list2, func, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Pairs every element of the first list with its match in the second list, executed according to a policy.
+     *
+     * @param list1  the first list
+     * @param list2  the second list
+     * @param func   the function to apply for matching elements
+     * @param policy the sequential or parallel execution policy
+     * @param <T>    the type of elements in the first list
+     * @param <U>    the type of elements in the second list
+     * @return the matching elements of the first list (left) with their partners (right), in list order
+     */
+    public static <T, U> List<JoinedPair<T, U>> pairListsByMatchingFunction(final List<T> list1,
+                                                                            final List<U> list2,
+                                                                            final Function<T, U> func,
+                                                                            final ExecutionPolicy policy) {
+        final MatchingIndex<U> index = MatchingIndex.of(getNullableList(list2));
+        return policy.apply(getNullableList(list1), stream -> stream
+                .<JoinedPair<T, U>>mapMulti((i, sink) -> {
+                    final U partner = index.partnerOf(func.apply(i));
+                    if (partner != null) {
+                        sink.accept(new JoinedPair<>(i, partner));
+                    }
+                })
+                .toList());
     }
 
     /**
@@ -115,10 +245,24 @@ public final class ListUtils {
      * @return an ImmutableList containing elements that match the predicate
      */
     public static <T> ImmutableList<T> filterListByPredicate(final List<T> list, final Predicate<T> predicate) {
-        return ImmutableList.copyOf(getNullableList(list)
-                .parallelStream()
+        return filterListByPredicate(list, predicate, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Filters a list by a predicate, executed according to a policy.
+     *
+     * @param list      the list to filter
+     * @param predicate the predicate to apply
+     * @param policy    the sequential or parallel execution policy
+     * @param <T>       the type of elements in the list
+     * @return an ImmutableList containing elements that match the predicate
+     */
+    public static <T> ImmutableList<T> filterListByPredicate(final List<T> list,
+                                                             final Predicate<T> predicate,
+                                                             final ExecutionPolicy policy) {
+        return policy.apply(getNullableList(list), stream -> stream
                 .filter(predicate)
-                .toList());
+                .collect(ImmutableList.toImmutableList()));
     }
 
     /**
@@ -266,6 +410,7 @@ public final class ListUtils {
      * @param collection the collection to check for duplicates
      * @param <T>        the type of elements in the collection
      * @return a set containing duplicate elements
+     * @see com.erebos.flu.probabilistic.HeavyHitters for the most frequent elements of huge inputs
      */
     public static <T> Set<T> findDuplicates(Collection<T> collection) {
         Set<T> uniques = new HashSet<>();
@@ -282,9 +427,26 @@ public final class ListUtils {
      * @param <T>    the type of elements in the list
      * @param <U>    the type of the distinct property
      * @return a set containing distinct values of the specified property
+     * @see com.erebos.flu.probabilistic.HyperLogLog for estimating the number of distinct values of huge inputs
      */
     public static <T, U> Set<U> createDistinctSetFromListProperty(final List<T> list, final Function<T, U> getter) {
-        return getNullableList(list).parallelStream().map(getter).collect(Collectors.toSet());
+        return createDistinctSetFromListProperty(list, getter, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Gets all distinct values from a list based on a specified property, executed according to a policy.
+     *
+     * @param list   the list of elements
+     * @param getter function to extract the property from each element
+     * @param policy the sequential or parallel execution policy
+     * @param <T>    the type of elements in the list
+     * @param <U>    the type of the distinct property
+     * @return a set containing distinct values of the specified property
+     */
+    public static <T, U> Set<U> createDistinctSetFromListProperty(final List<T> list,
+                                                                  final Function<T, U> getter,
+                                                                  final ExecutionPolicy policy) {
+        return policy.apply(getNullableList(list), stream -> stream.map(getter).collect(Collectors.toSet()));
     }
 
 }
@@ -1,5 +1,8 @@
 package com.erebos.flu.utils;
 
+import com.erebos.flu.collections.ConcurrentDoubleAccumulatorMap;
+import com.erebos.flu.collections.FlatListView;
+import com.erebos.flu.collections.ObjectDoubleMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -59,11 +62,21 @@ public final class MapUtils {
      * @return a flattened List containing all elements from the value Lists
      */
     public static <K, V> List<V> flatMapToList(final Map<K, List<V>> map) {
-        return getNullableMap(map)
-                .values()
-                .parallelStream().
-                flatMap(Collection::stream)
-                .collect(toList());
+        return new ArrayList<>(flatMapToListView(map));
+    }
+
+    /**
+     * Returns a read-only view of all elements of the value Lists of a map, without copying them.
+     * The view has a precomputed size and splits per value List for parallel streams.
+     * Use it instead of {@link #flatMapToList(Map)} when the result is only iterated.
+     *
+     * @param map the source map containing Lists as values
+     * @param <K> the type of keys in the map
+     * @param <V> the type of elements in the Lists
+     * @return a flattened view of all elements from the value Lists
+     */
+    public static <K, V> List<V> flatMapToListView(final Map<K, List<V>> map) {
+        return FlatListView.of(ifNotMapNullOrEmpty(map).values());
     }
 
     /**
@@ -76,11 +89,24 @@ public final class MapUtils {
      * @return a flattened List containing all elements from the nested Lists
      */
     public static <K, V, T> List<T> flatMapInMapToList(final Map<K, Map<V, List<T>>> map) {
-        return getNullableMap(map)
-                .values()
-                .stream()
-                .flatMap(item -> item.values().stream().flatMap(Collection::stream))
-                .collect(toList());
+        return new ArrayList<>(flatMapInMapToListView(map));
+    }
+
+    /**
+     * Returns a read-only view of all elements of the Lists in a nested map structure, without copying them.
+     * Only the references to the Lists are collected; the view has a precomputed size and splits per List
+     * for parallel streams. Use it instead of {@link #flatMapInMapToList(Map)} when the result is only iterated.
+     *
+     * @param map the nested map structure
+     * @param <K> the type of outer map keys
+     * @param <V> the type of inner map keys
+     * @param <T> the type of elements in the Lists
+     * @return a flattened view of all elements from the nested Lists
+     */
+    public static <K, V, T> List<T> flatMapInMapToListView(final Map<K, Map<V, List<T>>> map) {
+        final List<List<T>> lists = new ArrayList<>();
+        ifNotMapNullOrEmpty(map).values().forEach(inner -> lists.addAll(inner.values()));
+        return FlatListView.of(lists);
     }
 
     /**
@@ -169,12 +195,28 @@ public final class MapUtils {
      * @return a List of values from the map which have keys in the list
      */
     public static <K, V> List<V> intersectMapAndList(final ImmutableMap<K, List<V>> map, final ImmutableList<K> list) {
-        return getNullableMap(map).entrySet()
-                .parallelStream()
+        return intersectMapAndList(map, list, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Intersects a map with a list by the key, executed according to a policy.
+     * Returns a List of values from the map which have keys in the list.
+     *
+     * @param map the map
+     * @param list the list of keys
+     * @param policy the sequential or parallel execution policy
+     * @param <K> the type of keys in the map and list
+     * @param <V> the type of values in the map
+     * @return a List of values from the map which have keys in the list
+     */
+    public static <K, V> List<V> intersectMapAndList(final ImmutableMap<K, List<V>> map,
+                                                     final ImmutableList<K> list,
+                                                     final ExecutionPolicy policy) {
+        return policy.apply(getNullableMap(map).entrySet(), stream -> stream
                 .filter(item -> list.contains(item.getKey()))
                 .map(Map.Entry::getValue)
                 .flatMap(Collection::stream)
-                .collect(toList());
+                .collect(toList()));
     }
 
     /**
@@ -204,6 +246,21 @@ public final class MapUtils {
                 .collect(toMap(key -> key, value -> 0.0));
     }
 
+    /**
+     * Converts a list into a primitive double map with zero values.
+     * Unlike {@link #convertListToEmptyMap(List)}, duplicate elements are tolerated.
+     *
+     * @param list the list to convert
+     * @param <T> the type of elements in the list
+     * @return a primitive double map with zero values
+     */
+    public static <T> ObjectDoubleMap<T> convertListToEmptyDoubleMap(final List<T> list) {
+        final List<T> nullableList = ListUtils.getNullableList(list);
+        final ObjectDoubleMap<T> map = new ObjectDoubleMap<>(nullableList.size());
+        nullableList.forEach(key -> map.putDouble(key, 0.0));
+        return map;
+    }
+
     /**
      * Converts a set into a map with default values.
      *
@@ -216,6 +273,19 @@ public final class MapUtils {
                 .collect(toMap(key -> key, value -> 0.0));
     }
 
+    /**
+     * Converts a set into a primitive double map with zero values.
+     *
+     * @param set the set to convert
+     * @param <T> the type of elements in the set
+     * @return a primitive double map with zero values
+     */
+    public static <T> ObjectDoubleMap<T> convertSetToZeroValueDoubleMap(final Set<T> set) {
+        final ObjectDoubleMap<T> map = new ObjectDoubleMap<>(set.size());
+        set.forEach(key -> map.putDouble(key, 0.0));
+        return map;
+    }
+
     /**
      * Returns a map if it is not null or empty, otherwise returns an empty map.
      *
@@ -239,6 +309,19 @@ public final class MapUtils {
         getNullableMap(map).replaceAll((k, v) -> MathUtils.roundValue(v, scale));
     }
 
+    /**
+     * Rounds the values in a primitive double map in place to a specified scale.
+     *
+     * @param map the map to round, may be null
+     * @param scale the scale to round to
+     * @param <T> the type of keys in the map
+     */
+    public static <T> void roundMapValues(final ObjectDoubleMap<T> map, final int scale) {
+        if (map != null) {
+            map.round(scale);
+        }
+    }
+
     /**
      * Calculates the sum of all values in a map.
      *
@@ -254,6 +337,17 @@ public final class MapUtils {
                 .sum();
     }
 
+    /**
+     * Calculates the sum of all values in a primitive double map without boxing.
+     *
+     * @param map the map to calculate the sum for, may be null
+     * @param <K> the type of keys in the map
+     * @return the sum of all values in the map, 0.0 if the map is null
+     */
+    public static <K> double calculateSumOfAllMapValues(final ObjectDoubleMap<K> map) {
+        return map == null ? 0.0 : map.sum();
+    }
+
     /**
      * Calculates the sum of all values in a nested map structure.
      *
@@ -295,6 +389,7 @@ public final class MapUtils {
 
     /**
      * Upserts a value in a map.
+     * Not safe to share between threads; use a {@link ConcurrentDoubleAccumulatorMap} for concurrent writers.
      *
      * @param map the map to upsert in
      * @param key the key to upsert by
@@ -307,6 +402,22 @@ public final class MapUtils {
         getNullableMap(map).compute(key, (k, v) -> v == null ? updateValue : v + updateValue);
     }
 
+    /**
+     * Upserts a value in a primitive double map by adding it in place, without allocating a Double.
+     *
+     * @param map the map to upsert in, may be null
+     * @param key the key to upsert by
+     * @param updateValue the value to upsert
+     * @param <T> the type of keys in the map
+     */
+    public static <T> void upsertMapDoubleValues(final ObjectDoubleMap<T> map,
+                                                 final T key,
+                                                 final double updateValue) {
+        if (map != null) {
+            map.addTo(key, updateValue);
+        }
+    }
+
     /**
      * Sorts a map by its values.
      *
@@ -416,8 +527,27 @@ public final class MapUtils {
     public static <T, V, K> Map<K, V> createMapFromListByMembers(final List<T> list,
                                                                  final Function<T, K> funcForKey,
                                                                  final Function<T, V> funcForValue) {
-        return ListUtils.getNullableList(list).parallelStream()
-                .collect(Collectors.toMap(funcForKey, funcForValue));
+        return createMapFromListByMembers(list, funcForKey, funcForValue, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Creates a map from a list using key and value functions, executed according to a policy.
+     *
+     * @param list the list to create the map from
+     * @param funcForKey the function to generate keys
+     * @param funcForValue the function to generate values
+     * @param policy the sequential or parallel execution policy
+     * @param <T> the type of elements in the list
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a map
+     */
+    public static <T, V, K> Map<K, V> createMapFromListByMembers(final List<T> list,
+                                                                 final Function<T, K> funcForKey,
+                                                                 final Function<T, V> funcForValue,
+                                                                 final ExecutionPolicy policy) {
+        return policy.apply(ListUtils.getNullableList(list), stream -> stream
+                .collect(Collectors.toMap(funcForKey, funcForValue)));
     }
 
     /**
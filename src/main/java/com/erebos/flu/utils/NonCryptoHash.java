@@ -0,0 +1,411 @@
+package com.erebos.flu.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Objects.checkFromIndexSize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Fast non-cryptographic 64-bit hash functions, e.g. for partitioning or deduplication keys.
+ * <p>
+ * All functions are defined over bytes, so their output is stable across JVMs, platforms and releases:
+ * strings are hashed as UTF-8, primitive arrays as little-endian bytes. Every function has a seedable variant,
+ * the unseeded variants use the seed 0. None of them is suitable where an attacker controls the input.
+ */
+public enum NonCryptoHash {
+
+    /**
+     * xxHash64 by Yann Collet.
+     */
+    XX_HASH_64 {
+        @Override
+        public long hash(final byte[] bytes, final int offset, final int length, final long seed) {
+            return xxHash64(bytes, offset, length, seed);
+        }
+    },
+    /**
+     * The first 64 bits of MurmurHash3 x64_128 by Austin Appleby, see {@link #murmur3Hash128} for all 128 bits.
+     * The output equals the reference implementation for seeds from 0 to 2^32-1.
+     */
+    MURMUR3_128 {
+        @Override
+        public long hash(final byte[] bytes, final int offset, final int length, final long seed) {
+            return murmur3Hash128(bytes, offset, length, seed)[0];
+        }
+    },
+    /**
+     * wyhash final version 4.2 by Wang Yi, with the default secret.
+     */
+    WY_HASH {
+        @Override
+        public long hash(final byte[] bytes, final int offset, final int length, final long seed) {
+            return wyHash(bytes, offset, length, seed);
+        }
+    };
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long XX_P1 = 0x9E3779B185EBCA87L;
+    private static final long XX_P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long XX_P3 = 0x165667B19E3779F9L;
+    private static final long XX_P4 = 0x85EBCA77C2B2AE63L;
+    private static final long XX_P5 = 0x27D4EB2F165667C5L;
+
+    private static final long MURMUR_C1 = 0x87C37B91114253D5L;
+    private static final long MURMUR_C2 = 0x4CF5AD432745937FL;
+
+    private static final long WY_P0 = 0x2D358DCCAA6C78A5L;
+    private static final long WY_P1 = 0x8BB84B93962EACC9L;
+    private static final long WY_P2 = 0x4B33A62ED433D4A3L;
+    private static final long WY_P3 = 0x4D5A2DA51DE1AA47L;
+
+    /**
+     * Hashes a range of a byte array.
+     *
+     * @param bytes  the bytes to hash
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @param seed   the seed
+     * @return the 64-bit hash
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public abstract long hash(byte[] bytes, int offset, int length, long seed);
+
+    /**
+     * Hashes a byte array.
+     *
+     * @param bytes the bytes to hash
+     * @param seed  the seed
+     * @return the 64-bit hash
+     */
+    public long hash(final byte[] bytes, final long seed) {
+        return hash(requireNonNull(bytes, "bytes can't be null"), 0, bytes.length, seed);
+    }
+
+    /**
+     * Hashes a byte array with the seed 0.
+     *
+     * @param bytes the bytes to hash
+     * @return the 64-bit hash
+     */
+    public long hash(final byte[] bytes) {
+        return hash(bytes, 0L);
+    }
+
+    /**
+     * Hashes the UTF-8 bytes of a string.
+     *
+     * @param s    the string to hash
+     * @param seed the seed
+     * @return the 64-bit hash
+     */
+    public long hash(final String s, final long seed) {
+        return hash(requireNonNull(s, "s can't be null").getBytes(StandardCharsets.UTF_8), seed);
+    }
+
+    /**
+     * Hashes the UTF-8 bytes of a string with the seed 0.
+     *
+     * @param s the string to hash
+     * @return the 64-bit hash
+     */
+    public long hash(final String s) {
+        return hash(s, 0L);
+    }
+
+    /**
+     * Hashes the UTF-8 bytes of a char sequence, e.g. a StringBuilder, without creating an intermediate String.
+     * Equals the hash of the String with the same characters.
+     *
+     * @param chars the characters to hash
+     * @param seed  the seed
+     * @return the 64-bit hash
+     */
+    public long hash(final CharSequence chars, final long seed) {
+        requireNonNull(chars, "chars can't be null");
+        return chars instanceof String s ? hash(s, seed) : hash(Utf8Utils.encode(chars), seed);
+    }
+
+    /**
+     * Hashes the UTF-8 bytes of a char sequence with the seed 0.
+     *
+     * @param chars the characters to hash
+     * @return the 64-bit hash
+     */
+    public long hash(final CharSequence chars) {
+        return hash(chars, 0L);
+    }
+
+    /**
+     * Hashes the remaining bytes of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer the buffer to hash
+     * @param seed   the seed
+     * @return the 64-bit hash
+     */
+    public long hash(final ByteBuffer buffer, final long seed) {
+        requireNonNull(buffer, "buffer can't be null");
+        if (buffer.hasArray()) {
+            return hash(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return hash(bytes, seed);
+    }
+
+    /**
+     * Hashes the remaining bytes of a buffer with the seed 0. The position of the buffer is not changed.
+     *
+     * @param buffer the buffer to hash
+     * @return the 64-bit hash
+     */
+    public long hash(final ByteBuffer buffer) {
+        return hash(buffer, 0L);
+    }
+
+    /**
+     * Hashes the little-endian bytes of an int array.
+     *
+     * @param values the values to hash
+     * @param seed   the seed
+     * @return the 64-bit hash
+     */
+    public long hash(final int[] values, final long seed) {
+        requireNonNull(values, "values can't be null");
+        final byte[] bytes = new byte[values.length * Integer.BYTES];
+        for (int i = 0; i < values.length; i++) {
+            INT_LE.set(bytes, i * Integer.BYTES, values[i]);
+        }
+        return hash(bytes, seed);
+    }
+
+    /**
+     * Hashes the little-endian bytes of an int array with the seed 0.
+     *
+     * @param values the values to hash
+     * @return the 64-bit hash
+     */
+    public long hash(final int[] values) {
+        return hash(values, 0L);
+    }
+
+    /**
+     * Hashes the little-endian bytes of a long array.
+     *
+     * @param values the values to hash
+     * @param seed   the seed
+     * @return the 64-bit hash
+     */
+    public long hash(final long[] values, final long seed) {
+        requireNonNull(values, "values can't be null");
+        final byte[] bytes = new byte[values.length * Long.BYTES];
+        for (int i = 0; i < values.length; i++) {
+            LONG_LE.set(bytes, i * Long.BYTES, values[i]);
+        }
+        return hash(bytes, seed);
+    }
+
+    /**
+     * Hashes the little-endian bytes of a long array with the seed 0.
+     *
+     * @param values the values to hash
+     * @return the 64-bit hash
+     */
+    public long hash(final long[] values) {
+        return hash(values, 0L);
+    }
+
+    /**
+     * Computes the full 128 bits of MurmurHash3 x64_128 of a range of a byte array.
+     *
+     * @param bytes  the bytes to hash
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @param seed   the seed
+     * @return the two 64-bit halves of the hash, in the order of the reference implementation
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static long[] murmur3Hash128(final byte[] bytes, final int offset, final int length, final long seed) {
+        checkFromIndexSize(offset, length, bytes.length);
+        long h1 = seed;
+        long h2 = seed;
+        final int end = offset + length;
+        final int blocksEnd = offset + (length & ~15);
+        for (int i = offset; i < blocksEnd; i += 16) {
+            h1 ^= murmurMixK1(readLong(bytes, i));
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52DCE729;
+            h2 ^= murmurMixK2(readLong(bytes, i + 8));
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495AB5;
+        }
+        final int tail = end - blocksEnd;
+        if (tail > 8) {
+            h2 ^= murmurMixK2(readPartialLong(bytes, blocksEnd + 8, tail - 8));
+        }
+        if (tail > 0) {
+            h1 ^= murmurMixK1(readPartialLong(bytes, blocksEnd, Math.min(tail, 8)));
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = murmurFmix(h1);
+        h2 = murmurFmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[]{h1, h2};
+    }
+
+    private static long xxHash64(final byte[] bytes, final int offset, final int length, final long seed) {
+        checkFromIndexSize(offset, length, bytes.length);
+        final int end = offset + length;
+        int i = offset;
+        long h;
+        if (length >= 32) {
+            long v1 = seed + XX_P1 + XX_P2;
+            long v2 = seed + XX_P2;
+            long v3 = seed;
+            long v4 = seed - XX_P1;
+            for (final int limit = end - 32; i <= limit; i += 32) {
+                v1 = xxRound(v1, readLong(bytes, i));
+                v2 = xxRound(v2, readLong(bytes, i + 8));
+                v3 = xxRound(v3, readLong(bytes, i + 16));
+                v4 = xxRound(v4, readLong(bytes, i + 24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = xxMergeRound(h, v1);
+            h = xxMergeRound(h, v2);
+            h = xxMergeRound(h, v3);
+            h = xxMergeRound(h, v4);
+        } else {
+            h = seed + XX_P5;
+        }
+        h += length;
+        for (; i <= end - 8; i += 8) {
+            h ^= xxRound(0, readLong(bytes, i));
+            h = Long.rotateLeft(h, 27) * XX_P1 + XX_P4;
+        }
+        if (i <= end - 4) {
+            h ^= (readInt(bytes, i) & 0xFFFFFFFFL) * XX_P1;
+            h = Long.rotateLeft(h, 23) * XX_P2 + XX_P3;
+            i += 4;
+        }
+        for (; i < end; i++) {
+            h ^= (bytes[i] & 0xFFL) * XX_P5;
+            h = Long.rotateLeft(h, 11) * XX_P1;
+        }
+        h ^= h >>> 33;
+        h *= XX_P2;
+        h ^= h >>> 29;
+        h *= XX_P3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private static long wyHash(final byte[] bytes, final int offset, final int length, final long seed) {
+        checkFromIndexSize(offset, length, bytes.length);
+        long s = seed ^ wyMix(seed ^ WY_P0, WY_P1);
+        final long a;
+        final long b;
+        if (length <= 16) {
+            if (length >= 4) {
+                final int shift = (length >>> 3) << 2;
+                a = ((readInt(bytes, offset) & 0xFFFFFFFFL) << 32) | (readInt(bytes, offset + shift) & 0xFFFFFFFFL);
+                b = ((readInt(bytes, offset + length - 4) & 0xFFFFFFFFL) << 32)
+                        | (readInt(bytes, offset + length - 4 - shift) & 0xFFFFFFFFL);
+            } else if (length > 0) {
+                a = ((bytes[offset] & 0xFFL) << 16) | ((bytes[offset + (length >>> 1)] & 0xFFL) << 8)
+                        | (bytes[offset + length - 1] & 0xFFL);
+                b = 0;
+            } else {
+                a = 0;
+                b = 0;
+            }
+        } else {
+            int p = offset;
+            int remaining = length;
+            if (remaining >= 48) {
+                long see1 = s;
+                long see2 = s;
+                do {
+                    s = wyMix(readLong(bytes, p) ^ WY_P1, readLong(bytes, p + 8) ^ s);
+                    see1 = wyMix(readLong(bytes, p + 16) ^ WY_P2, readLong(bytes, p + 24) ^ see1);
+                    see2 = wyMix(readLong(bytes, p + 32) ^ WY_P3, readLong(bytes, p + 40) ^ see2);
+                    p += 48;
+                    remaining -= 48;
+                } while (remaining >= 48);
+                s ^= see1 ^ see2;
+            }
+            while (remaining > 16) {
+                s = wyMix(readLong(bytes, p) ^ WY_P1, readLong(bytes, p + 8) ^ s);
+                p += 16;
+                remaining -= 16;
+            }
+            a = readLong(bytes, p + remaining - 16);
+            b = readLong(bytes, p + remaining - 8);
+        }
+        final long x = a ^ WY_P1;
+        final long y = b ^ s;
+        final long low = x * y;
+        final long high = unsignedMultiplyHigh(x, y);
+        return wyMix(low ^ WY_P0 ^ length, high ^ WY_P1);
+    }
+
+    private static long xxRound(final long acc, final long input) {
+        return Long.rotateLeft(acc + input * XX_P2, 31) * XX_P1;
+    }
+
+    private static long xxMergeRound(final long acc, final long value) {
+        return (acc ^ xxRound(0, value)) * XX_P1 + XX_P4;
+    }
+
+    private static long murmurMixK1(final long k1) {
+        return Long.rotateLeft(k1 * MURMUR_C1, 31) * MURMUR_C2;
+    }
+
+    private static long murmurMixK2(final long k2) {
+        return Long.rotateLeft(k2 * MURMUR_C2, 33) * MURMUR_C1;
+    }
+
+    private static long murmurFmix(final long k) {
+        long h = k;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long wyMix(final long a, final long b) {
+        return (a * b) ^ unsignedMultiplyHigh(a, b);
+    }
+
+    // High 64 bits of the unsigned 128-bit product
+    private static long unsignedMultiplyHigh(final long a, final long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    private static long readLong(final byte[] bytes, final int index) {
+        return (long) LONG_LE.get(bytes, index);
+    }
+
+    private static int readInt(final byte[] bytes, final int index) {
+        return (int) INT_LE.get(bytes, index);
+    }
+
+    // Little-endian value of 1 to 8 bytes
+    private static long readPartialLong(final byte[] bytes, final int index, final int count) {
+        long value = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            value = (value << 8) | (bytes[index + i] & 0xFFL);
+        }
+        return value;
+    }
+}
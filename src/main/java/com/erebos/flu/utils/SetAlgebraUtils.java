@@ -0,0 +1,520 @@
+package com.erebos.flu.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Utility class providing set algebra (union, intersection, difference, symmetric difference) over sorted inputs,
+ * e.g. id lists which are already sorted.
+ * <p>
+ * Sorted inputs are merged in one linear pass without building a HashSet. When one input is much larger than the
+ * other, the merge gallops: it finds the end of every run of elements which only one side contains by exponential
+ * and binary search, so an intersection of n with m elements costs O(n·log(m/n)) instead of O(n + m).
+ * Int inputs which are not sorted, but fall into a dense range, are combined word by word as {@link BitSet}s.
+ * <p>
+ * All results are sorted ascending and free of duplicates; inputs may contain duplicates.
+ */
+public final class SetAlgebraUtils {
+
+    /**
+     * Size ratio from which the merge gallops over the larger input instead of stepping through it.
+     */
+    static final int GALLOP_RATIO = 16;
+
+    /**
+     * Unsorted int inputs whose range spans at most this many values per element are combined as bitsets.
+     */
+    static final int DENSE_RANGE_FACTOR = 8;
+
+    /**
+     * Strategies to combine two int arrays.
+     */
+    public enum Strategy {
+        /**
+         * Merges the arrays, which must be sorted ascending. O(n + m), or less when galloping.
+         */
+        MERGE,
+        /**
+         * Sets the elements in two bitsets spanning the range of the values and combines them word by word.
+         * O(n + m + range / 64).
+         */
+        BITSET,
+        /**
+         * Sorts copies of the arrays and merges them. O(n·log n + m·log m).
+         */
+        SORT_MERGE
+    }
+
+    private static final int ONLY_LEFT = 1;
+    private static final int BOTH = 2;
+    private static final int ONLY_RIGHT = 4;
+    private static final int UNION = ONLY_LEFT | BOTH | ONLY_RIGHT;
+    private static final int INTERSECTION = BOTH;
+    private static final int DIFFERENCE = ONLY_LEFT;
+    private static final int SYMMETRIC_DIFFERENCE = ONLY_LEFT | ONLY_RIGHT;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     *
+     * @throws IllegalStateException when called
+     */
+    private SetAlgebraUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Picks the cheapest strategy for the given inputs.
+     * <ul>
+     *   <li>{@link Strategy#MERGE} if both arrays are sorted</li>
+     *   <li>{@link Strategy#BITSET} if the values span a dense range</li>
+     *   <li>{@link Strategy#SORT_MERGE} otherwise</li>
+     * </ul>
+     *
+     * @param left  the left array
+     * @param right the right array
+     * @return the strategy to use
+     */
+    public static Strategy chooseStrategy(final int[] left, final int[] right) {
+        if (isSorted(left) && isSorted(right)) {
+            return Strategy.MERGE;
+        }
+        final long span = span(left, right);
+        return span <= (long) DENSE_RANGE_FACTOR * (left.length + right.length) ? Strategy.BITSET : Strategy.SORT_MERGE;
+    }
+
+    /**
+     * Computes the union of two int arrays.
+     *
+     * @param left  the left array
+     * @param right the right array
+     * @return the values contained in either array, sorted ascending
+     */
+    public static int[] union(final int[] left, final int[] right) {
+        return union(left, right, chooseStrategy(left, right));
+    }
+
+    /**
+     * Computes the union of two int arrays using the given strategy.
+     *
+     * @param left     the left array
+     * @param right    the right array
+     * @param strategy the strategy to use
+     * @return the values contained in either array, sorted ascending
+     * @throws IllegalArgumentException if strategy is {@link Strategy#MERGE} and an array is not sorted
+     */
+    public static int[] union(final int[] left, final int[] right, final Strategy strategy) {
+        return combine(left, right, strategy, UNION);
+    }
+
+    /**
+     * Computes the intersection of two int arrays.
+     *
+     * @param left  the left array
+     * @param right the right array
+     * @return the values contained in both arrays, sorted ascending
+     */
+    public static int[] intersection(final int[] left, final int[] right) {
+        return intersection(left, right, chooseStrategy(left, right));
+    }
+
+    /**
+     * Computes the intersection of two int arrays using the given strategy.
+     *
+     * @param left     the left array
+     * @param right    the right array
+     * @param strategy the strategy to use
+     * @return the values contained in both arrays, sorted ascending
+     * @throws IllegalArgumentException if strategy is {@link Strategy#MERGE} and an array is not sorted
+     */
+    public static int[] intersection(final int[] left, final int[] right, final Strategy strategy) {
+        return combine(left, right, strategy, INTERSECTION);
+    }
+
+    /**
+     * Computes the difference of two int arrays.
+     *
+     * @param left  the left array
+     * @param right the right array
+     * @return the values of the left array not contained in the right array, sorted ascending
+     */
+    public static int[] difference(final int[] left, final int[] right) {
+        return difference(left, right, chooseStrategy(left, right));
+    }
+
+    /**
+     * Computes the difference of two int arrays using the given strategy.
+     *
+     * @param left     the left array
+     * @param right    the right array
+     * @param strategy the strategy to use
+     * @return the values of the left array not contained in the right array, sorted ascending
+     * @throws IllegalArgumentException if strategy is {@link Strategy#MERGE} and an array is not sorted
+     */
+    public static int[] difference(final int[] left, final int[] right, final Strategy strategy) {
+        return combine(left, right, strategy, DIFFERENCE);
+    }
+
+    /**
+     * Computes the symmetric difference of two int arrays.
+     *
+     * @param left  the left array
+     * @param right the right array
+     * @return the values contained in exactly one of the arrays, sorted ascending
+     */
+    public static int[] symmetricDifference(final int[] left, final int[] right) {
+        return symmetricDifference(left, right, chooseStrategy(left, right));
+    }
+
+    /**
+     * Computes the symmetric difference of two int arrays using the given strategy.
+     *
+     * @param left     the left array
+     * @param right    the right array
+     * @param strategy the strategy to use
+     * @return the values contained in exactly one of the arrays, sorted ascending
+     * @throws IllegalArgumentException if strategy is {@link Strategy#MERGE} and an array is not sorted
+     */
+    public static int[] symmetricDifference(final int[] left, final int[] right, final Strategy strategy) {
+        return combine(left, right, strategy, SYMMETRIC_DIFFERENCE);
+    }
+
+    /**
+     * Computes the union of two lists of Comparable elements. Sorted lists are merged directly,
+     * others are sorted first. Elements comparing equal count as one.
+     *
+     * @param left  the left list, without null elements
+     * @param right the right list, without null elements
+     * @param <T>   the type of elements in the lists
+     * @return the elements contained in either list, sorted ascending
+     */
+    public static <T extends Comparable<? super T>> List<T> union(final List<T> left, final List<T> right) {
+        return combine(left, right, UNION);
+    }
+
+    /**
+     * Computes the intersection of two lists of Comparable elements. Sorted lists are merged directly,
+     * others are sorted first. Elements comparing equal count as one.
+     *
+     * @param left  the left list, without null elements
+     * @param right the right list, without null elements
+     * @param <T>   the type of elements in the lists
+     * @return the elements contained in both lists, sorted ascending
+     */
+    public static <T extends Comparable<? super T>> List<T> intersection(final List<T> left, final List<T> right) {
+        return combine(left, right, INTERSECTION);
+    }
+
+    /**
+     * Computes the difference of two lists of Comparable elements. Sorted lists are merged directly,
+     * others are sorted first. Elements comparing equal count as one.
+     *
+     * @param left  the left list, without null elements
+     * @param right the right list, without null elements
+     * @param <T>   the type of elements in the lists
+     * @return the elements of the left list not contained in the right list, sorted ascending
+     */
+    public static <T extends Comparable<? super T>> List<T> difference(final List<T> left, final List<T> right) {
+        return combine(left, right, DIFFERENCE);
+    }
+
+    /**
+     * Computes the symmetric difference of two lists of Comparable elements. Sorted lists are merged directly,
+     * others are sorted first. Elements comparing equal count as one.
+     *
+     * @param left  the left list, without null elements
+     * @param right the right list, without null elements
+     * @param <T>   the type of elements in the lists
+     * @return the elements contained in exactly one of the lists, sorted ascending
+     */
+    public static <T extends Comparable<? super T>> List<T> symmetricDifference(final List<T> left, final List<T> right) {
+        return combine(left, right, SYMMETRIC_DIFFERENCE);
+    }
+
+    /**
+     * Checks if an int array is sorted ascending.
+     *
+     * @param values the array
+     * @return true if every value is at least its predecessor
+     */
+    public static boolean isSorted(final int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] > values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] combine(final int[] left, final int[] right, final Strategy strategy, final int keep) {
+        requireNonNull(left, "left can't be null");
+        requireNonNull(right, "right can't be null");
+        return switch (requireNonNull(strategy, "strategy can't be null")) {
+            case MERGE -> {
+                if (!isSorted(left) || !isSorted(right)) {
+                    throw new IllegalArgumentException("MERGE requires sorted arrays");
+                }
+                yield merge(left, right, keep);
+            }
+            case BITSET -> bitsetCombine(left, right, keep);
+            case SORT_MERGE -> merge(sorted(left), sorted(right), keep);
+        };
+    }
+
+    // The array itself if it is sorted, a sorted copy otherwise
+    private static int[] sorted(final int[] values) {
+        if (isSorted(values)) {
+            return values;
+        }
+        final int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    // Merges two sorted arrays, keeping the values of the kinds flagged in keep
+    private static int[] merge(final int[] left, final int[] right, final int keep) {
+        final boolean gallop = isSkewed(left.length, right.length);
+        final int[] out = new int[(keep & ONLY_RIGHT) != 0 ? left.length + right.length : left.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                final int end = gallop ? gallop(left, i, right[j]) : scan(left, i, right[j]);
+                if ((keep & ONLY_LEFT) != 0) {
+                    size = append(out, size, left, i, end);
+                }
+                i = end;
+            } else if (left[i] > right[j]) {
+                final int end = gallop ? gallop(right, j, left[i]) : scan(right, j, left[i]);
+                if ((keep & ONLY_RIGHT) != 0) {
+                    size = append(out, size, right, j, end);
+                }
+                j = end;
+            } else {
+                final int value = left[i];
+                if ((keep & BOTH) != 0) {
+                    size = append(out, size, left, i, i + 1);
+                }
+                while (i < left.length && left[i] == value) {
+                    i++;
+                }
+                while (j < right.length && right[j] == value) {
+                    j++;
+                }
+            }
+        }
+        if ((keep & ONLY_LEFT) != 0) {
+            size = append(out, size, left, i, left.length);
+        }
+        if ((keep & ONLY_RIGHT) != 0) {
+            size = append(out, size, right, j, right.length);
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+    // Appends values[from, to) to out, skipping duplicates of the last appended value
+    private static int append(final int[] out, final int size, final int[] values, final int from, final int to) {
+        int n = size;
+        for (int k = from; k < to; k++) {
+            if (n == 0 || out[n - 1] != values[k]) {
+                out[n++] = values[k];
+            }
+        }
+        return n;
+    }
+
+    // Index of the first value at or after from which is not less than key, stepping linearly
+    private static int scan(final int[] values, final int from, final int key) {
+        int k = from;
+        while (k < values.length && values[k] < key) {
+            k++;
+        }
+        return k;
+    }
+
+    // Index of the first value at or after from which is not less than key, by exponential and binary search
+    private static int gallop(final int[] values, final int from, final int key) {
+        int low = from;
+        int step = 1;
+        int high = from + 1;
+        // invariant: values[low] < key
+        while (high < values.length && values[high] < key) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        high = Math.min(high, values.length);
+        low++;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] bitsetCombine(final int[] left, final int[] right, final int keep) {
+        final long span = span(left, right);
+        if (span > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("BITSET requires values spanning at most Integer.MAX_VALUE");
+        }
+        final int offset = left.length + right.length == 0 ? 0 : min(left, right);
+        final BitSet leftBits = toBitSet(left, offset, (int) span);
+        final BitSet rightBits = toBitSet(right, offset, (int) span);
+        switch (keep) {
+            case UNION -> leftBits.or(rightBits);
+            case INTERSECTION -> leftBits.and(rightBits);
+            case DIFFERENCE -> leftBits.andNot(rightBits);
+            default -> leftBits.xor(rightBits);
+        }
+        return leftBits.stream().map(bit -> bit + offset).toArray();
+    }
+
+    private static BitSet toBitSet(final int[] values, final int offset, final int span) {
+        final BitSet bits = new BitSet(span);
+        for (final int value : values) {
+            bits.set(value - offset);
+        }
+        return bits;
+    }
+
+    private static int min(final int[] left, final int[] right) {
+        int min = Integer.MAX_VALUE;
+        for (final int value : left) {
+            min = Math.min(min, value);
+        }
+        for (final int value : right) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    // Number of values between the smallest and the largest value of both arrays, 0 if both are empty
+    private static long span(final int[] left, final int[] right) {
+        if (left.length + right.length == 0) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (final int value : left) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        for (final int value : right) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return max - min + 1;
+    }
+
+    private static boolean isSkewed(final int leftSize, final int rightSize) {
+        final int smaller = Math.min(leftSize, rightSize);
+        return smaller > 0 && Math.max(leftSize, rightSize) / smaller >= GALLOP_RATIO;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<? super T>> List<T> combine(final List<T> left, final List<T> right, final int keep) {
+        final Object[] leftValues = sortedArray(requireNonNull(left, "left can't be null"));
+        final Object[] rightValues = sortedArray(requireNonNull(right, "right can't be null"));
+        final Comparator<Object> order = (a, b) -> ((T) a).compareTo((T) b);
+        final boolean gallop = isSkewed(leftValues.length, rightValues.length);
+        final List<T> out = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < leftValues.length && j < rightValues.length) {
+            final int comparison = order.compare(leftValues[i], rightValues[j]);
+            if (comparison < 0) {
+                final int end = advance(leftValues, i, rightValues[j], order, gallop);
+                if ((keep & ONLY_LEFT) != 0) {
+                    append(out, leftValues, i, end, order);
+                }
+                i = end;
+            } else if (comparison > 0) {
+                final int end = advance(rightValues, j, leftValues[i], order, gallop);
+                if ((keep & ONLY_RIGHT) != 0) {
+                    append(out, rightValues, j, end, order);
+                }
+                j = end;
+            } else {
+                final Object value = leftValues[i];
+                if ((keep & BOTH) != 0) {
+                    append(out, leftValues, i, i + 1, order);
+                }
+                while (i < leftValues.length && order.compare(leftValues[i], value) == 0) {
+                    i++;
+                }
+                while (j < rightValues.length && order.compare(rightValues[j], value) == 0) {
+                    j++;
+                }
+            }
+        }
+        if ((keep & ONLY_LEFT) != 0) {
+            append(out, leftValues, i, leftValues.length, order);
+        }
+        if ((keep & ONLY_RIGHT) != 0) {
+            append(out, rightValues, j, rightValues.length, order);
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void append(final List<T> out, final Object[] values, final int from, final int to,
+                                   final Comparator<Object> order) {
+        for (int k = from; k < to; k++) {
+            if (out.isEmpty() || order.compare(out.get(out.size() - 1), values[k]) != 0) {
+                out.add((T) values[k]);
+            }
+        }
+    }
+
+    // Index of the first value at or after from which is not less than key
+    private static int advance(final Object[] values, final int from, final Object key,
+                               final Comparator<Object> order, final boolean gallop) {
+        if (!gallop) {
+            int k = from;
+            while (k < values.length && order.compare(values[k], key) < 0) {
+                k++;
+            }
+            return k;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + 1;
+        while (high < values.length && order.compare(values[high], key) < 0) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        high = Math.min(high, values.length);
+        low++;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (order.compare(values[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<? super T>> Object[] sortedArray(final List<T> list) {
+        final Object[] values = list.toArray();
+        for (int k = 1; k < values.length; k++) {
+            if (((T) values[k - 1]).compareTo((T) values[k]) > 0) {
+                Arrays.sort(values);
+                return values;
+            }
+        }
+        return values;
+    }
+}
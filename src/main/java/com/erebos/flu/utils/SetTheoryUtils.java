@@ -1,49 +1,207 @@
 package com.erebos.flu.utils;
 
+import com.erebos.flu.probabilistic.MembershipFilter;
+
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.erebos.flu.utils.ComparableUtils.compare;
+import static com.erebos.flu.utils.ComparableUtils.isSorted;
 
 
 public class SetTheoryUtils {
 
+    /**
+     * Right lists up to this size are scanned linearly, indexing them costs more than it saves.
+     */
+    static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    /**
+     * Strategies to find the elements of a left list which are contained in a right list.
+     * All strategies keep the order and the duplicates of the left list.
+     */
+    public enum Strategy {
+        /**
+         * Scans the right list for every left element. O(n·m), but free of allocations.
+         */
+        LINEAR_SCAN,
+        /**
+         * Indexes the right list in a HashSet and probes it for every left element. O(n + m).
+         */
+        HASH_PROBE,
+        /**
+         * Sorts both lists (skipped if already sorted) and merges them. O(n·log n + m·log m).
+         * Requires non-null, mutually Comparable elements.
+         */
+        SORT_MERGE
+    }
+
     // Sub-function to compute the intersection (inner join) of two lists
     public static <T> List<T> intersection(List<T> leftList, List<T> rightList) {
-        return leftList.stream()
-                .filter(rightList::contains)
-                .collect(Collectors.toList());
+        return intersection(leftList, rightList, chooseStrategy(leftList, rightList));
+    }
+
+    // Intersection (inner join) of two lists using the given strategy
+    public static <T> List<T> intersection(List<T> leftList, List<T> rightList, Strategy strategy) {
+        return select(leftList, matchLeft(leftList, rightList, strategy), true);
+    }
+
+    /**
+     * Intersection (inner join) of two lists, pruned by a membership filter of the right list.
+     * Only the left elements the filter might contain are indexed, and the right list is streamed once to confirm
+     * them, so memory stays proportional to the candidates instead of the right list. Keeps the order and the
+     * duplicates of the left list.
+     *
+     * @param leftList    the left list
+     * @param rightList   the right list
+     * @param rightFilter a filter holding every element of the right list
+     * @param <T>         the type of elements in the lists
+     * @return the left elements contained in the right list
+     */
+    public static <T> List<T> intersection(final List<T> leftList,
+                                           final List<T> rightList,
+                                           final MembershipFilter<? super T> rightFilter) {
+        Objects.requireNonNull(rightFilter, "rightFilter can't be null");
+        final List<T> candidates = new ArrayList<>();
+        for (final T element : leftList) {
+            // the hashers of the filters may reject null, a null element is always checked exactly
+            if (element == null || rightFilter.mightContain(element)) {
+                candidates.add(element);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        final Set<T> unconfirmed = new HashSet<>(candidates);
+        final Set<T> confirmed = new HashSet<>();
+        for (final T element : rightList) {
+            if (unconfirmed.remove(element)) {
+                confirmed.add(element);
+                if (unconfirmed.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        candidates.removeIf(element -> !confirmed.contains(element));
+        return candidates;
     }
 
     // Function to compute the exclusive left outer join
     public static <T> List<T> leftOuterJoinExclusive(List<T> leftList, List<T> rightList) {
-        // Step 1: Get the intersection
-        List<T> intersection = intersection(leftList, rightList);
+        return leftOuterJoinExclusive(leftList, rightList, chooseStrategy(leftList, rightList));
+    }
 
-        // Step 2: Subtract the intersection from the left list
-        return leftList.stream()
-                .filter(element -> !intersection.contains(element))
-                .collect(Collectors.toList());
+    // Exclusive left outer join of two lists using the given strategy
+    public static <T> List<T> leftOuterJoinExclusive(List<T> leftList, List<T> rightList, Strategy strategy) {
+        return select(leftList, matchLeft(leftList, rightList, strategy), false);
     }
 
     // Function to compute the full left outer join
     public static <T> List<T> leftOuterJoin(List<T> leftList, List<T> rightList) {
-        // Step 1: Get the intersection
-        List<T> intersection = intersection(leftList, rightList);
-
-        // Step 2: Get the exclusive elements from the left list
-        List<T> exclusiveLeft = leftOuterJoinExclusive(leftList, rightList);
-
-        // Step 3: Combine the exclusive left and intersection
-        List<T> result = new ArrayList<>(exclusiveLeft);
-        result.addAll(intersection);
+        return leftOuterJoin(leftList, rightList, chooseStrategy(leftList, rightList));
+    }
 
+    // Full left outer join of two lists using the given strategy: the exclusive left elements followed by the intersection
+    public static <T> List<T> leftOuterJoin(List<T> leftList, List<T> rightList, Strategy strategy) {
+        final boolean[] matched = matchLeft(leftList, rightList, strategy);
+        final List<T> result = select(leftList, matched, false);
+        result.addAll(select(leftList, matched, true));
         return result;
     }
 
     // Function to compute the union of two lists
     public static <T> List<T> union(List<T> leftList, List<T> rightList) {
         // Combine both lists and remove duplicates
-        return new ArrayList<>(new HashSet<>(leftList) {{
-            addAll(rightList);
-        }});
+        final Set<T> union = new HashSet<>(leftList);
+        union.addAll(rightList);
+        return new ArrayList<>(union);
+    }
+
+    /**
+     * Picks the cheapest strategy for the given input sizes and shapes.
+     * <ul>
+     *   <li>{@link Strategy#LINEAR_SCAN} if the right list is tiny</li>
+     *   <li>{@link Strategy#SORT_MERGE} if both lists are already sorted, so the merge needs no sorting and no index</li>
+     *   <li>{@link Strategy#HASH_PROBE} otherwise</li>
+     * </ul>
+     *
+     * @param leftList  the left list
+     * @param rightList the right list
+     * @param <T>       the type of elements in the lists
+     * @return the strategy to use
+     */
+    public static <T> Strategy chooseStrategy(final List<T> leftList, final List<T> rightList) {
+        if (rightList.size() <= LINEAR_SCAN_THRESHOLD) {
+            return Strategy.LINEAR_SCAN;
+        }
+        if (isSorted(leftList, false) && isSorted(rightList, false)) {
+            return Strategy.SORT_MERGE;
+        }
+        return Strategy.HASH_PROBE;
+    }
+
+    // Flags every left element which is contained in the right list
+    private static <T> boolean[] matchLeft(final List<T> leftList, final List<T> rightList, final Strategy strategy) {
+        return switch (strategy) {
+            case LINEAR_SCAN -> probe(leftList, rightList);
+            case HASH_PROBE -> probe(leftList, new HashSet<>(rightList));
+            case SORT_MERGE -> mergeMatch(leftList.toArray(), rightList.toArray());
+        };
+    }
+
+    private static <T> boolean[] probe(final List<T> leftList, final Collection<T> right) {
+        final boolean[] matched = new boolean[leftList.size()];
+        int i = 0;
+        for (final T element : leftList) {
+            matched[i++] = right.contains(element);
+        }
+        return matched;
+    }
+
+    private static boolean[] mergeMatch(final Object[] left, final Object[] right) {
+        if (!isSorted(Arrays.asList(right), false)) {
+            Arrays.sort(right, ComparableUtils::compare);
+        }
+        final boolean[] matched = new boolean[left.length];
+        int j = 0;
+        for (final int i : sortedOrder(left)) {
+            while (j < right.length && compare(right[j], left[i]) < 0) {
+                j++;
+            }
+            matched[i] = containsEqual(right, j, left[i]);
+        }
+        return matched;
+    }
+
+    // Checks the run of right elements comparing equal to the value, so equals() decides like in the other strategies
+    private static boolean containsEqual(final Object[] right, final int from, final Object value) {
+        for (int j = from; j < right.length && compare(right[j], value) == 0; j++) {
+            if (value.equals(right[j])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Indices of the elements in ascending element order
+    private static int[] sortedOrder(final Object[] elements) {
+        if (isSorted(Arrays.asList(elements), false)) {
+            return IntStream.range(0, elements.length).toArray();
+        }
+        final Integer[] order = new Integer[elements.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> compare(elements[a], elements[b]));
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static <T> List<T> select(final List<T> leftList, final boolean[] matched, final boolean keepMatched) {
+        final List<T> result = new ArrayList<>();
+        int i = 0;
+        for (final T element : leftList) {
+            if (matched[i++] == keepMatched) {
+                result.add(element);
+            }
+        }
+        return result;
     }
 }
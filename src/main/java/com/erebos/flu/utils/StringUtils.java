@@ -1,5 +1,8 @@
 package com.erebos.flu.utils;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.*;
 import java.util.function.Function;
 
@@ -21,6 +24,12 @@ public class StringUtils {
      */
     public static final String EMPTY_STRING = "";
 
+    // Reads eight bytes of a byte[] as one long; the byte order is irrelevant for the per-byte checks below
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    // Adding 0x5F to a byte sets its high bit exactly if the byte is above ' ' (0x20)
+    private static final long ABOVE_SPACE = 0x5F5F5F5F5F5F5F5FL;
+
     /**
      * Private constructor to prevent instantiation of utility class.
      *
@@ -37,7 +46,70 @@ public class StringUtils {
      * @return true if the string is null or empty, false otherwise
      */
     public static boolean isStringNullOrEmpty(final String value) {
-        return isNull(value) || value.trim().isEmpty();
+        if (isNull(value)) {
+            return true;
+        }
+        // same notion of whitespace as String.trim(), but scanned in place instead of allocating the trimmed copy
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a char sequence is null or empty (contains only whitespace), like
+     * {@link #isStringNullOrEmpty(String)} but for StringBuilders, CharBuffers and other sequences which would
+     * otherwise have to be copied into a String first. Scans in place without allocating.
+     *
+     * @param value the char sequence to check
+     * @return true if the char sequence is null or empty, false otherwise
+     */
+    public static boolean isCharSequenceNullOrEmpty(final CharSequence value) {
+        if (isNull(value)) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a slice of Latin-1, ASCII or UTF-8 encoded bytes is null or empty (contains only whitespace), with
+     * the same notion of whitespace as {@link #isStringNullOrEmpty(String)}: every byte is at most {@code ' '}.
+     * Checks eight bytes per step and does not decode or allocate. In UTF-8 every byte of a multibyte character
+     * is above {@code ' '}, so the result matches the one for the decoded string.
+     *
+     * @param bytes  the encoded bytes
+     * @param offset the index of the first byte of the slice
+     * @param length the number of bytes of the slice
+     * @return true if bytes is null or the slice contains only whitespace, false otherwise
+     * @throws IndexOutOfBoundsException if the slice is out of the bounds of bytes
+     */
+    public static boolean isLatin1NullOrEmpty(final byte[] bytes, final int offset, final int length) {
+        if (isNull(bytes)) {
+            return true;
+        }
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        final int end = offset + length;
+        int i = offset;
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            final long word = (long) LONG_VIEW.get(bytes, i);
+            // a carry out of a byte only happens if that byte is above ' ', which is flagged anyway
+            if (((word | (word + ABOVE_SPACE)) & HIGH_BITS) != 0) {
+                return false;
+            }
+        }
+        for (; i < end; i++) {
+            if ((bytes[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -69,6 +141,22 @@ public class StringUtils {
         return string1.equals(string2);
     }
 
+    /**
+     * Checks if two char sequences are both non-null and hold the same characters, e.g. a StringBuilder or a
+     * CharBuffer over a file and a String, without copying either into a String first.
+     *
+     * @param chars1 the first char sequence to compare
+     * @param chars2 the second char sequence to compare
+     * @return true if both char sequences are non-null and hold the same characters, false otherwise
+     * @see Utf8Utils#contentEquals(byte[], int, int, CharSequence) for UTF-8 bytes
+     */
+    public static boolean stringsNotNullAndEqual(final CharSequence chars1, final CharSequence chars2) {
+        if (isNull(chars1) || isNull(chars2)) {
+            return false;
+        }
+        return chars1.length() == chars2.length() && CharSequence.compare(chars1, chars2) == 0;
+    }
+
     /**
      * Returns the input string if it is not null or empty, otherwise returns an empty string.
      *
@@ -108,11 +196,12 @@ public class StringUtils {
     /**
      * Concatenates all strings in a list with a delimiter (i.e. backslash).
      *
-     * @param strings   the list of strings to concatenate
+     * @param strings   the list of strings or other char sequences to concatenate
      * @param delimiter the delimiter to use
      * @return the concatenated string
+     * @see Utf8Utils#concatWithDelimiter(List, byte[]) for UTF-8 bytes
      */
-    public static String concatStringsWithDelimiter(final List<String> strings, final String delimiter) {
+    public static String concatStringsWithDelimiter(final List<? extends CharSequence> strings, final String delimiter) {
         StringJoiner joiner = new StringJoiner(delimiter);
         getNullableList(strings).stream().filter(Objects::nonNull).forEach(joiner::add);
         return joiner.toString();
@@ -159,65 +248,53 @@ public class StringUtils {
     }
 
     /**
-     * Determines if a string has all unique characters using a brute-force approach.
-     * <p>
-     * This method compares every character in the string with every other character.
-     * If a duplicate character is found, it returns false; otherwise, it returns true.
-     * <p>
-     * Time Complexity:
-     * - Worst-case: O(n²) due to the nested loop checking all pairs of characters.
-     * - Best-case: O(1) if an early duplicate is found.
-     * - Space Complexity: O(1) (no additional data structures used).
+     * Reverses the chars of the given char sequence like {@link #reverseString(String)}.
      *
-     * @param input the input string to check
-     * @return true if all characters in the string are unique, false otherwise
+     * @param input the char sequence to reverse
+     * @return the reversed string, or null if the input is null
+     * @see Utf8Utils#reverse(byte[], int, int) for UTF-8 bytes
      */
-    public static boolean hasUniqueChars(String input) {
+    public static String reverseString(final CharSequence input) {
         if (input == null) {
-            return false;
+            return null;
         }
-        for (int i = 0; i < input.length(); i++) {
-            for (int j = i + 1; j < input.length(); j++) {
-                if (input.charAt(i) == input.charAt(j)) {
-                    return false;
-                }
-            }
+        final char[] c = new char[input.length()];
+        for (int i = 0; i < c.length; i++) {
+            c[c.length - 1 - i] = input.charAt(i);
         }
-        return true;
+        return new String(c);
     }
 
     /**
-     * Determines if a string has all unique characters using a HashSet.
+     * Determines if a string has all unique characters.
      * <p>
-     * This method iterates through the string and stores each character in a HashSet.
-     * If a duplicate character is found (i.e., already in the HashSet), it returns false.
-     * Otherwise, it returns true.
-     * <p>
-     * Time Complexity:
-     * - Average-case: O(n) because HashSet operations (add and contains) run in O(1) time.
-     * - Worst-case: O(n) in case of hash collisions, but still significantly faster than O(n²).
-     * - Space Complexity: O(n) due to storing up to n characters in the HashSet.
+     * Characters are Unicode code points, so a character outside the BMP counts once and not as two chars.
+     * The check takes O(n) time with a table chosen by the input, see {@link CodePointUtils#chooseStrategy}.
+     *
+     * @param input the input string to check
+     * @return true if all characters in the string are unique, false otherwise or if the input is null
+     */
+    public static boolean hasUniqueChars(String input) {
+        return CodePointUtils.hasUniqueCodePoints(input);
+    }
+
+    /**
+     * Determines if a string has all unique characters, like {@link #hasUniqueChars(String)}.
      *
      * @param input the input string to check
-     * @return true if all characters in the string are unique, false otherwise
+     * @return true if all characters in the string are unique, false otherwise or if the input is null
+     * @deprecated identical to {@link #hasUniqueChars(String)}, which no longer compares every pair of chars
      */
+    @Deprecated
     public static boolean hasUniqueChars2(String input) {
-        if (input == null) {
-            return false;
-        }
-        Set<Character> seen = new HashSet<>();
-        for (char c : input.toCharArray()) {
-            if (!seen.add(c)) {  // HashSet returns false if c is already in the set
-                return false;
-            }
-        }
-        return true;
+        return CodePointUtils.hasUniqueCodePoints(input);
     }
 
     /**
      * Checks if two given strings are permutations of each other.
      * A permutation means both strings contain the same characters
      * with the same frequency but possibly in a different order.
+     * Characters are Unicode code points, see {@link CodePointUtils#isPermutation(CharSequence, CharSequence)}.
      *
      * @param s1 The first string to check.
      * @param s2 The second string to check.
@@ -225,25 +302,24 @@ public class StringUtils {
      * @throws IllegalArgumentException if either {@code s1} or {@code s2} is {@code null}.
      */
     public static boolean isPermutation(String s1, String s2) {
-        if (s1 == null || s2 == null) {
-            throw new IllegalArgumentException("Input strings must not be null");
-        }
-        if (s1.length() != s2.length()) return false;
+        return isPermutation((CharSequence) s1, s2);
+    }
 
-        int[] charCount = new int[128]; // ASCII character count
-        for (char c : s1.toCharArray()) {
-            charCount[c] += 1;
-        }
-        for (char c : s2.toCharArray()) {
-            if (--charCount[c] < 0) {
-                return false;
-            }
-        }
-        return true;
+    /**
+     * Checks if two char sequences are permutations of each other, like {@link #isPermutation(String, String)}.
+     *
+     * @param s1 The first char sequence to check.
+     * @param s2 The second char sequence to check.
+     * @return {@code true} if {@code s1} is a permutation of {@code s2}, otherwise {@code false}.
+     * @throws IllegalArgumentException if either {@code s1} or {@code s2} is {@code null}.
+     * @see Utf8Utils#isPermutation(byte[], int, int, byte[], int, int) for UTF-8 bytes
+     */
+    public static boolean isPermutation(final CharSequence s1, final CharSequence s2) {
+        return CodePointUtils.isPermutation(s1, s2);
     }
 
     /**
-     * Checks whether two strings are exactly one edit operation away from each other.
+     * Checks whether two strings are at most one edit operation away from each other.
      *
      * <p>An edit operation is defined as one of the following:
      * <ul>
@@ -251,39 +327,35 @@ public class StringUtils {
      *   <li><b>Deletion</b> of a single character from one of the strings</li>
      *   <li><b>Replacement</b> of a single character in one of the strings</li>
      * </ul>
-     * The method returns {@code true} if exactly one of these operations is required to make
-     * the strings identical. Otherwise, it returns {@code false}.
+     * The method returns {@code true} if at most one of these operations is required to make
+     * the strings identical. Otherwise, it returns {@code false}. Characters are Unicode code points.
+     * This is the k = 1 case of {@link EditDistanceUtils#levenshtein(CharSequence, CharSequence, int)},
+     * decided in a single scan.
      *
      * @param s1 The first string.
      * @param s2 The second string.
-     * @return {@code true} if the strings can be made equal with exactly one edit operation,
-     * otherwise {@code false}.
+     * @return {@code true} if the strings can be made equal with at most one edit operation,
+     * otherwise {@code false}, also if either string is {@code null}.
      */
     public static boolean isOneAway(String s1, String s2) {
-        if (Math.abs(s1.length() - s2.length()) > 1) return false;
-
-        String shorter = s1.length() < s2.length() ? s1 : s2;
-        String longer = s1.length() < s2.length() ? s2 : s1;
-
-        int i = 0, j = 0, diff = 0;
+        return isOneAway((CharSequence) s1, s2);
+    }
 
-        while (i < shorter.length() && j < longer.length()) {
-            if (shorter.charAt(i) != longer.charAt(j)) {
-                if (++diff > 1) {
-                    return false;
-                }
-                if (shorter.length() < longer.length()) {
-                    j++; // Insert/Delete → nur längeren String weiterschieben
-                } else {
-                    i++;
-                    j++;
-                } // Replace → beide weiterschieben
-            } else {
-                i++;
-                j++;
-            }
+    /**
+     * Checks whether two char sequences are at most one edit operation away from each other, like
+     * {@link #isOneAway(String, String)}.
+     *
+     * @param s1 The first char sequence.
+     * @param s2 The second char sequence.
+     * @return {@code true} if the char sequences can be made equal with at most one edit operation,
+     * otherwise {@code false}, also if either char sequence is {@code null}.
+     * @see Utf8Utils#isOneAway(byte[], int, int, byte[], int, int) for UTF-8 bytes
+     */
+    public static boolean isOneAway(final CharSequence s1, final CharSequence s2) {
+        if (s1 == null || s2 == null) {
+            return false;
         }
-        return true;
+        return EditDistanceUtils.levenshtein(s1, s2, 1) >= 0;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,467 @@
+package com.erebos.flu.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Utility class providing the core {@link StringUtils} operations directly on UTF-8 encoded bytes, e.g. on records
+ * in a memory-mapped file or a network buffer, without decoding them into Strings first.
+ * <p>
+ * Slices are given as a byte array plus offset and length, or as the remaining bytes of a {@link ByteBuffer}, which
+ * may be direct. Neither the arrays nor the positions of the buffers are changed. Operations which care about
+ * characters work on code points; malformed input counts as one U+FFFD replacement character per maximal subpart
+ * of an ill-formed sequence, exactly like {@code new String(bytes, UTF_8)} decodes it.
+ */
+public final class Utf8Utils {
+
+    private static final int REPLACEMENT = 0xFFFD;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     *
+     * @throws IllegalStateException when called
+     */
+    private Utf8Utils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Checks if a slice is null or empty (contains only whitespace), see {@link StringUtils#isLatin1NullOrEmpty}.
+     *
+     * @param bytes  the UTF-8 bytes
+     * @param offset the index of the first byte of the slice
+     * @param length the number of bytes of the slice
+     * @return true if bytes is null or the slice contains only whitespace, false otherwise
+     */
+    public static boolean isNullOrEmpty(final byte[] bytes, final int offset, final int length) {
+        return StringUtils.isLatin1NullOrEmpty(bytes, offset, length);
+    }
+
+    /**
+     * Checks if the remaining bytes of a buffer are null or empty (contain only whitespace).
+     *
+     * @param buffer the UTF-8 bytes
+     * @return true if buffer is null or its remaining bytes contain only whitespace, false otherwise
+     */
+    public static boolean isNullOrEmpty(final ByteBuffer buffer) {
+        if (buffer == null) {
+            return true;
+        }
+        if (buffer.hasArray()) {
+            return StringUtils.isLatin1NullOrEmpty(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if ((buffer.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if two slices are both non-null and hold the same bytes, the byte level counterpart of
+     * {@link StringUtils#stringsNotNullAndEqual(String, String)}.
+     *
+     * @param a       the first bytes
+     * @param aOffset the index of the first byte of the first slice
+     * @param aLength the number of bytes of the first slice
+     * @param b       the second bytes
+     * @param bOffset the index of the first byte of the second slice
+     * @param bLength the number of bytes of the second slice
+     * @return true if both arrays are non-null and the slices are equal, false otherwise
+     * @throws IndexOutOfBoundsException if a slice is out of the bounds of its array
+     */
+    public static boolean slicesNotNullAndEqual(final byte[] a, final int aOffset, final int aLength,
+                                                final byte[] b, final int bOffset, final int bLength) {
+        if (a == null || b == null) {
+            return false;
+        }
+        return Arrays.equals(a, aOffset, aOffset + aLength, b, bOffset, bOffset + bLength);
+    }
+
+    /**
+     * Checks if two buffers are both non-null and their remaining bytes are equal.
+     *
+     * @param a the first buffer
+     * @param b the second buffer
+     * @return true if both buffers are non-null and their remaining bytes are equal, false otherwise
+     */
+    public static boolean slicesNotNullAndEqual(final ByteBuffer a, final ByteBuffer b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        return a.equals(b);
+    }
+
+    /**
+     * Checks if a slice decodes to the given characters, without decoding the slice into a String.
+     *
+     * @param bytes  the UTF-8 bytes
+     * @param offset the index of the first byte of the slice
+     * @param length the number of bytes of the slice
+     * @param chars  the characters to compare with
+     * @return true if bytes and chars are non-null and the slice decodes to chars, false otherwise
+     * @throws IndexOutOfBoundsException if the slice is out of the bounds of bytes
+     */
+    public static boolean contentEquals(final byte[] bytes, final int offset, final int length, final CharSequence chars) {
+        if (bytes == null || chars == null) {
+            return false;
+        }
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return contentEquals(ByteBuffer.wrap(bytes), offset, offset + length, chars);
+    }
+
+    /**
+     * Checks if the remaining bytes of a buffer decode to the given characters, without decoding them into a String.
+     *
+     * @param buffer the UTF-8 bytes
+     * @param chars  the characters to compare with
+     * @return true if buffer and chars are non-null and the remaining bytes decode to chars, false otherwise
+     */
+    public static boolean contentEquals(final ByteBuffer buffer, final CharSequence chars) {
+        if (buffer == null || chars == null) {
+            return false;
+        }
+        return contentEquals(buffer, buffer.position(), buffer.limit(), chars);
+    }
+
+    /**
+     * Concatenates the remaining bytes of all non-null buffers with a delimiter between them, the byte level
+     * counterpart of {@link StringUtils#concatStringsWithDelimiter(List, String)}. Allocates the result once.
+     *
+     * @param slices    the buffers to concatenate, may be null
+     * @param delimiter the UTF-8 bytes of the delimiter
+     * @return the concatenated bytes
+     */
+    public static byte[] concatWithDelimiter(final List<ByteBuffer> slices, final byte[] delimiter) {
+        requireNonNull(delimiter, "delimiter can't be null");
+        final List<ByteBuffer> nonNull = ListUtils.getNullableList(slices).stream().filter(Objects::nonNull).toList();
+        long length = Math.max(0, nonNull.size() - 1) * (long) delimiter.length;
+        for (final ByteBuffer slice : nonNull) {
+            length += slice.remaining();
+        }
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Concatenation exceeds the maximum array size");
+        }
+        final byte[] result = new byte[(int) length];
+        int position = 0;
+        for (int i = 0; i < nonNull.size(); i++) {
+            if (i > 0) {
+                System.arraycopy(delimiter, 0, result, position, delimiter.length);
+                position += delimiter.length;
+            }
+            final ByteBuffer slice = nonNull.get(i);
+            final int remaining = slice.remaining();
+            slice.get(slice.position(), result, position, remaining);
+            position += remaining;
+        }
+        return result;
+    }
+
+    /**
+     * Reverses the characters of a slice. Unlike {@link StringUtils#reverseString(String)}, which reverses UTF-16
+     * chars, the multibyte sequence of every code point is kept intact, so the result is valid UTF-8 again.
+     *
+     * @param bytes  the UTF-8 bytes
+     * @param offset the index of the first byte of the slice
+     * @param length the number of bytes of the slice
+     * @return the UTF-8 bytes of the reversed characters, or null if bytes is null
+     * @throws IndexOutOfBoundsException if the slice is out of the bounds of bytes
+     */
+    public static byte[] reverse(final byte[] bytes, final int offset, final int length) {
+        if (bytes == null) {
+            return null;
+        }
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final byte[] reversed = new byte[length];
+        final int end = offset + length;
+        for (int i = offset; i < end; ) {
+            final int n = Math.abs(sequenceLength(buffer, i, end));
+            System.arraycopy(bytes, i, reversed, end - i - n, n);
+            i += n;
+        }
+        return reversed;
+    }
+
+    /**
+     * Checks if two slices hold the same characters with the same frequencies, the byte level counterpart of
+     * {@link StringUtils#isPermutation(String, String)}. ASCII slices are counted byte by byte, others compare
+     * their sorted code points, with every malformed sequence decoded to U+FFFD like the JDK does.
+     *
+     * @param a       the first bytes
+     * @param aOffset the index of the first byte of the first slice
+     * @param aLength the number of bytes of the first slice
+     * @param b       the second bytes
+     * @param bOffset the index of the first byte of the second slice
+     * @param bLength the number of bytes of the second slice
+     * @return true if the slices are permutations of each other, false otherwise
+     * @throws IllegalArgumentException  if a or b is null
+     * @throws IndexOutOfBoundsException if a slice is out of the bounds of its array
+     */
+    public static boolean isPermutation(final byte[] a, final int aOffset, final int aLength,
+                                        final byte[] b, final int bOffset, final int bLength) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input slices must not be null");
+        }
+        Objects.checkFromIndexSize(aOffset, aLength, a.length);
+        Objects.checkFromIndexSize(bOffset, bLength, b.length);
+        if (isAscii(a, aOffset, aLength) && isAscii(b, bOffset, bLength)) {
+            // one byte per code point, so permutations have equal byte lengths
+            if (aLength != bLength) {
+                return false;
+            }
+            final int[] counts = new int[128];
+            for (int i = 0; i < aLength; i++) {
+                counts[a[aOffset + i]]++;
+                counts[b[bOffset + i]]--;
+            }
+            for (final int count : counts) {
+                if (count != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // malformed sequences of any length decode to U+FFFD, so only the code point counts have to match
+        final int[] aCodePoints = codePoints(ByteBuffer.wrap(a), aOffset, aOffset + aLength);
+        final int[] bCodePoints = codePoints(ByteBuffer.wrap(b), bOffset, bOffset + bLength);
+        if (aCodePoints.length != bCodePoints.length) {
+            return false;
+        }
+        Arrays.sort(aCodePoints);
+        Arrays.sort(bCodePoints);
+        return Arrays.equals(aCodePoints, bCodePoints);
+    }
+
+    /**
+     * Checks if two slices are at most one character insertion, deletion or replacement apart, the byte level
+     * counterpart of {@link StringUtils#isOneAway(String, String)}. Compares code points in place.
+     *
+     * @param a       the first bytes
+     * @param aOffset the index of the first byte of the first slice
+     * @param aLength the number of bytes of the first slice
+     * @param b       the second bytes
+     * @param bOffset the index of the first byte of the second slice
+     * @param bLength the number of bytes of the second slice
+     * @return true if the slices are at most one edit apart, false otherwise or if a or b is null
+     * @throws IndexOutOfBoundsException if a slice is out of the bounds of its array
+     */
+    public static boolean isOneAway(final byte[] a, final int aOffset, final int aLength,
+                                    final byte[] b, final int bOffset, final int bLength) {
+        if (a == null || b == null) {
+            return false;
+        }
+        Objects.checkFromIndexSize(aOffset, aLength, a.length);
+        Objects.checkFromIndexSize(bOffset, bLength, b.length);
+        final ByteBuffer aBuffer = ByteBuffer.wrap(a);
+        final ByteBuffer bBuffer = ByteBuffer.wrap(b);
+        final int aEnd = aOffset + aLength;
+        final int bEnd = bOffset + bLength;
+        final int aCount = codePointCount(aBuffer, aOffset, aEnd);
+        final int bCount = codePointCount(bBuffer, bOffset, bEnd);
+        if (Math.abs(aCount - bCount) > 1) {
+            return false;
+        }
+        final boolean aShorter = aCount < bCount;
+        final ByteBuffer shorter = aShorter ? aBuffer : bBuffer;
+        final ByteBuffer longer = aShorter ? bBuffer : aBuffer;
+        int i = aShorter ? aOffset : bOffset;
+        int j = aShorter ? bOffset : aOffset;
+        final int shorterEnd = aShorter ? aEnd : bEnd;
+        final int longerEnd = aShorter ? bEnd : aEnd;
+        boolean edited = false;
+        while (i < shorterEnd && j < longerEnd) {
+            final int m = sequenceLength(shorter, i, shorterEnd);
+            final int n = sequenceLength(longer, j, longerEnd);
+            if (codePointAt(shorter, i, m) != codePointAt(longer, j, n)) {
+                if (edited) {
+                    return false;
+                }
+                edited = true;
+                if (aCount != bCount) {
+                    // insertion into the shorter slice, only the longer one moves on
+                    j += Math.abs(n);
+                    continue;
+                }
+            }
+            i += Math.abs(m);
+            j += Math.abs(n);
+        }
+        return true;
+    }
+
+    /**
+     * Hashes a slice with xxHash64. For well-formed UTF-8 this equals {@link HashUtils#fastHash64(String)} of the
+     * decoded string, so keys hashed straight from a buffer match keys hashed as Strings. Malformed slices are hashed
+     * byte by byte and don't match their decoded string, whose replacement characters encode to other bytes.
+     *
+     * @param bytes  the UTF-8 bytes
+     * @param offset the index of the first byte of the slice
+     * @param length the number of bytes of the slice
+     * @return the 64-bit hash
+     * @throws IndexOutOfBoundsException if the slice is out of the bounds of bytes
+     */
+    public static long hash(final byte[] bytes, final int offset, final int length) {
+        return NonCryptoHash.XX_HASH_64.hash(requireNonNull(bytes, "bytes can't be null"), offset, length, 0L);
+    }
+
+    /**
+     * Hashes the remaining bytes of a buffer with xxHash64, see {@link #hash(byte[], int, int)} for malformed input.
+     *
+     * @param buffer the UTF-8 bytes
+     * @return the 64-bit hash
+     */
+    public static long hash(final ByteBuffer buffer) {
+        return NonCryptoHash.XX_HASH_64.hash(buffer);
+    }
+
+    /**
+     * Encodes characters as UTF-8 without creating an intermediate String. Unpaired surrogates are encoded as
+     * {@code '?'}, like {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @param chars the characters to encode
+     * @return the UTF-8 bytes
+     */
+    public static byte[] encode(final CharSequence chars) {
+        requireNonNull(chars, "chars can't be null");
+        int length = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars.length() && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        final byte[] bytes = new byte[length];
+        int position = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.charAt(i);
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | c >> 6);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars.length() && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                bytes[position++] = (byte) (0xF0 | codePoint >> 18);
+                bytes[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                bytes[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                bytes[position++] = '?';
+            } else {
+                bytes[position++] = (byte) (0xE0 | c >> 12);
+                bytes[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return bytes;
+    }
+
+    private static boolean contentEquals(final ByteBuffer buffer, final int from, final int to, final CharSequence chars) {
+        int j = 0;
+        for (int i = from; i < to; ) {
+            final int n = sequenceLength(buffer, i, to);
+            final int codePoint = codePointAt(buffer, i, n);
+            i += Math.abs(n);
+            if (Character.isBmpCodePoint(codePoint)) {
+                if (j >= chars.length() || chars.charAt(j++) != codePoint) {
+                    return false;
+                }
+            } else if (j + 1 >= chars.length() || chars.charAt(j++) != Character.highSurrogate(codePoint)
+                    || chars.charAt(j++) != Character.lowSurrogate(codePoint)) {
+                return false;
+            }
+        }
+        return j == chars.length();
+    }
+
+    private static boolean isAscii(final byte[] bytes, final int offset, final int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int codePointCount(final ByteBuffer buffer, final int from, final int to) {
+        int count = 0;
+        for (int i = from; i < to; i += Math.abs(sequenceLength(buffer, i, to))) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int[] codePoints(final ByteBuffer buffer, final int from, final int to) {
+        final int[] codePoints = new int[codePointCount(buffer, from, to)];
+        int count = 0;
+        for (int i = from; i < to; ) {
+            final int n = sequenceLength(buffer, i, to);
+            codePoints[count++] = codePointAt(buffer, i, n);
+            i += Math.abs(n);
+        }
+        return codePoints;
+    }
+
+    // Length of the well-formed sequence starting at i, or the negated length of the maximal subpart of an ill-formed
+    // one, which stands for a single U+FFFD: the lead byte and the continuation bytes valid so far
+    static int sequenceLength(final ByteBuffer buffer, final int i, final int end) {
+        final int lead = buffer.get(i) & 0xFF;
+        final int n;
+        int min = 0x80;
+        int max = 0xBF;
+        if (lead < 0x80) {
+            return 1;
+        } else if (lead >= 0xC2 && lead <= 0xDF) {
+            n = 2;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            n = 3;
+            // no overlong encodings; surrogates are checked below
+            min = lead == 0xE0 ? 0xA0 : min;
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            n = 4;
+            // no overlong encodings, nothing above U+10FFFF
+            min = lead == 0xF0 ? 0x90 : min;
+            max = lead == 0xF4 ? 0x8F : max;
+        } else {
+            return -1;
+        }
+        for (int k = 1; k < n; k++) {
+            if (i + k >= end) {
+                return -k;
+            }
+            final int next = buffer.get(i + k) & 0xFF;
+            if (next < (k == 1 ? min : 0x80) || next > (k == 1 ? max : 0xBF)) {
+                return -k;
+            }
+        }
+        // like the JDK decoder, an encoded surrogate is a single malformed unit of all three bytes
+        if (lead == 0xED && (buffer.get(i + 1) & 0xFF) >= 0xA0) {
+            return -n;
+        }
+        return n;
+    }
+
+    static int codePointAt(final ByteBuffer buffer, final int i, final int sequenceLength) {
+        return switch (sequenceLength) {
+            case 1 -> buffer.get(i);
+            case 2 -> (buffer.get(i) & 0x1F) << 6 | buffer.get(i + 1) & 0x3F;
+            case 3 -> (buffer.get(i) & 0x0F) << 12 | (buffer.get(i + 1) & 0x3F) << 6 | buffer.get(i + 2) & 0x3F;
+            case 4 -> (buffer.get(i) & 0x07) << 18 | (buffer.get(i + 1) & 0x3F) << 12
+                    | (buffer.get(i + 2) & 0x3F) << 6 | buffer.get(i + 3) & 0x3F;
+            default -> REPLACEMENT;
+        };
+    }
+}
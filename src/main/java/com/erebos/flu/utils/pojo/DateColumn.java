@@ -0,0 +1,60 @@
+package com.erebos.flu.utils.pojo;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * A column of parsed dates. Rows which could not be parsed are listed in the error table instead of failing the column.
+ *
+ * @param epochDays the parsed dates as {@link LocalDate#toEpochDay()}, {@link #INVALID} for rows with an error
+ * @param errors    the error messages by row index, sorted by index
+ */
+public record DateColumn(int[] epochDays, Map<Integer, String> errors) {
+
+    /**
+     * Epoch day stored for rows which could not be parsed.
+     */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * Checks if a row was parsed.
+     *
+     * @param index the row index
+     * @return true if the row was parsed, false if it has an error
+     */
+    public boolean isValid(final int index) {
+        return epochDays[index] != INVALID;
+    }
+
+    /**
+     * Returns the date of a row.
+     *
+     * @param index the row index
+     * @return the date, or null if the row has an error
+     */
+    public LocalDate date(final int index) {
+        return isValid(index) ? LocalDate.ofEpochDay(epochDays[index]) : null;
+    }
+
+    /**
+     * Converts the column to dates.
+     *
+     * @return the dates, null for rows with an error
+     */
+    public LocalDate[] toLocalDates() {
+        final LocalDate[] dates = new LocalDate[epochDays.length];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = date(i);
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,12 @@
+package com.erebos.flu.utils.pojo;
+
+/**
+ * A row of a join result. One side is null if the row of the other side had no match in an outer join.
+ *
+ * @param left  the row of the left list, or null
+ * @param right the row of the right list, or null
+ * @param <L>   the type of the left rows
+ * @param <R>   the type of the right rows
+ */
+public record JoinedPair<L, R>(L left, R right) {
+}
@@ -0,0 +1,124 @@
+package com.erebos.flu.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrentDoubleAccumulatorMapTest {
+
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 20_000;
+    private static final int KEYS = 4;
+
+    @Test
+    void testAddAndSum() {
+        final ConcurrentDoubleAccumulatorMap<String> accumulator = new ConcurrentDoubleAccumulatorMap<>();
+
+        accumulator.add("CC1", 100.0);
+        accumulator.add("CC1", 50.5);
+        accumulator.add("CC2", -10.0);
+
+        assertThat(accumulator.size(), is(2));
+        assertThat(accumulator.sum("CC1"), is(150.5));
+        assertThat(accumulator.sum("CC2"), is(-10.0));
+        assertThat(accumulator.sum("CC3"), is(0.0));
+        assertThat(accumulator.total(), is(140.5));
+    }
+
+    @Test
+    void testSnapshot() {
+        final ConcurrentDoubleAccumulatorMap<String> accumulator = new ConcurrentDoubleAccumulatorMap<>(3);
+        accumulator.add("CC1", 1.0);
+        accumulator.add("CC2", 2.0);
+
+        final ObjectDoubleMap<String> snapshot = accumulator.snapshot();
+        accumulator.add("CC1", 1.0);
+
+        assertThat(snapshot.size(), is(2));
+        assertThat(snapshot.getDouble("CC1"), is(1.0));
+        assertThat(snapshot.getDouble("CC2"), is(2.0));
+        assertThat(accumulator.sum("CC1"), is(2.0));
+    }
+
+    @Test
+    void testSnapshotThenReset() {
+        final ConcurrentDoubleAccumulatorMap<String> accumulator = new ConcurrentDoubleAccumulatorMap<>(1);
+        accumulator.add("CC1", 1.0);
+
+        final ObjectDoubleMap<String> snapshot = accumulator.snapshotThenReset();
+
+        assertThat(snapshot.getDouble("CC1"), is(1.0));
+        assertThat(accumulator.size(), is(0));
+        assertThat(accumulator.sum("CC1"), is(0.0));
+    }
+
+    @Test
+    void testConcurrentAdds() throws Exception {
+        final ConcurrentDoubleAccumulatorMap<String> accumulator = new ConcurrentDoubleAccumulatorMap<>();
+
+        runWriters(accumulator);
+
+        final ObjectDoubleMap<String> snapshot = accumulator.snapshot();
+        assertThat(snapshot.size(), is(KEYS));
+        for (int k = 0; k < KEYS; k++) {
+            assertThat(snapshot.getDouble("CC" + k), is((double) THREADS * ADDS_PER_THREAD / KEYS));
+        }
+    }
+
+    @Test
+    void testSnapshotThenResetLosesNoAddsUnderConcurrentWriters() throws Exception {
+        final ConcurrentDoubleAccumulatorMap<String> accumulator = new ConcurrentDoubleAccumulatorMap<>();
+        final ObjectDoubleMap<String> flushed = new ObjectDoubleMap<>();
+        final Thread flusher = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                accumulator.snapshotThenReset().forEachDouble(flushed::addTo);
+            }
+        });
+
+        flusher.start();
+        runWriters(accumulator);
+        flusher.interrupt();
+        flusher.join();
+        accumulator.snapshotThenReset().forEachDouble(flushed::addTo);
+
+        assertThat(flushed.sum(), is((double) THREADS * ADDS_PER_THREAD));
+    }
+
+    @Test
+    void testNullKeyAndInvalidStripeCount() {
+        final ConcurrentDoubleAccumulatorMap<String> accumulator = new ConcurrentDoubleAccumulatorMap<>();
+
+        assertThrows(NullPointerException.class, () -> accumulator.sum(null));
+        assertThrows(NullPointerException.class, () -> accumulator.add(null, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentDoubleAccumulatorMap<String>(0));
+    }
+
+    private static void runWriters(final ConcurrentDoubleAccumulatorMap<String> accumulator) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                        accumulator.add("CC" + i % KEYS, 1.0);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
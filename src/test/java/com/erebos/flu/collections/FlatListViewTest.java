@@ -0,0 +1,77 @@
+package com.erebos.flu.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlatListViewTest {
+
+    @Test
+    void testGetSizeAndIterationAcrossEmptyBuckets() {
+        final List<List<String>> buckets = List.of(List.of(), List.of("A", "B"), List.of(), new LinkedList<>(List.of("C")), List.of("D"));
+
+        final FlatListView<String> view = FlatListView.of(buckets);
+
+        assertThat(view.size(), is(4));
+        assertThat(view, is(List.of("A", "B", "C", "D")));
+        assertThat(view.get(2), is("C"));
+        assertThat(view.indexOf("D"), is(3));
+        final List<String> forEach = new ArrayList<>();
+        view.forEach(forEach::add);
+        assertThat(forEach, is(List.of("A", "B", "C", "D")));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(4));
+        assertThat(FlatListView.of(List.<List<String>>of()).isEmpty(), is(true));
+    }
+
+    @Test
+    void testViewReadsThroughAndIsReadOnly() {
+        final List<String> bucket = new ArrayList<>(List.of("A", "B"));
+        final FlatListView<String> view = FlatListView.of(List.of(bucket));
+
+        bucket.set(0, "Z");
+
+        assertThat(view.get(0), is("Z"));
+        assertThrows(UnsupportedOperationException.class, () -> view.add("C"));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        assertThrows(NullPointerException.class, () -> FlatListView.of(Arrays.asList(bucket, null)));
+    }
+
+    @Test
+    void testSpliteratorSplitsPerBucketAndKeepsOrder() {
+        final List<List<Integer>> buckets = new ArrayList<>();
+        for (int b = 0; b < 100; b++) {
+            final int start = b * 1000;
+            buckets.add(IntStream.range(start, start + 1000).boxed().toList());
+        }
+        final FlatListView<Integer> view = FlatListView.of(buckets);
+
+        final Spliterator<Integer> spliterator = view.spliterator();
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+
+        assertThat(prefix.estimateSize(), is(50_000L));
+        assertThat(spliterator.estimateSize(), is(50_000L));
+        assertThat(StreamSupport.stream(view.spliterator(), true).mapToLong(Integer::longValue).sum(), is(99_999L * 100_000 / 2));
+        assertThat(view.parallelStream().toList(), is(IntStream.range(0, 100_000).boxed().toList()));
+    }
+
+    @Test
+    void testSpliteratorSplitsInsideASingleBucket() {
+        final FlatListView<Integer> view = FlatListView.of(List.of(IntStream.range(0, 1000).boxed().toList()));
+        final Spliterator<Integer> spliterator = view.spliterator();
+        spliterator.tryAdvance(i -> { });
+
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+
+        assertThat(prefix.estimateSize() + spliterator.estimateSize(), is(999L));
+    }
+}
@@ -0,0 +1,139 @@
+package com.erebos.flu.collections;
+
+import com.erebos.flu.collections.FuzzyStringIndex.Strategy;
+import com.erebos.flu.utils.EditDistanceUtils;
+import com.erebos.flu.utils.EditDistanceUtils.Match;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FuzzyStringIndexTest {
+
+    private static final List<String> NAMES = Arrays.asList("Meier", "Mayer", null, "Maier", "Meyer", "Müller",
+            "Meier", "Mei", "Schmidt", "Schmitt", "東京", "😀Meier");
+
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testAddAndContains(final Strategy strategy) {
+        final FuzzyStringIndex index = FuzzyStringIndex.of(NAMES, strategy);
+
+        assertThat(index.size(), is(10));
+        assertThat(index.strategy(), is(strategy));
+        assertThat(index.contains("Meier"), is(true));
+        assertThat(index.contains("東京"), is(true));
+        assertThat(index.contains("Meir"), is(false));
+        assertThat(index.contains(null), is(false));
+        assertThat(index.add("Meier"), is(false));
+        assertThat(index.add(null), is(false));
+        assertThat(index.add("Meir"), is(true));
+        assertThat(index.contains("Meir"), is(true));
+        assertThat(index.size(), is(11));
+        // lone surrogates would come back from toByteArray as '?'
+        assertThrows(IllegalArgumentException.class, () -> index.add("Mei\uD83D"));
+        assertThrows(IllegalArgumentException.class, () -> index.add("\uDE00Meier"));
+        assertThat(index.add("Mei\uD83D\uDE00"), is(true));
+        assertThat(index.size(), is(12));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testSearch(final Strategy strategy) {
+        final FuzzyStringIndex index = FuzzyStringIndex.of(NAMES, strategy);
+
+        assertThat(index.search("Meier", 1), contains(new Match<>("Meier", 0), new Match<>("Maier", 1),
+                new Match<>("Meyer", 1), new Match<>("😀Meier", 1)));
+        assertThat(index.search("Schmid", 1), contains(new Match<>("Schmidt", 1)));
+        assertThat(index.search("東都", 1), contains(new Match<>("東京", 1)));
+        assertThat(index.search("Xyz", 1), is(empty()));
+        assertThat(index.search(null, 1), is(empty()));
+        assertThat(new FuzzyStringIndex(strategy).search("Meier", 2), is(empty()));
+        assertThrows(IllegalArgumentException.class, () -> index.search("Meier", -1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testMatchesLinearScanOnRandomInput(final Strategy strategy) {
+        final Random random = new Random(17);
+        final Set<String> dictionary = new LinkedHashSet<>();
+        while (dictionary.size() < 3_000) {
+            dictionary.add(randomWord(random, 1 + random.nextInt(10)));
+        }
+        final FuzzyStringIndex index = new FuzzyStringIndex(strategy);
+        dictionary.forEach(index::add);
+        final List<String> entries = new ArrayList<>(dictionary);
+        for (int round = 0; round < 200; round++) {
+            final String query = random.nextBoolean() ? entries.get(random.nextInt(entries.size()))
+                    : randomWord(random, random.nextInt(12));
+            final int maxDistance = random.nextInt(4);
+            assertThat(query + " " + maxDistance, index.search(query, maxDistance), is(linearScan(entries, query, maxDistance)));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testSerializationRoundTrip(final Strategy strategy) {
+        final Random random = new Random(3);
+        final FuzzyStringIndex index = new FuzzyStringIndex(strategy);
+        final List<String> entries = new ArrayList<>(List.of("Zürich", "東京", "😀"));
+        for (int i = 0; i < 500; i++) {
+            entries.add(randomWord(random, 3 + random.nextInt(6)));
+        }
+        entries.forEach(index::add);
+        final byte[] bytes = index.toByteArray();
+        final FuzzyStringIndex copy = FuzzyStringIndex.fromByteArray(bytes);
+
+        assertThat(copy.strategy(), is(strategy));
+        assertThat(copy.size(), is(index.size()));
+        // entries take about their UTF-8 length, the tree about three bytes more per entry
+        assertThat(bytes.length, lessThan(entries.stream().mapToInt(String::length).sum() + 5 * entries.size()));
+        for (final String query : List.of("Zürch", "東", "abcd", entries.get(100))) {
+            assertThat(copy.search(query, 2), is(index.search(query, 2)));
+        }
+        assertThat(copy.add("Zürich"), is(false));
+        assertThat(copy.add("Zürch"), is(true));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testFromByteArrayRejectsInvalidInput(final Strategy strategy) {
+        final byte[] bytes = FuzzyStringIndex.of(List.of("abc", "abd"), strategy).toByteArray();
+
+        assertThrows(IllegalArgumentException.class, () -> FuzzyStringIndex.fromByteArray(new byte[]{1, 2, 3, 4, 0}));
+        assertThrows(IllegalArgumentException.class, () -> FuzzyStringIndex.fromByteArray(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> FuzzyStringIndex.fromByteArray(Arrays.copyOf(bytes, bytes.length + 1)));
+    }
+
+    private static List<Match<String>> linearScan(final List<String> entries, final String query, final int maxDistance) {
+        final List<Match<String>> matches = new ArrayList<>();
+        for (final String entry : entries) {
+            final int distance = EditDistanceUtils.levenshtein(query, entry, maxDistance);
+            if (distance >= 0) {
+                matches.add(new Match<>(entry, distance));
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance));
+        return matches;
+    }
+
+    private static String randomWord(final Random random, final int length) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append("abcdeü".charAt(random.nextInt(6)));
+        }
+        return builder.toString();
+    }
+}
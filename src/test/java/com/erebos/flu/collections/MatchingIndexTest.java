@@ -0,0 +1,56 @@
+package com.erebos.flu.collections;
+
+import com.erebos.flu.collections.MatchingIndex.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MatchingIndexTest {
+
+    @Test
+    void testStrategyChoice() {
+        assertThat(MatchingIndex.of(List.of(1, 2, 3)).strategy(), is(Strategy.SORTED));
+        assertThat(MatchingIndex.of(Arrays.asList(1, null, 3)).strategy(), is(Strategy.SORTED));
+        assertThat(MatchingIndex.of(List.of(3, 1, 2)).strategy(), is(Strategy.HASH));
+        assertThat(MatchingIndex.of(List.of()).strategy(), is(Strategy.HASH));
+        assertThat(MatchingIndex.of(List.of(List.of(1), List.of(2))).strategy(), is(Strategy.HASH));
+    }
+
+    @Test
+    void testBothStrategiesFindTheFirstOccurrence() {
+        final String first = new String("B");
+        final List<String> keys = Arrays.asList("C", first, null, "A", new String("B"));
+
+        for (final Strategy strategy : Strategy.values()) {
+            final MatchingIndex<String> index = MatchingIndex.of(keys, strategy);
+
+            assertThat(index.partnerOf("B"), sameInstance(first));
+            assertThat(index.contains("A"), is(true));
+            assertThat(index.contains("D"), is(false));
+            assertThat(index.contains(null), is(false));
+            assertThat(index.contains(1), is(false));
+        }
+    }
+
+    @Test
+    void testSortedStrategyDecidesByEquals() {
+        // 1.0 and 1.00 compare equal but are not equal
+        final MatchingIndex<BigDecimal> index = MatchingIndex.of(List.of(new BigDecimal("1.0"), new BigDecimal("2")), Strategy.SORTED);
+
+        assertThat(index.contains(new BigDecimal("1.0")), is(true));
+        assertThat(index.contains(new BigDecimal("1.00")), is(false));
+    }
+
+    @Test
+    void testSortedStrategyRequiresComparableKeys() {
+        assertThrows(ClassCastException.class, () -> MatchingIndex.of(List.of(new Object(), new Object()), Strategy.SORTED));
+        assertThrows(NullPointerException.class, () -> MatchingIndex.of(null));
+    }
+}
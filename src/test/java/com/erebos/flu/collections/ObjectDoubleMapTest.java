@@ -0,0 +1,142 @@
+package com.erebos.flu.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ObjectDoubleMapTest {
+
+    @Test
+    void testAddToInsertsAndAccumulates() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>();
+
+        assertThat(map.addTo("CC1", 100.0), is(100.0));
+        assertThat(map.addTo("CC1", 50.5), is(150.5));
+        assertThat(map.addTo("CC2", -10.0), is(-10.0));
+
+        assertThat(map.size(), is(2));
+        assertThat(map.getDouble("CC1"), is(150.5));
+        assertThat(map.getDouble("CC2"), is(-10.0));
+        assertThat(map.getDouble("CC3"), is(0.0));
+        assertThat(map.getDouble("CC3", Double.NaN), is(Double.NaN));
+    }
+
+    @Test
+    void testPutDoubleReturnsPreviousValue() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>();
+
+        assertThat(map.putDouble("k1", 1.0), is(0.0));
+        assertThat(map.putDouble("k1", 2.0), is(1.0));
+        assertThat(map.getDouble("k1"), is(2.0));
+    }
+
+    @Test
+    void testNullKey() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>();
+        map.addTo(null, 1.0);
+        map.addTo(null, 2.0);
+
+        assertThat(map.containsKey(null), is(true));
+        assertThat(map.get(null), is(3.0));
+        assertThat(map.remove(null), is(3.0));
+        assertThat(map.containsKey(null), is(false));
+    }
+
+    @Test
+    void testNullValueIsRejected() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>();
+
+        assertThrows(NullPointerException.class, () -> map.put("k1", null));
+    }
+
+    @Test
+    void testNegativeExpectedSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ObjectDoubleMap<String>(-1));
+    }
+
+    @Test
+    void testSumRoundAndScale() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>(Map.of("k1", 2.8899, "k2", 1.0111));
+
+        assertEquals(3.901, map.sum(), 1e-9);
+        map.round(2);
+        assertThat(map.getDouble("k1"), is(2.89));
+        assertThat(map.getDouble("k2"), is(1.01));
+        map.scale(2.0);
+        assertThat(map.getDouble("k1"), is(5.78));
+        assertThat(map.getDouble("k2"), is(2.02));
+    }
+
+    @Test
+    void testBehavesLikeHashMapUnderRandomOperations() {
+        final ObjectDoubleMap<Integer> map = new ObjectDoubleMap<>(4);
+        final Map<Integer, Double> expected = new HashMap<>();
+        final SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            final int key = random.nextInt(2_000);
+            if (random.nextInt(4) == 0) {
+                assertThat(map.remove(key), is(expected.remove(key)));
+            } else {
+                map.addTo(key, 1.0);
+                expected.merge(key, 1.0, Double::sum);
+            }
+        }
+
+        assertThat(map.size(), is(expected.size()));
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertThat(map.hashCode(), is(expected.hashCode()));
+    }
+
+    @Test
+    void testMapViewSupportsReplaceAllAndIteratorRemove() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>(Map.of("a", 1.0, "b", 2.0, "c", 3.0));
+
+        map.replaceAll((k, v) -> v * 10);
+        map.entrySet().removeIf(e -> e.getKey().equals("b"));
+
+        assertEquals(Map.of("a", 10.0, "c", 30.0), map);
+        assertThat(map.get("b"), is(nullValue()));
+    }
+
+    @Test
+    void testForEachDouble() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>(Map.of("a", 1.0, "b", 2.0));
+        final Map<String, Double> copy = new HashMap<>();
+
+        map.forEachDouble(copy::put);
+
+        assertEquals(Map.of("a", 1.0, "b", 2.0), copy);
+    }
+
+    @Test
+    void testIteratorFailsOnConcurrentModification() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>(Map.of("a", 1.0, "b", 2.0));
+        final Iterator<Map.Entry<String, Double>> iterator = map.entrySet().iterator();
+        iterator.next();
+        map.addTo("c", 1.0);
+
+        assertThrows(java.util.ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void testClear() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>(Map.of("a", 1.0, "b", 2.0));
+        map.clear();
+
+        assertThat(map.isEmpty(), is(true));
+        assertThat(map.sum(), is(0.0));
+        map.addTo("a", 1.0);
+        assertThat(map.size(), is(1));
+    }
+}
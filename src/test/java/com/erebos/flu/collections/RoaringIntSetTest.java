@@ -0,0 +1,196 @@
+package com.erebos.flu.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RoaringIntSetTest {
+
+    @Test
+    void testAddRemoveContains() {
+        final RoaringIntSet set = new RoaringIntSet();
+
+        assertThat(set.add(5), is(true));
+        assertThat(set.add(5), is(false));
+        assertThat(set.add(-3), is(true));
+        assertThat(set.add(Integer.MAX_VALUE), is(true));
+        assertThat(set.add(Integer.MIN_VALUE), is(true));
+
+        assertThat(set.contains(5), is(true));
+        assertThat(set.contains(6), is(false));
+        assertThat(set.cardinality(), is(4L));
+        assertThat(set.toString(), is("[-2147483648, -3, 5, 2147483647]"));
+
+        assertThat(set.remove(5), is(true));
+        assertThat(set.remove(5), is(false));
+        assertThat(set.contains(5), is(false));
+        assertThat(set.cardinality(), is(3L));
+    }
+
+    @Test
+    void testMatchesTreeSetAcrossContainerForms() {
+        final Random random = new Random(42);
+        final RoaringIntSet set = new RoaringIntSet();
+        final TreeSet<Integer> reference = new TreeSet<>();
+        // dense enough in the first high halves to grow arrays into bitmaps and shrink them back
+        for (int i = 0; i < 40_000; i++) {
+            final int value = random.nextInt(3 << 16) - (1 << 16);
+            assertThat(set.add(value), is(reference.add(value)));
+        }
+        for (int i = 0; i < 30_000; i++) {
+            final int value = random.nextInt(3 << 16) - (1 << 16);
+            assertThat(set.remove(value), is(reference.remove(value)));
+        }
+
+        assertThat(set.cardinality(), is((long) reference.size()));
+        assertThat(set.toArray(), is(reference.stream().mapToInt(Integer::intValue).toArray()));
+        final List<Integer> iterated = new ArrayList<>();
+        set.iterator().forEachRemaining((Integer value) -> iterated.add(value));
+        assertThat(iterated, is(new ArrayList<>(reference)));
+    }
+
+    @Test
+    void testSetOperationsMatchTreeSet() {
+        final Random random = new Random(7);
+        final int[] left = random.ints(20_000, 0, 200_000).toArray();
+        final int[] right = random.ints(60_000, 100_000, 200_000).toArray();
+        final Set<Integer> leftSet = box(left);
+        final Set<Integer> rightSet = box(right);
+
+        final Set<Integer> and = new TreeSet<>(leftSet);
+        and.retainAll(rightSet);
+        final Set<Integer> or = new TreeSet<>(leftSet);
+        or.addAll(rightSet);
+        final Set<Integer> andNot = new TreeSet<>(leftSet);
+        andNot.removeAll(rightSet);
+        final Set<Integer> xor = new TreeSet<>(or);
+        xor.removeAll(and);
+
+        final RoaringIntSet a = RoaringIntSet.of(left);
+        final RoaringIntSet b = RoaringIntSet.of(right);
+        assertThat(box(RoaringIntSet.and(a, b).toArray()), is(and));
+        assertThat(box(RoaringIntSet.or(a, b).toArray()), is(or));
+        assertThat(box(RoaringIntSet.andNot(a, b).toArray()), is(andNot));
+        assertThat(box(RoaringIntSet.xor(a, b).toArray()), is(xor));
+        // the operands are left untouched
+        assertThat(a, is(RoaringIntSet.of(left)));
+        assertThat(b, is(RoaringIntSet.of(right)));
+    }
+
+    @Test
+    void testRankAndSelect() {
+        final RoaringIntSet set = RoaringIntSet.of(-70_000, -1, 0, 3, 70_000, 70_001);
+
+        assertThat(set.rank(-70_001), is(0L));
+        assertThat(set.rank(-1), is(2L));
+        assertThat(set.rank(2), is(3L));
+        assertThat(set.rank(Integer.MAX_VALUE), is(6L));
+        assertThat(set.select(0), is(-70_000));
+        assertThat(set.select(4), is(70_000));
+        for (int i = 0; i < 6; i++) {
+            assertThat(set.rank(set.select(i)), is(i + 1L));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> set.select(6));
+    }
+
+    @Test
+    void testRunOptimizeKeepsValuesAndShrinks() {
+        final RoaringIntSet set = new RoaringIntSet();
+        for (int i = 1_000; i < 200_000; i++) {
+            set.add(i);
+        }
+        set.add(500_000);
+        final int[] before = set.toArray();
+        final int sizeBefore = set.serializedSize();
+
+        set.runOptimize();
+
+        assertThat(set.serializedSize(), lessThan(sizeBefore / 100));
+        assertThat(set.toArray(), is(before));
+        assertThat(set.rank(150_000), is(149_001L));
+        assertThat(set.select(149_000), is(150_000));
+        // runs are split, extended and merged in place
+        assertThat(set.remove(100_000), is(true));
+        assertThat(set.contains(100_000), is(false));
+        assertThat(set.add(999), is(true));
+        assertThat(set.add(100_000), is(true));
+        assertThat(set.cardinality(), is(before.length + 1L));
+        assertThat(RoaringIntSet.and(set, RoaringIntSet.of(999, 100_000, 300_000)), is(RoaringIntSet.of(999, 100_000)));
+    }
+
+    @Test
+    void testRunContainersFallBackOnceRunsStopPayingOff() {
+        final RoaringIntSet set = new RoaringIntSet();
+        for (int i = 0; i < 3_000; i++) {
+            set.add(i);
+            set.add((1 << 16) + i * 7 % (1 << 16));
+            set.add((1 << 16) + (i * 7 + 1) % (1 << 16));
+        }
+        for (int i = 2 << 16; i < 3 << 16; i++) {
+            set.add(i);
+        }
+        set.runOptimize();
+        final Set<Integer> expected = box(set.toArray());
+
+        for (int i = 0; i < 3_000; i += 2) {
+            set.remove(i);
+            expected.remove(i);
+        }
+        for (int i = 2 << 16; i < 3 << 16; i += 2) {
+            set.remove(i);
+            expected.remove(i);
+        }
+        for (int i = 3_000; i < 12_000; i += 3) {
+            set.add((1 << 16) + i * 7 % (1 << 16));
+            expected.add((1 << 16) + i * 7 % (1 << 16));
+        }
+
+        assertThat(box(set.toArray()), is(expected));
+        // the same values in array and bitmap containers from the start
+        final RoaringIntSet plain = RoaringIntSet.of(set.toArray());
+        assertThat(set.serializedSize(), is(plain.serializedSize()));
+        assertThat(set, is(plain));
+    }
+
+    @Test
+    void testSerializationRoundTrip() {
+        final RoaringIntSet set = RoaringIntSet.of(new Random(3).ints(50_000, -100_000, 100_000).toArray());
+        for (int i = 1 << 20; i < (1 << 20) + 10_000; i++) {
+            set.add(i);
+        }
+        set.runOptimize();
+
+        final byte[] bytes = set.toByteArray();
+
+        assertThat(bytes.length, is(set.serializedSize()));
+        assertThat(RoaringIntSet.fromByteArray(bytes), is(set));
+        assertThat(RoaringIntSet.fromByteArray(bytes).hashCode(), is(set.hashCode()));
+        assertThat(RoaringIntSet.fromByteArray(new RoaringIntSet().toByteArray()).isEmpty(), is(true));
+        assertThrows(IllegalArgumentException.class, () -> RoaringIntSet.fromByteArray(new byte[]{1, 2, 3, 4, 5}));
+        assertThrows(IllegalArgumentException.class, () -> RoaringIntSet.fromByteArray(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test
+    void testAdapters() {
+        assertThat(RoaringIntSet.fromList(List.of(3, 1, 3, -2)), is(RoaringIntSet.of(-2, 1, 3)));
+        assertThat(RoaringIntSet.fromLongs(Set.of(3L, 1L, -2L)), is(RoaringIntSet.of(-2, 1, 3)));
+        assertThrows(IllegalArgumentException.class, () -> RoaringIntSet.fromLongs(Set.of(1L << 31)));
+        assertThrows(NullPointerException.class, () -> RoaringIntSet.fromList(Arrays.asList(1, null)));
+    }
+
+    private static Set<Integer> box(final int[] values) {
+        final Set<Integer> set = new TreeSet<>();
+        Arrays.stream(values).forEach(set::add);
+        return set;
+    }
+}
@@ -0,0 +1,35 @@
+package com.erebos.flu.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StringInternerTest {
+
+    @Test
+    void testInternReturnsCanonicalInstance() {
+        final StringInterner interner = new StringInterner(16);
+        final String first = new String("Sales");
+        final String second = new String("Sales");
+
+        assertThat(interner.intern(first), sameInstance(first));
+        assertThat(interner.intern(second), sameInstance(first));
+        assertThat(interner.intern(null), nullValue());
+    }
+
+    @Test
+    void testCapacityIsBoundedAndRoundedUp() {
+        final StringInterner interner = new StringInterner(5);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(interner.intern("name" + i), is("name" + i));
+        }
+        assertThat(interner.capacity(), is(8));
+        assertThat(new StringInterner(1).capacity(), is(1));
+        assertThrows(IllegalArgumentException.class, () -> new StringInterner(0));
+    }
+}
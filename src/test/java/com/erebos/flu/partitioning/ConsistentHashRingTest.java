@@ -0,0 +1,25 @@
+package com.erebos.flu.partitioning;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Cases specific to {@link ConsistentHashRing}, the shared contract is checked in {@link PartitionerTest}.
+ */
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("node-a", "node-b", "node-c", "node-d");
+
+    @Test
+    void testRingWrapsAroundAndValidatesVirtualNodes() {
+        final ConsistentHashRing<String> ring = new ConsistentHashRing<>(NODES, 1, Long::parseLong);
+
+        assertThat(ring.partitionOfHash(Long.MAX_VALUE), is(ring.partitionOfHash(Long.MIN_VALUE)));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<String>(NODES, 0, Long::parseLong));
+    }
+}
@@ -0,0 +1,133 @@
+package com.erebos.flu.partitioning;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The contract of {@link Partitioner}, checked for every implementation.
+ */
+class PartitionerTest {
+
+    private static final List<String> NODES = List.of("node-a", "node-b", "node-c", "node-d");
+    private static final List<String> KEYS = keys(100_000);
+
+    private static Stream<Arguments> providePartitioners() {
+        return Stream.of(
+                Arguments.of("ConsistentHashRing", (Function<List<String>, Partitioner<String>>) ConsistentHashRing::forStrings),
+                Arguments.of("RendezvousPartitioner", (Function<List<String>, Partitioner<String>>) RendezvousPartitioner::forStrings)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("providePartitioners")
+    void testAssignKeysMatchesPartitionAndIsDeterministic(final String name,
+                                                          final Function<List<String>, Partitioner<String>> factory) {
+        final Partitioner<String> partitioner = factory.apply(NODES);
+
+        final int[] partitions = partitioner.assignKeys(KEYS);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(name, partitions[i], is(partitioner.partition(KEYS.get(i))));
+            assertThat(name, partitioner.nodeOf(KEYS.get(i)), is(NODES.get(partitions[i])));
+        }
+        assertThat(name, factory.apply(NODES).assignKeys(KEYS), is(partitions));
+    }
+
+    @ParameterizedTest
+    @MethodSource("providePartitioners")
+    void testNodeOrderDoesNotMatter(final String name, final Function<List<String>, Partitioner<String>> factory) {
+        final List<String> reversed = new ArrayList<>(NODES);
+        Collections.reverse(reversed);
+        final Partitioner<String> partitioner = factory.apply(NODES);
+        final Partitioner<String> reversedPartitioner = factory.apply(reversed);
+
+        for (final String key : KEYS.subList(0, 10_000)) {
+            assertThat(name, reversedPartitioner.nodeOf(key), is(partitioner.nodeOf(key)));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("providePartitioners")
+    void testKeysAreBalanced(final String name, final Function<List<String>, Partitioner<String>> factory) {
+        final int[] counts = new int[NODES.size()];
+        for (final int partition : factory.apply(NODES).assignKeys(KEYS)) {
+            counts[partition]++;
+        }
+
+        final double mean = (double) KEYS.size() / NODES.size();
+        for (final int count : counts) {
+            assertTrue(Math.abs(count - mean) < 0.2 * mean, name + " unbalanced: " + count);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("providePartitioners")
+    void testAddingNodeOnlyMovesKeysToTheNewNode(final String name,
+                                                 final Function<List<String>, Partitioner<String>> factory) {
+        final Partitioner<String> before = factory.apply(NODES);
+        final Partitioner<String> after = before.withNode("node-e");
+
+        int moved = 0;
+        for (final String key : KEYS) {
+            final String oldNode = before.nodeOf(key);
+            final String newNode = after.nodeOf(key);
+            if (!oldNode.equals(newNode)) {
+                assertThat(name, newNode, is("node-e"));
+                moved++;
+            }
+        }
+        assertTrue(Math.abs(moved - KEYS.size() / 5.0) < 0.05 * KEYS.size(), name + " moved: " + moved);
+        assertThat(name, after.nodes().size(), is(5));
+    }
+
+    @ParameterizedTest
+    @MethodSource("providePartitioners")
+    void testRemovingNodeOnlyMovesItsKeys(final String name, final Function<List<String>, Partitioner<String>> factory) {
+        final Partitioner<String> before = factory.apply(NODES);
+        final Partitioner<String> after = before.withoutNode("node-b");
+
+        // partitions index the nodes of their own partitioner, so keys are compared by node
+        for (final String key : KEYS) {
+            final String oldNode = before.nodeOf(key);
+            if (!oldNode.equals("node-b")) {
+                assertThat(name, after.nodeOf(key), is(oldNode));
+            }
+        }
+        assertThat(name, after.nodes(), is(List.of("node-a", "node-c", "node-d")));
+        assertThat(name, after.withNode("node-b").assignKeys(KEYS),
+                is(factory.apply(List.of("node-a", "node-c", "node-d", "node-b")).assignKeys(KEYS)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("providePartitioners")
+    void testInvalidNodes(final String name, final Function<List<String>, Partitioner<String>> factory) {
+        final Partitioner<String> partitioner = factory.apply(List.of("node-a"));
+
+        assertThrows(IllegalArgumentException.class, () -> factory.apply(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> factory.apply(List.of("node-a", "node-a")));
+        assertThrows(IllegalArgumentException.class, () -> partitioner.withNode("node-a"));
+        assertThrows(IllegalArgumentException.class, () -> partitioner.withoutNode("node-x"));
+        assertThrows(IllegalArgumentException.class, () -> partitioner.withoutNode("node-a"));
+        assertThat(name, partitioner.partition("any key"), is(0));
+    }
+
+    private static List<String> keys(final int size) {
+        final List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add("ProfitCenter" + i + "/CostCenter" + i % 97);
+        }
+        return keys;
+    }
+}
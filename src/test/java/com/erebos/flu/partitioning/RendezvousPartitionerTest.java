@@ -0,0 +1,28 @@
+package com.erebos.flu.partitioning;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Cases specific to {@link RendezvousPartitioner}, the shared contract is checked in {@link PartitionerTest}.
+ */
+class RendezvousPartitionerTest {
+
+    private static final List<String> NODES = List.of("node-a", "node-b", "node-c", "node-d");
+
+    @Test
+    void testPartitionUsesTheKeyHash() {
+        final RendezvousPartitioner<String> partitioner = new RendezvousPartitioner<>(NODES, Long::parseLong);
+
+        for (long hash = -500; hash < 500; hash++) {
+            assertThat(partitioner.partition(Long.toString(hash)), is(partitioner.partitionOfHash(hash)));
+        }
+        assertThat(partitioner.partition("007"), is(partitioner.partition("7")));
+        assertThrows(NullPointerException.class, () -> new RendezvousPartitioner<String>(NODES, null));
+    }
+}
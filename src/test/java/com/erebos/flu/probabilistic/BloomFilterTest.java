@@ -0,0 +1,98 @@
+package com.erebos.flu.probabilistic;
+
+import com.erebos.flu.utils.pojo.CostCenter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int ELEMENTS = 10_000;
+
+    @Test
+    void testNoFalseNegativesAndFppNearTarget() {
+        final BloomFilter<String> filter = BloomFilter.forStrings(ELEMENTS, 0.01);
+        for (int i = 0; i < ELEMENTS; i++) {
+            filter.put("key-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < ELEMENTS; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < ELEMENTS * 0.02, "false positives: " + falsePositives);
+        assertTrue(filter.expectedFpp() < 0.02);
+    }
+
+    @Test
+    void testOfGetterAndSerializationRoundTrip() {
+        final List<CostCenter> costCenters = List.of(new CostCenter("CC1", 0, "CC1"), new CostCenter("CC2", 0, "CC1"));
+        final BloomFilter<String> filter = BloomFilter.of(costCenters, CostCenter::shortName, 0.01, BloomFilterTest::hash);
+
+        final BloomFilter<String> copy = BloomFilter.fromByteArray(filter.toByteArray(), BloomFilterTest::hash);
+
+        assertTrue(copy.mightContain("CC1"));
+        assertTrue(copy.mightContain("CC2"));
+        assertThat(copy.toByteArray(), is(filter.toByteArray()));
+    }
+
+    @Test
+    void testMerge() {
+        final BloomFilter<String> left = BloomFilter.forStrings(100, 0.01);
+        final BloomFilter<String> right = BloomFilter.forStrings(100, 0.01);
+        left.put("A");
+        right.put("B");
+
+        left.merge(right);
+
+        assertTrue(left.mightContain("A"));
+        assertTrue(left.mightContain("B"));
+        assertThrows(IllegalArgumentException.class, () -> left.merge(BloomFilter.forStrings(10_000, 0.01)));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.forStrings(-1, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.forStrings(10, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.fromByteArray(new byte[]{1, 2, 3}, BloomFilterTest::hash));
+        final byte[] truncated = BloomFilter.forStrings(10, 0.01).toByteArray();
+        assertThrows(IllegalArgumentException.class,
+                () -> BloomFilter.fromByteArray(Arrays.copyOf(truncated, truncated.length - 1), BloomFilterTest::hash));
+        assertThrows(IllegalArgumentException.class,
+                () -> BloomFilter.fromByteArray(CuckooFilter.forStrings(10).toByteArray(), BloomFilterTest::hash));
+    }
+
+    @Test
+    void testSerializedSizeDoesNotOverflow() {
+        // 256M words take 2 GiB: too large for a byte array, not a negative size
+        assertThrows(IllegalStateException.class, () -> Hashes.serializedSize(3 * Integer.BYTES, 1 << 28, Long.BYTES));
+        assertThrows(IllegalStateException.class, () -> Hashes.serializedSize(5 * Integer.BYTES, 1 << 30, Short.BYTES));
+        assertThat(Hashes.serializedSize(3 * Integer.BYTES, (1 << 28) - 3, Long.BYTES), is(Integer.MAX_VALUE - 11));
+    }
+
+    @Test
+    void testCreateOnlyAcceptsSerializableFilters() {
+        final long maxWords = Hashes.maxSerializedElements(3 * Integer.BYTES, Long.BYTES);
+        assertThat(Hashes.serializedSize(3 * Integer.BYTES, (int) maxWords, Long.BYTES) <= Hashes.MAX_SERIALIZED_SIZE, is(true));
+        assertThrows(IllegalStateException.class, () -> Hashes.serializedSize(3 * Integer.BYTES, (int) maxWords + 1, Long.BYTES));
+        // about 300M words at fpp 0.5, below Integer.MAX_VALUE words but above what toByteArray can write
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.forStrings(13_300_000_000L, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> CountingBloomFilter.forStrings(5_000_000_000L, 0.5));
+        // 2^30 slots, the former limit, take 2 GiB
+        assertThrows(IllegalArgumentException.class, () -> CuckooFilter.forStrings((long) ((1 << 29) * 0.95) + 1));
+    }
+
+    private static long hash(final String value) {
+        return Hashes.STRING_HASHER.applyAsLong(value);
+    }
+}
@@ -0,0 +1,60 @@
+package com.erebos.flu.probabilistic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    @Test
+    void testEstimatesNeverUndercountAndStayWithinBounds() {
+        final CountMinSketch<String> sketch = CountMinSketch.forStrings(0.001, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("key-" + i, i % 10 + 1);
+        }
+
+        int exceeded = 0;
+        for (int i = 0; i < 10_000; i++) {
+            final long estimate = sketch.estimateCount("key-" + i);
+            assertTrue(estimate >= i % 10 + 1);
+            if (estimate > i % 10 + 1 + 0.001 * sketch.totalCount()) {
+                exceeded++;
+            }
+        }
+
+        assertThat(sketch.totalCount(), is(55_000L));
+        assertTrue(exceeded < 100, "exceeded: " + exceeded);
+    }
+
+    @Test
+    void testParallelCollectorMergeAndSerialization() {
+        final List<Integer> values = IntStream.range(0, 50_000).map(i -> i % 7).boxed().toList();
+
+        final CountMinSketch<Integer> sketch = values.parallelStream()
+                .collect(CountMinSketch.collector(value -> value, 0.01, 0.01, value -> Hashes.mix64(value)));
+        final CountMinSketch<Integer> copy = CountMinSketch.fromByteArray(sketch.toByteArray(), value -> Hashes.mix64(value));
+
+        assertThat(sketch.totalCount(), is(50_000L));
+        assertThat(copy.estimateCount(3), is(sketch.estimateCount(3)));
+        assertTrue(copy.estimateCount(3) >= 50_000 / 7);
+        assertThrows(IllegalArgumentException.class,
+                () -> sketch.merge(CountMinSketch.create(0.1, 0.01, value -> Hashes.mix64(value))));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        // 271,828,183 counters fit into an array, but not their 8 bytes each into the serialized form
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.forStrings(1e-8, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.forStrings(0.0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.forStrings(0.01, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.forStrings(0.01, 0.01).add("A", -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> CountMinSketch.fromByteArray(new byte[16], Hashes.STRING_HASHER));
+    }
+}
@@ -0,0 +1,63 @@
+package com.erebos.flu.probabilistic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void testPutAndRemove() {
+        final CountingBloomFilter<String> filter = CountingBloomFilter.forStrings(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("key-" + i);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(filter.remove("key-" + i));
+        }
+
+        int stillContained = 0;
+        for (int i = 0; i < 500; i++) {
+            if (filter.mightContain("key-" + i)) {
+                stillContained++;
+            }
+        }
+        for (int i = 500; i < 1000; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+        }
+        assertTrue(stillContained < 20, "still contained: " + stillContained);
+    }
+
+    @Test
+    void testDuplicatesNeedAsManyRemovals() {
+        final CountingBloomFilter<String> filter = CountingBloomFilter.forStrings(10, 0.01);
+        filter.put("A");
+        filter.put("A");
+
+        filter.remove("A");
+        assertTrue(filter.mightContain("A"));
+        filter.remove("A");
+        assertFalse(filter.mightContain("A"));
+        assertFalse(filter.remove("A"));
+    }
+
+    @Test
+    void testSerializationRoundTrip() {
+        final CountingBloomFilter<String> filter = CountingBloomFilter.forStrings(100, 0.01);
+        filter.put("A");
+
+        final CountingBloomFilter<String> copy = CountingBloomFilter.fromByteArray(filter.toByteArray(), Hashes.STRING_HASHER);
+
+        assertTrue(copy.mightContain("A"));
+        assertTrue(copy.remove("A"));
+        assertFalse(copy.mightContain("A"));
+        assertThat(filter.toByteArray().length, is(copy.toByteArray().length));
+        assertThrows(IllegalArgumentException.class,
+                () -> CountingBloomFilter.fromByteArray(BloomFilter.forStrings(100, 0.01).toByteArray(), Hashes.STRING_HASHER));
+    }
+}
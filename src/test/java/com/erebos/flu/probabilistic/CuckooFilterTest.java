@@ -0,0 +1,86 @@
+package com.erebos.flu.probabilistic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CuckooFilterTest {
+
+    private static final int ELEMENTS = 10_000;
+
+    @Test
+    void testNoFalseNegativesAndLowFpp() {
+        final CuckooFilter<String> filter = CuckooFilter.forStrings(ELEMENTS);
+        for (int i = 0; i < ELEMENTS; i++) {
+            assertTrue(filter.put("key-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < ELEMENTS; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(filter.size(), is(ELEMENTS));
+        assertTrue(falsePositives < 10, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testRemove() {
+        final CuckooFilter<String> filter = CuckooFilter.forStrings(100);
+        filter.put("A");
+        filter.put("B");
+
+        assertTrue(filter.remove("A"));
+        assertFalse(filter.mightContain("A"));
+        assertTrue(filter.mightContain("B"));
+        assertFalse(filter.remove("A"));
+        assertThat(filter.size(), is(1));
+    }
+
+    @Test
+    void testFullFilterRejectsWithoutFalseNegatives() {
+        final CuckooFilter<Integer> filter = CuckooFilter.create(8, i -> Hashes.mix64(i));
+        int added = 0;
+        while (filter.put(added)) {
+            added++;
+        }
+
+        assertTrue(filter.isFull());
+        for (int i = 0; i < added; i++) {
+            assertTrue(filter.mightContain(i));
+        }
+        for (int i = 0; i < added; i++) {
+            assertTrue(filter.remove(i));
+        }
+        assertFalse(filter.isFull());
+        assertThat(filter.size(), is(0));
+    }
+
+    @Test
+    void testSerializationRoundTrip() {
+        final CuckooFilter<String> filter = CuckooFilter.forStrings(1000);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("key-" + i);
+        }
+
+        final CuckooFilter<String> copy = CuckooFilter.fromByteArray(filter.toByteArray(), Hashes.STRING_HASHER);
+
+        assertThat(copy.size(), is(1000));
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(copy.mightContain("key-" + i));
+        }
+        final byte[] bytes = filter.toByteArray();
+        assertThrows(IllegalArgumentException.class,
+                () -> CuckooFilter.fromByteArray(Arrays.copyOf(bytes, bytes.length - 2), Hashes.STRING_HASHER));
+        assertThrows(IllegalArgumentException.class, () -> CuckooFilter.create(-1, Hashes.STRING_HASHER));
+    }
+}
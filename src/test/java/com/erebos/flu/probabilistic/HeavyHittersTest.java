@@ -0,0 +1,60 @@
+package com.erebos.flu.probabilistic;
+
+import com.erebos.flu.utils.pojo.CostCenter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HeavyHittersTest {
+
+    @Test
+    void testTopKFindsFrequentElementsAmongNoise() {
+        final HeavyHitters<String> heavyHitters = HeavyHitters.forStrings(3, 0.001, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            heavyHitters.add("noise-" + i);
+            if (i % 10 == 0) {
+                heavyHitters.add("A");
+            }
+            if (i % 20 == 0) {
+                heavyHitters.add("B");
+            }
+            // C only becomes frequent late in the stream
+            if (i > 17_000 && i % 5 == 0) {
+                heavyHitters.add("C");
+            }
+        }
+
+        final List<Map.Entry<String, Long>> top = heavyHitters.topK();
+
+        assertThat(top.stream().map(Map.Entry::getKey).toList(), is(List.of("A", "B", "C")));
+        assertThat(top.get(0).getValue() >= 2000, is(true));
+    }
+
+    @Test
+    void testParallelCollectorMatchesSequential() {
+        final List<CostCenter> costCenters = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            costCenters.add(new CostCenter("CC" + (i % 3 == 0 ? 0 : i), 0, "CC1"));
+            costCenters.add(new CostCenter("CC" + (i % 4 == 0 ? 1 : i), 0, "CC1"));
+        }
+
+        final HeavyHitters<String> parallel = costCenters.parallelStream()
+                .collect(HeavyHitters.collector(CostCenter::shortName, 2, 0.001, 0.01, Hashes.STRING_HASHER));
+        final HeavyHitters<String> sequential = HeavyHitters.of(costCenters, CostCenter::shortName, 2, 0.001, 0.01, Hashes.STRING_HASHER);
+
+        assertThat(parallel.topK().stream().map(Map.Entry::getKey).toList(), is(List.of("CC0", "CC1")));
+        assertThat(parallel.topK(), is(sequential.topK()));
+        assertThat(parallel.totalCount(), is(20_000L));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> HeavyHitters.forStrings(0, 0.01, 0.01));
+    }
+}
@@ -0,0 +1,68 @@
+package com.erebos.flu.probabilistic;
+
+import com.erebos.flu.utils.pojo.CostCenter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void testCardinalityWithinErrorBounds() {
+        for (final int distinct : new int[]{0, 1, 100, 10_000, 1_000_000}) {
+            final HyperLogLog<String> sketch = HyperLogLog.forStrings();
+            for (int i = 0; i < distinct; i++) {
+                sketch.add("key-" + i);
+                sketch.add("key-" + i);
+            }
+
+            final long estimate = sketch.cardinality();
+
+            assertTrue(Math.abs(estimate - distinct) <= Math.max(1, 4 * sketch.standardError() * distinct),
+                    distinct + " estimated as " + estimate);
+        }
+    }
+
+    @Test
+    void testParallelCollectorMatchesSequentialSketch() {
+        final List<String> keys = IntStream.range(0, 100_000).mapToObj(i -> "key-" + i % 5000).toList();
+
+        final HyperLogLog<String> parallel = keys.parallelStream()
+                .collect(HyperLogLog.collector(key -> key, HyperLogLog.DEFAULT_PRECISION, Hashes.STRING_HASHER));
+        final HyperLogLog<String> sequential = HyperLogLog.of(keys, key -> key, HyperLogLog.DEFAULT_PRECISION, Hashes.STRING_HASHER);
+
+        assertThat(parallel.toByteArray(), is(sequential.toByteArray()));
+        assertTrue(Math.abs(parallel.cardinality() - 5000) < 100);
+    }
+
+    @Test
+    void testMergeAndSerialization() {
+        final List<CostCenter> left = List.of(new CostCenter("CC1", 0, "CC1"), new CostCenter("CC2", 0, "CC1"));
+        final List<CostCenter> right = List.of(new CostCenter("CC2", 0, "CC1"), new CostCenter("CC3", 0, "CC1"));
+        final HyperLogLog<String> sketch = HyperLogLog.of(left, CostCenter::shortName, 10, Hashes.STRING_HASHER);
+
+        sketch.merge(HyperLogLog.of(right, CostCenter::shortName, 10, Hashes.STRING_HASHER));
+        final HyperLogLog<String> copy = HyperLogLog.fromByteArray(sketch.toByteArray(), Hashes.STRING_HASHER);
+
+        assertThat(sketch.cardinality(), is(3L));
+        assertThat(copy.cardinality(), is(3L));
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(HyperLogLog.forStrings()));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.create(3, Hashes.STRING_HASHER));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.create(19, Hashes.STRING_HASHER));
+        assertThrows(IllegalArgumentException.class,
+                () -> HyperLogLog.fromByteArray(CountMinSketch.forStrings(0.1, 0.1).toByteArray(), Hashes.STRING_HASHER));
+        final byte[] bytes = HyperLogLog.create(4, Hashes.STRING_HASHER).toByteArray();
+        bytes[bytes.length - 1] = 100;
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(bytes, Hashes.STRING_HASHER));
+    }
+}
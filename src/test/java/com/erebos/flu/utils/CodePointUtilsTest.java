@@ -0,0 +1,141 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.CodePointUtils.Strategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.erebos.flu.utils.PrivateConstructorTestUtil.testPrivateConstructor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CodePointUtilsTest {
+
+    private static final String LONG_BMP = "Überprüfung der Größenordnung ".repeat(10);
+
+    @Test
+    void testConstructorThrowsException() throws NoSuchMethodException {
+        testPrivateConstructor(CodePointUtils.class);
+    }
+
+    @Test
+    void testChooseStrategy() {
+        assertThat(CodePointUtils.chooseStrategy("plain"), is(Strategy.ASCII_TABLE));
+        assertThat(CodePointUtils.chooseStrategy("plain", "Zürich"), is(Strategy.HASH));
+        assertThat(CodePointUtils.chooseStrategy(LONG_BMP), is(Strategy.BMP_BITSET));
+        assertThat(CodePointUtils.chooseStrategy(LONG_BMP + "😀"), is(Strategy.HASH));
+        assertThat(CodePointUtils.chooseStrategy(), is(Strategy.ASCII_TABLE));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "helo, true",
+            "anna, false",
+            "'', true",
+            "Zürich, true",
+            "Zürüch, false",
+            "東京, true",
+            "東京東, false",
+            "😀😁, true",
+            "😀a😀, false",
+    })
+    void testHasUniqueCodePoints(final String input, final boolean expected) {
+        assertThat(CodePointUtils.hasUniqueCodePoints(input), is(expected));
+        assertThat(CodePointUtils.hasUniqueCodePoints(input, Strategy.HASH), is(expected));
+        if (input.codePoints().allMatch(Character::isBmpCodePoint)) {
+            assertThat(CodePointUtils.hasUniqueCodePoints(input, Strategy.BMP_BITSET), is(expected));
+        }
+    }
+
+    @Test
+    void testBmpTablesAreLeftClean() {
+        assertThat(CodePointUtils.hasUniqueCodePoints(LONG_BMP, Strategy.BMP_BITSET), is(false));
+        assertThat(CodePointUtils.hasUniqueCodePoints("Übersee", Strategy.BMP_BITSET), is(false));
+        assertThat(CodePointUtils.hasUniqueCodePoints("Übrig", Strategy.BMP_BITSET), is(true));
+        assertThat(CodePointUtils.isPermutation("Größe", "Gröse", Strategy.BMP_BITSET), is(false));
+        assertThat(CodePointUtils.isPermutation("Größe", "eßörG", Strategy.BMP_BITSET), is(true));
+        assertThat(CodePointUtils.isPermutation("ab", "ba", Strategy.BMP_BITSET), is(true));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "listen, silent, true",
+            "abc, abd, false",
+            "ab, abc, false",
+            "'', '', true",
+            "Zürich, hcirüZ, true",
+            "éa, áe, false",
+            "東京都, 都京東, true",
+            "a😀b, b😀a, true",
+            "😀😁, 😁😀, true",
+    })
+    void testIsPermutation(final String s1, final String s2, final boolean expected) {
+        assertThat(CodePointUtils.isPermutation(s1, s2), is(expected));
+        assertThat(CodePointUtils.isPermutation(s1, s2, Strategy.HASH), is(expected));
+    }
+
+    @Test
+    void testIsPermutationComparesCodePointsNotChars() {
+        // the same four surrogate chars, paired into other code points: U+1F600 U+10001 vs U+1F401 U+10200
+        final String s1 = "\uD83D\uDE00\uD800\uDC01";
+        final String s2 = "\uD83D\uDC01\uD800\uDE00";
+        assertThat(Arrays.equals(s1.chars().sorted().toArray(), s2.chars().sorted().toArray()), is(true));
+        assertThat(CodePointUtils.isPermutation(s1, s2), is(false));
+    }
+
+    @Test
+    void testStrategyRejectsUnsupportedInput() {
+        assertThrows(IllegalArgumentException.class, () -> CodePointUtils.hasUniqueCodePoints("é", Strategy.ASCII_TABLE));
+        assertThrows(IllegalArgumentException.class, () -> CodePointUtils.isPermutation("😀", "😀", Strategy.BMP_BITSET));
+        assertThrows(IllegalArgumentException.class, () -> CodePointUtils.isPermutation(null, "a"));
+    }
+
+    @Test
+    void testMatchesSortedCodePointsOnRandomInput() {
+        final Random random = new Random(11);
+        final int[] alphabet = {'a', 'b', 'é', '東', 0x1F600, 0x1F601};
+        for (int round = 0; round < 2_000; round++) {
+            final String s1 = randomString(random, alphabet, random.nextInt(8));
+            final String s2 = random.nextBoolean() ? shuffle(random, s1) : randomString(random, alphabet, random.nextInt(8));
+            final boolean expected = Arrays.equals(s1.codePoints().sorted().toArray(), s2.codePoints().sorted().toArray());
+            assertThat(s1 + " " + s2, CodePointUtils.isPermutation(s1, s2), is(expected));
+            assertThat(s1, CodePointUtils.hasUniqueCodePoints(s1), is(s1.codePoints().distinct().count() == s1.codePoints().count()));
+        }
+    }
+
+    @Test
+    void testFindPermutations() {
+        final List<String> candidates = Arrays.asList("silent", "enlist", null, "listens", "tinsel", "inlets", "silent!");
+        assertThat(CodePointUtils.findPermutations("listen", candidates), contains("silent", "enlist", "tinsel", "inlets"));
+        assertThat(CodePointUtils.findPermutations("Größe", List.of("eßörG", "Grösse", "Größe")), contains("eßörG", "Größe"));
+        final String reversed = new StringBuilder(LONG_BMP).reverse().toString();
+        assertThat(CodePointUtils.findPermutations(LONG_BMP, List.of(reversed, LONG_BMP.replace('Ü', 'U'))), contains(reversed));
+        // the per-thread table is clean again
+        assertThat(CodePointUtils.isPermutation(LONG_BMP, reversed, Strategy.BMP_BITSET), is(true));
+    }
+
+    private static String randomString(final Random random, final int[] alphabet, final int length) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.appendCodePoint(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String shuffle(final Random random, final String s) {
+        final int[] codePoints = s.codePoints().toArray();
+        for (int i = codePoints.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = codePoints[i];
+            codePoints[i] = codePoints[j];
+            codePoints[j] = swap;
+        }
+        return new String(codePoints, 0, codePoints.length);
+    }
+}
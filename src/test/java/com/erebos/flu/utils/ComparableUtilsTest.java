@@ -0,0 +1,38 @@
+package com.erebos.flu.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.erebos.flu.utils.PrivateConstructorTestUtil.testPrivateConstructor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ComparableUtilsTest {
+
+    @Test
+    void testConstructorThrowsException() throws NoSuchMethodException {
+        testPrivateConstructor(ComparableUtils.class);
+    }
+
+    @Test
+    void testIsSorted() {
+        assertThat(ComparableUtils.isSorted(List.of(), false), is(true));
+        assertThat(ComparableUtils.isSorted(List.of("a", "a", "b"), false), is(true));
+        assertThat(ComparableUtils.isSorted(List.of("b", "a"), false), is(false));
+        assertThat(ComparableUtils.isSorted(Arrays.asList("a", null, "b"), false), is(false));
+        assertThat(ComparableUtils.isSorted(Arrays.asList("a", null, "b"), true), is(true));
+        assertThat(ComparableUtils.isSorted(List.of("a", 1), false), is(false));
+        assertThat(ComparableUtils.isSorted(List.of(new Object()), false), is(false));
+    }
+
+    @Test
+    void testCompare() {
+        assertThat(ComparableUtils.compare("a", "b"), lessThan(0));
+        assertThat(ComparableUtils.compare(2, 2), is(0));
+        assertThrows(ClassCastException.class, () -> ComparableUtils.compare("a", 1));
+    }
+}
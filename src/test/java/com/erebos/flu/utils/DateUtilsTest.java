@@ -1,6 +1,7 @@
 package com.erebos.flu.utils;
 
 import com.erebos.flu.exceptions.DateParsingException;
+import com.erebos.flu.utils.pojo.DateColumn;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -9,16 +10,26 @@ import org.junit.jupiter.params.provider.ValueSource;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
 
 import static com.erebos.flu.utils.PrivateConstructorTestUtil.testPrivateConstructor;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DateUtilsTest {
 
+    private static final String ENGLISH_PATTERN = "yyyy-MM-dd";
+    private static final String GERMAN_PATTERN = "dd.MM.yyyy";
+
     @Test
     void testConstructorThrowsException() throws NoSuchMethodException {
         testPrivateConstructor(DateUtilities.class);
@@ -97,4 +108,126 @@ class DateUtilsTest {
         final Date date = new SimpleDateFormat("yyyy-MM-dd").parse("2020-12-31");
         assertThat(DateUtilities.convertToDate(localDate), equalTo(date));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFastPathMatchesFormatter() {
+        for (final int year : new int[]{1900, 1999, 2000, 2023, 2024, 2099}) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 1; day <= 31; day++) {
+                    final String english = String.format("%04d-%02d-%02d", year, month, day);
+                    final String german = String.format("%02d.%02d.%04d", day, month, year);
+                    final LocalDate expected = LocalDate.parse(english, DateTimeFormatter.ofPattern(ENGLISH_PATTERN));
+
+                    assertThat(english, DateUtilities.stringToLocalDate(english), is(expected));
+                    assertThat(german, DateUtilities.stringToLocalDate(german), is(expected));
+                    assertThat(english, DateUtilities.stringToLocalDate(english, ENGLISH_PATTERN), is(expected));
+                    assertThat(german, DateUtilities.stringToLocalDate(german, GERMAN_PATTERN), is(expected));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"2000-02-30,2000-02-29", "2023-04-31,2023-04-30", "2019-12-13,2019-12-13"})
+    void testStringToLocalDateClampsLikeFormatter(final String dateString, final String expected) {
+        assertThat(DateUtilities.stringToLocalDate(dateString), is(LocalDate.parse(expected)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1.1.2000", "2000-1-5", "1899-12-31", "2100-01-01", "2000-00-10", "2000-10-32", "20x0-10-10", "01.12.2000 "})
+    void testStringToLocalDateInvalid(final String dateString) {
+        assertThrows(DateParsingException.class, () -> DateUtilities.stringToLocalDate(dateString));
+    }
+
+    @Test
+    void testStringToLocalDateWithPatternMismatch() {
+        assertThrows(DateParsingException.class, () -> DateUtilities.stringToLocalDate("01.12.2000", ENGLISH_PATTERN));
+        assertThrows(DateParsingException.class, () -> DateUtilities.stringToLocalDate("2000-12-01", GERMAN_PATTERN));
+        assertThrows(DateParsingException.class, () -> DateUtilities.stringToLocalDate("2000-12-01", "no pattern {"));
+        assertThat(DateUtilities.stringToLocalDate("1850-12-01", ENGLISH_PATTERN), is(LocalDate.of(1850, 12, 1)));
+        assertThat(DateUtilities.stringToLocalDate("2000/12/01", "yyyy/MM/dd"), is(LocalDate.of(2000, 12, 1)));
+    }
+
+    @Test
+    void testFormatterIsCached() {
+        assertThat(DateUtilities.formatter("yyyy/MM/dd"), sameInstance(DateUtilities.formatter("yyyy/MM/dd")));
+    }
+
+    @Test
+    void testParseDateColumnCollectsErrors() {
+        final String[] values = {"2019-12-13", "13.12.2019", "garbage", null, "2000-02-30", "1.1.2000"};
+
+        final DateColumn column = DateUtilities.parseDateColumn(values);
+
+        assertThat(column.size(), is(6));
+        assertThat(column.date(0), is(LocalDate.of(2019, 12, 13)));
+        assertThat(column.date(1), is(LocalDate.of(2019, 12, 13)));
+        assertThat(column.date(4), is(LocalDate.of(2000, 2, 29)));
+        assertThat(column.epochDays()[0], is((int) LocalDate.of(2019, 12, 13).toEpochDay()));
+        assertThat(column.errors().keySet(), is(Set.of(2, 3, 5)));
+        assertThat(column.errors().get(2), is("Date format does not match requirements"));
+        assertThat(column.errors().get(5), is("Text '1.1.2000' could not be parsed at index 0"));
+        assertThat(column.isValid(2), is(false));
+        assertThat(column.date(3), is((LocalDate) null));
+        assertThat(Arrays.asList(column.toLocalDates()).subList(0, 3),
+                is(Arrays.asList(LocalDate.of(2019, 12, 13), LocalDate.of(2019, 12, 13), null)));
+    }
+
+    @Test
+    void testParseDateColumnRejectsDatesOutOfIntRange() {
+        final String[] values = {"+12345678-01-01", "-12345678-01-01", "+5000000-01-01"};
+
+        final DateColumn column = DateUtilities.parseDateColumn(values, ENGLISH_PATTERN, false);
+
+        assertThat(DateUtilities.stringToLocalDate(values[0], ENGLISH_PATTERN).toEpochDay(), is(4508446770L));
+        assertThat(column.errors().keySet(), is(Set.of(0, 1)));
+        assertThat(column.errors().get(0), is("Date +12345678-01-01 is out of the range of a date column"));
+        assertThat(column.isValid(0), is(false));
+        assertThat(column.date(2), is(LocalDate.of(5_000_000, 1, 1)));
+    }
+
+    @Test
+    void testParseDateColumnErrorMessagesMatchSingleValueParsing() {
+        // trailing text and values over 64 chars, which the formatter abbreviates, are worded differently
+        final String[] values = {"2019-13-13", "1.1.2000", "31.02.2019x", "2019/12/13", "2019-12-13x",
+                "2019-12-1" + "x".repeat(70), "2019-12-13" + " ".repeat(70)};
+
+        final DateColumn column = DateUtilities.parseDateColumn(values, ENGLISH_PATTERN, false);
+
+        for (int i = 0; i < values.length; i++) {
+            final int row = i;
+            final DateParsingException ex = assertThrows(DateParsingException.class,
+                    () -> DateUtilities.stringToLocalDate(values[row], ENGLISH_PATTERN));
+            assertThat(values[i], column.errors().get(i), is(ex.getMessage()));
+        }
+    }
+
+    @Test
+    void testParseDateColumnParallelAndList() {
+        final List<String> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.add(i % 10 == 0 ? "invalid" + i : LocalDate.of(2000, 1, 1).plusDays(i).toString());
+        }
+
+        final DateColumn sequential = DateUtilities.parseDateColumn(values.toArray(new String[0]), null, false);
+        final DateColumn parallel = DateUtilities.parseDateColumn(values, null, true);
+        final DateColumn linked = DateUtilities.parseDateColumn(new LinkedList<>(values), ENGLISH_PATTERN, true);
+
+        assertThat(parallel.epochDays(), is(sequential.epochDays()));
+        assertThat(parallel.errors(), is(sequential.errors()));
+        assertThat(linked.epochDays(), is(sequential.epochDays()));
+        assertThat(sequential.errors().size(), is(1000));
+        assertThat(sequential.date(1), is(LocalDate.of(2000, 1, 2)));
+    }
+
+    @Test
+    void testParseDateColumnWithCustomAndInvalidPattern() {
+        final DateColumn column = DateUtilities.parseDateColumn(new String[]{"2000/12/01", "2000-12-01"}, "yyyy/MM/dd", false);
+
+        assertThat(column.date(0), is(LocalDate.of(2000, 12, 1)));
+        assertThat(column.isValid(1), is(false));
+        assertThrows(DateParsingException.class,
+                () -> DateUtilities.parseDateColumn(new String[]{"2000-12-01"}, "no pattern {", false));
+        assertThrows(NullPointerException.class, () -> DateUtilities.parseDateColumn((String[]) null));
+    }
+}
@@ -0,0 +1,168 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.EditDistanceUtils.Match;
+import com.erebos.flu.utils.EditDistanceUtils.Metric;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.erebos.flu.utils.PrivateConstructorTestUtil.testPrivateConstructor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EditDistanceUtilsTest {
+
+    @Test
+    void testConstructorThrowsException() throws NoSuchMethodException {
+        testPrivateConstructor(EditDistanceUtils.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "kitten, sitting, 3, 3",
+            "'', abc, 3, 3",
+            "abc, '', 3, 3",
+            "flaw, lawn, 2, 2",
+            "ab, ba, 2, 1",
+            "abc, ca, 3, 3",
+            "Zürich, Zurich, 1, 1",
+            "😀a, a😀, 2, 1",
+    })
+    void testKnownDistances(final String a, final String b, final int levenshtein, final int damerau) {
+        assertThat(EditDistanceUtils.levenshtein(a, b), is(levenshtein));
+        assertThat(EditDistanceUtils.damerau(a, b), is(damerau));
+        assertThat(EditDistanceUtils.levenshtein(a, b, levenshtein), is(levenshtein));
+        assertThat(EditDistanceUtils.damerau(a, b, damerau), is(damerau));
+        if (levenshtein > 0) {
+            assertThat(EditDistanceUtils.levenshtein(a, b, levenshtein - 1), is(-1));
+        }
+    }
+
+    @Test
+    void testMatchesReferenceOnRandomInput() {
+        final Random random = new Random(5);
+        final char[] alphabet = {'a', 'b', 'c', 'd', 'é'};
+        for (int round = 0; round < 3_000; round++) {
+            // short strings take the bit-parallel path, long ones the banded one
+            final int length = round % 3 == 0 ? 60 + random.nextInt(20) : random.nextInt(12);
+            final String a = randomString(random, alphabet, length);
+            final String b = mutate(random, a, alphabet, random.nextInt(6));
+            final int levenshtein = reference(a, b, false);
+            final int damerau = reference(a, b, true);
+            assertThat(a + " " + b, EditDistanceUtils.levenshtein(a, b), is(levenshtein));
+            assertThat(a + " " + b, EditDistanceUtils.damerau(a, b), is(damerau));
+            for (int k = 0; k <= 6; k++) {
+                assertThat(a + " " + b + " " + k, EditDistanceUtils.levenshtein(a, b, k), is(levenshtein <= k ? levenshtein : -1));
+                assertThat(a + " " + b + " " + k, EditDistanceUtils.damerau(a, b, k), is(damerau <= k ? damerau : -1));
+            }
+        }
+    }
+
+    @Test
+    void testKOfOneMatchesIsOneAway() {
+        assertThat(EditDistanceUtils.levenshtein("pale", "ple", 1), is(1));
+        assertThat(EditDistanceUtils.levenshtein("pale", "pale", 1), is(0));
+        assertThat(EditDistanceUtils.levenshtein("pale", "bake", 1), is(-1));
+        assertThat(EditDistanceUtils.levenshtein("pale", "plae", 1), is(-1));
+        assertThat(EditDistanceUtils.damerau("pale", "plae", 1), is(1));
+        assertThat(EditDistanceUtils.levenshtein("pale", "pale", 0), is(0));
+        assertThat(EditDistanceUtils.levenshtein("pale", "bale", 0), is(-1));
+        assertThat(StringUtils.isOneAway(null, "a"), is(false));
+        assertThat(StringUtils.isOneAway("😀", "😁"), is(true));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> EditDistanceUtils.levenshtein("a", "b", -1));
+        assertThrows(NullPointerException.class, () -> EditDistanceUtils.levenshtein(null, "b"));
+        assertThrows(IllegalArgumentException.class, () -> EditDistanceUtils.bestMatches("a", List.of("a"), 1, 0));
+    }
+
+    @Test
+    void testBestMatches() {
+        final List<String> candidates = Arrays.asList("Meier", "Mayer", null, "Maier", "Meyer", "Müller", "Meier-Schmidt", "Mei");
+        final List<Match<String>> matches = EditDistanceUtils.bestMatches("Meier", candidates, 2, 4);
+
+        assertThat(matches, contains(new Match<>("Meier", 0), new Match<>("Maier", 1), new Match<>("Meyer", 1),
+                new Match<>("Mayer", 2)));
+        assertThat(EditDistanceUtils.bestMatches("Meier", candidates, 0, 10), contains(new Match<>("Meier", 0)));
+        assertThat(EditDistanceUtils.bestMatches("Meier", candidates, 1, 10, Metric.DAMERAU, ExecutionPolicy.sequential()),
+                contains(new Match<>("Meier", 0), new Match<>("Maier", 1), new Match<>("Meyer", 1)));
+    }
+
+    @Test
+    void testBestMatchesIsTheSameInParallel() {
+        final Random random = new Random(9);
+        final char[] alphabet = {'a', 'b', 'c', 'd'};
+        final List<String> candidates = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            candidates.add(randomString(random, alphabet, 3 + random.nextInt(8)));
+        }
+        final List<Match<String>> sequential = EditDistanceUtils.bestMatches("abcdab", candidates, 2, 50,
+                Metric.LEVENSHTEIN, ExecutionPolicy.sequential());
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertThat(EditDistanceUtils.bestMatches("abcdab", candidates, 2, 50, Metric.LEVENSHTEIN, ExecutionPolicy.parallel(pool)),
+                    is(sequential));
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(sequential.size(), is(50));
+        assertThat(sequential.get(49).distance() <= 2, is(true));
+    }
+
+    // Full DP, with transpositions of adjacent code points if damerau (optimal string alignment)
+    private static int reference(final String s, final String t, final boolean damerau) {
+        final int[] a = s.codePoints().toArray();
+        final int[] b = t.codePoints().toArray();
+        final int[][] d = new int[a.length + 1][b.length + 1];
+        for (int i = 0; i <= a.length; i++) {
+            for (int j = 0; j <= b.length; j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                    continue;
+                }
+                d[i][j] = Math.min(d[i - 1][j - 1] + (a[i - 1] == b[j - 1] ? 0 : 1), Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+                if (damerau && i > 1 && j > 1 && a[i - 1] == b[j - 2] && a[i - 2] == b[j - 1]) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length][b.length];
+    }
+
+    private static String randomString(final Random random, final char[] alphabet, final int length) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String mutate(final Random random, final String s, final char[] alphabet, final int edits) {
+        final StringBuilder builder = new StringBuilder(s);
+        for (int e = 0; e < edits; e++) {
+            final int position = builder.length() == 0 ? 0 : random.nextInt(builder.length());
+            switch (builder.length() < 2 ? 0 : random.nextInt(4)) {
+                case 0 -> builder.insert(position, alphabet[random.nextInt(alphabet.length)]);
+                case 1 -> builder.deleteCharAt(position);
+                case 2 -> builder.setCharAt(position, alphabet[random.nextInt(alphabet.length)]);
+                default -> {
+                    final int next = Math.min(position + 1, builder.length() - 1);
+                    final char swap = builder.charAt(position);
+                    builder.setCharAt(position, builder.charAt(next));
+                    builder.setCharAt(next, swap);
+                }
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.ExecutionPolicy.Mode;
+import com.erebos.flu.utils.pojo.CostCenter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExecutionPolicyTest {
+
+    private static final List<Integer> NUMBERS = IntStream.range(0, 100_000).boxed().toList();
+
+    @Test
+    void testSequentialRunsOnCallingThread() {
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        final long sum = ExecutionPolicy.sequential().apply(NUMBERS, stream -> stream
+                .peek(i -> threads.add(Thread.currentThread()))
+                .mapToLong(Integer::longValue)
+                .sum());
+
+        assertThat(sum, is(99_999L * 100_000 / 2));
+        assertThat(threads, is(Set.of(Thread.currentThread())));
+        assertThat(ExecutionPolicy.sequential().isParallel(Integer.MAX_VALUE), is(false));
+    }
+
+    @Test
+    void testDedicatedPoolRunsOnlyOnItsWorkers() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+
+            final List<Integer> even = ExecutionPolicy.parallel(pool).apply(NUMBERS, stream -> stream
+                    .peek(i -> pools.add(((ForkJoinWorkerThread) Thread.currentThread()).getPool()))
+                    .filter(i -> i % 2 == 0)
+                    .toList());
+
+            assertThat(even.size(), is(50_000));
+            assertThat(even.get(1), is(2));
+            assertThat(pools, is(Set.of(pool)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testAdaptiveThreshold() {
+        final ExecutionPolicy policy = ExecutionPolicy.adaptive(1000);
+
+        assertThat(policy.isParallel(999), is(false));
+        assertThat(policy.isParallel(1000), is(true));
+        assertThat(policy.mode(), is(Mode.ADAPTIVE));
+        assertThat(ExecutionPolicy.parallel().isParallel(1), is(false));
+        assertThat(ExecutionPolicy.parallel().isParallel(2), is(true));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionPolicy.adaptive(-1));
+        assertThrows(NullPointerException.class, () -> ExecutionPolicy.parallel(null));
+    }
+
+    @Test
+    void testDefaultPolicyCanBeReplaced() {
+        final ExecutionPolicy previous = ExecutionPolicy.getDefault();
+        try {
+            ExecutionPolicy.setDefault(ExecutionPolicy.sequential());
+
+            assertThat(ExecutionPolicy.getDefault().mode(), is(Mode.SEQUENTIAL));
+            assertThrows(NullPointerException.class, () -> ExecutionPolicy.setDefault(null));
+        } finally {
+            ExecutionPolicy.setDefault(previous);
+        }
+        assertThat(previous.isParallel(ExecutionPolicy.DEFAULT_PARALLEL_THRESHOLD - 1), is(false));
+        assertThat(previous.isParallel(ExecutionPolicy.DEFAULT_PARALLEL_THRESHOLD), is(true));
+    }
+
+    @Test
+    void testHelpersGiveTheSameResultsUnderEveryPolicy() {
+        final List<CostCenter> costCenters = IntStream.range(0, 20_000)
+                .mapToObj(i -> new CostCenter("CC" + i % 7, i, i % 3 == 0 ? null : "P" + i % 5))
+                .toList();
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            final Map<String, List<CostCenter>> expected = GrouperUtils.groupByStringMember(costCenters, CostCenter::longName, ExecutionPolicy.sequential());
+            for (final ExecutionPolicy policy : List.of(ExecutionPolicy.parallel(), ExecutionPolicy.parallel(pool), ExecutionPolicy.adaptive(100, pool))) {
+                assertThat(GrouperUtils.groupByStringMember(costCenters, CostCenter::longName, policy), is(expected));
+                assertThat(ListUtils.filterListByPredicate(costCenters, c -> c.reimbursementNeeds() > 19_990, policy),
+                        is(costCenters.subList(19_991, 20_000)));
+                assertThat(ListUtils.createDistinctSetFromListProperty(costCenters, CostCenter::shortName, policy).size(), is(7));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -1,18 +1,34 @@
 package com.erebos.flu.utils;
 
+import com.erebos.flu.collections.StringInterner;
 import com.erebos.flu.utils.pojo.AccountTransaction;
+import com.erebos.flu.utils.pojo.CostCenter;
 import com.erebos.flu.utils.pojo.DataTypeX;
 import com.erebos.flu.utils.pojo.Type;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.erebos.flu.utils.GrouperUtils.countByEnumMember;
+import static com.erebos.flu.utils.GrouperUtils.countByEnumOrdinal;
 import static com.erebos.flu.utils.GrouperUtils.groupByEnumMember;
+import static com.erebos.flu.utils.GrouperUtils.groupByMembers;
+import static com.erebos.flu.utils.GrouperUtils.groupByMembersParallel;
 import static com.erebos.flu.utils.GrouperUtils.groupByStringMember;
 import static com.erebos.flu.utils.PrivateConstructorTestUtil.testPrivateConstructor;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class GrouperUtilsTest {
 
@@ -36,6 +52,39 @@ class GrouperUtilsTest {
         assertThat(grouped.get("PC02").get(1).name(), is("Tran 2"));
     }
 
+    @Test
+    void testGroupByStringEvaluatesFunctionOnceAndFallsBackToNA() {
+        final List<AccountTransaction> list = List.of(new AccountTransaction("PC01", "Tran 1"),
+                new AccountTransaction(null, "Tran 2"), new AccountTransaction("  ", "Tran 3"));
+        final AtomicInteger calls = new AtomicInteger();
+
+        final Map<String, List<AccountTransaction>> grouped = groupByStringMember(list, trx -> {
+            calls.incrementAndGet();
+            return trx.id();
+        });
+
+        assertThat(calls.get(), is(3));
+        assertThat(grouped.get("PC01").size(), is(1));
+        assertThat(grouped.get("NA").size(), is(2));
+    }
+
+    @Test
+    void testGroupByStringWithInternerSharesKeys() {
+        final StringInterner interner = new StringInterner(64);
+        final List<AccountTransaction> first = List.of(new AccountTransaction(new String("PC01"), "Tran 1"),
+                new AccountTransaction(null, "Tran 2"));
+        final List<AccountTransaction> second = List.of(new AccountTransaction(new String("PC01"), "Tran 3"));
+
+        final Map<String, List<AccountTransaction>> groupedFirst = groupByStringMember(first, AccountTransaction::id, interner);
+        final Map<String, List<AccountTransaction>> groupedSecond = groupByStringMember(second, AccountTransaction::id, interner,
+                ExecutionPolicy.sequential());
+
+        final String firstKey = groupedFirst.keySet().stream().filter("PC01"::equals).findFirst().orElseThrow();
+        final String secondKey = groupedSecond.keySet().iterator().next();
+        assertThat(secondKey, sameInstance(firstKey));
+        assertThat(groupedFirst.get("NA").size(), is(1));
+    }
+
     @Test
     void testGroupByEnumMember() {
         final List<DataTypeX> list = List.of(
@@ -55,4 +104,114 @@ class GrouperUtilsTest {
         List<DataTypeX> type2Elements = grouped.get(Type.TYP2);
         assertThat(type2Elements.get(0).name, is("name02"));
     }
+
+    @Test
+    void testGroupByEnumMemberIntoEnumMap() {
+        final List<DataTypeX> list = List.of(
+                new DataTypeX("name01", Type.TYP1),
+                new DataTypeX("name02", Type.TYP2),
+                new DataTypeX("name03", Type.TYP1)
+        );
+
+        final EnumMap<Type, List<DataTypeX>> grouped = groupByEnumMember(list, Type.class, DataTypeX::getType);
+
+        assertThat(grouped.keySet(), is(EnumSet.of(Type.TYP1, Type.TYP2)));
+        assertThat(grouped.get(Type.TYP1), is(List.of(list.get(0), list.get(2))));
+        assertThat(grouped.get(Type.TYP2), is(List.of(list.get(1))));
+    }
+
+    @Test
+    void testGroupByEnumMemberIntoEnumMapSkipsEmptyBucketsAndRejectsNull() {
+        final List<DataTypeX> list = List.of(new DataTypeX("name01", Type.TYP2));
+
+        assertThat(groupByEnumMember(list, Type.class, DataTypeX::getType).containsKey(Type.TYP1), is(false));
+        assertThat(groupByEnumMember(null, Type.class, DataTypeX::getType).isEmpty(), is(true));
+        assertThrows(NullPointerException.class,
+                () -> groupByEnumMember(List.of(new DataTypeX("name01", null)), Type.class, DataTypeX::getType));
+    }
+
+    @Test
+    void testCountByEnumMember() {
+        final List<DataTypeX> list = List.of(
+                new DataTypeX("name01", Type.TYP1),
+                new DataTypeX("name02", Type.TYP1),
+                new DataTypeX("name03", Type.TYP1)
+        );
+
+        assertThat(countByEnumMember(list, Type.class, DataTypeX::getType), is(Map.of(Type.TYP1, 3)));
+        assertThat(countByEnumOrdinal(list, Type.class, DataTypeX::getType), is(new int[]{3, 0}));
+        assertThat(countByEnumOrdinal(null, Type.class, DataTypeX::getType), is(new int[]{0, 0}));
+    }
+
+    private static final List<CostCenter> COST_CENTERS = List.of(
+            new CostCenter("CC1", 10.0, "Sales"),
+            new CostCenter("CC1", 20.0, "Sales"),
+            new CostCenter("CC1", 5.0, "Marketing"),
+            new CostCenter("CC2", 7.5, "Sales")
+    );
+
+    @Test
+    void testGroupByTwoMembersCounting() {
+        final Map<String, Map<String, Long>> grouped =
+                groupByMembers(COST_CENTERS, CostCenter::shortName, CostCenter::longName, Collectors.counting());
+
+        assertThat(grouped.size(), is(2));
+        assertThat(grouped.get("CC1"), is(Map.of("Sales", 2L, "Marketing", 1L)));
+        assertThat(grouped.get("CC2"), is(Map.of("Sales", 1L)));
+    }
+
+    @Test
+    void testGroupByTwoMembersSumMaxAndCollect() {
+        final Map<String, Map<String, Double>> sums = groupByMembers(COST_CENTERS, CostCenter::shortName,
+                CostCenter::longName, Collectors.summingDouble(CostCenter::reimbursementNeeds));
+        final Map<String, Map<String, Optional<CostCenter>>> max = groupByMembers(COST_CENTERS, CostCenter::shortName,
+                CostCenter::longName, Collectors.maxBy(Comparator.comparingDouble(CostCenter::reimbursementNeeds)));
+        final Map<String, Map<String, List<CostCenter>>> lists = groupByMembers(COST_CENTERS, CostCenter::shortName,
+                CostCenter::longName, Collectors.toList());
+
+        assertThat(sums.get("CC1").get("Sales"), is(30.0));
+        assertThat(sums.get("CC2").get("Sales"), is(7.5));
+        assertThat(max.get("CC1").get("Sales").get(), is(COST_CENTERS.get(1)));
+        assertThat(lists.get("CC1").get("Sales"), is(COST_CENTERS.subList(0, 2)));
+    }
+
+    @Test
+    void testGroupByThreeMembers() {
+        final Map<String, Map<String, Map<Boolean, Long>>> grouped = groupByMembers(COST_CENTERS, CostCenter::shortName,
+                CostCenter::longName, cc -> cc.reimbursementNeeds() > 8.0, Collectors.counting());
+
+        assertThat(grouped.get("CC1").get("Sales"), is(Map.of(true, 2L)));
+        assertThat(grouped.get("CC1").get("Marketing"), is(Map.of(false, 1L)));
+        assertThat(grouped.get("CC2").get("Sales"), is(Map.of(false, 1L)));
+    }
+
+    @Test
+    void testGroupByMembersSingleLevelAndNullInputs() {
+        final Map<Object, Object> grouped = groupByMembers(COST_CENTERS,
+                List.<Function<CostCenter, ?>>of(CostCenter::longName), Collectors.counting());
+
+        assertThat(grouped, is(Map.of("Sales", 3L, "Marketing", 1L)));
+        assertThat(groupByMembers(null, List.<Function<CostCenter, ?>>of(CostCenter::longName), Collectors.counting()).isEmpty(), is(true));
+        assertThrows(IllegalArgumentException.class, () -> groupByMembers(COST_CENTERS, List.of(), Collectors.counting()));
+    }
+
+    @Test
+    void testGroupByMembersParallelMatchesSequential() {
+        final List<CostCenter> list = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            list.add(new CostCenter("CC" + i % 13, i % 7, "Dept" + i % 5));
+        }
+
+        final Map<String, Map<String, Double>> sequential = groupByMembers(list, CostCenter::shortName,
+                CostCenter::longName, Collectors.summingDouble(CostCenter::reimbursementNeeds));
+        final Map<String, Map<String, Double>> parallel = groupByMembersParallel(list, CostCenter::shortName,
+                CostCenter::longName, Collectors.summingDouble(CostCenter::reimbursementNeeds));
+        final Map<String, Map<String, List<CostCenter>>> parallelLists = groupByMembersParallel(list,
+                CostCenter::shortName, CostCenter::longName, Collectors.toList());
+
+        assertThat(parallel, is(sequential));
+        assertThat(parallelLists.get("CC0").get("Dept0").size(), is(groupByMembers(list, CostCenter::shortName,
+                CostCenter::longName, Collectors.toList()).get("CC0").get("Dept0").size()));
+        assertThat(parallelLists.get("CC0").get("Dept0").get(0), is(list.get(0)));
+    }
 }
@@ -2,11 +2,25 @@ package com.erebos.flu.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashSet;
 import java.util.Set;
 
+import static com.erebos.flu.utils.HashUtils.fastHash64;
 import static com.erebos.flu.utils.HashUtils.myHashCode;
 import static com.erebos.flu.utils.HashUtils.perfectHash;
+import static com.erebos.flu.utils.HashUtils.perfectHashOfFields;
+import static com.erebos.flu.utils.HashUtils.toHexString;
 import static com.erebos.flu.utils.PrivateConstructorTestUtil.testPrivateConstructor;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,4 +71,96 @@ class HashUtilsTest {
         assertEquals(MAX, hashes.size());
     }
 
+    private static final String EMPTY_SHA_256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    private static final String ABC_SHA_256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Test
+    void testKnownVectors() {
+        assertEquals(EMPTY_SHA_256, perfectHash(""));
+        assertEquals(ABC_SHA_256, perfectHash("abc"));
+        assertEquals(ABC_SHA_256, perfectHash("abc".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testUtf8EncodingMatchesGetBytes() throws NoSuchAlgorithmException {
+        final StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            longString.append("äß€\uD83D\uDE00x");
+        }
+        for (final String s : new String[]{"Grüße", "€uro", "\uD83D\uDE00 smile", "\uD800 unpaired", "tail\uDBFF", longString.toString()}) {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            assertEquals(String.format("%064x", new BigInteger(1, digest)), perfectHash(s), s.substring(0, Math.min(s.length(), 10)));
+        }
+    }
+
+    @Test
+    void testPerfectHashOfFieldsKeepsFieldBoundaries() {
+        assertEquals(perfectHashOfFields("PC1", "CC2", "JID2"), perfectHashOfFields(new StringBuilder("PC1"), "CC2", "JID2"));
+        assertNotEquals(perfectHashOfFields("ab", "c"), perfectHashOfFields("a", "bc"));
+        assertNotEquals(perfectHashOfFields("abc", null), perfectHashOfFields("abc"));
+        assertNotEquals(perfectHashOfFields("abc", null), perfectHashOfFields("abc", ""));
+        assertNotEquals(perfectHashOfFields(null, "abc"), perfectHashOfFields("abc", null));
+        assertNotEquals(perfectHash("PC1CC2"), perfectHashOfFields("PC1", "CC2"));
+        assertEquals(EMPTY_SHA_256, perfectHashOfFields());
+    }
+
+    @Test
+    void testPerfectHashOfByteBufferKeepsPosition() {
+        final ByteBuffer buffer = ByteBuffer.wrap("xxabc".getBytes(StandardCharsets.UTF_8));
+        buffer.position(2);
+
+        assertEquals(ABC_SHA_256, perfectHash(buffer));
+        assertEquals(2, buffer.position());
+        final ByteBuffer direct = ByteBuffer.allocateDirect(3).put("abc".getBytes(StandardCharsets.UTF_8)).flip();
+        assertEquals(ABC_SHA_256, perfectHash(direct));
+    }
+
+    @Test
+    void testPerfectHashOfStreamAndFile() throws IOException {
+        final byte[] content = new byte[100_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        final String expected = perfectHash(content);
+        final Path file = Files.createTempFile("hash", ".bin");
+        try {
+            Files.write(file, content);
+
+            assertEquals(expected, perfectHash(new ByteArrayInputStream(content)));
+            assertEquals(expected, perfectHash(file));
+        } finally {
+            Files.delete(file);
+        }
+        assertThrows(UncheckedIOException.class, () -> perfectHash(file));
+    }
+
+    @Test
+    void testFailingStreamDoesNotCorruptNextHash() {
+        final InputStream failing = new InputStream() {
+            private int remaining = 10;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("broken");
+                }
+                return 'x';
+            }
+        };
+
+        assertThrows(UncheckedIOException.class, () -> perfectHash(failing));
+        assertEquals(ABC_SHA_256, perfectHash("abc"));
+    }
+
+    @Test
+    void testToHexString() {
+        assertEquals("00ff7f80", toHexString(new byte[]{0, -1, 127, -128}));
+        assertEquals("", toHexString(new byte[0]));
+    }
+
+    @Test
+    void testFastHash64() {
+        assertEquals(0x44BC2CF5AD770999L, fastHash64("abc"));
+        assertNotEquals(fastHash64("Test"), fastHash64("test"));
+    }
 }
@@ -0,0 +1,183 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.JoinUtils.JoinType;
+import com.erebos.flu.utils.pojo.AccountTransaction;
+import com.erebos.flu.utils.pojo.CostCenter;
+import com.erebos.flu.utils.pojo.JoinedPair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.erebos.flu.utils.JoinUtils.antiJoin;
+import static com.erebos.flu.utils.JoinUtils.fullJoin;
+import static com.erebos.flu.utils.JoinUtils.innerJoin;
+import static com.erebos.flu.utils.JoinUtils.join;
+import static com.erebos.flu.utils.JoinUtils.joinParallel;
+import static com.erebos.flu.utils.JoinUtils.leftJoin;
+import static com.erebos.flu.utils.JoinUtils.rightJoin;
+import static com.erebos.flu.utils.JoinUtils.semiJoin;
+import static com.erebos.flu.utils.JoinUtils.sortMergeJoin;
+import static com.erebos.flu.utils.PrivateConstructorTestUtil.testPrivateConstructor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JoinUtilsTest {
+
+    private static final AccountTransaction TRX1 = new AccountTransaction("CC1", "Tran 1");
+    private static final AccountTransaction TRX2 = new AccountTransaction("CC2", "Tran 2");
+    private static final AccountTransaction TRX3 = new AccountTransaction("CC1", "Tran 3");
+    private static final AccountTransaction TRX4 = new AccountTransaction("CC9", "Tran 4");
+    private static final AccountTransaction TRX5 = new AccountTransaction(null, "Tran 5");
+    private static final CostCenter CC1 = new CostCenter("CC1", 100.0, "Cost Center 1");
+    private static final CostCenter CC2 = new CostCenter("CC2", 200.0, "Cost Center 2");
+    private static final CostCenter CC3 = new CostCenter("CC3", 300.0, "Cost Center 3");
+
+    private static final List<AccountTransaction> TRANSACTIONS = List.of(TRX1, TRX2, TRX3, TRX4, TRX5);
+    private static final List<CostCenter> COST_CENTERS = List.of(CC1, CC2, CC3);
+
+    @Test
+    void testConstructorThrowsException() throws NoSuchMethodException {
+        testPrivateConstructor(JoinUtils.class);
+    }
+
+    @Test
+    void testInnerJoin() {
+        final var result = innerJoin(TRANSACTIONS, COST_CENTERS, AccountTransaction::id, CostCenter::shortName);
+
+        assertEquals(List.of(new JoinedPair<>(TRX1, CC1), new JoinedPair<>(TRX2, CC2), new JoinedPair<>(TRX3, CC1)), result);
+    }
+
+    @Test
+    void testInnerJoinBuildsOnSmallerLeftSide() {
+        final var result = innerJoin(COST_CENTERS, TRANSACTIONS, CostCenter::shortName, AccountTransaction::id);
+
+        assertEquals(List.of(new JoinedPair<>(CC1, TRX1), new JoinedPair<>(CC2, TRX2), new JoinedPair<>(CC1, TRX3)), result);
+    }
+
+    @Test
+    void testLeftJoin() {
+        final var result = leftJoin(TRANSACTIONS, COST_CENTERS, AccountTransaction::id, CostCenter::shortName);
+
+        assertEquals(List.of(
+                new JoinedPair<>(TRX1, CC1),
+                new JoinedPair<>(TRX2, CC2),
+                new JoinedPair<>(TRX3, CC1),
+                new JoinedPair<>(TRX4, null),
+                new JoinedPair<>(TRX5, null)), result);
+    }
+
+    @Test
+    void testRightJoin() {
+        final var result = rightJoin(TRANSACTIONS, COST_CENTERS, AccountTransaction::id, CostCenter::shortName);
+
+        assertEquals(List.of(
+                new JoinedPair<>(TRX1, CC1),
+                new JoinedPair<>(TRX2, CC2),
+                new JoinedPair<>(TRX3, CC1),
+                new JoinedPair<>(null, CC3)), result);
+    }
+
+    @Test
+    void testFullJoinWithSmallerLeftSide() {
+        final var result = fullJoin(COST_CENTERS, TRANSACTIONS, CostCenter::shortName, AccountTransaction::id);
+
+        assertThat(result, containsInAnyOrder(
+                new JoinedPair<>(CC1, TRX1),
+                new JoinedPair<>(CC2, TRX2),
+                new JoinedPair<>(CC1, TRX3),
+                new JoinedPair<>(null, TRX4),
+                new JoinedPair<>(null, TRX5),
+                new JoinedPair<>(CC3, null)));
+    }
+
+    @Test
+    void testJoinWithMerger() {
+        final List<String> result = join(TRANSACTIONS, COST_CENTERS, AccountTransaction::id, CostCenter::shortName,
+                JoinType.LEFT, (trx, cc) -> trx.name() + ":" + (cc == null ? "NA" : cc.longName()));
+
+        assertEquals(List.of("Tran 1:Cost Center 1", "Tran 2:Cost Center 2", "Tran 3:Cost Center 1", "Tran 4:NA", "Tran 5:NA"), result);
+    }
+
+    @Test
+    void testJoinWithNullLists() {
+        assertThat(innerJoin(null, COST_CENTERS, AccountTransaction::id, CostCenter::shortName).size(), is(0));
+        assertThat(leftJoin(TRANSACTIONS, null, AccountTransaction::id, CostCenter::shortName).size(), is(5));
+    }
+
+    @ParameterizedTest
+    @EnumSource(JoinType.class)
+    void testJoinParallelMatchesSequentialJoin(final JoinType type) {
+        final List<AccountTransaction> transactions = IntStream.range(0, 5000)
+                .mapToObj(i -> new AccountTransaction("CC" + (i % 700), "Tran " + i))
+                .toList();
+        final List<CostCenter> costCenters = IntStream.range(0, 500)
+                .mapToObj(i -> new CostCenter("CC" + (i * 2), i, "Cost Center " + i))
+                .toList();
+
+        final var sequential = join(transactions, costCenters, AccountTransaction::id, CostCenter::shortName, type);
+        final var parallel = joinParallel(transactions, costCenters, AccountTransaction::id, CostCenter::shortName, type);
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void testSemiJoin() {
+        assertEquals(List.of(TRX1, TRX2, TRX3),
+                semiJoin(TRANSACTIONS, COST_CENTERS, AccountTransaction::id, CostCenter::shortName));
+        assertEquals(List.of(CC1, CC2),
+                semiJoin(COST_CENTERS, TRANSACTIONS, CostCenter::shortName, AccountTransaction::id));
+    }
+
+    @Test
+    void testAntiJoin() {
+        assertEquals(List.of(TRX4, TRX5),
+                antiJoin(TRANSACTIONS, COST_CENTERS, AccountTransaction::id, CostCenter::shortName));
+        assertEquals(List.of(CC3),
+                antiJoin(COST_CENTERS, TRANSACTIONS, CostCenter::shortName, AccountTransaction::id));
+    }
+
+    @ParameterizedTest
+    @EnumSource(JoinType.class)
+    void testSortMergeJoinMatchesHashJoin(final JoinType type) {
+        final List<AccountTransaction> transactions = new ArrayList<>(TRANSACTIONS.subList(0, 4));
+        transactions.sort(Comparator.comparing(AccountTransaction::id));
+
+        final var merged = sortMergeJoin(transactions, COST_CENTERS, AccountTransaction::id, CostCenter::shortName,
+                Comparator.naturalOrder(), type);
+        final var hashed = join(transactions, COST_CENTERS, AccountTransaction::id, CostCenter::shortName, type);
+
+        assertThat(merged, containsInAnyOrder(hashed.toArray()));
+    }
+
+    @Test
+    void testSortMergeJoinPairsGroupsInKeyOrder() {
+        final List<AccountTransaction> transactions = List.of(TRX1, TRX3, TRX2);
+
+        final var result = sortMergeJoin(transactions, COST_CENTERS, AccountTransaction::id, CostCenter::shortName,
+                Comparator.naturalOrder(), JoinType.FULL);
+
+        assertEquals(List.of(
+                new JoinedPair<>(TRX1, CC1),
+                new JoinedPair<>(TRX3, CC1),
+                new JoinedPair<>(TRX2, CC2),
+                new JoinedPair<>(null, CC3)), result);
+    }
+
+    @Test
+    void testSortMergeJoinRejectsUnsortedInput() {
+        final List<AccountTransaction> transactions = List.of(TRX2, TRX1);
+
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () ->
+                sortMergeJoin(transactions, COST_CENTERS, AccountTransaction::id, CostCenter::shortName,
+                        Comparator.naturalOrder(), JoinType.INNER));
+        assertThat(thrown.getMessage(), is("The left list is not sorted by key"));
+    }
+}
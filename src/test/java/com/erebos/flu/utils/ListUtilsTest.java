@@ -1,6 +1,8 @@
 package com.erebos.flu.utils;
 
+import com.erebos.flu.probabilistic.BloomFilter;
 import com.erebos.flu.utils.pojo.AccountBase;
+import com.erebos.flu.utils.pojo.JoinedPair;
 import com.erebos.flu.utils.pojo.CostCenter;
 import com.erebos.flu.utils.pojo.Person;
 import com.erebos.flu.utils.pojo.RevenueAccount;
@@ -144,6 +146,23 @@ class ListUtilsTest {
         assertThat(intersectionStr.size(), is(0));
     }
 
+    @Test
+    void testFilterByMembership() {
+        final Set<String> batch = Set.of("CC1", "CC3", "CC5");
+        final BloomFilter<String> filter = BloomFilter.forStrings(batch.size(), 0.01);
+        batch.forEach(filter::put);
+        final List<String> exactChecks = new ArrayList<>();
+
+        final List<String> filtered = filterByMembership(List.of("CC1", "CC2", "CC1", "CC3", "CC4"), filter, key -> {
+            exactChecks.add(key);
+            return batch.contains(key);
+        });
+
+        assertThat(filtered, is(List.of("CC1", "CC1", "CC3")));
+        assertThat(exactChecks.containsAll(List.of("CC1", "CC3")), is(true));
+        assertThat(filterByMembership(null, filter, batch::contains).size(), is(0));
+    }
+
     @Test
     void testCostCenterIntersectionWithMatchingElements() {
         final CostCenter cc1 = new CostCenter("CC1", 0, "CC1");
@@ -159,6 +178,47 @@ class ListUtilsTest {
         assertThat(intersection, containsInAnyOrder(cc1, cc3));
     }
 
+    @Test
+    void testCostCenterSubtractionAndPairsByMatchingFunction() {
+        final CostCenter cc1 = new CostCenter("CC1", 0, "CC1");
+        final CostCenter cc2 = new CostCenter("CC2", 0, "CC1");
+        final CostCenter cc3 = new CostCenter("CC3", 0, "CC1");
+        final CostCenter ccNull = new CostCenter(null, 0, "CC1");
+        final var l1 = List.of(cc1, cc2, cc3, ccNull);
+        final var l2 = Arrays.asList("CC3", null, "CC1");
+
+        assertThat(intersectListsByMatchingFunction(l1, l2, CostCenter::shortName), is(List.of(cc1, cc3)));
+        assertThat(subtractListsByMatchingFunction(l1, l2, CostCenter::shortName), is(List.of(cc2, ccNull)));
+        assertThat(pairListsByMatchingFunction(l1, l2, CostCenter::shortName),
+                is(List.of(new JoinedPair<>(cc1, "CC1"), new JoinedPair<>(cc3, "CC3"))));
+        assertThat(subtractListsByMatchingFunction(l1, null, CostCenter::shortName), is(l1));
+        assertThat(pairListsByMatchingFunction(null, l2, CostCenter::shortName).size(), is(0));
+    }
+
+    @Test
+    void testMatchingFunctionVariantsAgreeUnderEveryPolicy() {
+        final List<Long> ids = new ArrayList<>();
+        final List<AccountBase> accounts = new ArrayList<>();
+        for (long i = 0; i < 20_000; i++) {
+            accounts.add(new AccountBase(i));
+            if (i % 3 == 0) {
+                ids.add(i);
+            }
+        }
+        final List<Long> shuffledIds = new ArrayList<>(ids);
+        Collections.shuffle(shuffledIds, new Random(7));
+
+        for (final ExecutionPolicy policy : List.of(ExecutionPolicy.sequential(), ExecutionPolicy.parallel())) {
+            for (final List<Long> keys : List.of(ids, shuffledIds)) {
+                final List<AccountBase> matches = intersectListsByMatchingFunction(accounts, keys, AccountBase::id, policy);
+                final List<AccountBase> nonMatches = subtractListsByMatchingFunction(accounts, keys, AccountBase::id, policy);
+                assertThat(matches.size(), is(ids.size()));
+                assertThat(nonMatches.size(), is(accounts.size() - ids.size()));
+                assertThat(pairListsByMatchingFunction(accounts, keys, AccountBase::id, policy).get(1).right(), is(3L));
+            }
+        }
+    }
+
     @Test
     void testCostCenterIntersectionWithNoMatchingElements() {
         final CostCenter cc1 = new CostCenter("CC1", 0, "CC1");
@@ -1,5 +1,6 @@
 package com.erebos.flu.utils;
 
+import com.erebos.flu.collections.ObjectDoubleMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.erebos.flu.utils.pojo.AccountTransaction;
@@ -161,6 +162,34 @@ class MapUtilsTest {
         assertThat(costCenters, is(flatList));
     }
 
+    @Test
+    void flatMapToListViewTest() {
+        final Map<String, List<CostCenter>> groupedMap = new LinkedHashMap<>();
+        groupedMap.put("CC1", List.of(new CostCenter("CC1", 3, ""), new CostCenter("CC1", 12, "")));
+        groupedMap.put("CC2", List.of());
+        groupedMap.put("CC3", List.of(new CostCenter("CC3", 14, "")));
+
+        final List<CostCenter> view = MapUtils.flatMapToListView(groupedMap);
+
+        assertThat(view.size(), is(3));
+        assertThat(view, is(MapUtils.flatMapToList(groupedMap)));
+        assertThat(view.get(2).shortName(), is("CC3"));
+        assertThat(MapUtils.flatMapToListView(null).size(), is(0));
+    }
+
+    @Test
+    void flatMapInMapToListViewTest() {
+        final Map<String, Map<Double, List<CostCenter>>> groupedMap = new LinkedHashMap<>();
+        groupedMap.put("CC1", new LinkedHashMap<>(Map.of(3.0, List.of(new CostCenter("CC1", 3, ""), new CostCenter("CC1", 3, "")))));
+        groupedMap.put("CC3", new LinkedHashMap<>(Map.of(4.0, List.of(new CostCenter("CC3", 4, "")))));
+
+        final List<CostCenter> view = MapUtils.flatMapInMapToListView(groupedMap);
+
+        assertThat(view.size(), is(3));
+        assertThat(view, is(MapUtils.flatMapInMapToList(groupedMap)));
+        assertThat(view.parallelStream().map(CostCenter::shortName).toList(), is(List.of("CC1", "CC1", "CC3")));
+    }
+
     @Test
     void fetchKeysFromMapTest() {
         Map<String, Integer> map = new HashMap<>();
@@ -524,4 +553,41 @@ class MapUtilsTest {
         set = MapUtils.getSetValueByMapKey(null, null);
         assertThat(set.size(), is(0));
     }
+
+    @Test
+    void testUpsertObjectDoubleMapValues() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>();
+        upsertMapDoubleValues(map, "1", 100.0);
+        upsertMapDoubleValues(map, "1", 1000.0);
+        upsertMapDoubleValues(map, "2", 33.0);
+        upsertMapDoubleValues((ObjectDoubleMap<String>) null, "2", 33.0);
+
+        assertThat(map.getDouble("1"), is(1100.0));
+        assertThat(map.getDouble("2"), is(33.0));
+    }
+
+    @Test
+    void testCalculateSumAndRoundObjectDoubleMapValues() {
+        final ObjectDoubleMap<String> map = new ObjectDoubleMap<>(Map.of("k1", 2.8899, "k2", 1.0111));
+
+        roundMapValues(map, 2);
+        roundMapValues((ObjectDoubleMap<String>) null, 2);
+
+        assertThat(map.getDouble("k1"), is(2.89));
+        assertThat(map.getDouble("k2"), is(1.01));
+        assertThat(calculateSumOfAllMapValues(map), closeTo(3.9, 1e-9));
+        assertThat(calculateSumOfAllMapValues((ObjectDoubleMap<String>) null), is(0.0));
+    }
+
+    @Test
+    void testConvertToZeroValueDoubleMaps() {
+        final ObjectDoubleMap<String> fromList = convertListToEmptyDoubleMap(List.of("KS1", "KS2", "KS1"));
+        assertThat(fromList.size(), is(2));
+        assertThat(fromList.get("KS1"), is(0.0));
+        assertThat(convertListToEmptyDoubleMap(null).size(), is(0));
+
+        final ObjectDoubleMap<String> fromSet = convertSetToZeroValueDoubleMap(Set.of("KS1", "KS2"));
+        assertThat(fromSet.size(), is(2));
+        assertThat(fromSet.get("KS2"), is(0.0));
+    }
 }
@@ -0,0 +1,104 @@
+package com.erebos.flu.utils;
+
+import com.google.common.hash.Hashing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NonCryptoHashTest {
+
+    @Test
+    void testXxHash64ReferenceVectors() {
+        assertThat(NonCryptoHash.XX_HASH_64.hash(""), is(0xEF46DB3751D8E999L));
+        assertThat(NonCryptoHash.XX_HASH_64.hash("a"), is(0xD24EC4F1A98C6E5BL));
+        assertThat(NonCryptoHash.XX_HASH_64.hash("abc"), is(0x44BC2CF5AD770999L));
+        assertThat(NonCryptoHash.XX_HASH_64.hash("Nobody inspects the spammish repetition"), is(0xFBCEA83C8A378BF1L));
+    }
+
+    @ParameterizedTest
+    @EnumSource(NonCryptoHash.class)
+    void testCharSequenceHashEqualsStringHash(final NonCryptoHash function) {
+        for (final String s : new String[]{"", "abc", "Zürich", "\uD83D\uDE00 smile", "lone \uD800 surrogate"}) {
+            assertThat(s, function.hash(new StringBuilder(s), 7L), is(function.hash(s, 7L)));
+        }
+    }
+
+    @Test
+    void testWyHashReferenceVectors() {
+        final String[] inputs = {"", "a", "abc", "message digest", "abcdefghijklmnopqrstuvwxyz"};
+        final long[] expected = {0x93228A4DE0EEC5A2L, 0xC5BAC3DB178713C4L, 0xA97F2F7B1D9B3314L,
+                0x786D1F1DF3801DF4L, 0xDCA5A8138AD37C87L};
+        for (int i = 0; i < inputs.length; i++) {
+            assertThat(inputs[i], NonCryptoHash.WY_HASH.hash(inputs[i], i), is(expected[i]));
+        }
+    }
+
+    @Test
+    void testMurmur3MatchesGuava() {
+        final byte[] bytes = new byte[200];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 7 + 3);
+        }
+        for (final int seed : new int[]{0, 1, 42, Integer.MAX_VALUE}) {
+            for (int length = 0; length <= bytes.length; length++) {
+                final byte[] expected = Hashing.murmur3_128(seed).hashBytes(bytes, 0, length).asBytes();
+                final long[] actual = NonCryptoHash.murmur3Hash128(bytes, 0, length, seed);
+                final ByteBuffer expectedHalves = ByteBuffer.wrap(expected).order(ByteOrder.LITTLE_ENDIAN);
+
+                assertThat(actual[0], is(expectedHalves.getLong()));
+                assertThat(actual[1], is(expectedHalves.getLong()));
+                assertThat(NonCryptoHash.MURMUR3_128.hash(bytes, 0, length, seed), is(actual[0]));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(NonCryptoHash.class)
+    void testOverloadsHashTheSameBytes(final NonCryptoHash hash) {
+        final byte[] bytes = "Grüße aus Köln, 12345678901234567890".getBytes(StandardCharsets.UTF_8);
+        final long expected = hash.hash(bytes, 7L);
+        final byte[] padded = new byte[bytes.length + 5];
+        System.arraycopy(bytes, 0, padded, 3, bytes.length);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        final ByteBuffer slice = ByteBuffer.wrap(padded, 3, bytes.length).slice();
+
+        assertThat(hash.hash("Grüße aus Köln, 12345678901234567890", 7L), is(expected));
+        assertThat(hash.hash(padded, 3, bytes.length, 7L), is(expected));
+        assertThat(hash.hash(direct, 7L), is(expected));
+        assertThat(hash.hash(slice, 7L), is(expected));
+        assertThat(direct.position(), is(0));
+        assertThat(hash.hash(new int[]{1, -2}), is(hash.hash(new byte[]{1, 0, 0, 0, -2, -1, -1, -1})));
+        assertThat(hash.hash(new long[]{1L}), is(hash.hash(new byte[]{1, 0, 0, 0, 0, 0, 0, 0})));
+        assertThat(hash.hash(bytes), is(hash.hash(bytes, 0L)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(NonCryptoHash.class)
+    void testSeedChangesHashAndNoCollisionsOnSimilarKeys(final NonCryptoHash hash) {
+        final Set<Long> hashes = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            hashes.add(hash.hash("ProfitCenter" + i + "CostCenter" + i));
+        }
+
+        assertThat(hashes.size(), is(100_000));
+        assertThat(hash.hash("abc", 1L), not(hash.hash("abc", 2L)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(NonCryptoHash.class)
+    void testInvalidArguments(final NonCryptoHash hash) {
+        assertThrows(IndexOutOfBoundsException.class, () -> hash.hash(new byte[4], 2, 3, 0L));
+        assertThrows(NullPointerException.class, () -> hash.hash((String) null));
+    }
+}
@@ -0,0 +1,131 @@
+package com.erebos.flu.utils;
+
+import com.erebos.flu.utils.SetAlgebraUtils.Strategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.BinaryOperator;
+import java.util.stream.LongStream;
+
+import static com.erebos.flu.utils.PrivateConstructorTestUtil.testPrivateConstructor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SetAlgebraUtilsTest {
+
+    @Test
+    void testConstructorThrowsException() throws NoSuchMethodException {
+        testPrivateConstructor(SetAlgebraUtils.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testAllOperationsMatchTreeSetReference(final Strategy strategy) {
+        final Random random = new Random(42);
+        // balanced, skewed both ways, empty, with duplicates and negative values
+        final int[][] sizes = {{1000, 1000}, {10, 5000}, {5000, 10}, {0, 100}, {100, 0}, {0, 0}, {1, 1}};
+        for (final int[] size : sizes) {
+            final int[] left = randomSorted(random, size[0], -500, 1500);
+            final int[] right = randomSorted(random, size[1], -500, 1500);
+            final int[] leftInput = strategy == Strategy.MERGE ? left : shuffled(random, left);
+            final int[] rightInput = strategy == Strategy.MERGE ? right : shuffled(random, right);
+
+            assertThat(SetAlgebraUtils.union(leftInput, rightInput, strategy), is(reference(left, right, (a, b) -> {
+                a.addAll(b);
+                return a;
+            })));
+            assertThat(SetAlgebraUtils.intersection(leftInput, rightInput, strategy), is(reference(left, right, (a, b) -> {
+                a.retainAll(b);
+                return a;
+            })));
+            assertThat(SetAlgebraUtils.difference(leftInput, rightInput, strategy), is(reference(left, right, (a, b) -> {
+                a.removeAll(b);
+                return a;
+            })));
+            assertThat(SetAlgebraUtils.symmetricDifference(leftInput, rightInput, strategy), is(reference(left, right, (a, b) -> {
+                final TreeSet<Integer> both = new TreeSet<>(a);
+                both.retainAll(b);
+                a.addAll(b);
+                a.removeAll(both);
+                return a;
+            })));
+        }
+    }
+
+    @Test
+    void testGallopingOverSkewedSortedInputs() {
+        final int[] large = new int[100_000];
+        Arrays.setAll(large, i -> i * 2);
+        final int[] small = {-1, 0, 3, 50_000, 199_998, 199_999, 300_000};
+
+        assertThat(SetAlgebraUtils.intersection(small, large), is(new int[]{0, 50_000, 199_998}));
+        assertThat(SetAlgebraUtils.intersection(large, small), is(new int[]{0, 50_000, 199_998}));
+        assertThat(SetAlgebraUtils.difference(small, large), is(new int[]{-1, 3, 199_999, 300_000}));
+        assertThat(SetAlgebraUtils.difference(large, small).length, is(large.length - 3));
+        assertThat(SetAlgebraUtils.union(small, large).length, is(large.length + 4));
+    }
+
+    @Test
+    void testChooseStrategy() {
+        assertThat(SetAlgebraUtils.chooseStrategy(new int[]{1, 2, 3}, new int[]{2, 5}), is(Strategy.MERGE));
+        assertThat(SetAlgebraUtils.chooseStrategy(new int[]{3, 2, 1}, new int[]{2, 5}), is(Strategy.BITSET));
+        assertThat(SetAlgebraUtils.chooseStrategy(new int[]{3, 2, 1_000_000}, new int[]{2, 5}), is(Strategy.SORT_MERGE));
+        assertThat(SetAlgebraUtils.intersection(new int[]{3, Integer.MIN_VALUE, Integer.MAX_VALUE}, new int[]{Integer.MAX_VALUE, 3}),
+                is(new int[]{3, Integer.MAX_VALUE}));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SetAlgebraUtils.union(new int[]{2, 1}, new int[]{1}, Strategy.MERGE));
+        assertThrows(IllegalArgumentException.class,
+                () -> SetAlgebraUtils.union(new int[]{Integer.MIN_VALUE}, new int[]{Integer.MAX_VALUE}, Strategy.BITSET));
+        assertThrows(NullPointerException.class, () -> SetAlgebraUtils.union(null, new int[0], Strategy.SORT_MERGE));
+    }
+
+    @Test
+    void testComparableLists() {
+        final List<String> left = List.of("a", "c", "c", "e", "g");
+        final List<String> right = List.of("g", "b", "c");
+
+        assertThat(SetAlgebraUtils.union(left, right), is(List.of("a", "b", "c", "e", "g")));
+        assertThat(SetAlgebraUtils.intersection(left, right), is(List.of("c", "g")));
+        assertThat(SetAlgebraUtils.difference(left, right), is(List.of("a", "e")));
+        assertThat(SetAlgebraUtils.symmetricDifference(left, right), is(List.of("a", "b", "e")));
+
+        final List<Long> ids = LongStream.range(0, 10_000).boxed().toList();
+        assertThat(SetAlgebraUtils.intersection(List.of(-5L, 17L, 9_999L, 20_000L), ids), is(List.of(17L, 9_999L)));
+        assertThat(SetAlgebraUtils.difference(ids, List.of(0L, 5L)).size(), is(9_998));
+    }
+
+    private static int[] randomSorted(final Random random, final int size, final int from, final int to) {
+        final int[] values = random.ints(size, from, to).toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static int[] shuffled(final Random random, final int[] values) {
+        final int[] copy = values.clone();
+        for (int i = copy.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int tmp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = tmp;
+        }
+        return copy;
+    }
+
+    private static int[] reference(final int[] left, final int[] right, final BinaryOperator<TreeSet<Integer>> operation) {
+        final TreeSet<Integer> leftSet = new TreeSet<>();
+        Arrays.stream(left).forEach(leftSet::add);
+        final TreeSet<Integer> rightSet = new TreeSet<>();
+        Arrays.stream(right).forEach(rightSet::add);
+        return operation.apply(leftSet, rightSet).stream().mapToInt(Integer::intValue).toArray();
+    }
+}
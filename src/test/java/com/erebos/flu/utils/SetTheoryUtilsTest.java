@@ -1,11 +1,24 @@
 package com.erebos.flu.utils;
 
 
+import com.erebos.flu.probabilistic.BloomFilter;
+import com.erebos.flu.probabilistic.MembershipFilter;
+import com.erebos.flu.utils.SetTheoryUtils.Strategy;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
 
+import static com.erebos.flu.utils.SetTheoryUtils.chooseStrategy;
+import static com.erebos.flu.utils.SetTheoryUtils.intersection;
 import static com.erebos.flu.utils.SetTheoryUtils.leftOuterJoin;
+import static com.erebos.flu.utils.SetTheoryUtils.leftOuterJoinExclusive;
 import static com.erebos.flu.utils.SetTheoryUtils.union;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -272,5 +285,148 @@ class SetTheoryUtilsTest {
         assertEquals(List.of("A", "Y", "Z"), result);
     }
 
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testIntersectionKeepsLeftOrderAndDuplicates(final Strategy strategy) {
+        // Given
+        List<String> leftList = List.of("D", "A", "B", "A", "C", "D");
+        List<String> rightList = List.of("C", "A", "D", "D", "X");
+
+        // When
+        List<String> result = intersection(leftList, rightList, strategy);
+
+        // Then
+        assertEquals(List.of("D", "A", "A", "C", "D"), result);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testLeftOuterJoinExclusiveKeepsLeftOrderAndDuplicates(final Strategy strategy) {
+        // Given
+        List<Integer> leftList = List.of(5, 1, 5, 3, 2, 4, 1);
+        List<Integer> rightList = List.of(2, 3, 9);
+
+        // When
+        List<Integer> result = leftOuterJoinExclusive(leftList, rightList, strategy);
+
+        // Then
+        assertEquals(List.of(5, 1, 5, 4, 1), result);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testLeftOuterJoinWithStrategy(final Strategy strategy) {
+        // Given
+        List<String> leftList = List.of("A", "B", "B", "C");
+        List<String> rightList = List.of("C", "C", "D", "D");
+
+        // When
+        List<String> result = leftOuterJoin(leftList, rightList, strategy);
+
+        // Then
+        assertEquals(List.of("A", "B", "B", "C"), result);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Strategy.class)
+    void testStrategiesAgreeOnLargeLists(final Strategy strategy) {
+        // Given
+        List<Integer> leftList = IntStream.range(0, 2000).map(i -> (i * 7919) % 1500).boxed().toList();
+        List<Integer> rightList = IntStream.range(0, 1000).map(i -> (i * 104729) % 3000).boxed().toList();
+        List<Integer> expected = leftList.stream().filter(rightList::contains).toList();
+
+        // When
+        List<Integer> result = intersection(leftList, rightList, strategy);
+
+        // Then
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void testSortMergeDecidesByEquals() {
+        // Given - compareTo is 0, but equals is false
+        List<BigDecimal> leftList = List.of(new BigDecimal("1.0"), new BigDecimal("2"));
+        List<BigDecimal> rightList = List.of(new BigDecimal("1.00"), new BigDecimal("2"));
+
+        // When
+        List<BigDecimal> result = intersection(leftList, rightList, Strategy.SORT_MERGE);
+
+        // Then
+        assertEquals(List.of(new BigDecimal("2")), result);
+    }
+
+    @Test
+    void testChooseStrategy() {
+        List<Integer> sorted = IntStream.range(0, 100).boxed().toList();
+        List<Integer> unsorted = new ArrayList<>(sorted);
+        unsorted.set(0, 1000);
+        List<Integer> withNull = new ArrayList<>(sorted);
+        withNull.set(50, null);
+
+        assertEquals(Strategy.LINEAR_SCAN, chooseStrategy(sorted, List.of(1, 2, 3)));
+        assertEquals(Strategy.SORT_MERGE, chooseStrategy(sorted, sorted));
+        assertEquals(Strategy.HASH_PROBE, chooseStrategy(unsorted, sorted));
+        assertEquals(Strategy.HASH_PROBE, chooseStrategy(sorted, withNull));
+        assertEquals(Strategy.HASH_PROBE, chooseStrategy(List.of(List.of(1)), sorted.stream().map(List::of).toList()));
+    }
+
+    @Test
+    void testIntersectionWithNullElements() {
+        // Given
+        List<String> leftList = new ArrayList<>(List.of("A", "B"));
+        leftList.add(null);
+        List<String> rightList = new ArrayList<>(List.of("B", "C", "D", "E", "F", "G", "H", "I", "J"));
+        rightList.add(null);
 
+        // When
+        List<String> result = intersection(leftList, rightList);
+
+        // Then
+        assertEquals(Arrays.asList("B", null), result);
+    }
+
+    @Test
+    void testIntersectionPrunedByFilter() {
+        // Given
+        List<String> leftList = new ArrayList<>(List.of("A", "B", "X", "B", "C"));
+        leftList.add(null);
+        List<String> rightList = new ArrayList<>(List.of("C", "B", "D"));
+        rightList.add(null);
+        BloomFilter<String> rightFilter = BloomFilter.forStrings(rightList.size(), 0.01);
+        rightList.stream().filter(Objects::nonNull).forEach(rightFilter::put);
+
+        // When
+        List<String> result = intersection(leftList, rightList, rightFilter);
+
+        // Then
+        assertEquals(Arrays.asList("B", "B", "C", null), result);
+        assertEquals(intersection(leftList, rightList), result);
+    }
+
+    @Test
+    void testIntersectionPrunedByFilterConfirmsFalsePositives() {
+        // Given a filter claiming every element
+        MembershipFilter<String> everything = new MembershipFilter<>() {
+            @Override
+            public boolean put(final String element) {
+                return true;
+            }
+
+            @Override
+            public boolean mightContain(final String element) {
+                return true;
+            }
+
+            @Override
+            public byte[] toByteArray() {
+                return new byte[0];
+            }
+        };
+
+        // When
+        List<String> result = intersection(List.of("A", "B"), List.of("B"), everything);
+
+        // Then
+        assertEquals(List.of("B"), result);
+    }
 }
@@ -7,6 +7,8 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -41,6 +43,45 @@ class StringUtilsTest {
         assertThat(result, is(true));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"a", " a ", "\u00A0", "\u2003x"})
+    void checkStringNotNullOrEmpty(final String value) {
+        assertThat(isStringNullOrEmpty(value), is(false));
+        assertThat(isCharSequenceNullOrEmpty(new StringBuilder(value)), is(false));
+    }
+
+    @Test
+    void testIsCharSequenceNullOrEmpty() {
+        assertThat(isCharSequenceNullOrEmpty(null), is(true));
+        assertThat(isCharSequenceNullOrEmpty(new StringBuilder(" \t\r\n")), is(true));
+        assertThat(isCharSequenceNullOrEmpty(CharBuffer.wrap("xx  ", 2, 4)), is(true));
+        assertThat(isCharSequenceNullOrEmpty(CharBuffer.wrap("xx  ", 1, 4)), is(false));
+    }
+
+    @Test
+    void testIsLatin1NullOrEmptyMatchesStringCheck() {
+        assertThat(isLatin1NullOrEmpty(null, 0, 0), is(true));
+        // every length around the eight byte steps, with the first non-blank byte at every position
+        for (int length = 0; length <= 20; length++) {
+            final byte[] bytes = new byte[length + 2];
+            Arrays.fill(bytes, (byte) ' ');
+            bytes[0] = 'x';
+            bytes[length + 1] = 'x';
+            assertThat(isLatin1NullOrEmpty(bytes, 1, length), is(true));
+            for (int position = 1; position <= length; position++) {
+                for (final byte nonBlank : new byte[]{'!', 'a', (byte) 0x80, (byte) 0xC3, (byte) 0xFF}) {
+                    bytes[position] = nonBlank;
+                    assertThat(isLatin1NullOrEmpty(bytes, 1, length), is(false));
+                    bytes[position] = ' ';
+                }
+            }
+        }
+        final byte[] utf8 = " \t\u00A0 ".getBytes(StandardCharsets.UTF_8);
+        assertThat(isLatin1NullOrEmpty(utf8, 0, utf8.length), is(false));
+        assertThat(isLatin1NullOrEmpty(utf8, 0, 2), is(true));
+        assertThrows(IndexOutOfBoundsException.class, () -> isLatin1NullOrEmpty(utf8, 3, utf8.length));
+    }
+
     @Test
     void testGetStringMemberFromObj() {
         var s = getStringMemberFromObj(null, null);
@@ -148,8 +189,11 @@ class StringUtilsTest {
             "123, true",
             "44567, false",
             ", false",
-            "'', true"
+            "'', true",
+            "Zürüch, false",
+            "😀😁, true"
     })
+    @SuppressWarnings("deprecation")
     void testHasUniqueChars2(final String input, final boolean expected) {
         assertThat(hasUniqueChars2(input), is(expected));
     }
@@ -163,6 +207,8 @@ class StringUtilsTest {
             "441, 44, false",
             "7, 7, true",
             "'', '', true",
+            "Zürich, hcirüZ, true",
+            "東京, 京東, true",
     })
     void testIsPermutation(final String s1, final String s2, final boolean expected) {
         assertThat(isPermutation(s1, s2), is(expected));
@@ -182,6 +228,18 @@ class StringUtilsTest {
     })
     void testOneWay(final String s1, final String s2, final boolean expected) {
         assertThat(isOneAway(s1, s2), is(expected));
+        assertThat(isOneAway(new StringBuilder(s1), CharBuffer.wrap(s2)), is(expected));
+    }
+
+    @Test
+    void testCharSequenceOverloads() {
+        assertThat(stringsNotNullAndEqual(new StringBuilder("abc"), CharBuffer.wrap("abc")), is(true));
+        assertThat(stringsNotNullAndEqual(new StringBuilder("abc"), "abcd"), is(false));
+        assertThat(stringsNotNullAndEqual((CharSequence) null, "abc"), is(false));
+        assertThat(reverseString(new StringBuilder("abc")), is("cba"));
+        assertThat(reverseString((CharSequence) null), is((String) null));
+        assertThat(isPermutation(new StringBuilder("listen"), CharBuffer.wrap("silent")), is(true));
+        assertThat(concatStringsWithDelimiter(List.of(new StringBuilder("a"), CharBuffer.wrap("b")), SLASH_DELIMITER), is("a/b"));
     }
 }
 
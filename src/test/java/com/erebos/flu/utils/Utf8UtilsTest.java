@@ -0,0 +1,178 @@
+package com.erebos.flu.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.erebos.flu.utils.PrivateConstructorTestUtil.testPrivateConstructor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Utf8UtilsTest {
+
+    @Test
+    void testConstructorThrowsException() throws NoSuchMethodException {
+        testPrivateConstructor(Utf8Utils.class);
+    }
+
+    @Test
+    void testIsNullOrEmpty() {
+        final byte[] bytes = utf8("xx \tx");
+        assertThat(Utf8Utils.isNullOrEmpty(bytes, 2, 2), is(true));
+        assertThat(Utf8Utils.isNullOrEmpty(bytes, 2, 3), is(false));
+        assertThat(Utf8Utils.isNullOrEmpty(null), is(true));
+        assertThat(Utf8Utils.isNullOrEmpty(ByteBuffer.wrap(bytes, 2, 2)), is(true));
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).position(2).limit(4);
+        assertThat(Utf8Utils.isNullOrEmpty(direct), is(true));
+        assertThat(Utf8Utils.isNullOrEmpty(direct.limit(5)), is(false));
+        assertThat(direct.position(), is(2));
+    }
+
+    @Test
+    void testSlicesNotNullAndEqual() {
+        final byte[] a = utf8("--key--");
+        final byte[] b = utf8("key");
+        assertThat(Utf8Utils.slicesNotNullAndEqual(a, 2, 3, b, 0, 3), is(true));
+        assertThat(Utf8Utils.slicesNotNullAndEqual(a, 1, 3, b, 0, 3), is(false));
+        assertThat(Utf8Utils.slicesNotNullAndEqual(null, 0, 0, b, 0, 0), is(false));
+        assertThat(Utf8Utils.slicesNotNullAndEqual(ByteBuffer.wrap(a, 2, 3), ByteBuffer.wrap(b)), is(true));
+        assertThat(Utf8Utils.slicesNotNullAndEqual(ByteBuffer.wrap(a), null), is(false));
+    }
+
+    @Test
+    void testContentEquals() {
+        for (final String s : new String[]{"", "plain", "Zürich", "東京", "😀!"}) {
+            final byte[] padded = utf8("<" + s + ">");
+            assertThat(s, Utf8Utils.contentEquals(padded, 1, padded.length - 2, s), is(true));
+            assertThat(s, Utf8Utils.contentEquals(padded, 1, padded.length - 2, s + "x"), is(false));
+            assertThat(s, Utf8Utils.contentEquals(ByteBuffer.wrap(padded, 1, padded.length - 2), new StringBuilder(s)), is(true));
+        }
+        assertThat(Utf8Utils.contentEquals(utf8("ab"), 0, 2, "ac"), is(false));
+        assertThat(Utf8Utils.contentEquals(new byte[]{(byte) 0xC3}, 0, 1, "�"), is(true));
+        assertThat(Utf8Utils.contentEquals(null, "x"), is(false));
+    }
+
+    @Test
+    void testMalformedInputDecodesLikeTheJdk() {
+        // a truncated sequence is one U+FFFD, not one per byte
+        final byte[] truncated = {'a', (byte) 0xE2, (byte) 0x82, 'b'};
+        assertThat(Utf8Utils.contentEquals(truncated, 0, 4, "a\uFFFDb"), is(true));
+        final Random random = new Random(23);
+        final byte[] pool = {'a', (byte) 0x80, (byte) 0xBF, (byte) 0xC0, (byte) 0xC3, (byte) 0xE0, (byte) 0xE2,
+                (byte) 0xED, (byte) 0xA0, (byte) 0x82, (byte) 0xF0, (byte) 0xF4, (byte) 0x90, (byte) 0xF5};
+        for (int round = 0; round < 20_000; round++) {
+            final byte[] bytes = new byte[random.nextInt(10)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = pool[random.nextInt(pool.length)];
+            }
+            final String decoded = new String(bytes, StandardCharsets.UTF_8);
+            assertThat(Arrays.toString(bytes), Utf8Utils.contentEquals(bytes, 0, bytes.length, decoded), is(true));
+            // the reversed decoded string is well-formed, with every malformed sequence encoded as EF BF BD
+            final byte[] reversed = utf8(new StringBuilder(decoded).reverse().toString());
+            assertThat(Arrays.toString(bytes), Utf8Utils.isPermutation(bytes, 0, bytes.length, reversed, 0, reversed.length),
+                    is(true));
+        }
+    }
+
+    @Test
+    void testConcatWithDelimiter() {
+        final List<ByteBuffer> slices = Arrays.asList(ByteBuffer.wrap(utf8("a")), null, ByteBuffer.wrap(utf8("")),
+                ByteBuffer.wrap(utf8("xbcx"), 1, 2));
+        assertThat(new String(Utf8Utils.concatWithDelimiter(slices, utf8("/")), StandardCharsets.UTF_8), is("a//bc"));
+        assertThat(Utf8Utils.concatWithDelimiter(null, utf8("/")).length, is(0));
+        assertThat(slices.get(3).position(), is(1));
+    }
+
+    @Test
+    void testReverseKeepsCodePointsIntact() {
+        final byte[] bytes = utf8("[aé東😀]");
+        final byte[] reversed = Utf8Utils.reverse(bytes, 1, bytes.length - 2);
+        assertThat(new String(reversed, StandardCharsets.UTF_8), is("😀東éa"));
+        assertThat(Utf8Utils.reverse(null, 0, 0), is(nullValue()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "listen, silent, true",
+            "abc, abd, false",
+            "ab, abc, false",
+            "'', '', true",
+            "Zürich, hcirüZ, true",
+            "éa, áe, false",
+            "東京, 京東, true",
+    })
+    void testIsPermutation(final String s1, final String s2, final boolean expected) {
+        final byte[] a = utf8(s1);
+        final byte[] b = utf8(s2);
+        assertThat(Utf8Utils.isPermutation(a, 0, a.length, b, 0, b.length), is(expected));
+    }
+
+    @Test
+    void testIsPermutationComparesCodePointsNotBytes() {
+        // same bytes C3 A4 C2 A9 in another combination: "ä©" vs "é¤"
+        final byte[] a = utf8("ä©");
+        final byte[] b = utf8("é¤");
+        assertThat(Utf8Utils.isPermutation(a, 0, a.length, b, 0, b.length), is(false));
+        // a lone continuation byte decodes to the same U+FFFD as its three byte encoding
+        final byte[] malformed = {(byte) 0x80};
+        final byte[] replacement = utf8("\uFFFD");
+        assertThat(Utf8Utils.isPermutation(malformed, 0, 1, replacement, 0, replacement.length), is(true));
+        assertThrows(IllegalArgumentException.class, () -> Utf8Utils.isPermutation(null, 0, 0, b, 0, 0));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "pale, ple, true",
+            "pales, pale, true",
+            "pale, bale, true",
+            "pale, pale, true",
+            "pa, pale, false",
+            "pale, bake, false",
+            "Zürich, Zurich, true",
+            "Zürich, Zrich, true",
+            "東京, 東都, true",
+            "東京都, 京都, true",
+            "東京, 京東, false",
+    })
+    void testIsOneAway(final String s1, final String s2, final boolean expected) {
+        final byte[] a = utf8(s1);
+        final byte[] b = utf8(s2);
+        assertThat(Utf8Utils.isOneAway(a, 0, a.length, b, 0, b.length), is(expected));
+        assertThat(Utf8Utils.isOneAway(a, 0, a.length, b, 0, b.length), is(StringUtils.isOneAway(s1, s2)));
+    }
+
+    @Test
+    void testHashEqualsStringHash() {
+        final byte[] padded = utf8("|Zürich|");
+        assertThat(Utf8Utils.hash(padded, 1, padded.length - 2), is(HashUtils.fastHash64("Zürich")));
+        assertThat(Utf8Utils.hash(ByteBuffer.wrap(padded, 1, padded.length - 2)), is(HashUtils.fastHash64("Zürich")));
+    }
+
+    @Test
+    void testHashOfMalformedSliceIsTheHashOfItsBytes() {
+        final byte[] malformed = {'a', (byte) 0xE2, (byte) 0x82, 'b'};
+        final String decoded = new String(malformed, StandardCharsets.UTF_8);
+        assertThat(Utf8Utils.hash(malformed, 0, 4), is(Utf8Utils.hash(ByteBuffer.wrap(malformed))));
+        assertThat(Utf8Utils.hash(malformed, 0, 4) == HashUtils.fastHash64(decoded), is(false));
+        assertThat(Utf8Utils.hash(utf8(decoded), 0, utf8(decoded).length), is(HashUtils.fastHash64(decoded)));
+    }
+
+    @Test
+    void testEncodeMatchesGetBytes() {
+        for (final String s : new String[]{"", "ascii", "Zürich", "東京", "😀", "lone \uD800 high", "lone \uDC00 low", "\uD800"}) {
+            assertThat(s, Utf8Utils.encode(new StringBuilder(s)), is(utf8(s)));
+        }
+    }
+
+    private static byte[] utf8(final String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}